@@ -9,10 +9,12 @@ import com.snackbar.autenticacao.domain.services.JwtService;
 import com.snackbar.autenticacao.domain.services.SenhaService;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AutenticarUsuarioUseCase {
     
     private final UsuarioRepositoryPort usuarioRepository;
@@ -50,6 +52,24 @@ public class AutenticarUsuarioUseCase {
         if (!senhaValida) {
             throw new ValidationException("Credenciais inválidas");
         }
+        
+        atualizarHashSeNecessario(senhaPlana, usuario);
+    }
+    
+    /**
+     * Refaz o hash com o custo configurado aproveitando a senha em texto do login.
+     * É oportunista: se falhar (ex.: pool de hash cheio), o login segue e tenta no próximo.
+     */
+    private void atualizarHashSeNecessario(String senhaPlana, Usuario usuario) {
+        if (!senhaService.precisaAtualizarHash(usuario.getSenha().getHash())) {
+            return;
+        }
+        try {
+            usuario.atualizarSenha(senhaService.criarSenhaComHash(senhaPlana));
+            usuarioRepository.salvar(usuario);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível atualizar o hash de senha do usuário {}: {}", usuario.getId(), e.getMessage());
+        }
     }
 }
 
@@ -1,6 +1,9 @@
 package com.snackbar.autenticacao.domain.services;
 
 import com.snackbar.autenticacao.domain.entities.Usuario;
+import com.snackbar.autenticacao.domain.valueobjects.UsuarioAutenticado;
+
+import java.util.Optional;
 
 public interface JwtService {
     String gerarToken(Usuario usuario);
@@ -14,4 +17,9 @@ public interface JwtService {
     String extrairSubject(String token);
 
     String extrairRole(String token);
+
+    /**
+     * Verifica o token uma única vez e devolve todos os dados do usuário; vazio se inválido ou expirado.
+     */
+    Optional<UsuarioAutenticado> autenticar(String token);
 }
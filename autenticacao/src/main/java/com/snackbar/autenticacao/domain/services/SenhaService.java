@@ -5,6 +5,11 @@ import com.snackbar.autenticacao.domain.valueobjects.Senha;
 public interface SenhaService {
     String gerarHash(String senhaPlana);
     boolean verificarSenha(String senhaPlana, String hash);
+
+    /**
+     * Indica se o hash foi gerado com custo menor que o configurado e deve ser refeito.
+     */
+    boolean precisaAtualizarHash(String hash);
     Senha criarSenhaComHash(String senhaPlana);
 }
 
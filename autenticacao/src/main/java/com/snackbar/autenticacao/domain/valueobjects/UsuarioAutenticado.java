@@ -0,0 +1,9 @@
+package com.snackbar.autenticacao.domain.valueobjects;
+
+/**
+ * Dados do usuário extraídos de um token já verificado.
+ *
+ * @param role authority do papel (ex.: ROLE_ADMINISTRADOR); pode ser nulo
+ */
+public record UsuarioAutenticado(String id, String email, String nome, String role) {
+}
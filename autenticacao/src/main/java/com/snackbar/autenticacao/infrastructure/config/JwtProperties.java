@@ -29,6 +29,12 @@ public class JwtProperties {
      */
     private Long expiration = 86400L;
     
+    /**
+     * Quantidade máxima de tokens verificados mantidos em cache.
+     * Padrão: 10000.
+     */
+    private int cacheTokens = 10_000;
+    
     /**
      * Valida a chave secreta após a inicialização.
      * Garante que a chave tenha no mínimo 32 caracteres (256 bits) conforme RFC 7518.
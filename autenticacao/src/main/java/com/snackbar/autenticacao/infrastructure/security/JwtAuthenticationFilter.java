@@ -1,6 +1,7 @@
 package com.snackbar.autenticacao.infrastructure.security;
 
 import com.snackbar.autenticacao.domain.services.JwtService;
+import com.snackbar.autenticacao.domain.valueobjects.UsuarioAutenticado;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -38,10 +40,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.info("[JWT-FILTER] URI: {}, Token presente: {}", requestUri, token != null);
         }
 
-        if (token != null && jwtService.validarToken(token)) {
-            String email = jwtService.extrairEmail(token);
-            String usuarioId = jwtService.extrairId(token);
-            String role = extrairRole(token);
+        Optional<UsuarioAutenticado> usuario = token != null ? jwtService.autenticar(token) : Optional.empty();
+
+        if (usuario.isPresent()) {
+            String email = usuario.get().email();
+            String usuarioId = usuario.get().id();
+            String role = usuario.get().role();
 
             if (requestUri.contains("/autoatendimento")) {
                 log.info("[JWT-FILTER] Token válido - Email: {}, ID: {}, Role: {}", email, usuarioId, role);
@@ -78,16 +82,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-
-    private String extrairRole(String token) {
-        try {
-            String role = jwtService.extrairRole(token);
-            if (role == null || role.isBlank()) {
-                return null;
-            }
-            return role;
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
@@ -1,16 +1,22 @@
 package com.snackbar.autenticacao.infrastructure.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -39,11 +45,13 @@ public class SecurityConfig {
     private static final String PUBLIC_STATUS_LOJA_PATTERN = "/api/public/status-loja/**";
     private static final String PUBLIC_CLIENTE_AUTH_PATTERN = "/api/publico/cliente/auth/**";
     private static final String CLIENTE_CONTA_PATTERN = "/api/cliente/conta/**";
+    private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            @Value("${metricas.prometheus.token:}") String tokenPrometheus) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -67,7 +75,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/login").permitAll()
                         .requestMatchers("/api/status").permitAll()
                         .requestMatchers("/api/health").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        // Métricas: token de coleta do Prometheus ou usuário ADMINISTRADOR
+                        .requestMatchers("/actuator/prometheus").access(acessoMetricas(tokenPrometheus))
+                        .requestMatchers("/actuator/**").denyAll()
                         // Endpoints públicos de mesas (QR Code) - Permite pedidos de clientes
                         .requestMatchers(PUBLIC_MESA_PATTERN).permitAll()
                         // Endpoint público de status da loja (sessão de trabalho)
@@ -192,9 +203,30 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Libera /actuator/prometheus para quem envia no cabeçalho Authorization (Bearer) o
+     * token de coleta configurado, ou para um ADMINISTRADOR autenticado. Sem token configurado,
+     * só o ADMINISTRADOR acessa.
+     */
+    private static AuthorizationManager<RequestAuthorizationContext> acessoMetricas(String tokenPrometheus) {
+        byte[] esperado = tokenPrometheus.getBytes(StandardCharsets.UTF_8);
+        return (autenticacao, contexto) -> {
+            String cabecalho = contexto.getRequest().getHeader("Authorization");
+            if (esperado.length > 0 && cabecalho != null && cabecalho.startsWith(BEARER_PREFIX)) {
+                byte[] recebido = cabecalho.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+                if (MessageDigest.isEqual(esperado, recebido)) {
+                    return new AuthorizationDecision(true);
+                }
+            }
+            boolean administrador = autenticacao.get() != null && autenticacao.get().getAuthorities().stream()
+                    .anyMatch(autoridade -> ("ROLE_" + ROLE_ADMINISTRADOR).equals(autoridade.getAuthority()));
+            return new AuthorizationDecision(administrador);
+        };
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${hash-senha.custo-bcrypt:10}") int custoBcrypt) {
+        return new BCryptPasswordEncoder(custoBcrypt);
     }
 
     @Bean
@@ -2,11 +2,14 @@ package com.snackbar.autenticacao.infrastructure.services;
 
 import com.snackbar.autenticacao.domain.entities.Usuario;
 import com.snackbar.autenticacao.domain.services.JwtService;
+import com.snackbar.autenticacao.domain.valueobjects.UsuarioAutenticado;
 import com.snackbar.autenticacao.infrastructure.config.JwtProperties;
+import com.snackbar.kernel.security.CacheTokensVerificados;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -14,12 +17,29 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Optional;
 
+/**
+ * Geração e verificação dos tokens da equipe.
+ *
+ * A chave e o parser são montados uma vez na criação do serviço. Cada token é verificado uma
+ * única vez e os dados do usuário ficam em cache até a expiração do token, então os métodos
+ * de extração não repetem a verificação da assinatura.
+ */
 @Service
-@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
 
     private final JwtProperties jwtProperties;
+    private final SecretKey secretKey;
+    private final JwtParser parser;
+    private final CacheTokensVerificados<UsuarioAutenticado> tokensVerificados;
+
+    public JwtServiceImpl(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.secretKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.tokensVerificados = new CacheTokensVerificados<>(jwtProperties.getCacheTokens(), this::verificarToken);
+    }
 
     @Override
     public String gerarToken(Usuario usuario) {
@@ -33,52 +53,62 @@ public class JwtServiceImpl implements JwtService {
                 .claim("role", usuario.getRole().getAuthority())
                 .issuedAt(Date.from(agora))
                 .expiration(Date.from(expiracao))
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
+    @Override
+    public Optional<UsuarioAutenticado> autenticar(String token) {
+        return tokensVerificados.verificarSeValido(token);
+    }
+
     @Override
     public String extrairEmail(String token) {
-        return extrairClaims(token).getSubject();
+        return tokensVerificados.verificar(token).email();
     }
 
     @Override
     public String extrairId(String token) {
-        Claims claims = extrairClaims(token);
-        return claims.get("id", String.class);
+        return tokensVerificados.verificar(token).id();
     }
 
     @Override
     public boolean validarToken(String token) {
-        try {
-            Claims claims = extrairClaims(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+        return autenticar(token).isPresent();
     }
 
     @Override
     public String extrairSubject(String token) {
-        return extrairClaims(token).getSubject();
+        return tokensVerificados.verificar(token).email();
     }
 
     @Override
     public String extrairRole(String token) {
-        Claims claims = extrairClaims(token);
-        return claims.get("role", String.class);
+        return tokensVerificados.verificar(token).role();
     }
 
     public Claims extrairClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public CacheTokensVerificados.Estatisticas estatisticasCacheTokens() {
+        return tokensVerificados.estatisticas();
     }
 
-    private SecretKey getSecretKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verificação completa (assinatura e expiração); tokens expirados lançam exceção no parser.
+     */
+    private CacheTokensVerificados.TokenVerificado<UsuarioAutenticado> verificarToken(String token) {
+        Claims claims = extrairClaims(token);
+        Date expiracao = claims.getExpiration();
+        if (expiracao == null) {
+            throw new JwtException("Token sem data de expiração");
+        }
+        UsuarioAutenticado usuario = new UsuarioAutenticado(
+                claims.get("id", String.class),
+                claims.getSubject(),
+                claims.get("nome", String.class),
+                claims.get("role", String.class));
+        return new CacheTokensVerificados.TokenVerificado<>(usuario, expiracao.toInstant());
     }
 }
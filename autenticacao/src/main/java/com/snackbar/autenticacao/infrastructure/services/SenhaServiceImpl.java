@@ -2,24 +2,35 @@ package com.snackbar.autenticacao.infrastructure.services;
 
 import com.snackbar.autenticacao.domain.services.SenhaService;
 import com.snackbar.autenticacao.domain.valueobjects.Senha;
+import com.snackbar.kernel.security.ExecutorHashSenha;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+/**
+ * Hash e verificação de senha no pool dedicado ({@link ExecutorHashSenha}), fora da thread
+ * da requisição.
+ */
 @Service
 @RequiredArgsConstructor
 public class SenhaServiceImpl implements SenhaService {
     
     private final PasswordEncoder passwordEncoder;
+    private final ExecutorHashSenha executorHashSenha;
     
     @Override
     public String gerarHash(String senhaPlana) {
-        return passwordEncoder.encode(senhaPlana);
+        return executorHashSenha.executar(() -> passwordEncoder.encode(senhaPlana));
     }
     
     @Override
     public boolean verificarSenha(String senhaPlana, String hash) {
-        return passwordEncoder.matches(senhaPlana, hash);
+        return executorHashSenha.executar(() -> passwordEncoder.matches(senhaPlana, hash));
+    }
+    
+    @Override
+    public boolean precisaAtualizarHash(String hash) {
+        return hash != null && passwordEncoder.upgradeEncoding(hash);
     }
     
     @Override
@@ -28,4 +39,3 @@ public class SenhaServiceImpl implements SenhaService {
         return Senha.restaurarHash(hash);
     }
 }
-
@@ -0,0 +1,105 @@
+package com.snackbar.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara um resultado JMH ({@code -rf json}) com a baseline e termina com código 1 se algum
+ * benchmark piorou além da tolerância.
+ *
+ * Só conta como regressão a diferença que passa da tolerância E do erro somado das duas medições,
+ * para ruído de uma execução curta não reprovar o build. Benchmarks sem correspondente na baseline
+ * são listados como novos e não reprovam.
+ *
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar com.snackbar.benchmarks.ComparadorBaseline
+ * benchmarks/baseline/resultados.json resultado.json [tolerancia-percentual]}
+ */
+public final class ComparadorBaseline {
+
+    private static final double TOLERANCIA_PADRAO = 15.0;
+
+    private record Medicao(String modo, double valor, double erro, String unidade) {
+    }
+
+    private ComparadorBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ComparadorBaseline <baseline.json> <resultado.json> [tolerancia-percentual]");
+            System.exit(2);
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : TOLERANCIA_PADRAO;
+
+        Map<String, Medicao> baseline = ler(Path.of(args[0]));
+        Map<String, Medicao> atual = ler(Path.of(args[1]));
+
+        List<String> regressoes = new ArrayList<>();
+        System.out.printf("%-100s %14s %14s %9s%n", "Benchmark", "Baseline", "Atual", "Variação");
+        for (Map.Entry<String, Medicao> entrada : atual.entrySet()) {
+            Medicao depois = entrada.getValue();
+            Medicao antes = baseline.get(entrada.getKey());
+            if (antes == null) {
+                System.out.printf("%-100s %14s %14.3f %9s%n", entrada.getKey(), "-", depois.valor(), "novo");
+                continue;
+            }
+            // Em throughput, maior é melhor; nos demais modos (tempo), menor é melhor
+            boolean maiorEhMelhor = "thrpt".equals(depois.modo());
+            double variacao = (depois.valor() - antes.valor()) / antes.valor() * 100.0;
+            double piora = maiorEhMelhor ? -variacao : variacao;
+            double diferenca = Math.abs(depois.valor() - antes.valor());
+            boolean regrediu = piora > tolerancia && diferenca > antes.erro() + depois.erro();
+
+            System.out.printf("%-100s %14.3f %14.3f %+8.1f%% %s%s%n", entrada.getKey(), antes.valor(), depois.valor(),
+                    variacao, depois.unidade(), regrediu ? "  << REGRESSÃO" : "");
+            if (regrediu) {
+                regressoes.add(entrada.getKey());
+            }
+        }
+
+        if (!regressoes.isEmpty()) {
+            System.out.printf("%n%d benchmark(s) pioraram mais de %.0f%%:%n", regressoes.size(), tolerancia);
+            regressoes.forEach(nome -> System.out.println("  " + nome));
+            System.exit(1);
+        }
+        System.out.printf("%nNenhuma regressão acima de %.0f%%.%n", tolerancia);
+    }
+
+    private static Map<String, Medicao> ler(Path arquivo) throws IOException {
+        Map<String, Medicao> medicoes = new TreeMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(arquivo.toFile())) {
+            JsonNode metrica = resultado.path("primaryMetric");
+            double erro = metrica.path("scoreError").asDouble(0.0);
+            medicoes.put(chave(resultado), new Medicao(
+                    resultado.path("mode").asText(),
+                    metrica.path("score").asDouble(),
+                    Double.isNaN(erro) ? 0.0 : erro,
+                    metrica.path("scoreUnit").asText()));
+        }
+        return medicoes;
+    }
+
+    private static String chave(JsonNode resultado) {
+        String nome = resultado.path("benchmark").asText().replace("com.snackbar.", "");
+        JsonNode params = resultado.path("params");
+        if (params.isMissingNode() || params.isEmpty()) {
+            return nome;
+        }
+        Map<String, String> valores = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> campos = params.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            valores.put(campo.getKey(), campo.getValue().asText());
+        }
+        return nome + valores;
+    }
+}
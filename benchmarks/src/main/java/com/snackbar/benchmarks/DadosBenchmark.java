@@ -0,0 +1,225 @@
+package com.snackbar.benchmarks;
+
+import com.snackbar.cardapio.domain.valueobjects.Preco;
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import com.snackbar.chatia.application.dto.CardapioContextDTO.CategoriaContextDTO;
+import com.snackbar.chatia.application.dto.CardapioContextDTO.ProdutoContextDTO;
+import com.snackbar.pedidos.domain.entities.ItemPedido;
+import com.snackbar.pedidos.domain.entities.ItemPedidoAdicional;
+import com.snackbar.pedidos.domain.entities.MeioPagamento;
+import com.snackbar.pedidos.domain.entities.MeioPagamentoPedido;
+import com.snackbar.pedidos.domain.entities.Pedido;
+import com.snackbar.pedidos.domain.valueobjects.NumeroPedido;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Dados usados pelos benchmarks, gerados com semente fixa para que todas as execuções
+ * (e a baseline) meçam exatamente o mesmo trabalho.
+ *
+ * Os tamanhos seguem os casos ruins do dia a dia: pedido de mesa grande com 50 itens,
+ * parte deles com adicionais, e cardápio com 500 produtos em 12 categorias.
+ */
+public final class DadosBenchmark {
+
+    public static final int ITENS_POR_PEDIDO = 50;
+    public static final int PRODUTOS_NO_CARDAPIO = 500;
+
+    private static final long SEMENTE = 20250101L;
+
+    private static final String[] CATEGORIAS = {
+            "Lanches", "Hambúrgueres Artesanais", "Hot Dogs", "Pastéis", "Porções", "Pizzas Broto",
+            "Açaí", "Sobremesas", "Sucos Naturais", "Refrigerantes", "Cervejas", "Combos"
+    };
+
+    private static final String[][] BASES_POR_CATEGORIA = {
+            {"X-Burguer", "X-Salada", "X-Bacon", "X-Egg", "X-Tudo", "Misto Quente", "Bauru"},
+            {"Smash", "Cheddar Melt", "Costela", "Picanha", "Frango Crispy", "Veggie"},
+            {"Cachorro-Quente", "Dogão", "Hot Dog Prensado"},
+            {"Pastel de Carne", "Pastel de Queijo", "Pastel de Frango", "Pastel de Palmito", "Pastel de Pizza"},
+            {"Batata Frita", "Mandioca Frita", "Calabresa Acebolada", "Isca de Frango", "Anéis de Cebola"},
+            {"Pizza Calabresa", "Pizza Marguerita", "Pizza Portuguesa", "Pizza Frango com Catupiry"},
+            {"Açaí", "Açaí com Cupuaçu", "Creme de Ninho"},
+            {"Pudim", "Brownie", "Petit Gâteau", "Mousse de Maracujá"},
+            {"Suco de Laranja", "Suco de Abacaxi com Hortelã", "Suco de Maracujá", "Limonada Suíça"},
+            {"Coca-Cola", "Guaraná Antarctica", "Fanta Laranja", "Sprite", "Água com Gás"},
+            {"Heineken", "Brahma", "Skol", "Original", "Stella Artois"},
+            {"Combo Família", "Combo Casal", "Combo Kids", "Combo Executivo"}
+    };
+
+    private static final String[] VARIACOES = {
+            "", "Duplo", "Especial", "da Casa", "Gourmet", "Mini", "Grande", "Tradicional", "Premium",
+            "Picante", "Light", "Kids", "Turbinado", "Supremo"
+    };
+
+    private static final String[] INGREDIENTES = {
+            "pão brioche", "hambúrguer bovino", "queijo cheddar", "queijo mussarela", "bacon", "ovo",
+            "alface", "tomate", "cebola caramelizada", "picles", "maionese verde", "barbecue",
+            "frango desfiado", "catupiry", "calabresa", "presunto", "milho", "batata palha",
+            "cogumelos", "rúcula", "leite condensado", "granola", "banana", "morango", "hortelã"
+    };
+
+    private static final String[] ALERGENOS = {"glúten", "lactose", "ovo", "soja", "amendoim"};
+
+    private static final String[] ADICIONAIS = {
+            "Bacon extra", "Cheddar extra", "Ovo", "Catupiry", "Hambúrguer extra", "Batata palha"
+    };
+
+    private static final String[] OBSERVACOES = {
+            null, null, null, "sem cebola", "bem passado", "molho à parte", "sem gelo", "pouco sal"
+    };
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * Itens de um pedido grande: preços entre R$ 4 e R$ 60, quantidades de 1 a 4 e
+     * um item a cada três com um ou dois adicionais.
+     */
+    public static List<ItemPedido> itensPedido(int quantidade) {
+        Random random = new Random(SEMENTE);
+        List<ItemPedido> itens = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            List<ItemPedidoAdicional> adicionais = new ArrayList<>();
+            if (i % 3 == 0) {
+                int totalAdicionais = 1 + random.nextInt(2);
+                for (int a = 0; a < totalAdicionais; a++) {
+                    int indice = random.nextInt(ADICIONAIS.length);
+                    adicionais.add(ItemPedidoAdicional.criar("adicional-" + indice, ADICIONAIS[indice],
+                            1 + random.nextInt(2), preco(random, 2, 8)));
+                }
+            }
+            int categoria = i % CATEGORIAS.length;
+            String nome = nomeProduto(categoria, i);
+            itens.add(ItemPedido.criar("produto-" + i, nome, 1 + random.nextInt(4), preco(random, 4, 60),
+                    OBSERVACOES[random.nextInt(OBSERVACOES.length)], adicionais));
+        }
+        return itens;
+    }
+
+    /**
+     * Pedido de mesa com {@link #ITENS_POR_PEDIDO} itens, pago em PIX e dinheiro com troco.
+     */
+    public static Pedido pedidoGrande() {
+        Pedido pedido = Pedido.criarPedidoMesa(NumeroPedido.de(1234), "cliente-benchmark", "Mesa da Família Souza");
+        pedido.definirMesa("mesa-7", 7, "Mesa da Família Souza");
+        pedido.definirSessaoId("sessao-benchmark");
+        pedido.atualizarObservacoes("Trazer os lanches junto com as bebidas");
+        for (ItemPedido item : itensPedido(ITENS_POR_PEDIDO)) {
+            pedido.adicionarItem(item);
+        }
+
+        BigDecimal total = pedido.getValorTotal().getAmount();
+        BigDecimal parteDinheiro = total.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP);
+        pedido.adicionarMeioPagamento(MeioPagamentoPedido.criar(MeioPagamento.PIX,
+                Preco.of(total.subtract(parteDinheiro))));
+        pedido.adicionarMeioPagamento(MeioPagamentoPedido.criarComTroco(Preco.of(parteDinheiro),
+                Preco.of(parteDinheiro.add(BigDecimal.valueOf(20)).setScale(0, RoundingMode.UP))));
+        return pedido;
+    }
+
+    /**
+     * Cardápio com {@link #PRODUTOS_NO_CARDAPIO} produtos. Os nomes combinam uma base por categoria
+     * com variações ("X-Bacon Duplo", "Suco de Laranja Grande"), como num cardápio real que cresceu.
+     */
+    public static CardapioContextDTO cardapioGrande() {
+        Random random = new Random(SEMENTE);
+        List<CategoriaContextDTO> categorias = new ArrayList<>(CATEGORIAS.length);
+        for (int c = 0; c < CATEGORIAS.length; c++) {
+            categorias.add(new CategoriaContextDTO("categoria-" + c, CATEGORIAS[c], "Os melhores " + CATEGORIAS[c].toLowerCase(), c));
+        }
+
+        List<ProdutoContextDTO> produtos = new ArrayList<>(PRODUTOS_NO_CARDAPIO);
+        for (int i = 0; i < PRODUTOS_NO_CARDAPIO; i++) {
+            int categoria = i % CATEGORIAS.length;
+            List<String> ingredientes = new ArrayList<>();
+            int totalIngredientes = 3 + random.nextInt(5);
+            for (int n = 0; n < totalIngredientes; n++) {
+                String ingrediente = INGREDIENTES[random.nextInt(INGREDIENTES.length)];
+                if (!ingredientes.contains(ingrediente)) {
+                    ingredientes.add(ingrediente);
+                }
+            }
+            List<String> alergenos = random.nextInt(3) == 0
+                    ? List.of(ALERGENOS[random.nextInt(ALERGENOS.length)])
+                    : List.of();
+            boolean vegano = random.nextInt(20) == 0;
+            boolean vegetariano = vegano || random.nextInt(8) == 0;
+            String nome = nomeProduto(categoria, i);
+            produtos.add(new ProdutoContextDTO(
+                    "produto-" + i,
+                    nome,
+                    nome + " feito na hora com " + String.join(", ", ingredientes),
+                    CATEGORIAS[categoria],
+                    preco(random, 4, 90).getAmount(),
+                    null,
+                    random.nextInt(15) != 0,
+                    ingredientes,
+                    alergenos,
+                    vegetariano,
+                    vegano));
+        }
+        return new CardapioContextDTO(categorias, produtos,
+                "Lanchonete com " + PRODUTOS_NO_CARDAPIO + " produtos em " + CATEGORIAS.length + " categorias", 42L);
+    }
+
+    /**
+     * Logo de 512x256 em PNG (degradê, formas e texto), em base64 com prefixo data URI como
+     * vem das configurações da loja. Maior que a largura da impressora, então sempre é reduzido.
+     */
+    public static String logoBase64() {
+        BufferedImage imagem = new BufferedImage(512, 256, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = imagem.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setPaint(new GradientPaint(0, 0, Color.WHITE, 512, 256, new Color(120, 60, 20)));
+            g.fillRoundRect(0, 0, 512, 256, 48, 48);
+            g.setColor(Color.BLACK);
+            g.setStroke(new BasicStroke(8));
+            g.drawOval(24, 24, 208, 208);
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 48));
+            g.drawString("Experimenta", 230, 120);
+            g.drawString("Aí", 330, 180);
+        } finally {
+            g.dispose();
+        }
+        try {
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(imagem, "png", png);
+            return "data:image/png;base64," + Base64.getEncoder().encodeToString(png.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String nomeProduto(int categoria, int indice) {
+        String[] bases = BASES_POR_CATEGORIA[categoria];
+        String base = bases[(indice / CATEGORIAS.length) % bases.length];
+        String variacao = VARIACOES[(indice / (CATEGORIAS.length * bases.length)) % VARIACOES.length];
+        return variacao.isEmpty() ? base : base + " " + variacao;
+    }
+
+    private static Preco preco(Random random, int minimo, int maximo) {
+        int centavos = minimo * 100 + random.nextInt((maximo - minimo) * 100);
+        // Preços de cardápio terminam em ,00 / ,50 / ,90
+        int[] finais = {0, 50, 90};
+        int reais = centavos / 100;
+        return Preco.of(BigDecimal.valueOf(reais * 100L + finais[centavos % 3], 2));
+    }
+}
@@ -0,0 +1,80 @@
+package com.snackbar.benchmarks.chat;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.chatia.application.service.busca.AnalisadorTexto;
+import com.snackbar.chatia.application.service.busca.ArvoreBK;
+import com.snackbar.chatia.application.service.busca.IndiceProdutos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca aproximada no vocabulário do cardápio de 500 produtos: BK-tree contra a varredura de
+ * todas as palavras com Levenshtein, que era o que a busca fazia antes da árvore.
+ *
+ * A varredura com limite usa a mesma distância interrompida que a árvore usa nos nós; serve para
+ * separar o ganho da poda pela desigualdade triangular do ganho do cálculo limitado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArvoreBKBenchmark {
+
+    @Param({ "bacn", "chedar", "hamburguer", "sushi" })
+    private String termo;
+
+    @Param({ "1", "2" })
+    private int distanciaMaxima;
+
+    private ArvoreBK arvore;
+    private String[] vocabulario;
+
+    @Setup
+    public void preparar() {
+        IndiceProdutos indice = IndiceProdutos.construir(DadosBenchmark.cardapioGrande(), 5);
+        vocabulario = indice.vocabulario().toArray(String[]::new);
+        arvore = ArvoreBK.construir(indice.vocabulario());
+    }
+
+    @Benchmark
+    public List<ArvoreBK.Correspondencia> arvoreBK() {
+        return arvore.buscar(termo, distanciaMaxima);
+    }
+
+    @Benchmark
+    public List<String> varreduraLinear() {
+        List<String> encontradas = new ArrayList<>();
+        for (String palavra : vocabulario) {
+            if (AnalisadorTexto.calcularLevenshtein(termo, palavra) <= distanciaMaxima) {
+                encontradas.add(palavra);
+            }
+        }
+        return encontradas;
+    }
+
+    @Benchmark
+    public List<String> varreduraLinearComLimite() {
+        List<String> encontradas = new ArrayList<>();
+        for (String palavra : vocabulario) {
+            if (AnalisadorTexto.calcularLevenshtein(termo, palavra, distanciaMaxima) <= distanciaMaxima) {
+                encontradas.add(palavra);
+            }
+        }
+        return encontradas;
+    }
+}
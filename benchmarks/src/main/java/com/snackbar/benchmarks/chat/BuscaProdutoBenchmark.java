@@ -0,0 +1,60 @@
+package com.snackbar.benchmarks.chat;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import com.snackbar.chatia.application.dto.ResultadoBuscaDTO;
+import com.snackbar.chatia.application.service.BuscaProdutoInteligenteService;
+import com.snackbar.chatia.application.service.busca.IndiceProdutosCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de produtos do chat num cardápio de 500 produtos.
+ *
+ * As mensagens cobrem cada tipo de busca (cardápio geral, ingrediente, nome com erro de digitação,
+ * categoria e nada encontrado). O índice é construído no setup, como acontece depois da primeira
+ * mensagem; o custo de construção está em {@link IndiceProdutosBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaProdutoBenchmark {
+
+    @Param({
+            "o que vocês tem no cardápio?",
+            "tem alguma coisa com bacon e cheddar?",
+            "quero um x-bacn duplo",
+            "quais sucos naturais vocês tem",
+            "vocês vendem sushi?"
+    })
+    private String mensagem;
+
+    private CardapioContextDTO cardapio;
+    private BuscaProdutoInteligenteService service;
+
+    @Setup
+    public void preparar() {
+        cardapio = DadosBenchmark.cardapioGrande();
+        service = new BuscaProdutoInteligenteService(new IndiceProdutosCache());
+        service.buscarComContexto(mensagem, cardapio);
+    }
+
+    @Benchmark
+    public ResultadoBuscaDTO buscarComContexto() {
+        return service.buscarComContexto(mensagem, cardapio);
+    }
+}
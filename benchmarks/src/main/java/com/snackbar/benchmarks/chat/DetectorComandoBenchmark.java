@@ -0,0 +1,56 @@
+package com.snackbar.benchmarks.chat;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.chatia.application.dto.AcaoChatDTO;
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import com.snackbar.chatia.application.service.DetectorComandoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detecção de comandos de carrinho em cada mensagem do chat, com cardápio de 500 produtos.
+ * O autômato do catálogo é montado no setup (primeira mensagem após mudança do cardápio).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetectorComandoBenchmark {
+
+    @Param({
+            "me vê 2 x-bacon duplo e uma coca-cola, sendo que um sem cebola",
+            "tira o pastel de queijo",
+            "quanto ficou o meu pedido?",
+            "cancela tudo",
+            "boa noite, vocês abrem amanhã cedo? queria saber se tem estacionamento por perto"
+    })
+    private String mensagem;
+
+    private CardapioContextDTO cardapio;
+    private DetectorComandoService detector;
+
+    @Setup
+    public void preparar() {
+        cardapio = DadosBenchmark.cardapioGrande();
+        detector = new DetectorComandoService();
+        detector.detectarComando(mensagem, cardapio);
+    }
+
+    @Benchmark
+    public AcaoChatDTO detectarComando() {
+        return detector.detectarComando(mensagem, cardapio);
+    }
+}
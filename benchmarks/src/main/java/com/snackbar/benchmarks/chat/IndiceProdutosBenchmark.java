@@ -0,0 +1,42 @@
+package com.snackbar.benchmarks.chat;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import com.snackbar.chatia.application.service.busca.IndiceProdutos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construção do índice de busca do chat para 500 produtos, paga na primeira mensagem depois
+ * de cada mudança do cardápio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndiceProdutosBenchmark {
+
+    private CardapioContextDTO cardapio;
+
+    @Setup
+    public void preparar() {
+        cardapio = DadosBenchmark.cardapioGrande();
+    }
+
+    @Benchmark
+    public IndiceProdutos construirIndice() {
+        return IndiceProdutos.construir(cardapio, 5);
+    }
+}
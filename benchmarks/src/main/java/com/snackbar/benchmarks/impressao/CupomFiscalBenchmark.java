@@ -0,0 +1,58 @@
+package com.snackbar.benchmarks.impressao;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.impressao.domain.entities.CupomFiscal;
+import com.snackbar.impressao.domain.valueobjects.ConfiguracaoImpressora;
+import com.snackbar.impressao.infrastructure.impressora.FormatoCupomFiscal;
+import com.snackbar.impressao.infrastructure.impressora.ImagemEscPosUtil;
+import com.snackbar.pedidos.application.dto.PedidoDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatação do cupom de um pedido de 50 itens, com o logo da loja já convertido para ESC/POS
+ * (como chega do caso de uso de impressão).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CupomFiscalBenchmark {
+
+    private CupomFiscal cupom;
+
+    @Setup
+    public void preparar() {
+        String logo = DadosBenchmark.logoBase64();
+        cupom = CupomFiscal.criar(PedidoDTO.de(DadosBenchmark.pedidoGrande()),
+                ConfiguracaoImpressora.padraoEpson(),
+                "Experimenta Aí do Soneca",
+                "Av. Leandro da Mota, 58 - Dr. Laureano, Duque de Caxias",
+                "(21) 97439-7966",
+                "12345678000190",
+                logo,
+                ImagemEscPosUtil.converterBase64ParaEscPos(logo));
+    }
+
+    @Benchmark
+    public byte[] formatarCupom() {
+        return FormatoCupomFiscal.formatarCupom(cupom);
+    }
+
+    @Benchmark
+    public String formatarCupomLegivel() {
+        return FormatoCupomFiscal.formatarCupomLegivel(cupom);
+    }
+}
@@ -0,0 +1,71 @@
+package com.snackbar.benchmarks.impressao;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.impressao.infrastructure.impressora.BitmapEscPos;
+import com.snackbar.impressao.infrastructure.impressora.ImagemEscPosUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão do logo (PNG 512x256) para bitmap ESC/POS.
+ *
+ * {@code converterBase64ParaEscPos} guarda o resultado em cache, então mede-se separadamente
+ * o acerto de cache (caminho de todo cupom) e a conversão completa, por tipo de pontilhamento,
+ * que é o que a primeira impressão do dia paga.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImagemEscPosBenchmark {
+
+    @Param({"LIMIAR", "ORDENADO", "FLOYD_STEINBERG"})
+    private BitmapEscPos.Pontilhamento pontilhamento;
+
+    private String logoBase64;
+    private byte[] logoPng;
+    private BufferedImage logo;
+
+    @Setup
+    public void preparar() throws IOException {
+        logoBase64 = DadosBenchmark.logoBase64();
+        logoPng = Base64.getDecoder().decode(logoBase64.substring(logoBase64.indexOf(',') + 1));
+        logo = ImageIO.read(new ByteArrayInputStream(logoPng));
+        ImagemEscPosUtil.converterBase64ParaEscPos(logoBase64, BitmapEscPos.LARGURA_MAXIMA_PADRAO, pontilhamento);
+    }
+
+    @Benchmark
+    public byte[] base64EmCache() {
+        return ImagemEscPosUtil.converterBase64ParaEscPos(logoBase64, BitmapEscPos.LARGURA_MAXIMA_PADRAO,
+                pontilhamento);
+    }
+
+    @Benchmark
+    public byte[] converterBitmap() {
+        return BitmapEscPos.converter(logo, BitmapEscPos.LARGURA_MAXIMA_PADRAO, pontilhamento, true);
+    }
+
+    @Benchmark
+    public byte[] decodificarPngEConverter() throws IOException {
+        BufferedImage imagem = ImageIO.read(new ByteArrayInputStream(logoPng));
+        return BitmapEscPos.converter(imagem, BitmapEscPos.LARGURA_MAXIMA_PADRAO, pontilhamento, true);
+    }
+}
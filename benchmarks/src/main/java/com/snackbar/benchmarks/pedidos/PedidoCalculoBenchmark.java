@@ -0,0 +1,72 @@
+package com.snackbar.benchmarks.pedidos;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.cardapio.domain.valueobjects.Preco;
+import com.snackbar.pedidos.domain.entities.ItemPedido;
+import com.snackbar.pedidos.domain.entities.Pedido;
+import com.snackbar.pedidos.domain.services.PedidoCalculator;
+import com.snackbar.pedidos.domain.valueobjects.NumeroPedido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soma do valor total de um pedido de 50 itens.
+ *
+ * {@code Pedido.recalcularValorTotal} é privado; é medido pelos dois caminhos que o chamam:
+ * a restauração do banco (uma soma) e a montagem item a item (uma soma por item adicionado).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoCalculoBenchmark {
+
+    private final PedidoCalculator calculator = new PedidoCalculator();
+
+    private List<ItemPedido> itens;
+    private Pedido pedido;
+
+    @Setup
+    public void preparar() {
+        itens = DadosBenchmark.itensPedido(DadosBenchmark.ITENS_POR_PEDIDO);
+        pedido = DadosBenchmark.pedidoGrande();
+    }
+
+    @Benchmark
+    public Preco calculatorValorTotal() {
+        return calculator.calcularValorTotal(itens);
+    }
+
+    @Benchmark
+    public int calculatorQuantidadeTotal() {
+        return calculator.contarQuantidadeTotal(pedido);
+    }
+
+    @Benchmark
+    public Preco recalcularAoRestaurarItens() {
+        pedido.restaurarItensDoBanco(itens);
+        return pedido.getValorTotal();
+    }
+
+    @Benchmark
+    public Preco recalcularAoAdicionarItens() {
+        Pedido novo = Pedido.criarPedidoMesa(NumeroPedido.de(1), "cliente", "Mesa 1");
+        for (ItemPedido item : itens) {
+            novo.adicionarItem(item);
+        }
+        return novo.getValorTotal();
+    }
+}
@@ -0,0 +1,53 @@
+package com.snackbar.benchmarks.pedidos;
+
+import com.snackbar.benchmarks.DadosBenchmark;
+import com.snackbar.pedidos.domain.entities.Pedido;
+import com.snackbar.pedidos.infrastructure.mappers.PedidoMapper;
+import com.snackbar.pedidos.infrastructure.persistence.PedidoEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão domínio ↔ entidade JPA de um pedido de 50 itens com adicionais e dois meios de pagamento.
+ * Roda a cada gravação e a cada leitura de pedido (fila, histórico, relatórios).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoMapperBenchmark {
+
+    private final PedidoMapper mapper = new PedidoMapper();
+
+    private Pedido pedido;
+    private PedidoEntity entity;
+
+    @Setup
+    public void preparar() {
+        pedido = DadosBenchmark.pedidoGrande();
+        pedido.restaurarVersionDoBanco(3L);
+        entity = mapper.paraEntity(pedido);
+    }
+
+    @Benchmark
+    public PedidoEntity paraEntity() {
+        return mapper.paraEntity(pedido);
+    }
+
+    @Benchmark
+    public Pedido paraDomain() {
+        return mapper.paraDomain(entity);
+    }
+}
@@ -0,0 +1,73 @@
+package com.snackbar.pedidos.infrastructure.persistence.relatorios;
+
+import com.snackbar.pedidos.application.dtos.relatorios.FiltroRelatorioTemporalDTO;
+import com.snackbar.pedidos.application.dtos.relatorios.GranularidadeTempo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem dos períodos do relatório de evolução de vendas para um ano inteiro e distribuição
+ * de uma linha agregada por dia (o que o banco devolve) nesses períodos.
+ *
+ * Fica no pacote da fábrica porque ela é package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelatorioBucketBenchmark {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2026, 1, 1);
+
+    @Param({"DIA", "SEMANA", "MES"})
+    private GranularidadeTempo granularidade;
+
+    private final RelatorioBucketFactory factory = new RelatorioBucketFactory();
+
+    private FiltroRelatorioTemporalDTO filtro;
+    private LocalDate[] dias;
+    private BigDecimal[] totais;
+
+    @Setup
+    public void preparar() {
+        filtro = new FiltroRelatorioTemporalDTO(granularidade, INICIO, FIM);
+        int totalDias = (int) filtro.diasIntervalo();
+        dias = new LocalDate[totalDias];
+        totais = new BigDecimal[totalDias];
+        for (int i = 0; i < totalDias; i++) {
+            dias[i] = INICIO.plusDays(i);
+            totais[i] = BigDecimal.valueOf(150_000 + (i * 7919L) % 90_000, 2);
+        }
+    }
+
+    @Benchmark
+    public List<RelatorioBucketFactory.RelatorioBucket> criarBuckets() {
+        return factory.criarBuckets(filtro);
+    }
+
+    @Benchmark
+    public List<RelatorioBucketFactory.RelatorioBucket> criarEAcumularAnoPorDia() {
+        List<RelatorioBucketFactory.RelatorioBucket> buckets = factory.criarBuckets(filtro);
+        for (int i = 0; i < dias.length; i++) {
+            factory.acumular(buckets, dias[i], totais[i], 40 + i % 60);
+        }
+        return buckets;
+    }
+}
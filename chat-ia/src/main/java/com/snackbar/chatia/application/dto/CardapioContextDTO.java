@@ -6,11 +6,14 @@ import java.util.List;
 /**
  * DTO com contexto do cardápio para a IA.
  * Contém todas as informações necessárias para a IA responder sobre o cardápio.
+ * A versão acompanha o catálogo em memória e muda a cada alteração do cardápio;
+ * versão 0 indica cardápio indisponível.
  */
 public record CardapioContextDTO(
     List<CategoriaContextDTO> categorias,
     List<ProdutoContextDTO> produtos,
-    String resumoCardapio
+    String resumoCardapio,
+    long versao
 ) {
     
     /**
@@ -104,4 +107,48 @@ public record CardapioContextDTO(
         
         return sb.toString();
     }
+    
+    /**
+     * Versão compacta de {@link #gerarDescricaoParaIA()}: uma linha por produto disponível
+     * (nome e preço), agrupada por categoria. Usada quando o prompt não comporta a lista completa.
+     */
+    public String gerarDescricaoCompactaParaIA() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== CARDÁPIO OFICIAL (nome - preço) ===\n");
+        sb.append("ESTES SÃO OS ÚNICOS PRODUTOS QUE EXISTEM NO ESTABELECIMENTO.\n");
+        
+        for (CategoriaContextDTO categoria : categorias) {
+            List<ProdutoContextDTO> produtosCategoria = produtos.stream()
+                .filter(p -> p.categoria().equals(categoria.nome()) && p.disponivel())
+                .toList();
+            
+            if (produtosCategoria.isEmpty()) continue;
+            
+            sb.append("\n📁 ").append(categoria.nome().toUpperCase()).append("\n");
+            for (ProdutoContextDTO produto : produtosCategoria) {
+                sb.append("  • ").append(produto.nome())
+                  .append(" - R$ ").append(String.format("%.2f", produto.preco())).append("\n");
+            }
+        }
+        
+        sb.append("\n⚠️ Qualquer produto NÃO listado acima NÃO EXISTE. Use APENAS os nomes e preços EXATOS desta lista.\n");
+        return sb.toString();
+    }
+    
+    /**
+     * Apenas o resumo e as categorias, sem produtos. Último recurso quando nem a versão
+     * compacta cabe no prompt; os produtos relevantes vêm da busca.
+     */
+    public String gerarResumoParaIA() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== CARDÁPIO OFICIAL (resumo) ===\n");
+        if (resumoCardapio != null && !resumoCardapio.isBlank()) {
+            sb.append(resumoCardapio).append("\n");
+        }
+        sb.append("Categorias: ")
+          .append(String.join(", ", categorias.stream().map(CategoriaContextDTO::nome).toList()))
+          .append("\n");
+        sb.append("⚠️ Fale APENAS dos produtos informados na seção de produtos encontrados. Não invente produtos nem preços.\n");
+        return sb.toString();
+    }
 }
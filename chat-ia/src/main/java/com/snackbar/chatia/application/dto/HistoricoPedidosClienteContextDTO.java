@@ -15,6 +15,12 @@ public record HistoricoPedidosClienteContextDTO(
     List<PedidoRecenteDTO> pedidosRecentes
 ) {
     
+    /** Cabeçalho da lista de favoritos em {@link #gerarDescricaoParaIA()}. */
+    public static final String CABECALHO_FAVORITOS = "\n🌟 Produtos favoritos:\n";
+    
+    /** Cabeçalho da lista de pedidos recentes em {@link #gerarDescricaoParaIA()}. */
+    public static final String CABECALHO_PEDIDOS_RECENTES = "\n📋 Últimos pedidos:\n";
+    
     /**
      * Produto favorito do cliente (mais pedido).
      */
@@ -44,6 +50,25 @@ public record HistoricoPedidosClienteContextDTO(
             return "Cliente não identificado (novo cliente ou visitante).";
         }
         
+        StringBuilder sb = new StringBuilder(gerarPerfilParaIA());
+        
+        if (produtosFavoritos != null && !produtosFavoritos.isEmpty()) {
+            sb.append(CABECALHO_FAVORITOS);
+            produtosFavoritos.forEach(fav -> sb.append(descreverFavorito(fav)));
+        }
+        
+        if (pedidosRecentes != null && !pedidosRecentes.isEmpty()) {
+            sb.append(CABECALHO_PEDIDOS_RECENTES);
+            pedidosRecentes.forEach(pedido -> sb.append(descreverPedidoRecente(pedido)));
+        }
+        
+        return sb.toString();
+    }
+    
+    /**
+     * Parte fixa do perfil (nome, total de pedidos e valor gasto), sem as listas.
+     */
+    public String gerarPerfilParaIA() {
         StringBuilder sb = new StringBuilder();
         sb.append("=== PERFIL DO CLIENTE ===\n");
         
@@ -56,27 +81,32 @@ public record HistoricoPedidosClienteContextDTO(
         if (valorTotalGasto != null && valorTotalGasto.compareTo(BigDecimal.ZERO) > 0) {
             sb.append("Valor total gasto: R$ ").append(String.format("%.2f", valorTotalGasto)).append("\n");
         }
-        
-        if (produtosFavoritos != null && !produtosFavoritos.isEmpty()) {
-            sb.append("\n🌟 Produtos favoritos:\n");
-            for (ProdutoFavoritoDTO fav : produtosFavoritos) {
-                sb.append("  • ").append(fav.nomeProduto())
-                  .append(" (pedido ").append(fav.vezesComprado()).append("x)\n");
-            }
-        }
-        
-        if (pedidosRecentes != null && !pedidosRecentes.isEmpty()) {
-            sb.append("\n📋 Últimos pedidos:\n");
-            for (PedidoRecenteDTO pedido : pedidosRecentes) {
-                sb.append("  • ").append(pedido.dataPedido())
-                  .append(" - R$ ").append(String.format("%.2f", pedido.valorTotal()))
-                  .append(" (").append(String.join(", ", pedido.nomesProdutos())).append(")\n");
-            }
-        }
-        
         return sb.toString();
     }
     
+    /**
+     * Linha de um produto favorito na descrição para a IA.
+     */
+    public static String descreverFavorito(ProdutoFavoritoDTO fav) {
+        return "  • " + fav.nomeProduto() + " (pedido " + fav.vezesComprado() + "x)\n";
+    }
+    
+    /**
+     * Linha de um pedido recente na descrição para a IA.
+     */
+    public static String descreverPedidoRecente(PedidoRecenteDTO pedido) {
+        return "  • " + pedido.dataPedido()
+            + " - R$ " + String.format("%.2f", pedido.valorTotal())
+            + " (" + String.join(", ", pedido.nomesProdutos()) + ")\n";
+    }
+    
+    /**
+     * Indica se há um cliente identificado.
+     */
+    public boolean isClienteIdentificado() {
+        return clienteId != null && !clienteId.isBlank();
+    }
+    
     /**
      * Cria um contexto vazio para visitantes.
      */
@@ -0,0 +1,17 @@
+package com.snackbar.chatia.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta com os dados de listagem de uma conversa salva, sem as mensagens.
+ * As mensagens são carregadas só quando a conversa é aberta.
+ */
+public record ResumoConversaDTO(
+    String id,
+    String sessionId,
+    String titulo,
+    String previewUltimaMensagem,
+    LocalDateTime dataInicio,
+    LocalDateTime dataUltimaMensagem,
+    int totalMensagens
+) {}
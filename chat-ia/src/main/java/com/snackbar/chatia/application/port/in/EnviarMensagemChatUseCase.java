@@ -3,6 +3,8 @@ package com.snackbar.chatia.application.port.in;
 import com.snackbar.chatia.application.dto.ChatRequestDTO;
 import com.snackbar.chatia.application.dto.ChatResponseDTO;
 
+import java.util.function.Consumer;
+
 /**
  * Porta de entrada para envio de mensagens ao chat IA.
  */
@@ -15,4 +17,14 @@ public interface EnviarMensagemChatUseCase {
      * @return resposta da IA
      */
     ChatResponseDTO executar(ChatRequestDTO request);
+    
+    /**
+     * Processa uma mensagem repassando os trechos da resposta da IA à medida que chegam.
+     * A resposta retornada ao final é a mesma de {@link #executar} (texto completo, produtos e ação).
+     * 
+     * @param request DTO com a mensagem e sessionId
+     * @param aoReceberTrecho consumidor chamado a cada trecho da resposta
+     * @return resposta completa da IA
+     */
+    ChatResponseDTO executarStreaming(ChatRequestDTO request, Consumer<String> aoReceberTrecho);
 }
@@ -2,6 +2,7 @@ package com.snackbar.chatia.application.port.out;
 
 import com.snackbar.chatia.domain.entity.MensagemChat;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Porta de saída para comunicação com a API de IA (OpenAI).
@@ -17,4 +18,34 @@ public interface IAClientPort {
      * @return resposta da IA
      */
     String chat(String systemPrompt, List<MensagemChat> historico, String mensagemAtual);
+    
+    /**
+     * Variante em streaming: repassa cada trecho da resposta assim que chega da API
+     * e retorna o texto completo ao final.
+     * Implementações sem suporte a streaming entregam a resposta inteira como um único trecho.
+     * 
+     * @param systemPrompt instruções do sistema para a IA
+     * @param historico histórico de mensagens anteriores
+     * @param mensagemAtual mensagem atual do usuário
+     * @param aoReceberTrecho consumidor chamado a cada trecho recebido
+     * @return resposta completa da IA
+     */
+    default String chatStreaming(String systemPrompt, List<MensagemChat> historico, String mensagemAtual,
+            Consumer<String> aoReceberTrecho) {
+        String resposta = chat(systemPrompt, historico, mensagemAtual);
+        aoReceberTrecho.accept(resposta);
+        return resposta;
+    }
+    
+    /**
+     * Indica se o texto retornado é uma resposta de fato da IA, e não uma mensagem
+     * de falha (serviço não configurado, erro de comunicação).
+     * Usado para não reaproveitar falhas como resposta.
+     * 
+     * @param resposta texto retornado por {@link #chat} ou {@link #chatStreaming}
+     * @return true se a resposta pode ser reaproveitada
+     */
+    default boolean isRespostaValida(String resposta) {
+        return resposta != null && !resposta.isBlank();
+    }
 }
@@ -3,18 +3,28 @@ package com.snackbar.chatia.application.service;
 import com.snackbar.chatia.application.dto.AcaoChatDTO;
 import com.snackbar.chatia.application.dto.CardapioContextDTO;
 import com.snackbar.chatia.application.dto.CardapioContextDTO.ProdutoContextDTO;
+import com.snackbar.chatia.application.service.busca.AhoCorasick;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Serviço para detectar comandos de ação na mensagem do usuário.
  * Identifica quando o usuário quer adicionar um produto ao carrinho via texto.
+ *
+ * Frases de comando e nomes de produto são compilados em um autômato de Aho-Corasick
+ * por versão do cardápio, então a mensagem é percorrida uma única vez para encontrar
+ * todos os verbos e produtos mencionados.
  */
 @Slf4j
 @Service
@@ -50,6 +60,14 @@ public class DetectorComandoService {
             "o que eu pedi", "que eu pedi", "itens do carrinho", "itens do pedido",
             "mostra o carrinho", "mostra o pedido", "mostrar carrinho", "mostrar pedido");
 
+    // Palavras que indicam que o comando se refere ao carrinho
+    private static final List<String> CONTEXTO_CARRINHO = List.of("carrinho", "pedido", "cesta");
+
+    // Termos que precisam estar na mensagem para os padrões de referência numérica abaixo casarem
+    private static final List<String> INDICADORES_NUMERO = List.of("numero", "n°", "nº");
+    private static final List<String> INDICADORES_DEMONSTRATIVO = List.of(
+            "esse", "essa", "este", "esta", "aquele", "aquela");
+
     // Padrão PRIORITÁRIO: "numero X" ou "número X" (mais comum em menus)
     // Captura o número do produto quando mencionado explicitamente
     private static final Pattern PADRAO_NUMERO_PRODUTO = Pattern.compile(
@@ -72,6 +90,57 @@ public class DetectorComandoService {
             "^\\s*(\\d+)\\s+(?!numero|número|n°|nº)",
             Pattern.CASE_INSENSITIVE);
 
+    // Quantidade após verbo de adicionar: "quero 2", "me vê 3", "adiciona 2"
+    // Mas NÃO "quero o 4" ou "adiciona o número 4" (referência a produto)
+    private static final Pattern PADRAO_QUANTIDADE_APOS_VERBO = Pattern.compile(
+            "(?:quero|adiciona|coloca|me\\s*v[eê]|me\\s*d[aá]|manda|pede)\\s+(\\d+)(?!\\s*(?:numero|número|n°|nº|o\\s|a\\s|do\\s|da\\s))",
+            Pattern.CASE_INSENSITIVE);
+
+    // Quantidade antes de "do/da/de": "2 do número 4", "3 da coca"
+    private static final Pattern PADRAO_QUANTIDADE_ANTES_DE = Pattern.compile(
+            "(\\d+)\\s+(?:do|da|de|del)\\s+",
+            Pattern.CASE_INSENSITIVE);
+
+    // Quantidade parcial: "um/uma/1/2... del(e/a)s? é/sem/com..."
+    private static final Pattern PADRAO_QUANTIDADE_PARCIAL = Pattern.compile(
+            "(um|uma|\\d+)\\s+(?:del[ea]s?|desses?|dessas?)\\s+(?:é\\s+|seja\\s+|sendo\\s+)?(.+?)(?:,|\\.|$)",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    // Padrões de observação; captura letras com acentos: [\\p{L}\\s] em vez de [\\w\\s]
+    // \\p{L} = qualquer letra Unicode (inclui acentos)
+    private static final List<Pattern> PADROES_OBSERVACAO = List.of(
+            // "sem cebola", "sem maionese"
+            Pattern.compile("(?:sem)\\s+([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
+            // "com bacon", "com extra queijo", "com molho especial"
+            Pattern.compile("(?:com)\\s+(?:extra\\s+)?([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
+            // "extra bacon", "extra queijo"
+            Pattern.compile("(?:extra)\\s+([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
+            // "tirar cebola", "tira a salada"
+            Pattern.compile("(?:tirar|tira|remove|retira)\\s+(?:o|a)?\\s*([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
+            // "mais molho", "menos sal"
+            Pattern.compile("(?:mais|menos|pouco|muito)\\s+([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
+            // "bem passado", "mal passado", "ao ponto"
+            Pattern.compile("(?:bem|mal|ao)\\s+(passad[oa]|ponto)(?:,|\\.|\\s+e\\s|$)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
+            // Captura frases após "sendo que", "só que", "mas"
+            Pattern.compile("(?:sendo\\s+que|só\\s+que|mas|porém)\\s+([\\p{L}\\s]+?)(?:,|\\.|$)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final List<String> PALAVRAS_GENERICAS = List.of(
+            "com", "sem", "para", "mais", "menos", "grande", "pequeno", "medio");
+
+    // Autômato só com os termos de comando, usado quando não há cardápio
+    private static final AutomatoCatalogo AUTOMATO_SEM_CARDAPIO = AutomatoCatalogo.construir(null);
+
+    private final AtomicReference<AutomatoCatalogo> automatoAtual = new AtomicReference<>();
+
     /**
      * Detecta qualquer comando de ação na mensagem.
      * Prioriza: VER_CARRINHO > LIMPAR > REMOVER > ADICIONAR
@@ -82,38 +151,37 @@ public class DetectorComandoService {
         }
 
         String mensagemNormalizada = normalizar(mensagem);
+        AutomatoCatalogo automato = obterAutomato(cardapio);
+        Deteccoes deteccoes = automato.varrer(mensagemNormalizada);
 
         // 1. Verifica se é comando de VER carrinho (maior prioridade)
-        AcaoChatDTO acaoVerCarrinho = detectarComandoVerCarrinho(mensagemNormalizada);
+        AcaoChatDTO acaoVerCarrinho = detectarComandoVerCarrinho(deteccoes);
         if (acaoVerCarrinho.temAcao()) {
             return acaoVerCarrinho;
         }
 
         // 2. Verifica se é comando de LIMPAR carrinho
-        AcaoChatDTO acaoLimpar = detectarComandoLimpar(mensagemNormalizada);
+        AcaoChatDTO acaoLimpar = detectarComandoLimpar(deteccoes);
         if (acaoLimpar.temAcao()) {
             return acaoLimpar;
         }
 
         // 3. Verifica se é comando de REMOVER do carrinho
-        AcaoChatDTO acaoRemover = detectarComandoRemover(mensagem, mensagemNormalizada, cardapio);
+        AcaoChatDTO acaoRemover = detectarComandoRemover(mensagem, deteccoes, automato);
         if (acaoRemover.temAcao()) {
             return acaoRemover;
         }
 
         // 4. Verifica se é comando de ADICIONAR ao carrinho
-        return detectarComandoAdicionar(mensagem, cardapio);
+        return detectarComandoAdicionar(mensagem, deteccoes, automato);
     }
 
     /**
      * Detecta comando de VER carrinho/pedido.
      * Ex: "o que tem no carrinho?", "quanto está?", "ver meu pedido"
      */
-    private AcaoChatDTO detectarComandoVerCarrinho(String mensagemNormalizada) {
-        boolean contemPadraoVerCarrinho = PADROES_VER_CARRINHO.stream()
-                .anyMatch(padrao -> mensagemNormalizada.contains(normalizar(padrao)));
-
-        if (contemPadraoVerCarrinho) {
+    private AcaoChatDTO detectarComandoVerCarrinho(Deteccoes deteccoes) {
+        if (deteccoes.contem(TipoTermo.VER_CARRINHO)) {
             log.info("👀 Comando de VER carrinho detectado");
             return AcaoChatDTO.verCarrinho();
         }
@@ -125,14 +193,11 @@ public class DetectorComandoService {
      * Detecta comando de LIMPAR/ESVAZIAR carrinho.
      * Ex: "limpa o carrinho", "cancela tudo", "esvazia o carrinho"
      */
-    private AcaoChatDTO detectarComandoLimpar(String mensagemNormalizada) {
-        boolean contemVerbosLimpar = VERBOS_LIMPAR.stream()
-                .anyMatch(verbo -> mensagemNormalizada.contains(normalizar(verbo)));
+    private AcaoChatDTO detectarComandoLimpar(Deteccoes deteccoes) {
+        boolean contemVerbosLimpar = deteccoes.contem(TipoTermo.LIMPAR);
 
         // Também detecta padrões como "limpa o carrinho", "esvazia meu pedido"
-        boolean contemContextoCarrinho = mensagemNormalizada.contains("carrinho") ||
-                mensagemNormalizada.contains("pedido") ||
-                mensagemNormalizada.contains("cesta");
+        boolean contemContextoCarrinho = deteccoes.contem(TipoTermo.CONTEXTO_CARRINHO);
 
         if (contemVerbosLimpar && contemContextoCarrinho) {
             log.info("🗑️ Comando de LIMPAR carrinho detectado");
@@ -140,7 +205,7 @@ public class DetectorComandoService {
         }
 
         // Detecta "cancela tudo", "remove tudo", etc.
-        if (contemVerbosLimpar && mensagemNormalizada.contains("tudo")) {
+        if (contemVerbosLimpar && deteccoes.contem(TipoTermo.TUDO)) {
             log.info("🗑️ Comando de LIMPAR carrinho detectado (tudo)");
             return AcaoChatDTO.limparCarrinho();
         }
@@ -152,24 +217,21 @@ public class DetectorComandoService {
      * Detecta comando de REMOVER um produto específico do carrinho.
      * Ex: "tira o x-tudo", "remove o número 4", "cancela a coca"
      */
-    private AcaoChatDTO detectarComandoRemover(String mensagemOriginal, String mensagemNormalizada,
-            CardapioContextDTO cardapio) {
-        if (cardapio == null) {
+    private AcaoChatDTO detectarComandoRemover(String mensagemOriginal, Deteccoes deteccoes,
+            AutomatoCatalogo automato) {
+        if (automato.cardapio() == null) {
             return AcaoChatDTO.nenhuma();
         }
 
-        boolean contemVerboRemover = VERBOS_REMOVER.stream()
-                .anyMatch(verbo -> mensagemNormalizada.contains(normalizar(verbo)));
-
-        if (!contemVerboRemover) {
+        if (!deteccoes.contem(TipoTermo.REMOVER)) {
             return AcaoChatDTO.nenhuma();
         }
 
         log.info("🔄 Comando de remover detectado na mensagem: '{}'", mensagemOriginal);
 
         // Tenta identificar qual produto remover
-        Optional<CardapioContextDTO.ProdutoContextDTO> produtoEncontrado = identificarProduto(mensagemNormalizada,
-                mensagemOriginal, cardapio);
+        Optional<CardapioContextDTO.ProdutoContextDTO> produtoEncontrado = identificarProduto(deteccoes,
+                mensagemOriginal, automato);
 
         if (produtoEncontrado.isEmpty()) {
             log.warn("⚠️ Verbo de remover detectado, mas produto não identificado");
@@ -195,13 +257,17 @@ public class DetectorComandoService {
             return AcaoChatDTO.nenhuma();
         }
 
-        String mensagemNormalizada = normalizar(mensagem);
+        AutomatoCatalogo automato = obterAutomato(cardapio);
+        return detectarComandoAdicionar(mensagem, automato.varrer(normalizar(mensagem)), automato);
+    }
 
-        // Verifica se contém verbo de adicionar
-        boolean contemVerboAdicionar = VERBOS_ADICIONAR.stream()
-                .anyMatch(verbo -> mensagemNormalizada.contains(normalizar(verbo)));
+    private AcaoChatDTO detectarComandoAdicionar(String mensagem, Deteccoes deteccoes, AutomatoCatalogo automato) {
+        if (automato.cardapio() == null) {
+            return AcaoChatDTO.nenhuma();
+        }
 
-        if (!contemVerboAdicionar) {
+        // Verifica se contém verbo de adicionar
+        if (!deteccoes.contem(TipoTermo.ADICIONAR)) {
             return AcaoChatDTO.nenhuma();
         }
 
@@ -209,7 +275,7 @@ public class DetectorComandoService {
 
         // Tenta identificar qual produto (passa a mensagem original também para extrair
         // número)
-        Optional<ProdutoContextDTO> produtoEncontrado = identificarProduto(mensagemNormalizada, mensagem, cardapio);
+        Optional<ProdutoContextDTO> produtoEncontrado = identificarProduto(deteccoes, mensagem, automato);
 
         if (produtoEncontrado.isEmpty()) {
             log.warn("⚠️ Verbo de adicionar detectado, mas produto não identificado");
@@ -240,31 +306,35 @@ public class DetectorComandoService {
      * Prioriza: 1) Número do produto (ex: "numero 4"), 2) Nome exato, 3) Nome
      * parcial
      */
-    private Optional<ProdutoContextDTO> identificarProduto(String mensagemNormalizada, String mensagemOriginal,
-            CardapioContextDTO cardapio) {
-        List<ProdutoContextDTO> produtosDisponiveis = cardapio.produtos().stream()
-                .filter(ProdutoContextDTO::disponivel)
-                .toList();
+    private Optional<ProdutoContextDTO> identificarProduto(Deteccoes deteccoes, String mensagemOriginal,
+            AutomatoCatalogo automato) {
+        List<ProdutoContextDTO> produtosDisponiveis = automato.produtos();
+        String[] nomesNormalizados = automato.nomesNormalizados();
 
         // 1. PRIMEIRO: Tenta match por "numero X" (padrão mais comum em menus)
         // Ex: "quero 3 do numero 4" -> deve pegar "Número 4"
-        Matcher matcherNumero = PADRAO_NUMERO_PRODUTO.matcher(mensagemOriginal);
-        if (matcherNumero.find()) {
+        // O regex só roda se a varredura encontrou "numero"/"nº" na mensagem
+        Matcher matcherNumero = deteccoes.contem(TipoTermo.REFERENCIA_NUMERO)
+                ? PADRAO_NUMERO_PRODUTO.matcher(mensagemOriginal)
+                : null;
+        if (matcherNumero != null && matcherNumero.find()) {
             try {
                 int numeroReferencia = Integer.parseInt(matcherNumero.group(1));
                 log.info("🔢 Referência 'numero {}' encontrada na mensagem", numeroReferencia);
 
                 // Busca produto cujo nome contenha "Número X"
-                for (ProdutoContextDTO produto : produtosDisponiveis) {
-                    String nomeProduto = normalizar(produto.nome());
+                Pattern padraoNomeNumero = Pattern.compile(".*\\bnumero\\s*" + numeroReferencia + "\\b.*");
+                for (int i = 0; i < produtosDisponiveis.size(); i++) {
+                    String nomeProduto = nomesNormalizados[i];
 
                     if (nomeProduto.equals("numero " + numeroReferencia) ||
                             nomeProduto.equals("numero" + numeroReferencia) ||
                             nomeProduto.startsWith("numero " + numeroReferencia + " ") ||
                             nomeProduto.endsWith(" " + numeroReferencia) ||
-                            nomeProduto.matches(".*\\bnumero\\s*" + numeroReferencia + "\\b.*")) {
-                        log.info("📦 Produto identificado por 'numero {}': {}", numeroReferencia, produto.nome());
-                        return Optional.of(produto);
+                            padraoNomeNumero.matcher(nomeProduto).matches()) {
+                        log.info("📦 Produto identificado por 'numero {}': {}", numeroReferencia,
+                                produtosDisponiveis.get(i).nome());
+                        return Optional.of(produtosDisponiveis.get(i));
                     }
                 }
             } catch (NumberFormatException e) {
@@ -272,42 +342,37 @@ public class DetectorComandoService {
             }
         }
 
-        // 2. Tenta match por nome exato ou parcial (mas NÃO a palavra "numero" sozinha)
-        for (ProdutoContextDTO produto : produtosDisponiveis) {
-            String nomeProduto = normalizar(produto.nome());
-
-            // Match exato
-            if (mensagemNormalizada.contains(nomeProduto)) {
+        // 2. Tenta match por nome exato ou parcial (mas NÃO a palavra "numero" sozinha).
+        // A varredura já marcou nomes e partes de nome presentes na mensagem; vale o
+        // primeiro produto do cardápio com alguma ocorrência, como na busca sequencial.
+        int indiceProduto = deteccoes.primeiroProduto();
+        if (indiceProduto >= 0) {
+            ProdutoContextDTO produto = produtosDisponiveis.get(indiceProduto);
+            String parte = deteccoes.nomeCompleto(indiceProduto) ? null : deteccoes.parteDoNome(indiceProduto);
+            if (parte == null) {
                 log.info("📦 Produto identificado por nome exato: {}", produto.nome());
-                return Optional.of(produto);
-            }
-
-            // Match parcial (ex: "x-tudo" para "X-Tudo do Soneca")
-            String[] partes = nomeProduto.split("\\s+");
-            for (String parte : partes) {
-                // Ignora palavras muito curtas, genéricas, ou "numero" (já tratado acima)
-                if (parte.length() > 3 && !isGenerico(parte) && !parte.equals("numero")
-                        && mensagemNormalizada.contains(parte)) {
-                    log.info("📦 Produto identificado por nome parcial '{}': {}", parte, produto.nome());
-                    return Optional.of(produto);
-                }
+            } else {
+                log.info("📦 Produto identificado por nome parcial '{}': {}", parte, produto.nome());
             }
+            return Optional.of(produto);
         }
 
         // 3. Tenta match por demonstrativo (ex: "desse 4", "esse 4")
-        Matcher matcherDemo = PADRAO_REFERENCIA_DEMONSTRATIVO.matcher(mensagemOriginal);
-        if (matcherDemo.find()) {
+        Matcher matcherDemo = deteccoes.contem(TipoTermo.DEMONSTRATIVO)
+                ? PADRAO_REFERENCIA_DEMONSTRATIVO.matcher(mensagemOriginal)
+                : null;
+        if (matcherDemo != null && matcherDemo.find()) {
             try {
                 int numeroReferencia = Integer.parseInt(matcherDemo.group(1));
                 log.info("🔢 Referência demonstrativa '{}' encontrada", numeroReferencia);
 
                 // Primeiro busca por nome
-                for (ProdutoContextDTO produto : produtosDisponiveis) {
-                    String nomeProduto = normalizar(produto.nome());
+                for (int i = 0; i < produtosDisponiveis.size(); i++) {
+                    String nomeProduto = nomesNormalizados[i];
                     if (nomeProduto.contains("numero " + numeroReferencia) ||
                             nomeProduto.endsWith(" " + numeroReferencia)) {
-                        log.info("📦 Produto identificado por demonstrativo: {}", produto.nome());
-                        return Optional.of(produto);
+                        log.info("📦 Produto identificado por demonstrativo: {}", produtosDisponiveis.get(i).nome());
+                        return Optional.of(produtosDisponiveis.get(i));
                     }
                 }
 
@@ -325,12 +390,189 @@ public class DetectorComandoService {
         return Optional.empty();
     }
 
+    /**
+     * Retorna o autômato da versão do cardápio informada, construindo-o se a versão mudou.
+     * Sem cardápio, usa o autômato só com os termos de comando.
+     */
+    private AutomatoCatalogo obterAutomato(CardapioContextDTO cardapio) {
+        if (cardapio == null) {
+            return AUTOMATO_SEM_CARDAPIO;
+        }
+
+        AutomatoCatalogo automato = automatoAtual.get();
+        if (automato != null && (automato.cardapio() == cardapio
+                || (cardapio.versao() != 0 && automato.cardapio().versao() == cardapio.versao()))) {
+            return automato;
+        }
+
+        long inicio = System.nanoTime();
+        AutomatoCatalogo novo = AutomatoCatalogo.construir(cardapio);
+        // Em corrida entre duas mensagens, ambas constroem a mesma versão; qualquer uma serve
+        automatoAtual.set(novo);
+        log.info("Autômato de comandos construído - versão {}, {} produtos, {} estados em {} ms",
+                cardapio.versao(), novo.produtos().size(), novo.automato().totalEstados(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return novo;
+    }
+
+    /**
+     * Categoria de cada termo reconhecido pelo autômato.
+     */
+    private enum TipoTermo {
+        VER_CARRINHO, LIMPAR, REMOVER, ADICIONAR, CONTEXTO_CARRINHO, TUDO,
+        REFERENCIA_NUMERO, DEMONSTRATIVO, NOME_PRODUTO, PARTE_NOME_PRODUTO
+    }
+
+    /**
+     * Termo do autômato; {@code produto} é a posição do produto na lista de disponíveis (-1 para comandos).
+     */
+    private record Termo(TipoTermo tipo, int produto, String texto) {
+    }
+
+    /**
+     * Autômato de Aho-Corasick com todas as frases de comando e os nomes (e partes de nome) dos
+     * produtos disponíveis de uma versão do cardápio. Os padrões são normalizados da mesma forma
+     * que a mensagem, então uma ocorrência equivale ao {@code contains} feito antes termo a termo.
+     */
+    private record AutomatoCatalogo(
+            CardapioContextDTO cardapio,
+            List<ProdutoContextDTO> produtos,
+            String[] nomesNormalizados,
+            // Produto cujo nome normalizado é vazio: como "".contains é sempre verdadeiro, casa com qualquer mensagem
+            int primeiroSemNome,
+            AhoCorasick<Termo> automato) {
+
+        static AutomatoCatalogo construir(CardapioContextDTO cardapio) {
+            AhoCorasick.Construtor<Termo> construtor = AhoCorasick.construtor();
+            adicionarComandos(construtor);
+
+            List<ProdutoContextDTO> produtos = List.of();
+            String[] nomes = new String[0];
+            int primeiroSemNome = -1;
+            if (cardapio != null) {
+                produtos = cardapio.produtos().stream()
+                        .filter(ProdutoContextDTO::disponivel)
+                        .toList();
+                nomes = new String[produtos.size()];
+                for (int i = 0; i < produtos.size(); i++) {
+                    nomes[i] = normalizar(produtos.get(i).nome());
+                    if (nomes[i].isEmpty() && primeiroSemNome < 0) {
+                        primeiroSemNome = i;
+                    }
+                    construtor.adicionar(nomes[i], new Termo(TipoTermo.NOME_PRODUTO, i, nomes[i]));
+
+                    // Partes do nome (ex: "x-tudo" para "X-Tudo do Soneca"), ignorando palavras
+                    // muito curtas, genéricas, ou "numero" (tratado pela referência numérica)
+                    for (String parte : nomes[i].split("\\s+")) {
+                        if (isParteValida(parte)) {
+                            construtor.adicionar(parte, new Termo(TipoTermo.PARTE_NOME_PRODUTO, i, parte));
+                        }
+                    }
+                }
+            }
+            return new AutomatoCatalogo(cardapio, produtos, nomes, primeiroSemNome, construtor.construir());
+        }
+
+        private static void adicionarComandos(AhoCorasick.Construtor<Termo> construtor) {
+            adicionarTermos(construtor, PADROES_VER_CARRINHO, TipoTermo.VER_CARRINHO);
+            adicionarTermos(construtor, VERBOS_LIMPAR, TipoTermo.LIMPAR);
+            adicionarTermos(construtor, VERBOS_REMOVER, TipoTermo.REMOVER);
+            adicionarTermos(construtor, VERBOS_ADICIONAR, TipoTermo.ADICIONAR);
+            adicionarTermos(construtor, CONTEXTO_CARRINHO, TipoTermo.CONTEXTO_CARRINHO);
+            adicionarTermos(construtor, List.of("tudo"), TipoTermo.TUDO);
+            adicionarTermos(construtor, INDICADORES_NUMERO, TipoTermo.REFERENCIA_NUMERO);
+            adicionarTermos(construtor, INDICADORES_DEMONSTRATIVO, TipoTermo.DEMONSTRATIVO);
+        }
+
+        private static void adicionarTermos(AhoCorasick.Construtor<Termo> construtor, List<String> termos,
+                TipoTermo tipo) {
+            for (String termo : termos) {
+                String normalizado = normalizar(termo);
+                construtor.adicionar(normalizado, new Termo(tipo, -1, normalizado));
+            }
+        }
+
+        /**
+         * Uma única passada pela mensagem normalizada, registrando os tipos de termo encontrados
+         * e as ocorrências de nomes de produto.
+         */
+        Deteccoes varrer(String mensagemNormalizada) {
+            Deteccoes deteccoes = new Deteccoes(this);
+            if (primeiroSemNome >= 0) {
+                deteccoes.registrar(new Termo(TipoTermo.NOME_PRODUTO, primeiroSemNome, ""));
+            }
+            for (AhoCorasick.Ocorrencia<Termo> ocorrencia : automato.buscar(mensagemNormalizada)) {
+                deteccoes.registrar(ocorrencia.valor());
+            }
+            return deteccoes;
+        }
+    }
+
+    /**
+     * Resultado da varredura de uma mensagem.
+     */
+    private static final class Deteccoes {
+
+        private final AutomatoCatalogo automato;
+        private final EnumSet<TipoTermo> tipos = EnumSet.noneOf(TipoTermo.class);
+        private final Map<Integer, List<Termo>> termosPorProduto = new HashMap<>();
+        private int primeiroProduto = -1;
+
+        private Deteccoes(AutomatoCatalogo automato) {
+            this.automato = automato;
+        }
+
+        private void registrar(Termo termo) {
+            tipos.add(termo.tipo());
+            if (termo.produto() >= 0) {
+                termosPorProduto.computeIfAbsent(termo.produto(), p -> new ArrayList<>()).add(termo);
+                if (primeiroProduto < 0 || termo.produto() < primeiroProduto) {
+                    primeiroProduto = termo.produto();
+                }
+            }
+        }
+
+        boolean contem(TipoTermo tipo) {
+            return tipos.contains(tipo);
+        }
+
+        /**
+         * Posição (na ordem do cardápio) do primeiro produto cujo nome ou parte do nome aparece na mensagem.
+         */
+        int primeiroProduto() {
+            return primeiroProduto;
+        }
+
+        boolean nomeCompleto(int produto) {
+            return termosPorProduto.getOrDefault(produto, List.of()).stream()
+                    .anyMatch(t -> t.tipo() == TipoTermo.NOME_PRODUTO);
+        }
+
+        /**
+         * Primeira parte do nome (na ordem do nome) encontrada na mensagem.
+         */
+        String parteDoNome(int produto) {
+            List<Termo> termos = termosPorProduto.getOrDefault(produto, List.of());
+            for (String parte : automato.nomesNormalizados()[produto].split("\\s+")) {
+                boolean encontrada = termos.stream()
+                        .anyMatch(t -> t.tipo() == TipoTermo.PARTE_NOME_PRODUTO && t.texto().equals(parte));
+                if (encontrada) {
+                    return parte;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static boolean isParteValida(String parte) {
+        return parte.length() > 3 && !isGenerico(parte) && !parte.equals("numero");
+    }
+
     /**
      * Verifica se uma palavra é genérica demais para match
      */
-    private boolean isGenerico(String palavra) {
-        return List.of("com", "sem", "para", "mais", "menos", "grande", "pequeno", "medio")
-                .contains(palavra);
+    private static boolean isGenerico(String palavra) {
+        return PALAVRAS_GENERICAS.contains(palavra);
     }
 
     /**
@@ -352,11 +594,7 @@ public class DetectorComandoService {
         }
 
         // 2. Quantidade após verbo de adicionar: "quero 2", "me vê 3", "adiciona 2"
-        // Mas NÃO "quero o 4" ou "adiciona o número 4" (referência a produto)
-        Pattern padraoAposVerbo = Pattern.compile(
-                "(?:quero|adiciona|coloca|me\\s*v[eê]|me\\s*d[aá]|manda|pede)\\s+(\\d+)(?!\\s*(?:numero|número|n°|nº|o\\s|a\\s|do\\s|da\\s))",
-                Pattern.CASE_INSENSITIVE);
-        Matcher matcherAposVerbo = padraoAposVerbo.matcher(mensagem);
+        Matcher matcherAposVerbo = PADRAO_QUANTIDADE_APOS_VERBO.matcher(mensagem);
         if (matcherAposVerbo.find()) {
             try {
                 int qtd = Integer.parseInt(matcherAposVerbo.group(1));
@@ -368,10 +606,7 @@ public class DetectorComandoService {
         }
 
         // 3. Quantidade antes de "do/da/de": "2 do número 4", "3 da coca"
-        Pattern padraoAntesDe = Pattern.compile(
-                "(\\d+)\\s+(?:do|da|de|del)\\s+",
-                Pattern.CASE_INSENSITIVE);
-        Matcher matcherAntesDe = padraoAntesDe.matcher(mensagem);
+        Matcher matcherAntesDe = PADRAO_QUANTIDADE_ANTES_DE.matcher(mensagem);
         if (matcherAntesDe.find()) {
             try {
                 int qtd = Integer.parseInt(matcherAntesDe.group(1));
@@ -409,11 +644,7 @@ public class DetectorComandoService {
         StringBuilder observacoes = new StringBuilder();
 
         // 1. Detecta padrões de quantidade parcial (ex: "um deles", "2 deles")
-        // Padrão: "um/uma/1/2... del(e/a)s? é/sem/com..."
-        Pattern padraoQuantidadeParcial = Pattern.compile(
-                "(um|uma|\\d+)\\s+(?:del[ea]s?|desses?|dessas?)\\s+(?:é\\s+|seja\\s+|sendo\\s+)?(.+?)(?:,|\\.|$)",
-                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
-        Matcher matcherParcial = padraoQuantidadeParcial.matcher(mensagem);
+        Matcher matcherParcial = PADRAO_QUANTIDADE_PARCIAL.matcher(mensagem);
 
         while (matcherParcial.find()) {
             String quantidadeParcialStr = matcherParcial.group(1).toLowerCase();
@@ -471,32 +702,7 @@ public class DetectorComandoService {
     private String extrairObservacao(String mensagem) {
         StringBuilder observacoes = new StringBuilder();
 
-        // Padrão que captura letras com acentos: [\\p{L}\\s] em vez de [\\w\\s]
-        // \\p{L} = qualquer letra Unicode (inclui acentos)
-        List<Pattern> padroes = List.of(
-                // "sem cebola", "sem maionese"
-                Pattern.compile("(?:sem)\\s+([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
-                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
-                // "com bacon", "com extra queijo", "com molho especial"
-                Pattern.compile("(?:com)\\s+(?:extra\\s+)?([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
-                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
-                // "extra bacon", "extra queijo"
-                Pattern.compile("(?:extra)\\s+([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
-                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
-                // "tirar cebola", "tira a salada"
-                Pattern.compile("(?:tirar|tira|remove|retira)\\s+(?:o|a)?\\s*([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
-                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
-                // "mais molho", "menos sal"
-                Pattern.compile("(?:mais|menos|pouco|muito)\\s+([\\p{L}\\s]+?)(?:,|\\.|\\s+e\\s|$)",
-                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
-                // "bem passado", "mal passado", "ao ponto"
-                Pattern.compile("(?:bem|mal|ao)\\s+(passad[oa]|ponto)(?:,|\\.|\\s+e\\s|$)",
-                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
-                // Captura frases após "sendo que", "só que", "mas"
-                Pattern.compile("(?:sendo\\s+que|só\\s+que|mas|porém)\\s+([\\p{L}\\s]+?)(?:,|\\.|$)",
-                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
-
-        for (Pattern padrao : padroes) {
+        for (Pattern padrao : PADROES_OBSERVACAO) {
             Matcher matcher = padrao.matcher(mensagem);
             while (matcher.find()) {
                 String obs = matcher.group(0).trim();
@@ -534,16 +740,16 @@ public class DetectorComandoService {
      */
     private String limparObservacao(String obs) {
         // Remove espaços extras
-        return obs.replaceAll("\\s+", " ").trim();
+        return ESPACOS.matcher(obs).replaceAll(" ").trim();
     }
 
     /**
      * Normaliza texto para comparação.
      */
-    private String normalizar(String texto) {
+    private static String normalizar(String texto) {
         if (texto == null)
             return "";
         String normalizado = Normalizer.normalize(texto.toLowerCase().trim(), Normalizer.Form.NFD);
-        return normalizado.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+        return DIACRITICOS.matcher(normalizado).replaceAll("");
     }
 }
@@ -6,13 +6,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.snackbar.chatia.application.dto.ConversaSalvaDTO;
 import com.snackbar.chatia.application.dto.MensagemConversaDTO;
+import com.snackbar.chatia.application.dto.ResumoConversaDTO;
 import com.snackbar.chatia.application.dto.SalvarConversaDTO;
 import com.snackbar.chatia.infrastructure.persistence.entity.HistoricoConversaChatEntity;
+import com.snackbar.chatia.infrastructure.persistence.entity.MensagemConversaChatEntity;
 import com.snackbar.chatia.infrastructure.persistence.repository.HistoricoConversaChatJpaRepository;
+import com.snackbar.chatia.infrastructure.persistence.repository.MensagemConversaChatJpaRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,63 +32,108 @@ import java.util.List;
 public class HistoricoConversaChatService {
     
     private static final int MAX_CONVERSAS_POR_CLIENTE = 10;
+    private static final int TENTATIVAS_SALVAR = 3;
     
     private final HistoricoConversaChatJpaRepository repository;
+    private final MensagemConversaChatJpaRepository mensagemRepository;
+    private final TransactionTemplate transacao;
     private final ObjectMapper objectMapper;
     
-    public HistoricoConversaChatService(HistoricoConversaChatJpaRepository repository) {
+    public HistoricoConversaChatService(HistoricoConversaChatJpaRepository repository,
+                                        MensagemConversaChatJpaRepository mensagemRepository,
+                                        PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.mensagemRepository = mensagemRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
     }
     
     /**
-     * Lista as últimas conversas de um cliente.
+     * Lista as últimas conversas de um cliente, apenas com título, preview e datas.
+     * As mensagens são carregadas por {@link #buscarConversa} quando a conversa é aberta.
      */
     @Transactional(readOnly = true)
-    public List<ConversaSalvaDTO> listarConversas(String clienteId) {
+    public List<ResumoConversaDTO> listarConversas(String clienteId) {
         log.info("Listando conversas do cliente: {}", clienteId);
         
-        List<HistoricoConversaChatEntity> entities = repository.findTopNByClienteId(clienteId, MAX_CONVERSAS_POR_CLIENTE);
-        
-        return entities.stream()
-            .map(this::toDTO)
-            .toList();
+        return repository.listarResumosPorClienteId(clienteId, Limit.of(MAX_CONVERSAS_POR_CLIENTE));
     }
     
     /**
-     * Salva uma nova conversa no histórico.
+     * Salva a conversa da sessão no histórico.
+     * 
+     * O cliente envia a conversa inteira, mas as mensagens são append-only: se a sessão já tem
+     * conversa salva, só as mensagens além das já gravadas são inseridas e os metadados atualizados.
+     * 
+     * Gravações simultâneas da mesma sessão são serializadas pelo lock na linha da conversa. Na
+     * primeira gravação ainda não há linha para travar e o banco pode abortar uma das duas por
+     * deadlock ao inserir a conversa; essa é repetida em nova transação e encontra a conversa
+     * criada pela outra.
      */
-    @Transactional
-    public ConversaSalvaDTO salvarConversa(String clienteId, SalvarConversaDTO dto) {
+    public ResumoConversaDTO salvarConversa(String clienteId, SalvarConversaDTO dto) {
         log.info("Salvando conversa para cliente: {} - Título: {}", clienteId, dto.titulo());
         
-        // Converte mensagens para JSON
-        String mensagensJson;
-        try {
-            mensagensJson = objectMapper.writeValueAsString(dto.mensagens());
-        } catch (JsonProcessingException e) {
-            log.error("Erro ao serializar mensagens para JSON", e);
-            throw new RuntimeException("Erro ao salvar conversa", e);
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacao.execute(status -> gravarConversa(clienteId, dto));
+            } catch (PessimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (tentativa >= TENTATIVAS_SALVAR) {
+                    throw e;
+                }
+                log.warn("Conflito ao salvar conversa da sessão {} (tentativa {}/{}): {}",
+                    dto.sessionId(), tentativa, TENTATIVAS_SALVAR, e.getMessage());
+            }
+        }
+    }
+    
+    private ResumoConversaDTO gravarConversa(String clienteId, SalvarConversaDTO dto) {
+        HistoricoConversaChatEntity entity = repository
+            .findDaSessaoComLock(clienteId, dto.sessionId(), Limit.of(1)).stream()
+            .findFirst()
+            .orElseGet(() -> HistoricoConversaChatEntity.builder()
+                .clienteId(clienteId)
+                .sessionId(dto.sessionId())
+                .dataInicio(dto.dataInicio())
+                .build());
+        
+        if (entity.getMensagens() != null) {
+            // Conversa antiga em JSON: as mensagens passam para a tabela nesta gravação
+            entity.setMensagens(null);
+            entity.setTotalMensagens(0);
         }
         
-        HistoricoConversaChatEntity entity = HistoricoConversaChatEntity.builder()
-            .clienteId(clienteId)
-            .sessionId(dto.sessionId())
-            .titulo(dto.titulo())
-            .previewUltimaMensagem(dto.previewUltimaMensagem())
-            .dataInicio(dto.dataInicio())
-            .dataUltimaMensagem(dto.dataUltimaMensagem())
-            .mensagens(mensagensJson)
-            .build();
+        int jaGravadas = entity.getTotalMensagens();
+        List<MensagemConversaDTO> novas = jaGravadas < dto.mensagens().size()
+            ? dto.mensagens().subList(jaGravadas, dto.mensagens().size())
+            : List.of();
         
+        entity.setTitulo(dto.titulo());
+        entity.setPreviewUltimaMensagem(dto.previewUltimaMensagem());
+        entity.setDataUltimaMensagem(dto.dataUltimaMensagem());
+        entity.setTotalMensagens(jaGravadas + novas.size());
         entity = repository.save(entity);
         
+        String conversaId = entity.getId();
+        List<MensagemConversaChatEntity> novasEntities = new ArrayList<>(novas.size());
+        for (int i = 0; i < novas.size(); i++) {
+            MensagemConversaDTO mensagem = novas.get(i);
+            novasEntities.add(MensagemConversaChatEntity.builder()
+                .conversaId(conversaId)
+                .sequencia(jaGravadas + i)
+                .mensagemId(mensagem.id())
+                .origem(mensagem.from())
+                .texto(mensagem.text())
+                .enviadaEm(mensagem.timestamp())
+                .build());
+        }
+        mensagemRepository.saveAll(novasEntities);
+        
         // Limpa conversas antigas se exceder o limite
         limparConversasAntigas(clienteId);
         
-        log.info("Conversa salva com ID: {}", entity.getId());
-        return toDTO(entity);
+        log.info("Conversa salva com ID: {} ({} novas mensagens)", conversaId, novas.size());
+        return toResumoDTO(entity);
     }
     
     /**
@@ -91,7 +145,7 @@ public class HistoricoConversaChatService {
         
         return repository.findById(conversaId)
             .filter(entity -> entity.getClienteId().equals(clienteId))
-            .map(this::toDTO)
+            .map(entity -> toDTO(entity, carregarMensagens(entity)))
             .orElse(null);
     }
     
@@ -124,20 +178,30 @@ public class HistoricoConversaChatService {
     }
     
     /**
-     * Converte entity para DTO.
+     * Carrega as mensagens da conversa, lendo o JSON apenas de conversas ainda não migradas.
      */
-    private ConversaSalvaDTO toDTO(HistoricoConversaChatEntity entity) {
-        List<MensagemConversaDTO> mensagens;
-        try {
-            mensagens = objectMapper.readValue(
-                entity.getMensagens(),
-                new TypeReference<List<MensagemConversaDTO>>() {}
-            );
-        } catch (JsonProcessingException e) {
-            log.error("Erro ao deserializar mensagens do JSON", e);
-            mensagens = List.of();
+    private List<MensagemConversaDTO> carregarMensagens(HistoricoConversaChatEntity entity) {
+        if (entity.getMensagens() != null) {
+            try {
+                return objectMapper.readValue(
+                    entity.getMensagens(),
+                    new TypeReference<List<MensagemConversaDTO>>() {}
+                );
+            } catch (JsonProcessingException e) {
+                log.error("Erro ao deserializar mensagens do JSON", e);
+                return List.of();
+            }
         }
         
+        return mensagemRepository.findByConversaIdOrderBySequenciaAsc(entity.getId()).stream()
+            .map(m -> new MensagemConversaDTO(m.getMensagemId(), m.getOrigem(), m.getTexto(), m.getEnviadaEm()))
+            .toList();
+    }
+    
+    /**
+     * Converte entity para DTO.
+     */
+    private ConversaSalvaDTO toDTO(HistoricoConversaChatEntity entity, List<MensagemConversaDTO> mensagens) {
         return new ConversaSalvaDTO(
             entity.getId(),
             entity.getSessionId(),
@@ -148,4 +212,16 @@ public class HistoricoConversaChatService {
             mensagens
         );
     }
+    
+    private ResumoConversaDTO toResumoDTO(HistoricoConversaChatEntity entity) {
+        return new ResumoConversaDTO(
+            entity.getId(),
+            entity.getSessionId(),
+            entity.getTitulo(),
+            entity.getPreviewUltimaMensagem(),
+            entity.getDataInicio(),
+            entity.getDataUltimaMensagem(),
+            entity.getTotalMensagens()
+        );
+    }
 }
@@ -0,0 +1,175 @@
+package com.snackbar.chatia.application.service;
+
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import com.snackbar.chatia.application.dto.ChatResponseDTO;
+import com.snackbar.chatia.application.service.busca.AnalisadorTexto;
+import com.snackbar.kernel.infrastructure.cache.CacheLru;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Cache de respostas da IA para perguntas sem contexto do cliente.
+ *
+ * Boa parte do tráfego é a mesma pergunta ("qual o cardápio", "tem x-bacon?"); quando a
+ * resposta depende apenas da pergunta e do cardápio, ela é reaproveitada em vez de chamar a IA.
+ * A chave é a pergunta normalizada (sem acentos, pontuação e saudações) mais a versão do
+ * catálogo, então qualquer alteração no cardápio invalida as respostas anteriores.
+ *
+ * Só entram no cache conversas sem cliente identificado e sem histórico na sessão:
+ * nesses casos o prompt enviado à IA é o mesmo para qualquer pessoa.
+ */
+@Slf4j
+@Component
+public class RespostaChatCache {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final int TAMANHO_MAXIMO_PERGUNTA = 200;
+
+    // Palavras que não mudam a intenção da pergunta
+    private static final Set<String> PALAVRAS_IGNORADAS = Set.of(
+        "oi", "ola", "opa", "ei",
+        "por", "favor", "pf", "pfv", "obrigado", "obrigada", "valeu", "vlw"
+    );
+
+    /**
+     * Chave do cache: pergunta normalizada e versão do catálogo em que foi respondida.
+     */
+    public record Chave(String pergunta, long versaoCardapio) {
+    }
+
+    private final boolean habilitado;
+    private final CacheLru<Chave, ChatResponseDTO> respostas;
+    private final AtomicLong versaoAtual = new AtomicLong();
+
+    private final LongAdder chamadasIA = new LongAdder();
+    private final LongAdder tempoChamadasIANanos = new LongAdder();
+    private final LongAdder latenciaEconomizadaNanos = new LongAdder();
+
+    public RespostaChatCache(
+            @Value("${chat.ia.cache-respostas.habilitado:true}") boolean habilitado,
+            @Value("${chat.ia.cache-respostas.max-entradas:500}") int maxEntradas,
+            @Value("${chat.ia.cache-respostas.ttl-minutos:30}") long ttlMinutos) {
+        this.habilitado = habilitado;
+        this.respostas = new CacheLru<>(maxEntradas, Duration.ofMinutes(ttlMinutos));
+        log.info("Cache de respostas do chat {} - máximo {} entradas, TTL {} min",
+                habilitado ? "habilitado" : "desabilitado", maxEntradas, ttlMinutos);
+    }
+
+    /**
+     * Monta a chave para a mensagem, ou vazio se a resposta não pode ser compartilhada
+     * (cliente identificado, conversa em andamento, cardápio indisponível ou pergunta longa demais).
+     */
+    public Optional<Chave> chaveSeCacheavel(String mensagem, CardapioContextDTO cardapio,
+            String clienteId, boolean temHistorico) {
+        if (!habilitado || temHistorico || (clienteId != null && !clienteId.isBlank())) {
+            return Optional.empty();
+        }
+        // Versão 0 = cardápio indisponível; não há como saber se o conteúdo mudou
+        if (cardapio == null || cardapio.versao() == 0) {
+            return Optional.empty();
+        }
+        String pergunta = normalizarPergunta(mensagem);
+        if (pergunta.isEmpty() || pergunta.length() > TAMANHO_MAXIMO_PERGUNTA) {
+            return Optional.empty();
+        }
+        return Optional.of(new Chave(pergunta, cardapio.versao()));
+    }
+
+    /**
+     * Busca a resposta; em caso de acerto, contabiliza como latência economizada
+     * o tempo médio das chamadas à IA observadas até aqui.
+     */
+    public Optional<ChatResponseDTO> obter(Chave chave) {
+        descartarVersoesAntigas(chave.versaoCardapio());
+        Optional<ChatResponseDTO> resposta = respostas.obter(chave);
+        if (resposta.isPresent()) {
+            latenciaEconomizadaNanos.add(tempoMedioChamadaIANanos());
+        }
+        return resposta;
+    }
+
+    public void armazenar(Chave chave, ChatResponseDTO resposta) {
+        descartarVersoesAntigas(chave.versaoCardapio());
+        respostas.armazenar(chave, resposta);
+    }
+
+    /**
+     * Registra a duração de uma chamada à IA, base para estimar a latência economizada.
+     */
+    public void registrarChamadaIA(long duracaoNanos) {
+        chamadasIA.increment();
+        tempoChamadasIANanos.add(duracaoNanos);
+    }
+
+    public Estatisticas estatisticas() {
+        CacheLru.Estatisticas cache = respostas.estatisticas();
+        return new Estatisticas(
+            cache.tamanho(),
+            cache.acertos(),
+            cache.falhas(),
+            cache.taxaAcerto(),
+            cache.remocoesPorTamanho(),
+            cache.expiracoes(),
+            chamadasIA.sum(),
+            tempoMedioChamadaIANanos() / 1_000_000,
+            latenciaEconomizadaNanos.sum() / 1_000_000
+        );
+    }
+
+    /**
+     * Sem acentos, em minúsculas, sem pontuação e sem saudações: "Oi! Qual o cardápio?"
+     * e "qual o cardapio" geram a mesma chave. A ordem das palavras é mantida e nenhuma
+     * outra palavra é descartada ("com" e "sem" mudam o sentido da pergunta).
+     */
+    static String normalizarPergunta(String mensagem) {
+        StringJoiner pergunta = new StringJoiner(" ");
+        for (String palavra : SEPARADORES.split(AnalisadorTexto.normalizar(mensagem))) {
+            if (!palavra.isEmpty() && !PALAVRAS_IGNORADAS.contains(palavra)) {
+                pergunta.add(palavra);
+            }
+        }
+        return pergunta.toString();
+    }
+
+    private long tempoMedioChamadaIANanos() {
+        long total = chamadasIA.sum();
+        return total == 0 ? 0 : tempoChamadasIANanos.sum() / total;
+    }
+
+    /**
+     * Respostas de versões anteriores nunca mais serão lidas; libera o espaço assim
+     * que uma versão nova do cardápio aparece.
+     */
+    private void descartarVersoesAntigas(long versao) {
+        long anterior = versaoAtual.get();
+        if (anterior != versao && versaoAtual.compareAndSet(anterior, versao) && anterior != 0) {
+            respostas.limpar();
+            log.info("Cardápio mudou para versão {}; cache de respostas do chat limpo", versao);
+        }
+    }
+
+    /**
+     * Métricas do cache de respostas.
+     */
+    public record Estatisticas(
+        int entradas,
+        long acertos,
+        long falhas,
+        double taxaAcerto,
+        long remocoesPorTamanho,
+        long expiracoes,
+        long chamadasIA,
+        long tempoMedioChamadaIAMs,
+        long latenciaEconomizadaMs
+    ) {
+    }
+}
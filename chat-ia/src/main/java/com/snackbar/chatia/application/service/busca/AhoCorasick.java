@@ -0,0 +1,182 @@
+package com.snackbar.chatia.application.service.busca;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Autômato de Aho-Corasick: encontra todas as ocorrências de um conjunto de padrões
+ * em uma única passada pelo texto, independente da quantidade de padrões.
+ *
+ * Cada padrão carrega um ou mais valores (ex.: o tipo de comando ou o produto a que se refere).
+ * Padrões vazios são ignorados. Imutável após a construção; pode ser consultado por várias threads.
+ *
+ * @param <T> tipo do valor associado a cada padrão
+ */
+public final class AhoCorasick<T> {
+
+    /**
+     * Ocorrência de um padrão no texto: posição inicial (inclusiva), final (exclusiva) e valor do padrão.
+     */
+    public record Ocorrencia<T>(int inicio, int fim, T valor) {
+    }
+
+    // Transições de cada estado: caracteres ordenados e estados de destino nas mesmas posições
+    private final char[][] caracteres;
+    private final int[][] destinos;
+    private final int[] falha;
+    // Próximo estado na cadeia de falhas que também termina algum padrão (-1 se nenhum)
+    private final int[] saidaSeguinte;
+    private final int[] profundidade;
+    private final List<List<T>> valores;
+
+    private AhoCorasick(char[][] caracteres, int[][] destinos, int[] falha, int[] saidaSeguinte,
+            int[] profundidade, List<List<T>> valores) {
+        this.caracteres = caracteres;
+        this.destinos = destinos;
+        this.falha = falha;
+        this.saidaSeguinte = saidaSeguinte;
+        this.profundidade = profundidade;
+        this.valores = valores;
+    }
+
+    public static <T> Construtor<T> construtor() {
+        return new Construtor<>();
+    }
+
+    public int totalEstados() {
+        return falha.length;
+    }
+
+    /**
+     * Percorre o texto uma única vez e retorna todas as ocorrências, em ordem de posição final.
+     * Ocorrências sobrepostas são todas reportadas.
+     */
+    public List<Ocorrencia<T>> buscar(String texto) {
+        List<Ocorrencia<T>> ocorrencias = new ArrayList<>();
+        if (texto == null) return ocorrencias;
+
+        int estado = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            int proximo = transicao(estado, c);
+            while (proximo < 0 && estado != 0) {
+                estado = falha[estado];
+                proximo = transicao(estado, c);
+            }
+            estado = proximo < 0 ? 0 : proximo;
+
+            for (int saida = valores.get(estado).isEmpty() ? saidaSeguinte[estado] : estado;
+                    saida > 0; saida = saidaSeguinte[saida]) {
+                int fim = i + 1;
+                for (T valor : valores.get(saida)) {
+                    ocorrencias.add(new Ocorrencia<>(fim - profundidade[saida], fim, valor));
+                }
+            }
+        }
+        return ocorrencias;
+    }
+
+    private int transicao(int estado, char c) {
+        int posicao = Arrays.binarySearch(caracteres[estado], c);
+        return posicao < 0 ? -1 : destinos[estado][posicao];
+    }
+
+    /**
+     * Acumula os padrões e compila o autômato.
+     */
+    public static final class Construtor<T> {
+
+        private final List<TreeMap<Character, Integer>> filhos = new ArrayList<>();
+        private final List<List<T>> valores = new ArrayList<>();
+        private final List<Integer> profundidades = new ArrayList<>();
+
+        private Construtor() {
+            novoEstado(0);
+        }
+
+        /**
+         * Adiciona um padrão com o valor informado. O mesmo padrão pode ser adicionado
+         * várias vezes com valores diferentes; todos são reportados a cada ocorrência.
+         */
+        public Construtor<T> adicionar(String padrao, T valor) {
+            if (padrao == null || padrao.isEmpty()) return this;
+
+            int estado = 0;
+            for (int i = 0; i < padrao.length(); i++) {
+                char c = padrao.charAt(i);
+                Integer proximo = filhos.get(estado).get(c);
+                if (proximo == null) {
+                    proximo = novoEstado(i + 1);
+                    filhos.get(estado).put(c, proximo);
+                }
+                estado = proximo;
+            }
+            valores.get(estado).add(valor);
+            return this;
+        }
+
+        public AhoCorasick<T> construir() {
+            int total = filhos.size();
+            char[][] caracteres = new char[total][];
+            int[][] destinos = new int[total][];
+            int[] falha = new int[total];
+            int[] saidaSeguinte = new int[total];
+            int[] profundidade = new int[total];
+            Arrays.fill(saidaSeguinte, -1);
+
+            for (int estado = 0; estado < total; estado++) {
+                TreeMap<Character, Integer> transicoes = filhos.get(estado);
+                caracteres[estado] = new char[transicoes.size()];
+                destinos[estado] = new int[transicoes.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> transicao : transicoes.entrySet()) {
+                    caracteres[estado][i] = transicao.getKey();
+                    destinos[estado][i] = transicao.getValue();
+                    i++;
+                }
+                profundidade[estado] = profundidades.get(estado);
+            }
+
+            // Links de falha em largura: o estado de falha de um filho é alcançado a partir da falha do pai
+            Deque<Integer> fila = new ArrayDeque<>();
+            for (int filho : destinos[0]) {
+                falha[filho] = 0;
+                fila.add(filho);
+            }
+            while (!fila.isEmpty()) {
+                int estado = fila.poll();
+                for (int i = 0; i < caracteres[estado].length; i++) {
+                    char c = caracteres[estado][i];
+                    int filho = destinos[estado][i];
+
+                    int candidato = falha[estado];
+                    int posicao = Arrays.binarySearch(caracteres[candidato], c);
+                    while (posicao < 0 && candidato != 0) {
+                        candidato = falha[candidato];
+                        posicao = Arrays.binarySearch(caracteres[candidato], c);
+                    }
+                    falha[filho] = posicao < 0 ? 0 : destinos[candidato][posicao];
+
+                    int alvo = falha[filho];
+                    saidaSeguinte[filho] = !valores.get(alvo).isEmpty() ? alvo : saidaSeguinte[alvo];
+                    fila.add(filho);
+                }
+            }
+
+            List<List<T>> congelados = valores.stream().map(List::copyOf).toList();
+            return new AhoCorasick<>(caracteres, destinos, falha, saidaSeguinte, profundidade, congelados);
+        }
+
+        private int novoEstado(int profundidade) {
+            filhos.add(new TreeMap<>());
+            valores.add(new ArrayList<>());
+            profundidades.add(profundidade);
+            return filhos.size() - 1;
+        }
+    }
+}
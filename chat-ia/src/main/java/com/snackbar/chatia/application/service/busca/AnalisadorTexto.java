@@ -0,0 +1,231 @@
+package com.snackbar.chatia.application.service.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização, tokenização e stemming de texto em português usados pela busca do chat.
+ * Mesmas regras aplicadas na indexação do cardápio e na análise das mensagens,
+ * para que termos da consulta e do índice sejam comparáveis.
+ */
+public final class AnalisadorTexto {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9-]+");
+    private static final int TAMANHO_MINIMO_TOKEN = 3;
+
+    // Mapa de stemming básico para português (plural -> singular, variações comuns).
+    // Chaves já normalizadas (sem acento), pois o stemming é aplicado após a normalização.
+    private static final Map<String, String> STEMMING_MAP = Map.ofEntries(
+        // Plurais comuns
+        Map.entry("hamburgueres", "hamburguer"),
+        Map.entry("hamburgers", "hamburguer"),
+        Map.entry("burguers", "hamburguer"),
+        Map.entry("lanches", "lanche"),
+        Map.entry("batatas", "batata"),
+        Map.entry("refrigerantes", "refrigerante"),
+        Map.entry("sucos", "suco"),
+        Map.entry("bebidas", "bebida"),
+        Map.entry("sobremesas", "sobremesa"),
+        Map.entry("doces", "doce"),
+        Map.entry("salgados", "salgado"),
+        Map.entry("combos", "combo"),
+        Map.entry("pizzas", "pizza"),
+        Map.entry("porcoes", "porcao"),
+        Map.entry("cervejas", "cerveja"),
+        Map.entry("drinks", "drink"),
+        Map.entry("acais", "acai"),
+        Map.entry("milk-shakes", "milkshake"),
+        Map.entry("milkshakes", "milkshake"),
+        Map.entry("sanduiches", "sanduiche"),
+        Map.entry("sandwiches", "sanduiche"),
+        Map.entry("hotdogs", "hotdog"),
+        Map.entry("hot-dogs", "hotdog"),
+        Map.entry("cachorro-quentes", "cachorro-quente"),
+        Map.entry("cachorros-quentes", "cachorro-quente"),
+
+        // Variações de escrita
+        Map.entry("hamburguer", "hamburguer"),
+        Map.entry("burger", "hamburguer"),
+        Map.entry("burguer", "hamburguer"),
+        Map.entry("x-burguer", "x-burger"),
+        Map.entry("xburguer", "x-burger"),
+        Map.entry("cheese", "queijo"),
+        Map.entry("bacon", "bacon"),
+        Map.entry("fritas", "frita"),
+        Map.entry("onion", "onion"),
+        Map.entry("rings", "ring"),
+        Map.entry("cheddar", "cheddar"),
+        Map.entry("salada", "salada"),
+        Map.entry("molho", "molho"),
+        Map.entry("especial", "especial"),
+        Map.entry("duplo", "duplo"),
+        Map.entry("triplo", "triplo")
+    );
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "o", "a", "os", "as", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos",
+        "em", "no", "na", "nos", "nas", "por", "para", "com", "sem", "e", "ou", "que",
+        "tem", "ter", "quero", "quer", "queria", "gostaria", "me", "meu", "minha",
+        "voce", "favor", "obrigado", "obrigada", "oi", "ola"
+    );
+
+    private AnalisadorTexto() {
+    }
+
+    /**
+     * Normaliza texto: remove acentos, lowercase e espaços das pontas.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) return "";
+
+        String normalizado = Normalizer.normalize(texto.toLowerCase().trim(), Normalizer.Form.NFD);
+        return DIACRITICOS.matcher(normalizado).replaceAll("");
+    }
+
+    /**
+     * Aplica stemming básico para português em uma palavra já normalizada.
+     */
+    public static String aplicarStemming(String palavra) {
+        String stemmed = STEMMING_MAP.get(palavra);
+        if (stemmed != null) return stemmed;
+
+        // Regras básicas de stemming
+        if (palavra.endsWith("oes") && palavra.length() > 4) {
+            return palavra.substring(0, palavra.length() - 3) + "ao";
+        }
+        if (palavra.endsWith("es") && palavra.length() > 3) {
+            return palavra.substring(0, palavra.length() - 2);
+        }
+        if (palavra.endsWith("s") && palavra.length() > 3) {
+            return palavra.substring(0, palavra.length() - 1);
+        }
+
+        return palavra;
+    }
+
+    /**
+     * Quebra um texto já normalizado em termos de busca: sem stop words, com stemming,
+     * sem repetição. Palavras compostas ("x-bacon") geram também suas partes ("bacon").
+     */
+    public static List<String> extrairTermos(String textoNormalizado) {
+        Set<String> termos = new LinkedHashSet<>();
+        for (String token : tokenizar(textoNormalizado)) {
+            if (STOP_WORDS.contains(token)) continue;
+            termos.add(aplicarStemming(token));
+        }
+        return new ArrayList<>(termos);
+    }
+
+    /**
+     * Quebra um texto já normalizado em tokens com pelo menos 3 caracteres, mantendo repetições.
+     * Usado na indexação, onde a frequência do termo importa.
+     */
+    public static List<String> tokenizar(String textoNormalizado) {
+        List<String> tokens = new ArrayList<>();
+        if (textoNormalizado == null || textoNormalizado.isEmpty()) return tokens;
+
+        for (String bruto : SEPARADORES.split(textoNormalizado)) {
+            String token = removerHifensDasPontas(bruto);
+            if (token.length() >= TAMANHO_MINIMO_TOKEN) {
+                tokens.add(token);
+            }
+            if (token.indexOf('-') > 0) {
+                for (String parte : token.split("-")) {
+                    if (parte.length() >= TAMANHO_MINIMO_TOKEN) {
+                        tokens.add(parte);
+                    }
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Calcula similaridade entre duas strings usando Levenshtein normalizado.
+     */
+    public static double calcularSimilaridade(String s1, String s2) {
+        if (s1 == null || s2 == null) return 0.0;
+        if (s1.equals(s2)) return 1.0;
+        if (s1.isEmpty() || s2.isEmpty()) return 0.0;
+
+        int distancia = calcularLevenshtein(s1, s2);
+        int maxLen = Math.max(s1.length(), s2.length());
+
+        return 1.0 - ((double) distancia / maxLen);
+    }
+
+    /**
+     * Calcula a distância de Levenshtein entre duas strings.
+     */
+    public static int calcularLevenshtein(String s1, String s2) {
+        int[] anterior = new int[s2.length() + 1];
+        int[] atual = new int[s2.length() + 1];
+
+        for (int j = 0; j <= s2.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= s1.length(); i++) {
+            atual[0] = i;
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = (s1.charAt(i - 1) == s2.charAt(j - 1)) ? 0 : 1;
+                atual[j] = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + cost);
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+
+        return anterior[s2.length()];
+    }
+
+    /**
+     * Distância de Levenshtein com limite: interrompe o cálculo assim que nenhuma célula da
+     * linha corrente fica dentro do limite e, nesse caso, retorna {@code limite + 1}.
+     * Quando a distância real não passa do limite, o resultado é exato.
+     */
+    public static int calcularLevenshtein(String s1, String s2, int limite) {
+        if (Math.abs(s1.length() - s2.length()) > limite) {
+            return limite + 1;
+        }
+
+        int[] anterior = new int[s2.length() + 1];
+        int[] atual = new int[s2.length() + 1];
+
+        for (int j = 0; j <= s2.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= s1.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = (s1.charAt(i - 1) == s2.charAt(j - 1)) ? 0 : 1;
+                atual[j] = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + cost);
+                menorDaLinha = Math.min(menorDaLinha, atual[j]);
+            }
+            if (menorDaLinha > limite) {
+                return limite + 1;
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+
+        return Math.min(anterior[s2.length()], limite + 1);
+    }
+
+    private static String removerHifensDasPontas(String token) {
+        int inicio = 0;
+        int fim = token.length();
+        while (inicio < fim && token.charAt(inicio) == '-') inicio++;
+        while (fim > inicio && token.charAt(fim - 1) == '-') fim--;
+        return token.substring(inicio, fim);
+    }
+}
@@ -0,0 +1,163 @@
+package com.snackbar.chatia.application.service.busca;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Dicionário para busca aproximada (BK-tree) sobre o vocabulário do cardápio.
+ *
+ * Cada nó guarda uma palavra e os filhos indexados pela distância de Levenshtein até ela.
+ * Pela desigualdade triangular, uma busca com tolerância {@code k} só desce nos filhos
+ * cuja distância está em {@code [d - k, d + k]}, evitando comparar o termo digitado com
+ * todo o vocabulário.
+ *
+ * As palavras ficam em uma árvore por comprimento: como a distância é no mínimo a diferença
+ * de comprimentos, comprimentos fora de {@code [n - k, n + k]} são descartados sem
+ * nenhuma comparação, e cada comprimento é consultado com a tolerância exata que a
+ * similaridade mínima permite para ele.
+ *
+ * Imutável após a construção; pode ser consultada por várias threads.
+ */
+public final class ArvoreBK {
+
+    /**
+     * Palavra encontrada, sua distância até o termo consultado e a similaridade correspondente.
+     */
+    public record Correspondencia(String palavra, int distancia, double similaridade) {
+    }
+
+    private static final class No {
+        private final String palavra;
+        private final Map<Integer, No> filhos = new HashMap<>(4);
+        private int maiorDistanciaFilho;
+
+        private No(String palavra) {
+            this.palavra = palavra;
+        }
+    }
+
+    private final Map<Integer, No> raizesPorComprimento;
+    private final int tamanho;
+
+    private ArvoreBK(Map<Integer, No> raizesPorComprimento, int tamanho) {
+        this.raizesPorComprimento = raizesPorComprimento;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Constrói a árvore a partir das palavras informadas (repetições são ignoradas).
+     * As palavras são inseridas em ordem alfabética para que a forma da árvore
+     * não dependa da ordem de iteração da coleção.
+     */
+    public static ArvoreBK construir(Collection<String> palavras) {
+        Map<Integer, No> raizes = new HashMap<>();
+        int tamanho = 0;
+        for (String palavra : new TreeSet<>(palavras)) {
+            No atual = raizes.get(palavra.length());
+            if (atual == null) {
+                raizes.put(palavra.length(), new No(palavra));
+                tamanho++;
+                continue;
+            }
+            while (true) {
+                int distancia = AnalisadorTexto.calcularLevenshtein(palavra, atual.palavra);
+                No filho = atual.filhos.get(distancia);
+                if (filho == null) {
+                    atual.filhos.put(distancia, new No(palavra));
+                    atual.maiorDistanciaFilho = Math.max(atual.maiorDistanciaFilho, distancia);
+                    tamanho++;
+                    break;
+                }
+                atual = filho;
+            }
+        }
+        return new ArvoreBK(Map.copyOf(raizes), tamanho);
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Retorna todas as palavras a no máximo {@code distanciaMaxima} edições do termo.
+     */
+    public List<Correspondencia> buscar(String termo, int distanciaMaxima) {
+        List<Correspondencia> encontradas = new ArrayList<>();
+        if (termo == null || distanciaMaxima < 0) {
+            return encontradas;
+        }
+
+        int comprimento = termo.length();
+        for (int outro = Math.max(0, comprimento - distanciaMaxima); outro <= comprimento + distanciaMaxima; outro++) {
+            buscarNaArvore(raizesPorComprimento.get(outro), termo, distanciaMaxima, encontradas);
+        }
+        return encontradas;
+    }
+
+    /**
+     * Retorna as palavras com similaridade (Levenshtein normalizado pelo maior comprimento,
+     * ver {@link AnalisadorTexto#calcularSimilaridade}) estritamente maior que o mínimo.
+     *
+     * Para uma palavra de comprimento {@code m} e um termo de comprimento {@code n}, a similaridade
+     * exige distância menor que {@code (1 - similaridade) * max(m, n)}; cada árvore de comprimento
+     * é consultada com essa tolerância, e comprimentos em que ela é menor que {@code |m - n|}
+     * são ignorados.
+     */
+    public List<Correspondencia> buscarSimilares(String termo, double similaridadeMinima) {
+        List<Correspondencia> similares = new ArrayList<>();
+        if (termo == null || termo.isEmpty() || similaridadeMinima <= 0) {
+            return similares;
+        }
+
+        int comprimento = termo.length();
+        for (Map.Entry<Integer, No> arvore : raizesPorComprimento.entrySet()) {
+            int outro = arvore.getKey();
+            int distanciaMaxima = (int) Math.ceil((1 - similaridadeMinima) * Math.max(comprimento, outro)) - 1;
+            if (distanciaMaxima < Math.abs(comprimento - outro)) continue;
+
+            List<Correspondencia> candidatas = new ArrayList<>();
+            buscarNaArvore(arvore.getValue(), termo, distanciaMaxima, candidatas);
+            for (Correspondencia candidata : candidatas) {
+                // Garante a comparação estrita mesmo com arredondamento no limite
+                if (candidata.similaridade() > similaridadeMinima) {
+                    similares.add(candidata);
+                }
+            }
+        }
+        return similares;
+    }
+
+    private void buscarNaArvore(No raiz, String termo, int distanciaMaxima, List<Correspondencia> encontradas) {
+        if (raiz == null) return;
+
+        Deque<No> pendentes = new ArrayDeque<>();
+        pendentes.push(raiz);
+        while (!pendentes.isEmpty()) {
+            No no = pendentes.pop();
+            // Acima deste limite a palavra não serve e nenhum filho cai na faixa [d - k, d + k]
+            int limite = distanciaMaxima + no.maiorDistanciaFilho;
+            int distancia = AnalisadorTexto.calcularLevenshtein(termo, no.palavra, limite);
+            if (distancia > limite) continue;
+            if (distancia <= distanciaMaxima) {
+                int maiorComprimento = Math.max(termo.length(), no.palavra.length());
+                double similaridade = maiorComprimento == 0 ? 1.0 : 1.0 - ((double) distancia / maiorComprimento);
+                encontradas.add(new Correspondencia(no.palavra, distancia, similaridade));
+            }
+
+            int minimo = distancia - distanciaMaxima;
+            int maximo = distancia + distanciaMaxima;
+            for (Map.Entry<Integer, No> filho : no.filhos.entrySet()) {
+                int chave = filho.getKey();
+                if (chave >= minimo && chave <= maximo) {
+                    pendentes.push(filho.getValue());
+                }
+            }
+        }
+    }
+}
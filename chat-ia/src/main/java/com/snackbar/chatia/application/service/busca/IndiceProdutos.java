@@ -0,0 +1,318 @@
+package com.snackbar.chatia.application.service.busca;
+
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import com.snackbar.chatia.application.dto.CardapioContextDTO.ProdutoContextDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice invertido imutável dos produtos disponíveis de uma versão do cardápio,
+ * com ranking BM25 por campo (nome, descrição e categoria).
+ *
+ * Construído uma única vez por versão do catálogo; todo o texto dos produtos é normalizado
+ * e passa por stemming na construção, então uma consulta só percorre as listas de
+ * ocorrências dos termos pedidos em vez de varrer o cardápio inteiro.
+ */
+public final class IndiceProdutos {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Campos indexados e seus pesos no ranking.
+     * Mesma proporção usada antes na pontuação por relevância (nome pesa mais).
+     */
+    public enum Campo {
+        NOME(2.0),
+        DESCRICAO(1.5),
+        CATEGORIA(1.5);
+
+        private final double peso;
+
+        Campo(double peso) {
+            this.peso = peso;
+        }
+    }
+
+    /**
+     * Termo de consulta com peso (1.0 para termo digitado; menor para sinônimos e correções).
+     */
+    public record TermoConsulta(String termo, double peso) {
+    }
+
+    /**
+     * Produto encontrado com sua pontuação BM25.
+     */
+    public record ProdutoPontuado(ProdutoContextDTO produto, double pontuacao) {
+    }
+
+    private record Ocorrencia(int documento, int[] frequencias) {
+    }
+
+    private final CardapioContextDTO cardapio;
+    private final List<ProdutoContextDTO> produtos;
+    private final String[] nomesNormalizados;
+    private final String[] descricoesNormalizadas;
+    private final int[][] tamanhos;
+    private final double[] tamanhoMedio;
+    private final Map<String, Ocorrencia[]> ocorrencias;
+    private final ArvoreBK arvoreVocabulario;
+    private final Map<String, Integer> documentoPorId;
+    private final Map<String, List<ProdutoContextDTO>> produtosPorCategoria;
+    private final List<ProdutoContextDTO> destaques;
+
+    private IndiceProdutos(CardapioContextDTO cardapio, int maxDestaques) {
+        this.cardapio = cardapio;
+        this.produtos = cardapio.produtos().stream()
+                .filter(ProdutoContextDTO::disponivel)
+                .toList();
+
+        int total = produtos.size();
+        int campos = Campo.values().length;
+        this.nomesNormalizados = new String[total];
+        this.descricoesNormalizadas = new String[total];
+        this.tamanhos = new int[campos][total];
+        this.tamanhoMedio = new double[campos];
+
+        Map<String, List<Ocorrencia>> construcao = new HashMap<>();
+        Map<String, List<ProdutoContextDTO>> porCategoria = new LinkedHashMap<>();
+        Map<String, Integer> porId = new HashMap<>();
+
+        for (int doc = 0; doc < total; doc++) {
+            ProdutoContextDTO produto = produtos.get(doc);
+            porId.put(produto.id(), doc);
+            nomesNormalizados[doc] = AnalisadorTexto.normalizar(produto.nome());
+            descricoesNormalizadas[doc] = AnalisadorTexto.normalizar(produto.descricao());
+            String categoria = AnalisadorTexto.normalizar(produto.categoria());
+            porCategoria.computeIfAbsent(categoria, c -> new ArrayList<>()).add(produto);
+
+            Map<String, int[]> frequencias = new HashMap<>();
+            indexarCampo(Campo.NOME, doc, nomesNormalizados[doc], frequencias);
+            indexarCampo(Campo.DESCRICAO, doc, descricoesNormalizadas[doc], frequencias);
+            indexarCampo(Campo.CATEGORIA, doc, categoria, frequencias);
+
+            final int documento = doc;
+            frequencias.forEach((termo, freq) ->
+                    construcao.computeIfAbsent(termo, t -> new ArrayList<>()).add(new Ocorrencia(documento, freq)));
+        }
+
+        for (Campo campo : Campo.values()) {
+            tamanhoMedio[campo.ordinal()] = total == 0 ? 0 : Arrays.stream(tamanhos[campo.ordinal()]).average().orElse(0);
+        }
+
+        Map<String, Ocorrencia[]> congelado = new HashMap<>(construcao.size() * 2);
+        construcao.forEach((termo, lista) -> congelado.put(termo, lista.toArray(Ocorrencia[]::new)));
+        this.ocorrencias = Map.copyOf(congelado);
+        this.arvoreVocabulario = ArvoreBK.construir(ocorrencias.keySet());
+        this.documentoPorId = Map.copyOf(porId);
+
+        Map<String, List<ProdutoContextDTO>> categoriasCongeladas = new LinkedHashMap<>();
+        porCategoria.forEach((categoria, lista) -> categoriasCongeladas.put(categoria, List.copyOf(lista)));
+        this.produtosPorCategoria = Collections.unmodifiableMap(categoriasCongeladas);
+
+        this.destaques = calcularDestaques(maxDestaques);
+    }
+
+    /**
+     * Constrói o índice para uma versão do cardápio.
+     *
+     * @param maxDestaques quantidade de produtos de destaque (um por categoria) pré-calculados
+     */
+    public static IndiceProdutos construir(CardapioContextDTO cardapio, int maxDestaques) {
+        return new IndiceProdutos(cardapio, maxDestaques);
+    }
+
+    public CardapioContextDTO cardapio() {
+        return cardapio;
+    }
+
+    public long versao() {
+        return cardapio.versao();
+    }
+
+    public int totalProdutos() {
+        return produtos.size();
+    }
+
+    /**
+     * Termos distintos presentes no índice (após normalização e stemming).
+     */
+    public Set<String> vocabulario() {
+        return ocorrencias.keySet();
+    }
+
+    public boolean contemTermo(String termo) {
+        return ocorrencias.containsKey(termo);
+    }
+
+    /**
+     * Termos do vocabulário com similaridade maior que o mínimo (tolerância a erros de digitação).
+     * Consulta a BK-tree do vocabulário em vez de comparar com todos os termos.
+     */
+    public List<ArvoreBK.Correspondencia> termosSimilares(String termo, double similaridadeMinima) {
+        return arvoreVocabulario.buscarSimilares(termo, similaridadeMinima);
+    }
+
+    /**
+     * Produtos de destaque variados (um por categoria), na ordem do cardápio.
+     */
+    public List<ProdutoContextDTO> destaques() {
+        return destaques;
+    }
+
+    /**
+     * Produtos disponíveis de uma categoria (nome da categoria comparado já normalizado).
+     */
+    public List<ProdutoContextDTO> produtosDaCategoria(String categoria) {
+        return produtosPorCategoria.getOrDefault(AnalisadorTexto.normalizar(categoria), List.of());
+    }
+
+    /**
+     * Ranqueia os produtos por BM25 considerando todos os campos.
+     */
+    public List<ProdutoPontuado> buscar(Collection<TermoConsulta> termos, int limite) {
+        return buscar(termos, limite, Campo.values());
+    }
+
+    /**
+     * Ranqueia os produtos por BM25 considerando apenas os campos informados.
+     * Só percorre as ocorrências dos termos da consulta.
+     */
+    public List<ProdutoPontuado> buscar(Collection<TermoConsulta> termos, int limite, Campo... campos) {
+        double[] pontuacoes = pontuar(termos, campos);
+        return melhores(pontuacoes, limite);
+    }
+
+    /**
+     * Ranqueia apenas os produtos que contêm todos os termos de pelo menos uma das alternativas
+     * (ex.: "onion ring" ou um de seus sinônimos), em nome ou descrição.
+     */
+    public List<ProdutoPontuado> buscarTodosOsTermos(List<List<String>> alternativas, int limite) {
+        Set<Integer> candidatos = new HashSet<>();
+        for (List<String> termos : alternativas) {
+            candidatos.addAll(documentosComTodos(termos));
+        }
+        if (candidatos.isEmpty()) return List.of();
+
+        List<TermoConsulta> consulta = alternativas.stream()
+                .flatMap(List::stream)
+                .distinct()
+                .map(t -> new TermoConsulta(t, 1.0))
+                .toList();
+        double[] pontuacoes = pontuar(consulta, Campo.NOME, Campo.DESCRICAO);
+        for (int doc = 0; doc < pontuacoes.length; doc++) {
+            if (!candidatos.contains(doc)) pontuacoes[doc] = 0;
+        }
+        return melhores(pontuacoes, limite);
+    }
+
+    /**
+     * Adiciona bônus de frase aos produtos já pontuados cujo nome ou descrição normalizados
+     * contenham a frase. Usado para priorizar termos compostos ("cheddar bacon").
+     */
+    public List<ProdutoPontuado> aplicarBonusFrase(List<ProdutoPontuado> resultados, List<String> frases, double bonus) {
+        if (frases.isEmpty()) return resultados;
+
+        List<ProdutoPontuado> ajustados = new ArrayList<>(resultados.size());
+        for (ProdutoPontuado resultado : resultados) {
+            int doc = documentoPorId.get(resultado.produto().id());
+            double extra = 0;
+            for (String frase : frases) {
+                if (nomesNormalizados[doc].contains(frase) || descricoesNormalizadas[doc].contains(frase)) {
+                    extra += bonus;
+                }
+            }
+            ajustados.add(new ProdutoPontuado(resultado.produto(), resultado.pontuacao() + extra));
+        }
+        ajustados.sort((a, b) -> Double.compare(b.pontuacao(), a.pontuacao()));
+        return ajustados;
+    }
+
+    private void indexarCampo(Campo campo, int doc, String texto, Map<String, int[]> frequencias) {
+        List<String> tokens = AnalisadorTexto.tokenizar(texto);
+        tamanhos[campo.ordinal()][doc] = tokens.size();
+        for (String token : tokens) {
+            String termo = AnalisadorTexto.aplicarStemming(token);
+            frequencias.computeIfAbsent(termo, t -> new int[Campo.values().length])[campo.ordinal()]++;
+        }
+    }
+
+    private double[] pontuar(Collection<TermoConsulta> termos, Campo... campos) {
+        double[] pontuacoes = new double[produtos.size()];
+        int total = produtos.size();
+
+        for (TermoConsulta consulta : termos) {
+            Ocorrencia[] lista = ocorrencias.get(consulta.termo());
+            if (lista == null) continue;
+
+            double idf = Math.log(1 + (total - lista.length + 0.5) / (lista.length + 0.5));
+            for (Ocorrencia ocorrencia : lista) {
+                double soma = 0;
+                for (Campo campo : campos) {
+                    int tf = ocorrencia.frequencias()[campo.ordinal()];
+                    if (tf == 0) continue;
+                    double media = tamanhoMedio[campo.ordinal()];
+                    double normalizacao = media == 0 ? 1 : tamanhos[campo.ordinal()][ocorrencia.documento()] / media;
+                    soma += campo.peso * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * normalizacao));
+                }
+                pontuacoes[ocorrencia.documento()] += idf * soma * consulta.peso();
+            }
+        }
+        return pontuacoes;
+    }
+
+    private List<ProdutoPontuado> melhores(double[] pontuacoes, int limite) {
+        List<ProdutoPontuado> resultado = new ArrayList<>();
+        for (int doc = 0; doc < pontuacoes.length; doc++) {
+            if (pontuacoes[doc] > 0) {
+                resultado.add(new ProdutoPontuado(produtos.get(doc), pontuacoes[doc]));
+            }
+        }
+        // Ordenação estável: empates mantêm a ordem do cardápio
+        resultado.sort((a, b) -> Double.compare(b.pontuacao(), a.pontuacao()));
+        return resultado.size() > limite ? List.copyOf(resultado.subList(0, limite)) : List.copyOf(resultado);
+    }
+
+    private Set<Integer> documentosComTodos(List<String> termos) {
+        Set<Integer> documentos = null;
+        for (String termo : termos) {
+            Ocorrencia[] lista = ocorrencias.get(termo);
+            if (lista == null) return Set.of();
+
+            Set<Integer> comTermo = new HashSet<>();
+            for (Ocorrencia ocorrencia : lista) {
+                int[] freq = ocorrencia.frequencias();
+                if (freq[Campo.NOME.ordinal()] > 0 || freq[Campo.DESCRICAO.ordinal()] > 0) {
+                    comTermo.add(ocorrencia.documento());
+                }
+            }
+            if (documentos == null) {
+                documentos = comTermo;
+            } else {
+                documentos.retainAll(comTermo);
+            }
+        }
+        return documentos == null ? Set.of() : documentos;
+    }
+
+    private List<ProdutoContextDTO> calcularDestaques(int maxDestaques) {
+        List<ProdutoContextDTO> lista = new ArrayList<>();
+        Set<String> categoriasUsadas = new HashSet<>();
+        for (ProdutoContextDTO produto : produtos) {
+            if (categoriasUsadas.add(produto.categoria())) {
+                lista.add(produto);
+                if (lista.size() >= maxDestaques) break;
+            }
+        }
+        return List.copyOf(lista);
+    }
+}
@@ -0,0 +1,48 @@
+package com.snackbar.chatia.application.service.busca;
+
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém o índice de produtos da versão atual do cardápio.
+ * O índice é reconstruído apenas quando a versão do cardápio muda; mensagens
+ * seguintes reutilizam a mesma instância imutável.
+ */
+@Slf4j
+@Component
+public class IndiceProdutosCache {
+
+    static final int MAX_DESTAQUES = 5;
+
+    private final AtomicReference<IndiceProdutos> atual = new AtomicReference<>();
+
+    /**
+     * Retorna o índice correspondente ao cardápio informado, construindo-o se a versão mudou.
+     */
+    public IndiceProdutos obter(CardapioContextDTO cardapio) {
+        IndiceProdutos indice = atual.get();
+        if (indice != null && correspondeA(indice, cardapio)) {
+            return indice;
+        }
+
+        long inicio = System.nanoTime();
+        IndiceProdutos novo = IndiceProdutos.construir(cardapio, MAX_DESTAQUES);
+        // Em corrida entre duas mensagens, ambas constroem a mesma versão; qualquer uma serve
+        atual.set(novo);
+        log.info("Índice de busca do chat construído - versão {}, {} produtos, {} termos em {} ms",
+                novo.versao(), novo.totalProdutos(), novo.vocabulario().size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return novo;
+    }
+
+    private boolean correspondeA(IndiceProdutos indice, CardapioContextDTO cardapio) {
+        if (indice.cardapio() == cardapio) {
+            return true;
+        }
+        // Versão 0 = cardápio indisponível; não há como garantir que o conteúdo é o mesmo
+        return cardapio.versao() != 0 && indice.versao() == cardapio.versao();
+    }
+}
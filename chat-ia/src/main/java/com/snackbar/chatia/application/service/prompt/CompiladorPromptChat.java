@@ -0,0 +1,386 @@
+package com.snackbar.chatia.application.service.prompt;
+
+import com.snackbar.chatia.application.dto.CardapioContextDTO;
+import com.snackbar.chatia.application.dto.CardapioContextDTO.ProdutoContextDTO;
+import com.snackbar.chatia.application.dto.HistoricoPedidosClienteContextDTO;
+import com.snackbar.chatia.application.dto.HistoricoPedidosClienteContextDTO.PedidoRecenteDTO;
+import com.snackbar.chatia.application.dto.HistoricoPedidosClienteContextDTO.ProdutoFavoritoDTO;
+import com.snackbar.chatia.application.dto.ResultadoBuscaDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Monta o system prompt do chat dentro de um orçamento de tokens.
+ *
+ * As instruções base entram sempre. O restante do orçamento é preenchido por prioridade:
+ * produtos encontrados na busca, favoritos do cliente, pedidos recentes e, por último, o
+ * cardápio geral — completo se couber, senão a versão compacta (nome e preço), senão só
+ * o resumo. Dentro de cada lista, os itens entram até o orçamento acabar.
+ *
+ * A ordem no texto final não segue a prioridade: instruções e cardápio vêm primeiro para que
+ * o início do prompt seja o mesmo entre mensagens (favorece o cache de prefixo da API).
+ * Os textos do cardápio e suas estimativas são calculados uma vez por versão do catálogo.
+ */
+@Slf4j
+@Component
+public class CompiladorPromptChat {
+
+    private static final String SEPARADOR = "\n\n";
+    private static final String CARDAPIO_INDISPONIVEL = "=== CARDÁPIO INDISPONÍVEL ===\n"
+            + "Não foi possível carregar o cardápio. Informe ao cliente que está indisponível no momento.\n\n";
+
+    /**
+     * Texto de uma seção com sua estimativa de tokens.
+     */
+    private record Secao(String texto, int tokens) {
+
+        static final Secao VAZIA = new Secao("", 0);
+
+        static Secao de(String texto) {
+            return new Secao(texto, EstimadorTokens.estimar(texto));
+        }
+    }
+
+    /**
+     * Variações do cardápio para uma versão do catálogo, da mais completa à mais curta.
+     */
+    private record PrefixoCardapio(CardapioContextDTO cardapio, long versao, List<Secao> variacoes) {
+    }
+
+    /**
+     * Prompt pronto para envio, com a estimativa de tokens e o nível de detalhe do cardápio usado.
+     */
+    public record PromptCompilado(String texto, int tokensEstimados, NivelCardapio nivelCardapio, int itensDescartados) {
+    }
+
+    /**
+     * Quanto do cardápio coube no prompt.
+     */
+    public enum NivelCardapio {
+        COMPLETO, COMPACTO, RESUMO, OMITIDO, INDISPONIVEL
+    }
+
+    private final int orcamentoTokens;
+    private final Secao instrucoes;
+    private final AtomicReference<PrefixoCardapio> prefixoAtual = new AtomicReference<>();
+
+    private final LongAdder promptsCompilados = new LongAdder();
+    private final LongAdder tokensTotais = new LongAdder();
+    private final AtomicLong maiorPromptTokens = new AtomicLong();
+    private final LongAdder tempoCompilacaoNanos = new LongAdder();
+    private final LongAdder cardapioReduzido = new LongAdder();
+    private final LongAdder itensDescartados = new LongAdder();
+
+    public CompiladorPromptChat(
+            @Value("${chat.ia.nome-estabelecimento:Soneca Lanchonete}") String nomeEstabelecimento,
+            @Value("${chat.ia.prompt.orcamento-tokens:6000}") int orcamentoTokens) {
+        this.orcamentoTokens = orcamentoTokens;
+        this.instrucoes = Secao.de(construirInstrucoesBase(nomeEstabelecimento) + SEPARADOR);
+        log.info("Compilador de prompt do chat - orçamento de {} tokens, instruções base com ~{} tokens",
+                orcamentoTokens, instrucoes.tokens());
+    }
+
+    /**
+     * Monta o prompt para a mensagem atual.
+     *
+     * @param cardapio cardápio atual (null se indisponível)
+     * @param cliente contexto do cliente identificado (null para visitantes)
+     * @param resultado produtos encontrados pela busca
+     */
+    public PromptCompilado compilar(CardapioContextDTO cardapio, HistoricoPedidosClienteContextDTO cliente,
+            ResultadoBuscaDTO resultado) {
+        long inicio = System.nanoTime();
+        int restante = orcamentoTokens - instrucoes.tokens();
+        int descartados = 0;
+
+        // 1. Produtos encontrados
+        StringBuilder produtos = new StringBuilder();
+        if (resultado != null && resultado.temResultados()) {
+            String cabecalho = cabecalhoProdutosEncontrados(resultado);
+            String rodape = rodapeProdutosEncontrados();
+            int fixos = EstimadorTokens.estimar(cabecalho) + EstimadorTokens.estimar(rodape);
+            produtos.append(cabecalho);
+            descartados += preencher(produtos, resultado.produtos(), this::descreverProdutoEncontrado, restante - fixos);
+            produtos.append(rodape);
+            restante -= EstimadorTokens.estimar(produtos);
+        }
+
+        // 2 e 3. Perfil do cliente: favoritos, depois pedidos recentes
+        StringBuilder perfil = new StringBuilder();
+        if (cliente != null && cliente.isClienteIdentificado()) {
+            perfil.append(cliente.gerarPerfilParaIA());
+            restante -= EstimadorTokens.estimar(perfil);
+
+            int antes = EstimadorTokens.estimar(perfil);
+            descartados += preencherLista(perfil, HistoricoPedidosClienteContextDTO.CABECALHO_FAVORITOS,
+                    cliente.produtosFavoritos(), HistoricoPedidosClienteContextDTO::descreverFavorito, restante);
+            int depois = EstimadorTokens.estimar(perfil);
+            restante -= depois - antes;
+
+            descartados += preencherLista(perfil, HistoricoPedidosClienteContextDTO.CABECALHO_PEDIDOS_RECENTES,
+                    cliente.pedidosRecentes(), HistoricoPedidosClienteContextDTO::descreverPedidoRecente, restante);
+            restante -= EstimadorTokens.estimar(perfil) - depois;
+        }
+
+        // 4. Cardápio geral, na maior variação que couber
+        Secao secaoCardapio;
+        NivelCardapio nivel;
+        if (cardapio == null) {
+            secaoCardapio = Secao.de(CARDAPIO_INDISPONIVEL);
+            nivel = NivelCardapio.INDISPONIVEL;
+        } else {
+            List<Secao> variacoes = obterPrefixo(cardapio).variacoes();
+            secaoCardapio = Secao.VAZIA;
+            nivel = NivelCardapio.OMITIDO;
+            for (int i = 0; i < variacoes.size(); i++) {
+                if (variacoes.get(i).tokens() <= restante) {
+                    secaoCardapio = variacoes.get(i);
+                    nivel = NivelCardapio.values()[i];
+                    break;
+                }
+            }
+        }
+
+        StringBuilder prompt = new StringBuilder(instrucoes.texto().length() + secaoCardapio.texto().length()
+                + perfil.length() + produtos.length());
+        prompt.append(instrucoes.texto()).append(secaoCardapio.texto()).append(perfil).append(produtos);
+        String texto = prompt.toString();
+        int tokens = EstimadorTokens.estimar(texto);
+
+        registrarMetricas(tokens, nivel, descartados, System.nanoTime() - inicio);
+        if (nivel != NivelCardapio.COMPLETO || descartados > 0) {
+            log.debug("Prompt reduzido para caber em {} tokens: cardápio {}, {} itens descartados",
+                    orcamentoTokens, nivel, descartados);
+        }
+        log.debug("System prompt compilado com ~{} tokens ({} caracteres)", tokens, texto.length());
+        return new PromptCompilado(texto, tokens, nivel, descartados);
+    }
+
+    public Estatisticas estatisticas() {
+        long total = promptsCompilados.sum();
+        return new Estatisticas(
+            total,
+            orcamentoTokens,
+            total == 0 ? 0 : tokensTotais.sum() / total,
+            maiorPromptTokens.get(),
+            total == 0 ? 0 : tempoCompilacaoNanos.sum() / total / 1_000,
+            cardapioReduzido.sum(),
+            itensDescartados.sum()
+        );
+    }
+
+    /**
+     * Variações do cardápio da versão atual; recalculadas só quando a versão muda.
+     */
+    private PrefixoCardapio obterPrefixo(CardapioContextDTO cardapio) {
+        PrefixoCardapio prefixo = prefixoAtual.get();
+        if (prefixo != null && (prefixo.cardapio() == cardapio
+                || (cardapio.versao() != 0 && prefixo.versao() == cardapio.versao()))) {
+            return prefixo;
+        }
+
+        // Com sufixo "\n\n" para manter o espaçamento entre o cardápio e o perfil do cliente
+        PrefixoCardapio novo = new PrefixoCardapio(cardapio, cardapio.versao(), List.of(
+            Secao.de(cardapio.gerarDescricaoParaIA() + SEPARADOR),
+            Secao.de(cardapio.gerarDescricaoCompactaParaIA() + SEPARADOR),
+            Secao.de(cardapio.gerarResumoParaIA() + SEPARADOR)
+        ));
+        prefixoAtual.set(novo);
+        log.info("Prefixo do prompt montado para o cardápio versão {}: completo ~{}, compacto ~{}, resumo ~{} tokens",
+                cardapio.versao(), novo.variacoes().get(0).tokens(), novo.variacoes().get(1).tokens(),
+                novo.variacoes().get(2).tokens());
+        return novo;
+    }
+
+    /**
+     * Acrescenta o cabeçalho e os itens da lista que couberem no orçamento.
+     *
+     * @return quantidade de itens que ficaram de fora
+     */
+    private <T> int preencherLista(StringBuilder destino, String cabecalho, List<T> itens,
+            Function<T, String> descrever, int orcamento) {
+        if (itens == null || itens.isEmpty()) return 0;
+
+        int tokensCabecalho = EstimadorTokens.estimar(cabecalho);
+        if (tokensCabecalho >= orcamento) return itens.size();
+
+        StringBuilder lista = new StringBuilder(cabecalho);
+        int descartados = preencher(lista, itens, descrever, orcamento - tokensCabecalho);
+        if (descartados < itens.size()) {
+            destino.append(lista);
+        }
+        return descartados;
+    }
+
+    /**
+     * Acrescenta itens enquanto couberem no orçamento.
+     *
+     * @return quantidade de itens que ficaram de fora
+     */
+    private <T> int preencher(StringBuilder destino, List<T> itens, Function<T, String> descrever, int orcamento) {
+        int usados = 0;
+        for (int i = 0; i < itens.size(); i++) {
+            String linha = descrever.apply(itens.get(i));
+            int tokens = EstimadorTokens.estimar(linha);
+            if (usados + tokens > orcamento) {
+                return itens.size() - i;
+            }
+            destino.append(linha);
+            usados += tokens;
+        }
+        return 0;
+    }
+
+    private void registrarMetricas(int tokens, NivelCardapio nivel, int descartados, long duracaoNanos) {
+        promptsCompilados.increment();
+        tokensTotais.add(tokens);
+        maiorPromptTokens.accumulateAndGet(tokens, Math::max);
+        tempoCompilacaoNanos.add(duracaoNanos);
+        if (nivel == NivelCardapio.COMPACTO || nivel == NivelCardapio.RESUMO || nivel == NivelCardapio.OMITIDO) {
+            cardapioReduzido.increment();
+        }
+        itensDescartados.add(descartados);
+    }
+
+    // ============================================
+    // SEÇÕES DO PROMPT
+    // ============================================
+
+    /**
+     * Instrução para a IA adaptada ao TIPO DE BUSCA, antes da lista de produtos encontrados.
+     */
+    private String cabecalhoProdutosEncontrados(ResultadoBuscaDTO resultado) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n\n");
+        sb.append("╔══════════════════════════════════════════════════════════════════════════════╗\n");
+        sb.append("║  🚨 PRODUTOS ENCONTRADOS - RESPONDA ADEQUADAMENTE AO CONTEXTO 🚨            ║\n");
+        sb.append("╚══════════════════════════════════════════════════════════════════════════════╝\n\n");
+        
+        // Instrução específica por tipo de busca
+        switch (resultado.tipo()) {
+            case INGREDIENTE:
+                sb.append("🥬 TIPO DE BUSCA: INGREDIENTE\n");
+                sb.append("O cliente perguntou sobre produtos com '").append(resultado.termoBuscado()).append("'\n");
+                sb.append("ENCONTRAMOS produtos que contêm este ingrediente!\n\n");
+                sb.append("✅ RESPONDA ASSIM:\n");
+                sb.append("   • 'Sim! Temos produtos com ").append(resultado.termoBuscado()).append("! Veja abaixo 👇'\n");
+                sb.append("   • 'Claro! Encontrei opções com ").append(resultado.termoBuscado()).append(" pra você!'\n");
+                break;
+                
+            case CATEGORIA:
+                sb.append("📁 TIPO DE BUSCA: CATEGORIA\n");
+                sb.append("O cliente perguntou sobre a categoria '").append(resultado.termoBuscado()).append("'\n\n");
+                sb.append("✅ RESPONDA ASSIM:\n");
+                sb.append("   • 'Aqui estão nossos ").append(resultado.termoBuscado()).append("! Clique pra pedir 🍔'\n");
+                sb.append("   • 'Temos ótimas opções de ").append(resultado.termoBuscado()).append("! Veja abaixo!'\n");
+                break;
+                
+            case NOME_PRODUTO:
+                sb.append("🍔 TIPO DE BUSCA: PRODUTO ESPECÍFICO\n");
+                sb.append("O cliente perguntou sobre o produto '").append(resultado.termoBuscado()).append("'\n\n");
+                sb.append("✅ RESPONDA ASSIM:\n");
+                sb.append("   • 'Encontrei! Clique no card para adicionar ao carrinho 🛒'\n");
+                sb.append("   • 'Esse é uma ótima escolha! Veja os detalhes abaixo!'\n");
+                break;
+                
+            case CARDAPIO_GERAL:
+                sb.append("📋 TIPO DE BUSCA: CARDÁPIO GERAL\n");
+                sb.append("O cliente quer ver opções do cardápio\n\n");
+                sb.append("✅ RESPONDA ASSIM:\n");
+                sb.append("   • 'Aqui estão algumas opções do nosso cardápio! 😊'\n");
+                sb.append("   • 'Veja algumas sugestões! Clique para adicionar 🛒'\n");
+                break;
+                
+            default:
+                sb.append("✅ Produtos encontrados! Responda positivamente.\n");
+        }
+        
+        sb.append("\n📦 PRODUTOS QUE SERÃO EXIBIDOS (NÃO LISTE, APENAS CONFIRME):\n");
+        return sb.toString();
+    }
+
+    private String descreverProdutoEncontrado(ProdutoContextDTO produto) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("   ✅ ").append(produto.nome());
+        if (produto.descricao() != null && !produto.descricao().isBlank()) {
+            sb.append(" → ").append(produto.descricao());
+        }
+        sb.append("\n");
+        return sb.toString();
+    }
+
+    private String rodapeProdutosEncontrados() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n⛔ NUNCA RESPONDA:\n");
+        sb.append("   • 'Não temos...' ou 'Desculpe...' (ENCONTRAMOS!)\n");
+        sb.append("   • 'Só posso ajudar...' (ESTA É pergunta sobre cardápio!)\n");
+        sb.append("   • Listando preços ou detalhes (o card já mostra!)\n\n");
+        
+        return sb.toString();
+    }
+
+    private static String construirInstrucoesBase(String nomeEstabelecimento) {
+        return """
+            Você é o assistente virtual do %s.
+            
+            ╔══════════════════════════════════════════════════════════════════╗
+            ║                    REGRAS ABSOLUTAS - LEIA COM ATENÇÃO           ║
+            ╠══════════════════════════════════════════════════════════════════╣
+            ║ 1. VOCÊ SÓ PODE FALAR SOBRE PRODUTOS QUE ESTÃO NO CARDÁPIO ABAIXO║
+            ║ 2. SE O PRODUTO NÃO ESTÁ LISTADO = ELE NÃO EXISTE                ║
+            ║ 3. NUNCA INVENTE NOMES DE PRODUTOS, PREÇOS OU DESCRIÇÕES         ║
+            ║ 4. USE APENAS OS DADOS EXATOS FORNECIDOS NO CARDÁPIO             ║
+            ╚══════════════════════════════════════════════════════════════════╝
+            
+            INSTRUÇÕES DE RESPOSTA:
+            
+            QUANDO O CLIENTE PERGUNTAR SOBRE O CARDÁPIO:
+            - Liste APENAS os produtos que aparecem na seção "CARDÁPIO OFICIAL" abaixo
+            - Use os nomes EXATOS dos produtos como estão escritos
+            - Use os preços EXATOS (não arredonde, não invente)
+            - Não mencione produtos que não estão na lista
+            
+            QUANDO O CLIENTE PEDIR UM PRODUTO QUE NÃO EXISTE:
+            - Responda: "Desculpe, não temos [nome do produto] no nosso cardápio."
+            - Sugira alternativas que EXISTAM no cardápio abaixo
+            
+            QUANDO O CLIENTE PERGUNTAR ALGO FORA DO ESCOPO:
+            - Responda: "Só posso ajudar com informações sobre nosso cardápio e pedidos."
+            
+            FORMATO DAS RESPOSTAS:
+            - Use emojis ocasionalmente 😊🍔🥤
+            - Seja conciso e direto
+            - SEMPRE inclua o preço quando mencionar um produto
+            - Incentive adicionar itens ao carrinho
+            
+            PROIBIDO:
+            - Inventar produtos que não estão listados
+            - Criar promoções ou combos imaginários
+            - Mencionar preços diferentes dos listados
+            - Falar sobre ingredientes que não estão descritos
+            - Responder perguntas não relacionadas ao restaurante
+            
+            """.formatted(nomeEstabelecimento);
+    }
+
+    /**
+     * Métricas da compilação de prompts.
+     */
+    public record Estatisticas(
+        long promptsCompilados,
+        int orcamentoTokens,
+        long mediaTokens,
+        long maiorPromptTokens,
+        long tempoMedioCompilacaoMicros,
+        long cardapioReduzido,
+        long itensDescartados
+    ) {
+    }
+}
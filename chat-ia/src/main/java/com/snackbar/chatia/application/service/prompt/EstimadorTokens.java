@@ -0,0 +1,35 @@
+package com.snackbar.chatia.application.service.prompt;
+
+/**
+ * Estimativa local do número de tokens de um texto, sem chamar a API nem carregar o tokenizer.
+ *
+ * Texto latino (incluindo acentos do português) rende em média ~4 caracteres por token;
+ * emojis e caracteres de desenho de caixa usados no prompt costumam virar um token cada
+ * (ou mais), então são contados à parte. A estimativa tende a ficar um pouco acima do real,
+ * o que é o lado seguro para respeitar um orçamento.
+ */
+public final class EstimadorTokens {
+
+    private static final double CARACTERES_POR_TOKEN = 4.0;
+    private static final int ULTIMO_LATINO = 0x024F;
+
+    private EstimadorTokens() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    public static int estimar(CharSequence texto) {
+        if (texto == null || texto.isEmpty()) return 0;
+
+        int latinos = 0;
+        int outros = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c <= ULTIMO_LATINO) {
+                latinos++;
+            } else if (!Character.isLowSurrogate(c)) {
+                outros++;
+            }
+        }
+        return (int) Math.ceil(latinos / CARACTERES_POR_TOKEN) + outros;
+    }
+}
@@ -15,15 +15,18 @@ import com.snackbar.chatia.application.port.out.IAClientPort;
 import com.snackbar.chatia.application.port.out.PedidosClienteContextPort;
 import com.snackbar.chatia.application.service.BuscaProdutoInteligenteService;
 import com.snackbar.chatia.application.service.DetectorComandoService;
+import com.snackbar.chatia.application.service.RespostaChatCache;
+import com.snackbar.chatia.application.service.prompt.CompiladorPromptChat;
+import com.snackbar.chatia.application.service.prompt.CompiladorPromptChat.PromptCompilado;
 import com.snackbar.chatia.domain.entity.MensagemChat;
 import com.snackbar.chatia.domain.repository.HistoricoChatRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Caso de uso para enviar mensagens ao chat IA.
@@ -41,15 +44,24 @@ public class EnviarMensagemChatUseCaseImpl implements EnviarMensagemChatUseCase
     private final PedidosClienteContextPort pedidosClienteContextPort;
     private final BuscaProdutoInteligenteService buscaProdutoService;
     private final DetectorComandoService detectorComandoService;
-    
-    @Value("${chat.ia.nome-estabelecimento:Soneca Lanchonete}")
-    private String nomeEstabelecimento;
-    
-    // Cache do cardápio para evitar múltiplas chamadas
-    private CardapioContextDTO cardapioCache;
+    private final RespostaChatCache respostaChatCache;
+    private final CompiladorPromptChat compiladorPrompt;
     
     @Override
     public ChatResponseDTO executar(ChatRequestDTO request) {
+        return processar(request, null);
+    }
+    
+    @Override
+    public ChatResponseDTO executarStreaming(ChatRequestDTO request, Consumer<String> aoReceberTrecho) {
+        return processar(request, aoReceberTrecho);
+    }
+    
+    /**
+     * Fluxo comum das duas variantes. Com {@code aoReceberTrecho}, a chamada à IA é feita em
+     * streaming; o histórico recebe sempre o texto completo ao final.
+     */
+    private ChatResponseDTO processar(ChatRequestDTO request, Consumer<String> aoReceberTrecho) {
         String sessionId = request.sessionId();
         String mensagemUsuario = request.message();
         String clienteId = request.clienteId();
@@ -57,7 +69,7 @@ public class EnviarMensagemChatUseCaseImpl implements EnviarMensagemChatUseCase
         log.info("Processando mensagem do chat - Session: {}, Cliente: {}", sessionId, clienteId);
         
         try {
-            // Carrega cardápio (com cache simples)
+            // Carrega cardápio (memorizado por versão do catálogo no adapter)
             CardapioContextDTO cardapio = obterCardapio();
             
             // 🎯 PRIMEIRO: Verifica se é um comando de ação (adicionar, remover, limpar)
@@ -84,24 +96,42 @@ public class EnviarMensagemChatUseCaseImpl implements EnviarMensagemChatUseCase
             // Obtém histórico da sessão
             List<MensagemChat> historico = historicoRepository.obterHistorico(sessionId);
             
-            // Constrói o system prompt com contexto completo
-            String systemPromptCompleto = construirSystemPromptCompleto(clienteId, cardapio);
+            // Pergunta sem contexto do cliente já respondida nesta versão do cardápio: dispensa a IA
+            Optional<RespostaChatCache.Chave> chaveCache = respostaChatCache.chaveSeCacheavel(
+                mensagemUsuario, cardapio, clienteId, !historico.isEmpty());
+            Optional<ChatResponseDTO> respostaEmCache = chaveCache.flatMap(respostaChatCache::obter);
+            if (respostaEmCache.isPresent()) {
+                ChatResponseDTO resposta = respostaEmCache.get();
+                historicoRepository.adicionarMensagem(sessionId, MensagemChat.doUsuario(mensagemUsuario));
+                historicoRepository.adicionarMensagem(sessionId, MensagemChat.doAssistente(resposta.reply()));
+                if (aoReceberTrecho != null) {
+                    aoReceberTrecho.accept(resposta.reply());
+                }
+                log.info("♻️ Resposta do chat servida do cache - Session: {}, pergunta: '{}'",
+                         sessionId, chaveCache.get().pergunta());
+                return resposta;
+            }
             
             // Busca produtos COM CONTEXTO (identifica tipo de busca)
             ResultadoBuscaDTO resultadoBusca = buscaProdutoService.buscarComContexto(mensagemUsuario, cardapio);
             log.info("🔍 Resultado da busca: tipo={}, termo='{}', produtos={}", 
                      resultadoBusca.tipo(), resultadoBusca.termoBuscado(), resultadoBusca.produtos().size());
             
-            // Adiciona contexto dos produtos encontrados ao prompt COM TIPO DE BUSCA
-            String promptComProdutos = adicionarContextoProdutosEncontrados(
-                systemPromptCompleto, resultadoBusca);
+            // Monta o system prompt dentro do orçamento de tokens (produtos encontrados têm prioridade)
+            PromptCompilado prompt = compiladorPrompt.compilar(
+                cardapio, carregarContextoCliente(clienteId), resultadoBusca);
+            String promptComProdutos = prompt.texto();
             
             // Adiciona mensagem do usuário ao histórico
             MensagemChat msgUsuario = MensagemChat.doUsuario(mensagemUsuario);
             historicoRepository.adicionarMensagem(sessionId, msgUsuario);
             
             // Chama a IA
-            String respostaIA = iaClient.chat(promptComProdutos, historico, mensagemUsuario);
+            long inicioIA = System.nanoTime();
+            String respostaIA = aoReceberTrecho != null
+                ? iaClient.chatStreaming(promptComProdutos, historico, mensagemUsuario, aoReceberTrecho)
+                : iaClient.chat(promptComProdutos, historico, mensagemUsuario);
+            respostaChatCache.registrarChamadaIA(System.nanoTime() - inicioIA);
             
             // Adiciona resposta da IA ao histórico
             MensagemChat msgAssistente = MensagemChat.doAssistente(respostaIA);
@@ -123,7 +153,11 @@ public class EnviarMensagemChatUseCaseImpl implements EnviarMensagemChatUseCase
                              p.nome(), p.id(), p.preco(), p.disponivel()));
             }
             
-            return ChatResponseDTO.comProdutos(respostaIA, produtosDestacados);
+            ChatResponseDTO resposta = ChatResponseDTO.comProdutos(respostaIA, produtosDestacados);
+            if (chaveCache.isPresent() && iaClient.isRespostaValida(respostaIA)) {
+                respostaChatCache.armazenar(chaveCache.get(), resposta);
+            }
+            return resposta;
             
         } catch (Exception e) {
             log.error("Erro ao processar mensagem do chat - Session: {}", sessionId, e);
@@ -193,97 +227,20 @@ public class EnviarMensagemChatUseCaseImpl implements EnviarMensagemChatUseCase
     // ============================================
     
     /**
-     * Obtém o cardápio, usando cache para evitar múltiplas chamadas
+     * Obtém o cardápio do catálogo compartilhado.
+     * O adapter devolve a mesma instância enquanto a versão do catálogo não mudar,
+     * então alterações no cardápio refletem na próxima mensagem.
      */
     private CardapioContextDTO obterCardapio() {
-        if (cardapioCache == null) {
-            try {
-                cardapioCache = cardapioContextPort.buscarCardapioParaIA();
-                log.info("✅ Cardápio carregado com sucesso: {} produtos em {} categorias", 
-                         cardapioCache.produtos().size(), cardapioCache.categorias().size());
-                
-                // Log dos produtos para debug
-                if (log.isDebugEnabled()) {
-                    cardapioCache.produtos().forEach(p -> 
-                        log.debug("  Produto: {} - R$ {}", p.nome(), p.preco()));
-                }
-            } catch (Exception e) {
-                log.error("❌ ERRO ao carregar cardápio: {}", e.getMessage(), e);
-                return null;
-            }
-        }
-        return cardapioCache;
-    }
-    
-    /**
-     * Adiciona contexto dos produtos encontrados ao prompt para a IA,
-     * adaptando a instrução de acordo com o TIPO DE BUSCA.
-     */
-    private String adicionarContextoProdutosEncontrados(String promptBase, ResultadoBuscaDTO resultado) {
-        if (!resultado.temResultados()) {
-            return promptBase;
-        }
-        
-        StringBuilder sb = new StringBuilder(promptBase);
-        sb.append("\n\n");
-        sb.append("╔══════════════════════════════════════════════════════════════════════════════╗\n");
-        sb.append("║  🚨 PRODUTOS ENCONTRADOS - RESPONDA ADEQUADAMENTE AO CONTEXTO 🚨            ║\n");
-        sb.append("╚══════════════════════════════════════════════════════════════════════════════╝\n\n");
-        
-        // Instrução específica por tipo de busca
-        switch (resultado.tipo()) {
-            case INGREDIENTE:
-                sb.append("🥬 TIPO DE BUSCA: INGREDIENTE\n");
-                sb.append("O cliente perguntou sobre produtos com '").append(resultado.termoBuscado()).append("'\n");
-                sb.append("ENCONTRAMOS produtos que contêm este ingrediente!\n\n");
-                sb.append("✅ RESPONDA ASSIM:\n");
-                sb.append("   • 'Sim! Temos produtos com ").append(resultado.termoBuscado()).append("! Veja abaixo 👇'\n");
-                sb.append("   • 'Claro! Encontrei opções com ").append(resultado.termoBuscado()).append(" pra você!'\n");
-                break;
-                
-            case CATEGORIA:
-                sb.append("📁 TIPO DE BUSCA: CATEGORIA\n");
-                sb.append("O cliente perguntou sobre a categoria '").append(resultado.termoBuscado()).append("'\n\n");
-                sb.append("✅ RESPONDA ASSIM:\n");
-                sb.append("   • 'Aqui estão nossos ").append(resultado.termoBuscado()).append("! Clique pra pedir 🍔'\n");
-                sb.append("   • 'Temos ótimas opções de ").append(resultado.termoBuscado()).append("! Veja abaixo!'\n");
-                break;
-                
-            case NOME_PRODUTO:
-                sb.append("🍔 TIPO DE BUSCA: PRODUTO ESPECÍFICO\n");
-                sb.append("O cliente perguntou sobre o produto '").append(resultado.termoBuscado()).append("'\n\n");
-                sb.append("✅ RESPONDA ASSIM:\n");
-                sb.append("   • 'Encontrei! Clique no card para adicionar ao carrinho 🛒'\n");
-                sb.append("   • 'Esse é uma ótima escolha! Veja os detalhes abaixo!'\n");
-                break;
-                
-            case CARDAPIO_GERAL:
-                sb.append("📋 TIPO DE BUSCA: CARDÁPIO GERAL\n");
-                sb.append("O cliente quer ver opções do cardápio\n\n");
-                sb.append("✅ RESPONDA ASSIM:\n");
-                sb.append("   • 'Aqui estão algumas opções do nosso cardápio! 😊'\n");
-                sb.append("   • 'Veja algumas sugestões! Clique para adicionar 🛒'\n");
-                break;
-                
-            default:
-                sb.append("✅ Produtos encontrados! Responda positivamente.\n");
-        }
-        
-        sb.append("\n📦 PRODUTOS QUE SERÃO EXIBIDOS (NÃO LISTE, APENAS CONFIRME):\n");
-        for (ProdutoContextDTO produto : resultado.produtos()) {
-            sb.append("   ✅ ").append(produto.nome());
-            if (produto.descricao() != null && !produto.descricao().isBlank()) {
-                sb.append(" → ").append(produto.descricao());
-            }
-            sb.append("\n");
+        try {
+            CardapioContextDTO cardapio = cardapioContextPort.buscarCardapioParaIA();
+            log.debug("Cardápio versão {}: {} produtos em {} categorias",
+                     cardapio.versao(), cardapio.produtos().size(), cardapio.categorias().size());
+            return cardapio;
+        } catch (Exception e) {
+            log.error("❌ ERRO ao carregar cardápio: {}", e.getMessage(), e);
+            return null;
         }
-        
-        sb.append("\n⛔ NUNCA RESPONDA:\n");
-        sb.append("   • 'Não temos...' ou 'Desculpe...' (ENCONTRAMOS!)\n");
-        sb.append("   • 'Só posso ajudar...' (ESTA É pergunta sobre cardápio!)\n");
-        sb.append("   • Listando preços ou detalhes (o card já mostra!)\n\n");
-        
-        return sb.toString();
     }
     
     /**
@@ -302,93 +259,25 @@ public class EnviarMensagemChatUseCaseImpl implements EnviarMensagemChatUseCase
     }
     
     // ============================================
-    // CONSTRUÇÃO DO SYSTEM PROMPT
+    // CONTEXTO DO CLIENTE
     // ============================================
     
     /**
-     * Constrói o system prompt completo com:
-     * - Instruções de comportamento
-     * - Cardápio completo do estabelecimento
-     * - Histórico de pedidos do cliente (se identificado)
+     * Carrega o histórico de pedidos do cliente identificado, ou null para visitantes
+     * e em caso de erro (o chat segue sem personalização).
      */
-    private String construirSystemPromptCompleto(String clienteId, CardapioContextDTO cardapio) {
-        StringBuilder sb = new StringBuilder();
-        
-        // Instruções base do assistente
-        sb.append(construirInstrucoesBase());
-        sb.append("\n\n");
-        
-        // Contexto do cardápio
-        if (cardapio != null) {
-            String descricaoCardapio = cardapio.gerarDescricaoParaIA();
-            sb.append(descricaoCardapio);
-            sb.append("\n\n");
-            log.debug("Cardápio incluído: {} categorias e {} produtos", 
-                     cardapio.categorias().size(), cardapio.produtos().size());
-        } else {
-            sb.append("=== CARDÁPIO INDISPONÍVEL ===\n");
-            sb.append("Não foi possível carregar o cardápio. Informe ao cliente que está indisponível no momento.\n\n");
+    private HistoricoPedidosClienteContextDTO carregarContextoCliente(String clienteId) {
+        if (clienteId == null || clienteId.isBlank()) {
+            return null;
         }
-        
-        // Contexto do cliente (se identificado)
-        if (clienteId != null && !clienteId.isBlank()) {
-            try {
-                HistoricoPedidosClienteContextDTO historicoCliente = 
-                    pedidosClienteContextPort.buscarHistoricoPedidosCliente(clienteId);
-                sb.append(historicoCliente.gerarDescricaoParaIA());
-                log.debug("Histórico do cliente {} carregado: {} pedidos", clienteId, historicoCliente.totalPedidos());
-            } catch (Exception e) {
-                log.warn("Erro ao carregar histórico do cliente: {}", e.getMessage());
-            }
+        try {
+            HistoricoPedidosClienteContextDTO historicoCliente = 
+                pedidosClienteContextPort.buscarHistoricoPedidosCliente(clienteId);
+            log.debug("Histórico do cliente {} carregado: {} pedidos", clienteId, historicoCliente.totalPedidos());
+            return historicoCliente;
+        } catch (Exception e) {
+            log.warn("Erro ao carregar histórico do cliente: {}", e.getMessage());
+            return null;
         }
-        
-        String promptFinal = sb.toString();
-        log.debug("System prompt construído com {} caracteres", promptFinal.length());
-        
-        return promptFinal;
-    }
-    
-    private String construirInstrucoesBase() {
-        return """
-            Você é o assistente virtual do %s.
-            
-            ╔══════════════════════════════════════════════════════════════════╗
-            ║                    REGRAS ABSOLUTAS - LEIA COM ATENÇÃO           ║
-            ╠══════════════════════════════════════════════════════════════════╣
-            ║ 1. VOCÊ SÓ PODE FALAR SOBRE PRODUTOS QUE ESTÃO NO CARDÁPIO ABAIXO║
-            ║ 2. SE O PRODUTO NÃO ESTÁ LISTADO = ELE NÃO EXISTE                ║
-            ║ 3. NUNCA INVENTE NOMES DE PRODUTOS, PREÇOS OU DESCRIÇÕES         ║
-            ║ 4. USE APENAS OS DADOS EXATOS FORNECIDOS NO CARDÁPIO             ║
-            ╚══════════════════════════════════════════════════════════════════╝
-            
-            INSTRUÇÕES DE RESPOSTA:
-            
-            QUANDO O CLIENTE PERGUNTAR SOBRE O CARDÁPIO:
-            - Liste APENAS os produtos que aparecem na seção "CARDÁPIO OFICIAL" abaixo
-            - Use os nomes EXATOS dos produtos como estão escritos
-            - Use os preços EXATOS (não arredonde, não invente)
-            - Não mencione produtos que não estão na lista
-            
-            QUANDO O CLIENTE PEDIR UM PRODUTO QUE NÃO EXISTE:
-            - Responda: "Desculpe, não temos [nome do produto] no nosso cardápio."
-            - Sugira alternativas que EXISTAM no cardápio abaixo
-            
-            QUANDO O CLIENTE PERGUNTAR ALGO FORA DO ESCOPO:
-            - Responda: "Só posso ajudar com informações sobre nosso cardápio e pedidos."
-            
-            FORMATO DAS RESPOSTAS:
-            - Use emojis ocasionalmente 😊🍔🥤
-            - Seja conciso e direto
-            - SEMPRE inclua o preço quando mencionar um produto
-            - Incentive adicionar itens ao carrinho
-            
-            PROIBIDO:
-            - Inventar produtos que não estão listados
-            - Criar promoções ou combos imaginários
-            - Mencionar preços diferentes dos listados
-            - Falar sobre ingredientes que não estão descritos
-            - Responder perguntas não relacionadas ao restaurante
-            
-            """.formatted(nomeEstabelecimento);
     }
 }
@@ -0,0 +1,102 @@
+package com.snackbar.chatia.infrastructure.ai;
+
+import com.snackbar.chatia.application.port.out.IAClientPort;
+import com.snackbar.chatia.domain.entity.MensagemChat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead na frente do {@link OpenAIAdapter}: limita as chamadas simultâneas à IA com um
+ * limite adaptativo. Quando não há vaga em poucos segundos, responde na hora com um aviso
+ * de sobrecarga em vez de acumular requisições esperando a API.
+ *
+ * A vaga cobre uma chamada à API por vez; os hedges do {@link OpenAIAdapter} pegam vagas
+ * próprias no mesmo limitador, e sem vaga livre o hedge não é disparado.
+ */
+@Slf4j
+@Primary
+@Component
+public class IAClientComLimiteAdapter implements IAClientPort {
+
+    private static final String AVISO_SOBRECARGA =
+            "Estamos atendendo muitas conversas agora 😅 Tente novamente em alguns segundos!";
+
+    private final OpenAIAdapter openAIAdapter;
+    private final LimitadorConcorrenciaAdaptativo limitador;
+
+    public IAClientComLimiteAdapter(
+            OpenAIAdapter openAIAdapter,
+            @Value("${openai.concorrencia.limite-inicial:8}") int limiteInicial,
+            @Value("${openai.concorrencia.limite-minimo:2}") int limiteMinimo,
+            @Value("${openai.concorrencia.limite-maximo:32}") int limiteMaximo,
+            @Value("${openai.concorrencia.fila-maxima:50}") int filaMaxima,
+            @Value("${openai.concorrencia.espera-maxima-ms:3000}") long esperaMaximaMs) {
+        this.openAIAdapter = openAIAdapter;
+        this.limitador = new LimitadorConcorrenciaAdaptativo(
+                limiteInicial, limiteMinimo, limiteMaximo, filaMaxima, esperaMaximaMs);
+        log.info("Limite de chamadas simultâneas à IA: inicial {}, entre {} e {}, fila de até {} por {} ms",
+                limiteInicial, limiteMinimo, limiteMaximo, filaMaxima, esperaMaximaMs);
+    }
+
+    @Override
+    public String chat(String systemPrompt, List<MensagemChat> historico, String mensagemAtual) {
+        String resposta = executarComLimite(() -> openAIAdapter.chat(systemPrompt, historico, mensagemAtual, limitador));
+        return resposta != null ? resposta : AVISO_SOBRECARGA;
+    }
+
+    @Override
+    public String chatStreaming(String systemPrompt, List<MensagemChat> historico, String mensagemAtual,
+            Consumer<String> aoReceberTrecho) {
+        String resposta = executarComLimite(
+                () -> openAIAdapter.chatStreaming(systemPrompt, historico, mensagemAtual, aoReceberTrecho));
+        if (resposta == null) {
+            aoReceberTrecho.accept(AVISO_SOBRECARGA);
+            return AVISO_SOBRECARGA;
+        }
+        return resposta;
+    }
+
+    @Override
+    public boolean isRespostaValida(String resposta) {
+        return openAIAdapter.isRespostaValida(resposta) && !AVISO_SOBRECARGA.equals(resposta);
+    }
+
+    public LimitadorConcorrenciaAdaptativo.Estatisticas estatisticasConcorrencia() {
+        return limitador.estatisticas();
+    }
+
+    public OpenAIAdapter.Estatisticas estatisticasChamadas() {
+        return openAIAdapter.estatisticas();
+    }
+
+    /**
+     * Executa a chamada se houver vaga; retorna null se ela foi rejeitada.
+     */
+    private String executarComLimite(Supplier<String> chamada) {
+        try {
+            if (!limitador.adquirir()) {
+                log.warn("Chamada à IA rejeitada por sobrecarga - {}", limitador.estatisticas());
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        long inicio = System.nanoTime();
+        boolean sucesso = false;
+        try {
+            String resposta = chamada.get();
+            sucesso = openAIAdapter.isRespostaValida(resposta);
+            return resposta;
+        } finally {
+            limitador.liberar(System.nanoTime() - inicio, sucesso);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.snackbar.chatia.infrastructure.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Últimas latências observadas, em buffer circular, para cálculo de percentis.
+ * Com poucas amostras o percentil não é confiável e {@link #percentil} retorna o valor padrão.
+ */
+final class JanelaLatencias {
+
+    private final long[] amostras;
+    private final int minimoAmostras;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int proxima;
+    private int tamanho;
+
+    JanelaLatencias(int capacidade, int minimoAmostras) {
+        this.amostras = new long[capacidade];
+        this.minimoAmostras = minimoAmostras;
+    }
+
+    void registrar(long latenciaNanos) {
+        lock.lock();
+        try {
+            amostras[proxima] = latenciaNanos;
+            proxima = (proxima + 1) % amostras.length;
+            tamanho = Math.min(tamanho + 1, amostras.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param percentil entre 0 e 1 (ex.: 0.95)
+     * @param padraoNanos valor usado enquanto não há amostras suficientes
+     */
+    long percentil(double percentil, long padraoNanos) {
+        long[] copia;
+        lock.lock();
+        try {
+            if (tamanho < minimoAmostras) {
+                return padraoNanos;
+            }
+            copia = Arrays.copyOf(amostras, tamanho);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(copia);
+        int indice = (int) Math.ceil(percentil * copia.length) - 1;
+        return copia[Math.clamp(indice, 0, copia.length - 1)];
+    }
+}
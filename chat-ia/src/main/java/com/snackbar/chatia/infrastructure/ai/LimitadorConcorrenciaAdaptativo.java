@@ -0,0 +1,202 @@
+package com.snackbar.chatia.infrastructure.ai;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de chamadas simultâneas que se ajusta à latência observada (AIMD).
+ *
+ * Enquanto as chamadas terminam perto da menor latência recente, o limite cresce
+ * aproximadamente uma vaga por janela de chamadas; quando a latência dispara ou uma chamada
+ * falha, o limite cai multiplicativamente. Acima do limite, a chamada espera uma vaga por um
+ * tempo curto e, se a fila estiver cheia ou o tempo acabar, é rejeitada na hora em vez de
+ * segurar a thread da requisição.
+ *
+ * A espera por vaga usa uma {@link Condition} do lock com prazo,
+ * sinalizada a cada vaga liberada ou aumento do limite.
+ */
+public final class LimitadorConcorrenciaAdaptativo {
+
+    // Latência acima deste múltiplo da menor latência recente indica saturação
+    private static final double TOLERANCIA_LATENCIA = 3.0;
+    private static final double FATOR_REDUCAO = 0.8;
+    private static final int JANELA_LATENCIA_MINIMA = 50;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final int filaMaxima;
+    private final long esperaMaximaNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition vagaLiberada = lock.newCondition();
+
+    // Campos abaixo protegidos pelo lock
+    private double limite;
+    private int emAndamento;
+    private int aguardando;
+    private long latenciaMinimaNanos = Long.MAX_VALUE;
+    private long menorLatenciaJanelaNanos = Long.MAX_VALUE;
+    private int amostrasJanela;
+
+    private final LongAdder admitidas = new LongAdder();
+    private final LongAdder enfileiradas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+
+    LimitadorConcorrenciaAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo,
+            int filaMaxima, long esperaMaximaMs) {
+        if (limiteMinimo <= 0 || limiteMaximo < limiteMinimo) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos");
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.filaMaxima = Math.max(0, filaMaxima);
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, esperaMaximaMs));
+        this.limite = Math.clamp(limiteInicial, limiteMinimo, limiteMaximo);
+    }
+
+    /**
+     * Tenta obter uma vaga, esperando no máximo o tempo configurado.
+     *
+     * @return true se a vaga foi obtida; nesse caso {@link #liberar} deve ser chamado ao final
+     */
+    boolean adquirir() throws InterruptedException {
+        lock.lock();
+        try {
+            if (emAndamento < (int) limite) {
+                emAndamento++;
+                admitidas.increment();
+                return true;
+            }
+            if (aguardando >= filaMaxima || esperaMaximaNanos == 0) {
+                rejeitadas.increment();
+                return false;
+            }
+
+            enfileiradas.increment();
+            aguardando++;
+            try {
+                long restante = esperaMaximaNanos;
+                while (emAndamento >= (int) limite) {
+                    if (restante <= 0) {
+                        rejeitadas.increment();
+                        return false;
+                    }
+                    restante = vagaLiberada.awaitNanos(restante);
+                }
+            } finally {
+                aguardando--;
+            }
+            emAndamento++;
+            admitidas.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtém uma vaga só se houver uma livre agora e ninguém esperando na fila. Para chamadas
+     * opcionais (ex.: hedge), que não devem esperar nem passar na frente de outra requisição.
+     *
+     * @return true se a vaga foi obtida; nesse caso {@link #liberar} ou {@link #devolver} deve ser chamado
+     */
+    boolean tentarAdquirir() {
+        lock.lock();
+        try {
+            if (aguardando > 0 || emAndamento >= (int) limite) {
+                return false;
+            }
+            emAndamento++;
+            admitidas.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera a vaga sem ajustar o limite, para chamadas canceladas antes de terminar.
+     */
+    void devolver() {
+        lock.lock();
+        try {
+            emAndamento--;
+            vagaLiberada.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera a vaga e ajusta o limite conforme o resultado da chamada.
+     *
+     * @param latenciaNanos duração da chamada
+     * @param sucesso false para erro ou tempo esgotado
+     */
+    void liberar(long latenciaNanos, boolean sucesso) {
+        lock.lock();
+        try {
+            emAndamento--;
+            if (!sucesso) {
+                reduzir();
+            } else {
+                registrarLatencia(latenciaNanos);
+                // Só ajusta quando o limite está de fato sendo usado: uma chamada lenta com
+                // vagas sobrando reflete o serviço, não a concorrência
+                boolean saturado = emAndamento + 1 >= (int) limite;
+                if (saturado && latenciaNanos > latenciaMinimaNanos * TOLERANCIA_LATENCIA) {
+                    reduzir();
+                } else if (saturado) {
+                    limite = Math.min(limiteMaximo, limite + 1.0 / limite);
+                }
+            }
+            vagaLiberada.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        lock.lock();
+        try {
+            return new Estatisticas((int) limite, emAndamento, aguardando,
+                    admitidas.sum(), enfileiradas.sum(), rejeitadas.sum(),
+                    latenciaMinimaNanos == Long.MAX_VALUE ? 0 : latenciaMinimaNanos / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reduzir() {
+        limite = Math.max(limiteMinimo, limite * FATOR_REDUCAO);
+    }
+
+    /**
+     * A menor latência é recalculada a cada janela para acompanhar mudanças no serviço
+     * (ex.: troca de modelo), sem ficar presa a um valor antigo excepcionalmente baixo.
+     */
+    private void registrarLatencia(long latenciaNanos) {
+        menorLatenciaJanelaNanos = Math.min(menorLatenciaJanelaNanos, latenciaNanos);
+        latenciaMinimaNanos = Math.min(latenciaMinimaNanos, latenciaNanos);
+        if (++amostrasJanela >= JANELA_LATENCIA_MINIMA) {
+            latenciaMinimaNanos = menorLatenciaJanelaNanos;
+            menorLatenciaJanelaNanos = Long.MAX_VALUE;
+            amostrasJanela = 0;
+        }
+    }
+
+    /**
+     * Métricas do limitador.
+     */
+    public record Estatisticas(
+            int limite,
+            int emAndamento,
+            int aguardando,
+            long admitidas,
+            long enfileiradas,
+            long rejeitadas,
+            long latenciaMinimaMs) {
+    }
+}
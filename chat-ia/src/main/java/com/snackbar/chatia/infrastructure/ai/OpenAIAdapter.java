@@ -4,28 +4,56 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.snackbar.chatia.application.port.out.IAClientPort;
 import com.snackbar.chatia.domain.entity.MensagemChat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Adapter para integração com a API da OpenAI.
- * Suporta fallback automático entre modelos.
+ * Suporta fallback automático entre modelos e respostas em streaming (server-sent events).
+ * 
+ * Cada chamada tem um orçamento total de tempo (deadline) dividido entre as tentativas.
+ * Sem streaming, os modelos de fallback também servem de "hedge": se o modelo atual não
+ * responde dentro do percentil configurado das latências recentes, o próximo modelo é
+ * disparado em paralelo e vale a primeira resposta; as demais chamadas são canceladas.
+ * Atrás do {@link IAClientComLimiteAdapter}, cada hedge precisa de uma vaga própria no limitador
+ * de concorrência; sem vaga livre na hora, o hedge não é disparado e a chamada atual segue.
+ * Em streaming, o corpo da resposta também respeita o deadline: ao esgotar, o stream é fechado.
  * 
  * Segue as regras de Clean Architecture:
  * - ObjectMapper e HttpClient injetados via DI (não criados manualmente)
@@ -39,16 +67,29 @@ public class OpenAIAdapter implements IAClientPort {
     private static final String MODELO_PADRAO = "gpt-5-mini";
     private static final int MAX_TOKENS_PADRAO = 4000;
     private static final int TIMEOUT_SEGUNDOS = 60;
+    private static final int DEADLINE_PADRAO_SEGUNDOS = 45;
+    private static final int CAPACIDADE_JANELA_LATENCIAS = 200;
+    private static final int MINIMO_AMOSTRAS_PERCENTIL = 20;
     private static final String KEY_CONTENT = "content";
     private static final String KEY_ERROR = "error";
     private static final String KEY_MESSAGE = "message";
+    private static final String PREFIXO_DADOS_SSE = "data:";
+    private static final String FIM_STREAM_SSE = "[DONE]";
+    private static final String AVISO_NAO_CONFIGURADO = "Serviço de IA não configurado. Por favor, configure a chave da API.";
+    private static final String PREFIXO_ERRO_COMUNICACAO = "Erro ao comunicar com IA: ";
+    private static final String FALHA_TODOS_MODELOS = "Todos os modelos configurados falharam";
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
     
     @Value("${openai.api.key:}")
     private String openaiApiKey;
     
+    // Configurável para apontar para um servidor local (stub) em testes
+    @Value("${openai.api.url:" + API_URL + "}")
+    private String apiUrl;
+    
     @Value("${openai.model:" + MODELO_PADRAO + "}")
     private String modeloPrincipal;
     
@@ -58,8 +99,55 @@ public class OpenAIAdapter implements IAClientPort {
     @Value("${openai.max-tokens:" + MAX_TOKENS_PADRAO + "}")
     private int maxTokens;
     
+    @Value("${openai.deadline.segundos:" + DEADLINE_PADRAO_SEGUNDOS + "}")
+    private int deadlineSegundos;
+    
+    @Value("${openai.hedge.percentil:0.95}")
+    private double percentilHedge;
+    
+    // Usado enquanto não há latências suficientes para o percentil
+    @Value("${openai.hedge.limiar-padrao-ms:8000}")
+    private long limiarHedgePadraoMs;
+    
+    @Value("${openai.hedge.limiar-minimo-ms:1500}")
+    private long limiarHedgeMinimoMs;
+    
     private String apiKey;
     private List<String> modelosFallback;
+    
+    private final JanelaLatencias latencias = new JanelaLatencias(CAPACIDADE_JANELA_LATENCIAS, MINIMO_AMOSTRAS_PERCENTIL);
+    private final LongAdder hedgesDisparados = new LongAdder();
+    private final LongAdder hedgesSemVaga = new LongAdder();
+    private final LongAdder respostasDoHedge = new LongAdder();
+    private final LongAdder deadlinesEsgotados = new LongAdder();
+    
+    // Criados no @PostConstruct, um conjunto por modelo configurado; só leitura depois disso
+    private Map<String, MetricasModelo> metricasPorModelo = Map.of();
+    
+    // O timeout do HttpRequest só vale até os cabeçalhos; este agendador fecha streams que passam do deadline
+    private final ScheduledThreadPoolExecutor vigiaStreams = criarVigiaStreams();
+
+    /**
+     * Timers de latência (sucesso/erro) e contador de fallbacks de um modelo.
+     */
+    private record MetricasModelo(Timer sucesso, Timer erro, Counter fallbacks) {
+    }
+
+    /**
+     * Chamada em andamento a um modelo. {@code hedge} indica que foi disparada por demora
+     * da anterior (e não por falha dela). {@code vagaExtra} é o limitador de onde veio a vaga
+     * própria da chamada, ou null se ela usa a vaga de quem chamou {@link #chat}.
+     */
+    private record Tentativa(String modelo, long inicioNanos, boolean hedge,
+            LimitadorConcorrenciaAdaptativo vagaExtra, CompletableFuture<?> chamada) {
+        
+        boolean vagaPropria() {
+            return vagaExtra != null;
+        }
+    }
+
+    private record ResultadoTentativa(Tentativa tentativa, String resposta, Exception erro) {
+    }
 
     /**
      * Construtor com injeção de dependências.
@@ -67,9 +155,11 @@ public class OpenAIAdapter implements IAClientPort {
      */
     public OpenAIAdapter(
             @Qualifier("chatIAHttpClient") HttpClient httpClient,
-            @Qualifier("chatIAObjectMapper") ObjectMapper objectMapper) {
+            @Qualifier("chatIAObjectMapper") ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
         this.httpClient = httpClient;
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
     }
     
     @PostConstruct
@@ -102,56 +192,449 @@ public class OpenAIAdapter implements IAClientPort {
             }
         }
         
+        Map<String, MetricasModelo> metricas = new HashMap<>();
+        for (String modelo : modelosFallback) {
+            metricas.putIfAbsent(modelo, criarMetricas(modelo));
+        }
+        this.metricasPorModelo = Map.copyOf(metricas);
+        
         log.info("OpenAI Adapter configurado - modelos: {}, max_tokens: {}", 
                 this.modelosFallback, this.maxTokens);
     }
+    
+    @PreDestroy
+    void encerrar() {
+        vigiaStreams.shutdownNow();
+    }
+    
+    private static ScheduledThreadPoolExecutor criarVigiaStreams() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("openai-vigia-stream").daemon(true).factory());
+        // A maioria dos streams termina antes do deadline; o agendamento cancelado sai da fila na hora
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+    
+    private MetricasModelo criarMetricas(String modelo) {
+        return new MetricasModelo(
+                timerChamada(modelo, "sucesso"),
+                timerChamada(modelo, "erro"),
+                Counter.builder("chat.ia.fallbacks")
+                        .description("Chamadas a um modelo de fallback depois de falha do anterior")
+                        .tag("modelo", modelo)
+                        .register(meterRegistry));
+    }
+    
+    private Timer timerChamada(String modelo, String resultado) {
+        return Timer.builder("chat.ia.chamada")
+                .description("Latência de cada chamada à API da OpenAI")
+                .tag("modelo", modelo)
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofSeconds(TIMEOUT_SEGUNDOS))
+                .register(meterRegistry);
+    }
+    
+    private void registrarChamada(String modelo, long inicioNanos, boolean sucesso) {
+        MetricasModelo metricas = metricasPorModelo.get(modelo);
+        if (metricas != null) {
+            (sucesso ? metricas.sucesso() : metricas.erro()).record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private void registrarFallback(String modelo) {
+        MetricasModelo metricas = metricasPorModelo.get(modelo);
+        if (metricas != null) {
+            metricas.fallbacks().increment();
+        }
+    }
 
     @Override
     public String chat(String systemPrompt, List<MensagemChat> historico, String mensagemAtual) {
+        return chat(systemPrompt, historico, mensagemAtual, null);
+    }
+
+    /**
+     * Como {@link #chat(String, List, String)}, com os hedges limitados por {@code limitador}:
+     * a chamada de quem invoca ocupa uma vaga, e cada chamada simultânea a mais precisa de outra
+     * vaga, obtida sem espera. Com {@code limitador} null, os hedges não têm limite.
+     */
+    String chat(String systemPrompt, List<MensagemChat> historico, String mensagemAtual,
+            LimitadorConcorrenciaAdaptativo limitador) {
         if (apiKey == null || apiKey.isBlank()) {
-            return "Serviço de IA não configurado. Por favor, configure a chave da API.";
+            return AVISO_NAO_CONFIGURADO;
         }
 
         List<Map<String, Object>> mensagens = construirMensagens(systemPrompt, historico, mensagemAtual);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(deadlineSegundos);
+        long limiarHedge = limiarHedgeNanos();
+        BlockingQueue<ResultadoTentativa> concluidas = new LinkedBlockingQueue<>();
+        List<Tentativa> emAndamento = new ArrayList<>();
+        
+        Exception ultimoErro = null;
+        int proximoModelo = 0;
+        try {
+            emAndamento.add(iniciarTentativa(mensagens, proximoModelo++, false, null, deadline, concluidas));
+            long proximoHedge = System.nanoTime() + limiarHedge;
+            
+            while (true) {
+                long agora = System.nanoTime();
+                long restante = deadline - agora;
+                if (restante <= 0) {
+                    deadlinesEsgotados.increment();
+                    ultimoErro = new IOException("Tempo limite de " + deadlineSegundos + "s esgotado");
+                    log.warn("Nenhum modelo respondeu em {}s; cancelando {} chamada(s)", deadlineSegundos, emAndamento.size());
+                    break;
+                }
+                
+                boolean restamModelos = proximoModelo < modelosFallback.size();
+                long espera = restamModelos ? Math.min(restante, proximoHedge - agora) : restante;
+                ResultadoTentativa resultado = concluidas.poll(Math.max(0, espera), TimeUnit.NANOSECONDS);
+                
+                if (resultado == null) {
+                    if (restamModelos && System.nanoTime() - proximoHedge >= 0) {
+                        Tentativa hedge = iniciarComVaga(mensagens, proximoModelo, true, limitador,
+                                emAndamento, deadline, concluidas);
+                        if (hedge != null) {
+                            hedgesDisparados.increment();
+                            log.info("Sem resposta após {} ms; disparando modelo {} em paralelo",
+                                    limiarHedge / 1_000_000, hedge.modelo());
+                            emAndamento.add(hedge);
+                            proximoModelo++;
+                        } else {
+                            hedgesSemVaga.increment();
+                            log.debug("Sem resposta após {} ms, mas sem vaga para o hedge; aguardando o modelo atual",
+                                    limiarHedge / 1_000_000);
+                        }
+                        proximoHedge = System.nanoTime() + limiarHedge;
+                    }
+                    continue;
+                }
+                
+                Tentativa tentativa = resultado.tentativa();
+                emAndamento.remove(tentativa);
+                if (resultado.resposta() != null) {
+                    latencias.registrar(System.nanoTime() - tentativa.inicioNanos());
+                    if (tentativa.hedge()) {
+                        respostasDoHedge.increment();
+                    }
+                    log.info("Resposta obtida com modelo {}", tentativa.modelo());
+                    return resultado.resposta();
+                }
+                
+                ultimoErro = resultado.erro();
+                log.warn("Erro com modelo {}: {}", tentativa.modelo(), ultimoErro.getMessage());
+                if (restamModelos) {
+                    // Sem vaga só quando outra chamada ainda ocupa a vaga de quem chamou; o fallback
+                    // fica para quando ela terminar
+                    Tentativa fallback = iniciarComVaga(mensagens, proximoModelo, false, limitador,
+                            emAndamento, deadline, concluidas);
+                    if (fallback != null) {
+                        registrarFallback(fallback.modelo());
+                        emAndamento.add(fallback);
+                        proximoModelo++;
+                        proximoHedge = System.nanoTime() + limiarHedge;
+                    }
+                }
+                if (emAndamento.isEmpty()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ultimoErro = e;
+        } finally {
+            // Chamadas perdedoras (ou pendentes no deadline) não precisam terminar
+            emAndamento.forEach(t -> t.chamada().cancel(true));
+        }
+        
+        // Se chegou aqui, todos os modelos falharam
+        return ultimoErro != null 
+                ? PREFIXO_ERRO_COMUNICACAO + ultimoErro.getMessage()
+                : FALHA_TODOS_MODELOS;
+    }
+
+    /**
+     * Inicia a tentativa na vaga de quem chamou, se nenhuma chamada em andamento a ocupa, ou numa
+     * vaga extra do limitador obtida sem espera.
+     *
+     * @return a tentativa iniciada, ou null se não há vaga
+     */
+    private Tentativa iniciarComVaga(List<Map<String, Object>> mensagens, int indice, boolean hedge,
+            LimitadorConcorrenciaAdaptativo limitador, List<Tentativa> emAndamento, long deadline,
+            BlockingQueue<ResultadoTentativa> concluidas) {
+        boolean vagaDoChamadorLivre = emAndamento.stream().allMatch(Tentativa::vagaPropria);
+        if (vagaDoChamadorLivre || limitador == null) {
+            return iniciarTentativa(mensagens, indice, hedge, null, deadline, concluidas);
+        }
+        if (!limitador.tentarAdquirir()) {
+            return null;
+        }
+        return iniciarTentativa(mensagens, indice, hedge, limitador, deadline, concluidas);
+    }
+
+    /**
+     * Dispara a chamada ao modelo de índice {@code indice} sem bloquear; o resultado
+     * (resposta ou erro) é colocado em {@code concluidas} quando chegar, e a vaga extra,
+     * se houver, é liberada nesse momento.
+     */
+    private Tentativa iniciarTentativa(List<Map<String, Object>> mensagens, int indice, boolean hedge,
+            LimitadorConcorrenciaAdaptativo vagaExtra, long deadline, BlockingQueue<ResultadoTentativa> concluidas) {
+        String modelo = modelosFallback.get(indice);
+        log.info("Tentando modelo {} ({}/{})", modelo, indice + 1, modelosFallback.size());
+        
+        CompletableFuture<HttpResponse<String>> chamada;
+        try {
+            String body = objectMapper.writeValueAsString(criarPayload(mensagens, modelo));
+            chamada = httpClient.sendAsync(criarRequisicao(body, tempoRestante(deadline)),
+                    HttpResponse.BodyHandlers.ofString());
+        } catch (IOException | RuntimeException e) {
+            chamada = CompletableFuture.failedFuture(e);
+        }
+        
+        Tentativa tentativa = new Tentativa(modelo, System.nanoTime(), hedge, vagaExtra, chamada);
+        chamada.whenComplete((resp, erro) -> {
+            ResultadoTentativa resultado = concluir(tentativa, resp, erro);
+            if (tentativa.vagaPropria()) {
+                liberarVagaExtra(resultado);
+            }
+            concluidas.add(resultado);
+        });
+        return tentativa;
+    }
+
+    private void liberarVagaExtra(ResultadoTentativa resultado) {
+        Tentativa tentativa = resultado.tentativa();
+        if (resultado.erro() instanceof CancellationException) {
+            // Perdeu para outra chamada ou para o deadline: não diz nada sobre a capacidade da API
+            tentativa.vagaExtra().devolver();
+        } else {
+            tentativa.vagaExtra().liberar(System.nanoTime() - tentativa.inicioNanos(), resultado.resposta() != null);
+        }
+    }
+
+    private ResultadoTentativa concluir(Tentativa tentativa, HttpResponse<String> resp, Throwable erro) {
+        if (erro != null) {
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            if (!(causa instanceof CancellationException)) {
+                // Perdedoras canceladas (hedge/deadline) não contam como erro do modelo
+                registrarChamada(tentativa.modelo(), tentativa.inicioNanos(), false);
+            }
+            Exception excecao = causa instanceof Exception e ? e : new IOException(causa);
+            return new ResultadoTentativa(tentativa, null, excecao);
+        }
+        if (isErroRecuperavel(resp)) {
+            registrarChamada(tentativa.modelo(), tentativa.inicioNanos(), false);
+            String erroMsg = extrairMensagemErro(resp.body());
+            log.warn("Modelo {} retornou erro (status {}): {}", tentativa.modelo(), resp.statusCode(), erroMsg);
+            return new ResultadoTentativa(tentativa, null, new IOException("Erro: " + erroMsg));
+        }
+        try {
+            ResultadoTentativa resultado = new ResultadoTentativa(tentativa, processarResposta(resp), null);
+            registrarChamada(tentativa.modelo(), tentativa.inicioNanos(), true);
+            return resultado;
+        } catch (IOException e) {
+            registrarChamada(tentativa.modelo(), tentativa.inicioNanos(), false);
+            return new ResultadoTentativa(tentativa, null, e);
+        }
+    }
+
+    /**
+     * Tempo de espera antes de disparar o próximo modelo: o percentil configurado das latências
+     * recentes, nunca abaixo do mínimo (para não duplicar chamadas normais).
+     */
+    private long limiarHedgeNanos() {
+        long padrao = TimeUnit.MILLISECONDS.toNanos(limiarHedgePadraoMs);
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(limiarHedgeMinimoMs), latencias.percentil(percentilHedge, padrao));
+    }
+
+    /**
+     * Timeout da próxima requisição: o que resta do orçamento, limitado ao timeout de uma chamada.
+     */
+    private Duration tempoRestante(long deadline) {
+        long restante = Math.max(TimeUnit.MILLISECONDS.toNanos(1), deadline - System.nanoTime());
+        return Duration.ofNanos(Math.min(restante, TimeUnit.SECONDS.toNanos(TIMEOUT_SEGUNDOS)));
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(hedgesDisparados.sum(), hedgesSemVaga.sum(), respostasDoHedge.sum(),
+                deadlinesEsgotados.sum(), limiarHedgeNanos() / 1_000_000);
+    }
+
+    /**
+     * Mesma sequência de fallback de {@link #chat}, mas com {@code "stream": true}: cada trecho
+     * ({@code choices[0].delta.content}) é repassado assim que a linha SSE chega.
+     * Só troca de modelo enquanto nenhum trecho foi entregue; depois disso, uma falha
+     * encerra a resposta com o texto recebido até ali. Se o deadline esgota no meio do corpo,
+     * o stream é fechado e vale o mesmo.
+     */
+    @Override
+    public String chatStreaming(String systemPrompt, List<MensagemChat> historico, String mensagemAtual,
+            Consumer<String> aoReceberTrecho) {
+        if (apiKey == null || apiKey.isBlank()) {
+            String aviso = AVISO_NAO_CONFIGURADO;
+            aoReceberTrecho.accept(aviso);
+            return aviso;
+        }
+
+        List<Map<String, Object>> mensagens = construirMensagens(systemPrompt, historico, mensagemAtual);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(deadlineSegundos);
         
-        // Tenta cada modelo em sequência até um funcionar
         Exception ultimoErro = null;
         for (int i = 0; i < modelosFallback.size(); i++) {
             String modeloAtual = modelosFallback.get(i);
+            StringBuilder resposta = new StringBuilder();
+            if (deadline - System.nanoTime() <= 0) {
+                if (!(ultimoErro instanceof DeadlineEsgotadoException)) {
+                    deadlinesEsgotados.increment();
+                    ultimoErro = new DeadlineEsgotadoException(deadlineSegundos);
+                }
+                break;
+            }
             
+            if (i > 0) {
+                registrarFallback(modeloAtual);
+            }
+            long inicio = System.nanoTime();
             try {
-                log.info("Tentando modelo {} ({}/{})", modeloAtual, i + 1, modelosFallback.size());
+                log.info("Tentando modelo {} em streaming ({}/{})", modeloAtual, i + 1, modelosFallback.size());
                 
                 Map<String, Object> payload = criarPayload(mensagens, modeloAtual);
-                String body = objectMapper.writeValueAsString(payload);
-                HttpRequest req = criarRequisicao(body);
-                HttpResponse<String> resp = httpClient.send(req, HttpResponse.BodyHandlers.ofString());
-
-                if (isErroRecuperavel(resp)) {
-                    String erroMsg = extrairMensagemErro(resp.body());
-                    log.warn("Modelo {} retornou erro (status {}): {}. Tentando próximo...", 
-                            modeloAtual, resp.statusCode(), erroMsg);
-                    ultimoErro = new IOException("Erro: " + erroMsg);
+                payload.put("stream", true);
+                HttpRequest req = criarRequisicao(objectMapper.writeValueAsString(payload), tempoRestante(deadline));
+                HttpResponse<InputStream> resp = httpClient.send(req, HttpResponse.BodyHandlers.ofInputStream());
+
+                // Fechar o InputStream desbloqueia a leitura; fechar o BufferedReader não (ele espera a leitura)
+                AtomicBoolean expirou = new AtomicBoolean();
+                ScheduledFuture<?> vigia = vigiaStreams.schedule(() -> {
+                    expirou.set(true);
+                    fecharSemErro(resp.body());
+                }, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                
+                try (BufferedReader linhas = new BufferedReader(new InputStreamReader(resp.body(), StandardCharsets.UTF_8))) {
+                    if (resp.statusCode() != 200) {
+                        String erroMsg = extrairMensagemErro(linhas.lines().collect(Collectors.joining("\n")));
+                        registrarChamada(modeloAtual, inicio, false);
+                        ultimoErro = new IOException("API retornou status " + resp.statusCode() + ": " + erroMsg);
+                        log.warn("Modelo {} retornou erro (status {}): {}. Tentando próximo...",
+                                modeloAtual, resp.statusCode(), erroMsg);
+                        continue;
+                    }
+                    
+                    String linha;
+                    while ((linha = linhas.readLine()) != null) {
+                        if (deadline - System.nanoTime() <= 0) {
+                            expirou.set(true);
+                            break;
+                        }
+                        String trecho = extrairTrecho(linha);
+                        if (trecho == null) {
+                            if (isFimDoStream(linha)) break;
+                            continue;
+                        }
+                        if (resposta.isEmpty()) {
+                            log.info("Primeiro trecho do modelo {} em {} ms", modeloAtual,
+                                    (System.nanoTime() - inicio) / 1_000_000);
+                        }
+                        resposta.append(trecho);
+                        aoReceberTrecho.accept(trecho);
+                    }
+                } catch (IOException e) {
+                    if (!expirou.get()) {
+                        throw e;
+                    }
+                    // Leitura interrompida pelo fechamento do stream no deadline; tratada abaixo
+                } finally {
+                    vigia.cancel(false);
+                }
+                
+                if (expirou.get()) {
+                    deadlinesEsgotados.increment();
+                    throw new DeadlineEsgotadoException(deadlineSegundos);
+                }
+                
+                registrarChamada(modeloAtual, inicio, !resposta.isEmpty());
+                if (resposta.isEmpty()) {
+                    ultimoErro = new IOException("Resposta sem conteúdo");
+                    log.warn("Modelo {} não retornou conteúdo. Tentando próximo...", modeloAtual);
                     continue;
                 }
                 
-                String resposta = processarResposta(resp);
-                log.info("Resposta obtida com modelo {}", modeloAtual);
-                return resposta;
+                log.info("Resposta obtida em streaming com modelo {}", modeloAtual);
+                return resposta.toString();
                 
-            } catch (IOException | InterruptedException e) {
+            } catch (IOException | InterruptedException | RuntimeException e) {
                 if (e instanceof InterruptedException) {
                     Thread.currentThread().interrupt();
                 }
+                registrarChamada(modeloAtual, inicio, false);
+                if (!resposta.isEmpty()) {
+                    // Trechos já foram entregues ao cliente; não dá para recomeçar com outro modelo
+                    log.warn("Stream do modelo {} interrompido após {} caracteres: {}",
+                            modeloAtual, resposta.length(), e.getMessage());
+                    return resposta.toString();
+                }
                 ultimoErro = e;
                 log.warn("Erro com modelo {}: {}. Tentando próximo...", modeloAtual, e.getMessage());
             }
         }
         
-        // Se chegou aqui, todos os modelos falharam
-        return ultimoErro != null 
-                ? "Erro ao comunicar com IA: " + ultimoErro.getMessage()
-                : "Todos os modelos configurados falharam";
+        String falha = ultimoErro != null 
+                ? PREFIXO_ERRO_COMUNICACAO + ultimoErro.getMessage()
+                : FALHA_TODOS_MODELOS;
+        aoReceberTrecho.accept(falha);
+        return falha;
+    }
+
+    /**
+     * As falhas são devolvidas como texto para exibição ao cliente; não devem ser
+     * reaproveitadas como resposta.
+     */
+    @Override
+    public boolean isRespostaValida(String resposta) {
+        return IAClientPort.super.isRespostaValida(resposta)
+                && !resposta.equals(AVISO_NAO_CONFIGURADO)
+                && !resposta.equals(FALHA_TODOS_MODELOS)
+                && !resposta.startsWith(PREFIXO_ERRO_COMUNICACAO);
+    }
+
+    /**
+     * Extrai o texto de uma linha SSE da API ({@code data: {"choices":[{"delta":{"content":"..."}}]}}).
+     * Retorna null para linhas sem conteúdo (comentários, linhas vazias, delta só com role, fim do stream).
+     */
+    private String extrairTrecho(String linha) throws IOException {
+        if (linha == null || !linha.startsWith(PREFIXO_DADOS_SSE)) {
+            return null;
+        }
+        String dados = linha.substring(PREFIXO_DADOS_SSE.length()).trim();
+        if (dados.isEmpty() || dados.equals(FIM_STREAM_SSE)) {
+            return null;
+        }
+        
+        JsonNode choices = objectMapper.readTree(dados).get("choices");
+        if (choices == null || choices.isEmpty()) {
+            return null;
+        }
+        JsonNode delta = choices.get(0).get("delta");
+        if (delta == null || !delta.hasNonNull(KEY_CONTENT)) {
+            return null;
+        }
+        String conteudo = delta.get(KEY_CONTENT).asText();
+        return conteudo.isEmpty() ? null : conteudo;
+    }
+
+    private static void fecharSemErro(InputStream corpo) {
+        try {
+            corpo.close();
+        } catch (IOException e) {
+            log.debug("Erro ao fechar stream da IA no deadline: {}", e.getMessage());
+        }
+    }
+
+    private boolean isFimDoStream(String linha) {
+        return linha.startsWith(PREFIXO_DADOS_SSE)
+                && linha.substring(PREFIXO_DADOS_SSE.length()).trim().equals(FIM_STREAM_SSE);
     }
 
     private List<Map<String, Object>> construirMensagens(String systemPrompt, List<MensagemChat> historico,
@@ -185,12 +668,12 @@ public class OpenAIAdapter implements IAClientPort {
         return payload;
     }
 
-    private HttpRequest criarRequisicao(String body) {
+    private HttpRequest criarRequisicao(String body, Duration timeout) {
         return HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
+                .uri(URI.create(apiUrl))
                 .header("Content-Type", "application/json")
                 .header("Authorization", "Bearer " + apiKey)
-                .timeout(Duration.ofSeconds(TIMEOUT_SEGUNDOS))
+                .timeout(timeout)
                 .POST(HttpRequest.BodyPublishers.ofString(body))
                 .build();
     }
@@ -232,4 +715,24 @@ public class OpenAIAdapter implements IAClientPort {
         
         return message.get(KEY_CONTENT).asText();
     }
+
+    /**
+     * Orçamento de tempo da chamada esgotado (antes de uma tentativa ou no meio do stream).
+     */
+    private static final class DeadlineEsgotadoException extends IOException {
+        DeadlineEsgotadoException(int deadlineSegundos) {
+            super("Tempo limite de " + deadlineSegundos + "s esgotado");
+        }
+    }
+
+    /**
+     * Métricas de hedge e deadline das chamadas à IA.
+     */
+    public record Estatisticas(
+            long hedgesDisparados,
+            long hedgesSemVaga,
+            long respostasDoHedge,
+            long deadlinesEsgotados,
+            long limiarHedgeMs) {
+    }
 }
@@ -10,6 +10,8 @@ import org.springframework.context.annotation.Configuration;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Configuração do módulo Chat IA.
@@ -42,4 +44,13 @@ public class ChatIAConfig {
                 .connectTimeout(Duration.ofSeconds(timeoutSegundos))
                 .build();
     }
+
+    /**
+     * Executor das respostas em streaming (SSE): cada conversa roda em uma virtual thread,
+     * liberando a thread da requisição enquanto os trechos chegam da API.
+     */
+    @Bean(name = "chatIAStreamExecutor", destroyMethod = "close")
+    public ExecutorService chatIAStreamExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-ia-stream-", 0).factory());
+    }
 }
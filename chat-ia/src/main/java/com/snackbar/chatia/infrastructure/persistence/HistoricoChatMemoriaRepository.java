@@ -2,124 +2,264 @@ package com.snackbar.chatia.infrastructure.persistence;
 
 import com.snackbar.chatia.domain.entity.MensagemChat;
 import com.snackbar.chatia.domain.repository.HistoricoChatRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Implementação do repositório de histórico de chat em memória.
- * Mantém histórico separado por sessão com limpeza automática de sessões antigas.
+ *
+ * Cada sessão guarda apenas as últimas {@value #MAX_HISTORICO_MENSAGENS} mensagens em um
+ * buffer circular de tamanho fixo. As sessões ficam em ordem de última atividade, então as
+ * inativas estão sempre no início: a limpeza periódica (em segundo plano) remove do início
+ * até encontrar uma sessão ainda ativa, sem percorrer as demais. Ao atingir o limite global
+ * de sessões, a menos recentemente usada é descartada.
+ *
+ * O lock do repositório cobre só o mapa de sessões e a ordem de atividade; as mensagens de
+ * cada sessão têm lock próprio, para que gravar e copiar o histórico de uma sessão não segure
+ * as requisições das outras.
  */
 @Slf4j
 @Component
 public class HistoricoChatMemoriaRepository implements HistoricoChatRepository {
-    
+
     /**
      * Número máximo de mensagens do histórico a serem enviadas para a IA.
      */
     private static final int MAX_HISTORICO_MENSAGENS = 10;
-    
+
     /**
      * Tempo em minutos para considerar uma sessão como inativa.
      */
     private static final int TTL_SESSAO_MINUTOS = 30;
-    
-    private final Map<String, List<MensagemChat>> historicoPorSessao = new ConcurrentHashMap<>();
-    private final Map<String, LocalDateTime> ultimaAtividadePorSessao = new ConcurrentHashMap<>();
-    
+
+    private static final long TTL_SESSAO_NANOS = TimeUnit.MINUTES.toNanos(TTL_SESSAO_MINUTOS);
+    private static final int INTERVALO_LIMPEZA_SEGUNDOS = 60;
+
+    private final int maxSessoes;
+
+    // accessOrder = true: cada acesso move a sessão para o fim, mantendo a ordem por última atividade
+    private final LinkedHashMap<String, SessaoChat> sessoes = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService limpezaExecutor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("chat-historico-limpeza").daemon(true).factory());
+
+    private final LongAdder sessoesExpiradas = new LongAdder();
+    private final LongAdder sessoesDescartadasPorLimite = new LongAdder();
+
+    public HistoricoChatMemoriaRepository(@Value("${chat.ia.historico.max-sessoes:5000}") int maxSessoes) {
+        this.maxSessoes = maxSessoes;
+        limpezaExecutor.scheduleWithFixedDelay(this::limparSessoesAntigas,
+            INTERVALO_LIMPEZA_SEGUNDOS, INTERVALO_LIMPEZA_SEGUNDOS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        limpezaExecutor.shutdownNow();
+    }
+
     @Override
     public void adicionarMensagem(String sessionId, MensagemChat mensagem) {
         if (sessionId == null || sessionId.isBlank()) {
             log.warn("Tentativa de adicionar mensagem sem sessionId - ignorando");
             return;
         }
-        
-        atualizarAtividade(sessionId);
-        
-        List<MensagemChat> historico = historicoPorSessao.computeIfAbsent(
-            sessionId, 
-            k -> Collections.synchronizedList(new ArrayList<>())
-        );
-        
-        historico.add(mensagem);
-        log.debug("Mensagem adicionada ao histórico da sessão {} (total: {})", sessionId, historico.size());
+
+        SessaoChat sessao;
+        lock.lock();
+        try {
+            long agora = System.nanoTime();
+            sessao = sessoes.get(sessionId);
+            if (sessao == null || sessao.expirada(agora)) {
+                sessao = new SessaoChat();
+                sessoes.put(sessionId, sessao);
+                descartarExcedentes();
+            }
+            sessao.ultimaAtividadeNanos = agora;
+        } finally {
+            lock.unlock();
+        }
+
+        int total = sessao.adicionar(mensagem);
+        log.debug("Mensagem adicionada ao histórico da sessão {} (total: {})", sessionId, total);
     }
-    
+
     @Override
     public List<MensagemChat> obterHistorico(String sessionId) {
         if (sessionId == null || sessionId.isBlank()) {
             log.warn("Tentativa de obter histórico sem sessionId - retornando vazio");
             return new ArrayList<>();
         }
-        
-        limparSessoesAntigas();
-        
-        List<MensagemChat> historico = historicoPorSessao.get(sessionId);
-        if (historico == null || historico.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        List<MensagemChat> historicoCompleto = new ArrayList<>(historico);
-        
-        if (historicoCompleto.size() <= MAX_HISTORICO_MENSAGENS) {
-            return historicoCompleto;
+
+        SessaoChat sessao;
+        lock.lock();
+        try {
+            long agora = System.nanoTime();
+            sessao = sessoes.get(sessionId);
+            if (sessao == null) {
+                return new ArrayList<>();
+            }
+            if (sessao.expirada(agora)) {
+                // Ainda não alcançada pela limpeza periódica
+                sessoes.remove(sessionId);
+                sessoesExpiradas.increment();
+                return new ArrayList<>();
+            }
+            sessao.ultimaAtividadeNanos = agora;
+        } finally {
+            lock.unlock();
         }
-        
-        return obterUltimasMensagens(historicoCompleto);
+
+        return sessao.copiar();
     }
-    
+
     @Override
     public void limparHistorico(String sessionId) {
         if (sessionId == null || sessionId.isBlank()) {
             log.warn("Tentativa de limpar histórico sem sessionId - ignorando");
             return;
         }
-        
-        List<MensagemChat> removido = historicoPorSessao.remove(sessionId);
-        ultimaAtividadePorSessao.remove(sessionId);
-        
-        if (removido != null) {
-            log.info("Histórico da sessão {} limpo ({} mensagens removidas)", sessionId, removido.size());
+
+        SessaoChat removida;
+        lock.lock();
+        try {
+            removida = sessoes.remove(sessionId);
+        } finally {
+            lock.unlock();
+        }
+
+        if (removida != null) {
+            log.info("Histórico da sessão {} limpo ({} mensagens removidas)", sessionId, removida.tamanho());
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        int ativas;
+        lock.lock();
+        try {
+            ativas = sessoes.size();
+        } finally {
+            lock.unlock();
         }
+        return new Estatisticas(ativas, maxSessoes, sessoesExpiradas.sum(), sessoesDescartadasPorLimite.sum());
     }
-    
-    private List<MensagemChat> obterUltimasMensagens(List<MensagemChat> historicoCompleto) {
-        int tamanho = historicoCompleto.size();
-        int inicio = Math.max(0, tamanho - MAX_HISTORICO_MENSAGENS);
-        return new ArrayList<>(historicoCompleto.subList(inicio, tamanho));
+
+    /**
+     * Remove as sessões inativas. Como o mapa está em ordem de última atividade,
+     * para na primeira sessão que ainda não expirou.
+     */
+    void limparSessoesAntigas() {
+        int removidas = 0;
+        lock.lock();
+        try {
+            long agora = System.nanoTime();
+            Iterator<SessaoChat> iterator = sessoes.values().iterator();
+            while (iterator.hasNext() && iterator.next().expirada(agora)) {
+                iterator.remove();
+                removidas++;
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro na limpeza de sessões do chat", e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (removidas > 0) {
+            sessoesExpiradas.add(removidas);
+            log.info("Limpeza automática: {} sessões removidas por inatividade", removidas);
+        }
     }
-    
-    private void atualizarAtividade(String sessionId) {
-        ultimaAtividadePorSessao.put(sessionId, LocalDateTime.now());
+
+    /**
+     * Descarta as sessões menos recentemente usadas acima do limite global. Chamado com o lock.
+     */
+    private void descartarExcedentes() {
+        Iterator<Map.Entry<String, SessaoChat>> iterator = sessoes.entrySet().iterator();
+        while (sessoes.size() > maxSessoes && iterator.hasNext()) {
+            String sessionId = iterator.next().getKey();
+            iterator.remove();
+            sessoesDescartadasPorLimite.increment();
+            log.debug("Sessão {} descartada por limite de {} sessões", sessionId, maxSessoes);
+        }
     }
-    
-    private void limparSessoesAntigas() {
-        LocalDateTime agora = LocalDateTime.now();
-        List<String> sessoesParaRemover = new ArrayList<>();
-        
-        for (Map.Entry<String, LocalDateTime> entry : ultimaAtividadePorSessao.entrySet()) {
-            String sessionId = entry.getKey();
-            LocalDateTime ultimaAtividade = entry.getValue();
-            
-            if (ultimaAtividade.plusMinutes(TTL_SESSAO_MINUTOS).isBefore(agora)) {
-                sessoesParaRemover.add(sessionId);
+
+    /**
+     * Últimas mensagens de uma sessão em buffer circular de tamanho fixo:
+     * ao encher, cada nova mensagem sobrescreve a mais antiga.
+     */
+    private static final class SessaoChat {
+
+        private final MensagemChat[] mensagens = new MensagemChat[MAX_HISTORICO_MENSAGENS];
+        private final ReentrantLock lock = new ReentrantLock();
+        private int inicio;
+        private int tamanho;
+
+        // Lido e escrito apenas com o lock do repositório
+        private long ultimaAtividadeNanos = System.nanoTime();
+
+        private boolean expirada(long agora) {
+            return agora - ultimaAtividadeNanos > TTL_SESSAO_NANOS;
+        }
+
+        private int adicionar(MensagemChat mensagem) {
+            lock.lock();
+            try {
+                if (tamanho < mensagens.length) {
+                    mensagens[(inicio + tamanho) % mensagens.length] = mensagem;
+                    tamanho++;
+                } else {
+                    mensagens[inicio] = mensagem;
+                    inicio = (inicio + 1) % mensagens.length;
+                }
+                return tamanho;
+            } finally {
+                lock.unlock();
             }
         }
-        
-        for (String sessionId : sessoesParaRemover) {
-            historicoPorSessao.remove(sessionId);
-            ultimaAtividadePorSessao.remove(sessionId);
-            log.debug("Sessão {} removida por inatividade", sessionId);
+
+        private List<MensagemChat> copiar() {
+            lock.lock();
+            try {
+                List<MensagemChat> copia = new ArrayList<>(tamanho);
+                for (int i = 0; i < tamanho; i++) {
+                    copia.add(mensagens[(inicio + i) % mensagens.length]);
+                }
+                return copia;
+            } finally {
+                lock.unlock();
+            }
         }
-        
-        if (!sessoesParaRemover.isEmpty()) {
-            log.info("Limpeza automática: {} sessões removidas por inatividade", sessoesParaRemover.size());
+
+        private int tamanho() {
+            lock.lock();
+            try {
+                return tamanho;
+            } finally {
+                lock.unlock();
+            }
         }
     }
+
+    /**
+     * Métricas do histórico em memória.
+     */
+    public record Estatisticas(
+        int sessoesAtivas,
+        int maxSessoes,
+        long sessoesExpiradas,
+        long sessoesDescartadasPorLimite
+    ) {
+    }
 }
@@ -12,7 +12,8 @@ import java.util.UUID;
 
 /**
  * Entidade JPA para persistir o histórico de conversas do chat.
- * Cada registro representa uma conversa completa de um cliente.
+ * Cada registro guarda os metadados de uma conversa de um cliente; as mensagens ficam em
+ * {@link MensagemConversaChatEntity}.
  */
 @Entity
 @Table(name = "historico_conversas_chat", indexes = {
@@ -53,11 +54,18 @@ public class HistoricoConversaChatEntity implements Persistable<String> {
     private String previewUltimaMensagem;
     
     /**
-     * Mensagens armazenadas como JSON.
+     * Mensagens armazenadas como JSON, apenas em conversas salvas antes da tabela de mensagens.
      * Formato: [{"id": "...", "from": "user|assistant", "text": "...", "timestamp": "..."}]
+     * Fica nulo depois que a conversa é migrada para {@link MensagemConversaChatEntity}.
      */
-    @Column(columnDefinition = "TEXT", nullable = false)
+    @Column(columnDefinition = "TEXT")
     private String mensagens;
+
+    /**
+     * Quantidade de mensagens já gravadas em {@link MensagemConversaChatEntity}.
+     */
+    @Column(name = "total_mensagens", nullable = false)
+    private int totalMensagens;
     
     @Column(name = "data_inicio", nullable = false)
     private LocalDateTime dataInicio;
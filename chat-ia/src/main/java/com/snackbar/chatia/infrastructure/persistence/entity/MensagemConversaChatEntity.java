@@ -0,0 +1,47 @@
+package com.snackbar.chatia.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JPA de uma mensagem de conversa salva do chat.
+ * As mensagens só são inseridas (nunca reescritas): salvar a conversa grava apenas as novas.
+ */
+@Entity
+@Table(name = "mensagens_conversa_chat")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MensagemConversaChatEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conversa_id", nullable = false, length = 36)
+    private String conversaId;
+
+    /**
+     * Posição da mensagem na conversa, a partir de 0.
+     */
+    @Column(nullable = false)
+    private int sequencia;
+
+    @Column(name = "mensagem_id", nullable = false, length = 64)
+    private String mensagemId;
+
+    @Column(nullable = false, length = 20)
+    private String origem;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String texto;
+
+    @Column(name = "enviada_em", nullable = false)
+    private LocalDateTime enviadaEm;
+}
@@ -1,7 +1,11 @@
 package com.snackbar.chatia.infrastructure.persistence.repository;
 
+import com.snackbar.chatia.application.dto.ResumoConversaDTO;
 import com.snackbar.chatia.infrastructure.persistence.entity.HistoricoConversaChatEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -27,6 +31,31 @@ public interface HistoricoConversaChatJpaRepository extends JpaRepository<Histor
     @Query(value = "SELECT * FROM historico_conversas_chat WHERE cliente_id = :clienteId ORDER BY data_ultima_mensagem DESC LIMIT :limite", nativeQuery = true)
     List<HistoricoConversaChatEntity> findTopNByClienteId(@Param("clienteId") String clienteId, @Param("limite") int limite);
     
+    /**
+     * Lista as últimas N conversas de um cliente lendo apenas os metadados (sem as mensagens).
+     */
+    @Query("""
+        SELECT new com.snackbar.chatia.application.dto.ResumoConversaDTO(
+            h.id, h.sessionId, h.titulo, h.previewUltimaMensagem, h.dataInicio, h.dataUltimaMensagem, h.totalMensagens)
+        FROM HistoricoConversaChatEntity h
+        WHERE h.clienteId = :clienteId
+        ORDER BY h.dataUltimaMensagem DESC
+        """)
+    List<ResumoConversaDTO> listarResumosPorClienteId(@Param("clienteId") String clienteId, Limit limite);
+    
+    /**
+     * Busca a conversa de uma sessão do cliente (a mais recente, se houver mais de uma) COM LOCK,
+     * para que duas gravações da mesma sessão não calculem a mesma sequência de mensagens.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT h FROM HistoricoConversaChatEntity h
+        WHERE h.clienteId = :clienteId AND h.sessionId = :sessionId
+        ORDER BY h.dataUltimaMensagem DESC
+        """)
+    List<HistoricoConversaChatEntity> findDaSessaoComLock(
+        @Param("clienteId") String clienteId, @Param("sessionId") String sessionId, Limit limite);
+    
     /**
      * Conta quantas conversas um cliente tem.
      */
@@ -0,0 +1,19 @@
+package com.snackbar.chatia.infrastructure.persistence.repository;
+
+import com.snackbar.chatia.infrastructure.persistence.entity.MensagemConversaChatEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório JPA para as mensagens das conversas salvas do chat.
+ */
+@Repository
+public interface MensagemConversaChatJpaRepository extends JpaRepository<MensagemConversaChatEntity, Long> {
+
+    /**
+     * Mensagens de uma conversa na ordem em que foram enviadas.
+     */
+    List<MensagemConversaChatEntity> findByConversaIdOrderBySequenciaAsc(String conversaId);
+}
@@ -5,10 +5,17 @@ import com.snackbar.chatia.application.dto.ChatResponseDTO;
 import com.snackbar.chatia.application.port.in.EnviarMensagemChatUseCase;
 import com.snackbar.chatia.application.port.in.LimparHistoricoChatUseCase;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Controller REST para o Chat IA.
@@ -16,11 +23,23 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 @RestController
 @RequestMapping("/api/chat-ia")
-@RequiredArgsConstructor
 public class ChatIAController {
     
+    // Mesmo limite da chamada à IA (openai.timeout.seconds) com folga para montar o contexto
+    private static final long TIMEOUT_STREAM_MS = 90_000L;
+    
     private final EnviarMensagemChatUseCase enviarMensagemUseCase;
     private final LimparHistoricoChatUseCase limparHistoricoUseCase;
+    private final ExecutorService streamExecutor;
+    
+    public ChatIAController(
+            EnviarMensagemChatUseCase enviarMensagemUseCase,
+            LimparHistoricoChatUseCase limparHistoricoUseCase,
+            @Qualifier("chatIAStreamExecutor") ExecutorService streamExecutor) {
+        this.enviarMensagemUseCase = enviarMensagemUseCase;
+        this.limparHistoricoUseCase = limparHistoricoUseCase;
+        this.streamExecutor = streamExecutor;
+    }
     
     /**
      * Envia uma mensagem para o chat e recebe a resposta da IA.
@@ -36,17 +55,54 @@ public class ChatIAController {
         
         log.info("Recebida mensagem do chat - Session: {}, Cliente: {}", sessionId, request.clienteId());
         
-        // Usa sessionId do header se não vier no body
-        ChatRequestDTO requestComSession = new ChatRequestDTO(
-            request.message(),
-            request.sessionId() != null ? request.sessionId() : sessionId,
-            request.clienteId()
-        );
-        
-        ChatResponseDTO response = enviarMensagemUseCase.executar(requestComSession);
+        ChatResponseDTO response = enviarMensagemUseCase.executar(comSession(request, sessionId));
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Envia uma mensagem e recebe a resposta da IA em streaming (server-sent events).
+     * 
+     * Eventos emitidos:
+     * - "trecho": {"texto": "..."} a cada parte da resposta recebida da IA
+     * - "resposta": ChatResponseDTO completo (texto final, produtos e ação), sempre o último evento
+     * Se o processamento falhar, o stream é encerrado com erro sem o evento "resposta".
+     * 
+     * @param request corpo da requisição com a mensagem
+     * @param sessionId identificador da sessão (header opcional)
+     * @return emitter SSE
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter enviarMensagemStreaming(
+            @Valid @RequestBody ChatRequestDTO request,
+            @RequestHeader(value = "X-Session-ID", required = false) String sessionId) {
+        
+        log.info("Recebida mensagem do chat (stream) - Session: {}, Cliente: {}", sessionId, request.clienteId());
+        
+        ChatRequestDTO requestComSession = comSession(request, sessionId);
+        SseEmitter emitter = new SseEmitter(TIMEOUT_STREAM_MS);
+        AtomicBoolean conectado = new AtomicBoolean(true);
+        emitter.onCompletion(() -> conectado.set(false));
+        emitter.onTimeout(() -> conectado.set(false));
+        emitter.onError(e -> conectado.set(false));
+        
+        streamExecutor.execute(() -> {
+            try {
+                // Mesmo se o cliente desconectar, a resposta é concluída para manter o histórico consistente
+                ChatResponseDTO response = enviarMensagemUseCase.executarStreaming(requestComSession,
+                        trecho -> enviarEvento(emitter, conectado, "trecho", Map.of("texto", trecho)));
+                if (enviarEvento(emitter, conectado, "resposta", response)) {
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                // Sem isso o stream só terminaria no timeout do SSE; o navegador trata o fim sem "resposta" como erro
+                log.error("Erro no streaming do chat - Session: {}", requestComSession.sessionId(), e);
+                emitter.completeWithError(e);
+            }
+        });
+        
+        return emitter;
+    }
+    
     /**
      * Limpa o histórico de mensagens da sessão.
      * 
@@ -69,4 +125,36 @@ public class ChatIAController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Chat IA service is running");
     }
+    
+    /**
+     * Usa sessionId do header se não vier no body.
+     */
+    private ChatRequestDTO comSession(ChatRequestDTO request, String sessionId) {
+        return new ChatRequestDTO(
+            request.message(),
+            request.sessionId() != null ? request.sessionId() : sessionId,
+            request.clienteId()
+        );
+    }
+    
+    /**
+     * Envia um evento SSE; se o cliente já desconectou, apenas descarta.
+     * 
+     * @return true se o evento foi enviado
+     */
+    private boolean enviarEvento(SseEmitter emitter, AtomicBoolean conectado, String nome, Object dados) {
+        if (!conectado.get()) {
+            return false;
+        }
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(nome)
+                    .data(dados, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            conectado.set(false);
+            log.debug("Cliente do chat desconectou durante o stream: {}", e.getMessage());
+            return false;
+        }
+    }
 }
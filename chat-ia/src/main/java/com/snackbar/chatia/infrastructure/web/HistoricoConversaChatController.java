@@ -1,6 +1,7 @@
 package com.snackbar.chatia.infrastructure.web;
 
 import com.snackbar.chatia.application.dto.ConversaSalvaDTO;
+import com.snackbar.chatia.application.dto.ResumoConversaDTO;
 import com.snackbar.chatia.application.dto.SalvarConversaDTO;
 import com.snackbar.chatia.application.service.HistoricoConversaChatService;
 import jakarta.validation.Valid;
@@ -23,34 +24,34 @@ public class HistoricoConversaChatController {
     private final HistoricoConversaChatService historicoService;
     
     /**
-     * Lista as últimas conversas de um cliente.
+     * Lista as últimas conversas de um cliente (sem as mensagens).
      * 
      * @param clienteId ID do cliente
      * @return lista de conversas
      */
     @GetMapping("/{clienteId}")
-    public ResponseEntity<List<ConversaSalvaDTO>> listarConversas(@PathVariable String clienteId) {
+    public ResponseEntity<List<ResumoConversaDTO>> listarConversas(@PathVariable String clienteId) {
         log.info("GET /api/chat-ia/historico/{} - Listando conversas", clienteId);
         
-        List<ConversaSalvaDTO> conversas = historicoService.listarConversas(clienteId);
+        List<ResumoConversaDTO> conversas = historicoService.listarConversas(clienteId);
         return ResponseEntity.ok(conversas);
     }
     
     /**
-     * Salva uma nova conversa no histórico.
+     * Salva a conversa da sessão no histórico (grava apenas as mensagens novas).
      * 
      * @param clienteId ID do cliente
      * @param dto dados da conversa
-     * @return conversa salva
+     * @return resumo da conversa salva
      */
     @PostMapping("/{clienteId}")
-    public ResponseEntity<ConversaSalvaDTO> salvarConversa(
+    public ResponseEntity<ResumoConversaDTO> salvarConversa(
             @PathVariable String clienteId,
             @Valid @RequestBody SalvarConversaDTO dto) {
         
         log.info("POST /api/chat-ia/historico/{} - Salvando conversa: {}", clienteId, dto.titulo());
         
-        ConversaSalvaDTO conversaSalva = historicoService.salvarConversa(clienteId, dto);
+        ResumoConversaDTO conversaSalva = historicoService.salvarConversa(clienteId, dto);
         return ResponseEntity.ok(conversaSalva);
     }
     
@@ -0,0 +1,164 @@
+package com.snackbar.chatia.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hedge, deadline e limite de concorrência das chamadas à IA contra uma API local (stub).
+ *
+ * O stub responde conforme o modelo pedido: {@code rapido} na hora, {@code lento} depois de
+ * {@value #ATRASO_LENTO_MS} ms e {@code travado} (streaming) envia um trecho e para de responder.
+ */
+class OpenAIAdapterTest {
+
+    private static final long ATRASO_LENTO_MS = 800;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, AtomicInteger> chamadasPorModelo = new ConcurrentHashMap<>();
+    private HttpServer servidor;
+
+    @BeforeEach
+    void iniciarStub() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext("/v1/chat/completions", this::responder);
+        servidor.start();
+    }
+
+    @AfterEach
+    void pararStub() {
+        servidor.stop(0);
+    }
+
+    @Test
+    void hedgeComVagaRespondeComOModeloMaisRapido() {
+        OpenAIAdapter adapter = criarAdapter("lento", "rapido", 10);
+        IAClientComLimiteAdapter cliente = new IAClientComLimiteAdapter(adapter, 2, 1, 2, 0, 0);
+
+        long inicio = System.nanoTime();
+        String resposta = cliente.chat("sistema", List.of(), "oi");
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        assertThat(resposta).isEqualTo("resposta do rapido");
+        assertThat(duracao).isLessThan(Duration.ofMillis(ATRASO_LENTO_MS));
+        assertThat(adapter.estatisticas().hedgesDisparados()).isEqualTo(1);
+        assertThat(adapter.estatisticas().respostasDoHedge()).isEqualTo(1);
+        assertThat(cliente.estatisticasConcorrencia().emAndamento()).isZero();
+    }
+
+    @Test
+    void hedgeSemVagaNoLimitadorNaoEDisparado() {
+        OpenAIAdapter adapter = criarAdapter("lento", "rapido", 10);
+        // Uma vaga só: a da própria chamada
+        IAClientComLimiteAdapter cliente = new IAClientComLimiteAdapter(adapter, 1, 1, 1, 0, 0);
+
+        String resposta = cliente.chat("sistema", List.of(), "oi");
+
+        assertThat(resposta).isEqualTo("resposta do lento");
+        assertThat(chamadas("rapido")).isZero();
+        assertThat(adapter.estatisticas().hedgesDisparados()).isZero();
+        assertThat(adapter.estatisticas().hedgesSemVaga()).isPositive();
+        assertThat(cliente.estatisticasConcorrencia().emAndamento()).isZero();
+    }
+
+    @Test
+    void streamTravadoEEncerradoNoDeadlineELiberaAVaga() {
+        OpenAIAdapter adapter = criarAdapter("travado", "", 1);
+        IAClientComLimiteAdapter cliente = new IAClientComLimiteAdapter(adapter, 1, 1, 1, 0, 0);
+        List<String> trechos = new ArrayList<>();
+
+        long inicio = System.nanoTime();
+        String resposta = cliente.chatStreaming("sistema", List.of(), "oi", trechos::add);
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        assertThat(resposta).isEqualTo("Olá");
+        assertThat(trechos).containsExactly("Olá");
+        assertThat(duracao).isBetween(Duration.ofMillis(900), Duration.ofSeconds(3));
+        assertThat(adapter.estatisticas().deadlinesEsgotados()).isEqualTo(1);
+        assertThat(cliente.estatisticasConcorrencia().emAndamento()).isZero();
+    }
+
+    private OpenAIAdapter criarAdapter(String modeloPrincipal, String fallbacks, int deadlineSegundos) {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        OpenAIAdapter adapter = new OpenAIAdapter(httpClient, objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(adapter, "openaiApiKey", "chave-de-teste");
+        ReflectionTestUtils.setField(adapter, "apiUrl",
+                "http://localhost:" + servidor.getAddress().getPort() + "/v1/chat/completions");
+        ReflectionTestUtils.setField(adapter, "modeloPrincipal", modeloPrincipal);
+        ReflectionTestUtils.setField(adapter, "modelosFallbackStr", fallbacks);
+        ReflectionTestUtils.setField(adapter, "maxTokens", 100);
+        ReflectionTestUtils.setField(adapter, "deadlineSegundos", deadlineSegundos);
+        ReflectionTestUtils.setField(adapter, "percentilHedge", 0.95);
+        ReflectionTestUtils.setField(adapter, "limiarHedgePadraoMs", 150L);
+        ReflectionTestUtils.setField(adapter, "limiarHedgeMinimoMs", 100L);
+        adapter.inicializar();
+        return adapter;
+    }
+
+    private int chamadas(String modelo) {
+        AtomicInteger total = chamadasPorModelo.get(modelo);
+        return total == null ? 0 : total.get();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        String modelo = objectMapper.readTree(troca.getRequestBody()).get("model").asText();
+        chamadasPorModelo.computeIfAbsent(modelo, m -> new AtomicInteger()).incrementAndGet();
+        try (troca) {
+            switch (modelo) {
+                case "lento" -> {
+                    dormir(ATRASO_LENTO_MS);
+                    enviarResposta(troca, "resposta do lento");
+                }
+                case "travado" -> {
+                    troca.getResponseHeaders().add("Content-Type", "text/event-stream");
+                    troca.sendResponseHeaders(200, 0);
+                    OutputStream corpo = troca.getResponseBody();
+                    corpo.write("data: {\"choices\":[{\"delta\":{\"content\":\"Olá\"}}]}\n\n".getBytes(StandardCharsets.UTF_8));
+                    corpo.flush();
+                    dormir(10_000);
+                }
+                default -> enviarResposta(troca, "resposta do " + modelo);
+            }
+        } catch (IOException e) {
+            // Cliente cancelou (hedge perdedor ou deadline)
+        }
+    }
+
+    private void enviarResposta(HttpExchange troca, String conteudo) throws IOException {
+        byte[] corpo = objectMapper.writeValueAsBytes(
+                Map.of("choices", List.of(Map.of("message", Map.of("content", conteudo)))));
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(200, corpo.length);
+        troca.getResponseBody().write(corpo);
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.snackbar.chatia.infrastructure.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.chatia.application.dto.ChatRequestDTO;
+import com.snackbar.chatia.application.dto.ChatResponseDTO;
+import com.snackbar.chatia.application.port.in.EnviarMensagemChatUseCase;
+import com.snackbar.chatia.infrastructure.ai.OpenAIAdapter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Endpoint SSE do chat ({@code POST /api/chat-ia/stream}) com a IA em streaming servida por uma
+ * API local (stub), lida pelo {@link OpenAIAdapter}.
+ *
+ * O caso de uso é substituído por um que repassa a mensagem direto ao adapter, ou que falha
+ * depois do primeiro trecho, para simular um erro acima do controller.
+ */
+class ChatIAControllerTest {
+
+    // Bem abaixo do timeout do SseEmitter (90s): passar disso significa stream pendurado
+    private static final long ESPERA_FIM_STREAM_MS = 5_000;
+    private static final Pattern EVENTO = Pattern.compile("event:(\\w+)\\ndata:(.*)\\n");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private HttpServer servidor;
+    private OpenAIAdapter adapter;
+
+    @BeforeEach
+    void iniciarStub() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext("/v1/chat/completions", this::responderEmStreaming);
+        servidor.start();
+        adapter = criarAdapter();
+    }
+
+    @AfterEach
+    void pararStub() {
+        servidor.stop(0);
+        streamExecutor.close();
+    }
+
+    @Test
+    void trechosChegamNaOrdemERespostaEncerraOStream() throws Exception {
+        MockMvc mockMvc = criarMockMvc((request, aoReceberTrecho) -> ChatResponseDTO.de(
+                adapter.chatStreaming("sistema", List.of(), request.message(), aoReceberTrecho)));
+
+        MvcResult resultado = enviar(mockMvc);
+
+        assertThat(resultado.getAsyncResult(ESPERA_FIM_STREAM_MS)).isNull();
+        List<String[]> eventos = eventos(resultado);
+        assertThat(eventos).extracting(evento -> evento[0])
+                .containsExactly("trecho", "trecho", "trecho", "resposta");
+        assertThat(eventos).extracting(evento -> evento[1]).containsExactly(
+                "{\"texto\":\"Temos \"}",
+                "{\"texto\":\"X-Burger\"}",
+                "{\"texto\":\" hoje.\"}",
+                objectMapper.writeValueAsString(ChatResponseDTO.de("Temos X-Burger hoje.")));
+    }
+
+    @Test
+    void erroDepoisDoPrimeiroTrechoEncerraOStreamComErro() throws Exception {
+        IllegalStateException falha = new IllegalStateException("histórico indisponível");
+        MockMvc mockMvc = criarMockMvc((request, aoReceberTrecho) -> {
+            aoReceberTrecho.accept("Temos ");
+            throw falha;
+        });
+
+        MvcResult resultado = enviar(mockMvc);
+
+        assertThat(resultado.getAsyncResult(ESPERA_FIM_STREAM_MS)).isSameAs(falha);
+        assertThat(eventos(resultado)).extracting(evento -> evento[0]).containsExactly("trecho");
+    }
+
+    private MockMvc criarMockMvc(CasoDeUsoStreaming casoDeUso) {
+        ChatIAController controller = new ChatIAController(casoDeUso, sessionId -> { }, streamExecutor);
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private MvcResult enviar(MockMvc mockMvc) throws Exception {
+        return mockMvc.perform(post("/api/chat-ia/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Session-ID", "sessao-teste")
+                        .content("{\"message\":\"tem hambúrguer?\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    /**
+     * Pares {nome, dados} dos eventos SSE já escritos na resposta, na ordem.
+     */
+    private static List<String[]> eventos(MvcResult resultado) throws IOException {
+        String corpo = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<String[]> eventos = new ArrayList<>();
+        Matcher evento = EVENTO.matcher(corpo);
+        while (evento.find()) {
+            eventos.add(new String[] { evento.group(1), evento.group(2) });
+        }
+        return eventos;
+    }
+
+    private OpenAIAdapter criarAdapter() {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        OpenAIAdapter openAI = new OpenAIAdapter(httpClient, objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(openAI, "openaiApiKey", "chave-de-teste");
+        ReflectionTestUtils.setField(openAI, "apiUrl",
+                "http://localhost:" + servidor.getAddress().getPort() + "/v1/chat/completions");
+        ReflectionTestUtils.setField(openAI, "modeloPrincipal", "stub");
+        ReflectionTestUtils.setField(openAI, "modelosFallbackStr", "");
+        ReflectionTestUtils.setField(openAI, "maxTokens", 100);
+        ReflectionTestUtils.setField(openAI, "deadlineSegundos", 5);
+        ReflectionTestUtils.setField(openAI, "percentilHedge", 0.95);
+        ReflectionTestUtils.setField(openAI, "limiarHedgePadraoMs", 150L);
+        ReflectionTestUtils.setField(openAI, "limiarHedgeMinimoMs", 100L);
+        ReflectionTestUtils.invokeMethod(openAI, "inicializar");
+        return openAI;
+    }
+
+    private void responderEmStreaming(HttpExchange troca) throws IOException {
+        try (troca) {
+            troca.getResponseHeaders().add("Content-Type", "text/event-stream");
+            troca.sendResponseHeaders(200, 0);
+            OutputStream corpo = troca.getResponseBody();
+            for (String trecho : List.of("Temos ", "X-Burger", " hoje.")) {
+                corpo.write(("data: {\"choices\":[{\"delta\":{\"content\":\"" + trecho + "\"}}]}\n\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                corpo.flush();
+            }
+            corpo.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Caso de uso em que só a variante em streaming importa.
+     */
+    @FunctionalInterface
+    private interface CasoDeUsoStreaming extends EnviarMensagemChatUseCase {
+
+        @Override
+        default ChatResponseDTO executar(ChatRequestDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        ChatResponseDTO executarStreaming(ChatRequestDTO request, Consumer<String> aoReceberTrecho);
+    }
+}
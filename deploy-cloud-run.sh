@@ -203,6 +203,8 @@ echo ""
 echo -e "${BLUE}🚀 Fazendo deploy no Cloud Run...${NC}"
 echo -e "${YELLOW}   Isso pode levar alguns minutos...${NC}"
 
+# --no-cpu-throttling: o spooler de impressão envia os cupons depois que a resposta já saiu;
+# com a CPU limitada fora das requisições esse envio ficaria parado até a próxima chamada.
 gcloud run deploy snackbar-app \
     --image "$IMAGE_NAME" \
     --region "$REGION" \
@@ -210,6 +212,8 @@ gcloud run deploy snackbar-app \
     --allow-unauthenticated \
     --memory 2Gi \
     --cpu 2 \
+    --cpu-boost \
+    --no-cpu-throttling \
     --timeout 300 \
     --max-instances 10 \
     --min-instances 0 \
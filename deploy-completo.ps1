@@ -157,6 +157,7 @@ if ($deploy -eq "S" -or $deploy -eq "s" -or $deploy -eq "Y" -or $deploy -eq "y")
     $CLOUD_SQL_CONNECTION = "experimenta-ai-soneca-balcao:southamerica-east1:experimenta-ai-balcao"
     $DB_URL = "jdbc:mysql:///snackbar_db?cloudSqlInstance=$CLOUD_SQL_CONNECTION&socketFactory=com.google.cloud.sql.mysql.SocketFactory&useSSL=false&serverTimezone=America/Sao_Paulo"
     
+    # --no-cpu-throttling: o spooler de impressao envia os cupons depois da resposta
     gcloud run deploy experimenta-ai-soneca `
         --image $IMAGE_NAME `
         --region $REGION `
@@ -164,6 +165,8 @@ if ($deploy -eq "S" -or $deploy -eq "s" -or $deploy -eq "Y" -or $deploy -eq "y")
         --allow-unauthenticated `
         --memory 2Gi `
         --cpu 2 `
+        --cpu-boost `
+        --no-cpu-throttling `
         --timeout 300 `
         --max-instances 10 `
         --min-instances 0 `
@@ -4,7 +4,9 @@ import {
   ChatIAResponse,
   ChatIAService,
   ConversaSalva as ConversaSalvaAPI,
+  EventoChatStream,
   ProdutoDestacado,
+  ResumoConversa,
   SalvarConversaDTO,
 } from '../../../services/chat-ia.service';
 import { gerarUuid } from '../../../shared/utils/uuid';
@@ -27,7 +29,9 @@ export interface ConversaSalva {
   titulo: string;
   dataInicio: Date;
   dataUltimaMensagem: Date;
+  /** Vazio nas conversas listadas da API até a conversa ser aberta */
   mensagens: MensagemChat[];
+  totalMensagens: number;
   previewUltimaMensagem: string;
 }
 
@@ -119,6 +123,7 @@ function carregarHistoricoLocal(clienteId: string | null | undefined): ConversaS
           ...m,
           timestamp: new Date(m.timestamp),
         })),
+        totalMensagens: c.totalMensagens ?? c.mensagens.length,
       })
     );
   } catch {
@@ -157,6 +162,23 @@ function converterApiParaLocal(apiConversa: ConversaSalvaAPI): ConversaSalva {
       text: m.text,
       timestamp: new Date(m.timestamp),
     })),
+    totalMensagens: apiConversa.mensagens.length,
+  };
+}
+
+/**
+ * Converte ResumoConversa (listagem do backend) para ConversaSalva (local), ainda sem mensagens.
+ */
+function converterResumoApiParaLocal(resumo: ResumoConversa): ConversaSalva {
+  return {
+    id: resumo.id,
+    sessionId: resumo.sessionId,
+    titulo: resumo.titulo,
+    dataInicio: new Date(resumo.dataInicio),
+    dataUltimaMensagem: new Date(resumo.dataUltimaMensagem),
+    previewUltimaMensagem: resumo.previewUltimaMensagem,
+    mensagens: [],
+    totalMensagens: resumo.totalMensagens,
   };
 }
 
@@ -206,6 +228,8 @@ export function useChatIA(
   // Estado
   const isOpen = signal(false);
   const isLoading = signal(false);
+  // Resposta chegando em streaming (já há texto na tela, mas ainda não terminou)
+  const recebendoResposta = signal(false);
   const inputText = signal('');
   const mensagens = signal<MensagemChat[]>([]);
   const erro = signal<string | null>(null);
@@ -219,7 +243,7 @@ export function useChatIA(
   let conversaHistoricoAtualId: string | null = null;
 
   // Computed
-  const canSend = computed(() => inputText().trim().length > 0 && !isLoading());
+  const canSend = computed(() => inputText().trim().length > 0 && !isLoading() && !recebendoResposta());
   const carrinhoVazio = computed(() => mensagens().length <= 1); // Só mensagem inicial
   const temHistorico = computed(() => historicoConversas().length > 0);
 
@@ -255,7 +279,7 @@ export function useChatIA(
       // Usuário logado: carrega da API
       chatService.listarConversasSalvas(clienteId).subscribe({
         next: conversas => {
-          historicoConversas.set(conversas.map(converterApiParaLocal));
+          historicoConversas.set(conversas.map(converterResumoApiParaLocal));
         },
         error: () => {
           // Fallback para localStorage em caso de erro
@@ -307,7 +331,7 @@ export function useChatIA(
    */
   function enviarMensagem(): void {
     const text = inputText().trim();
-    if (!text || isLoading()) return;
+    if (!text || isLoading() || recebendoResposta()) return;
 
     // Adiciona mensagem do usuário
     const msgUsuario: MensagemChat = {
@@ -328,43 +352,78 @@ export function useChatIA(
     // Obtém clienteId se disponível
     const clienteId = clienteIdGetter?.() ?? undefined;
 
-    // Envia para o backend
-    chatService.enviarMensagem(text, sessionId, clienteId).subscribe({
-      next: (response: ChatIAResponse) => {
-        // Debug: Verificar produtos destacados recebidos
-        console.log('🤖 Chat IA Response:', {
-          reply: response.reply?.substring(0, 100) + '...',
-          produtosDestacados: response.produtosDestacados,
-          totalProdutos: response.produtosDestacados?.length || 0,
-          acao: response.acao,
-        });
-
-        const msgAssistente: MensagemChat = {
-          id: gerarUuid(),
-          from: 'assistant',
-          text: response.reply,
-          timestamp: new Date(),
-          produtosDestacados: response.produtosDestacados || [],
-          acao: response.acao,
-        };
-        mensagens.update(msgs => [...msgs, msgAssistente]);
-        salvarMensagens(mensagens());
-        isLoading.set(false);
-
-        // Se houver ação, executa o callback
-        if (response.acao && response.acao.tipo !== 'NENHUMA') {
-          console.log('🛒 Executando ação:', response.acao);
-          ultimaAcao.set(response.acao);
-          onAcaoExecutar?.(response.acao);
+    // Envia para o backend em streaming: o texto aparece à medida que a IA responde
+    const idResposta = gerarUuid();
+    let textoParcial = '';
+
+    chatService.enviarMensagemStreaming(text, sessionId, clienteId).subscribe({
+      next: (evento: EventoChatStream) => {
+        if (evento.tipo === 'trecho') {
+          textoParcial += evento.texto;
+          if (isLoading()) {
+            // Primeiro trecho: troca o indicador de digitação pela mensagem sendo escrita
+            isLoading.set(false);
+            recebendoResposta.set(true);
+            mensagens.update(msgs => [
+              ...msgs,
+              { id: idResposta, from: 'assistant', text: textoParcial, timestamp: new Date() },
+            ]);
+          } else {
+            mensagens.update(msgs =>
+              msgs.map(m => (m.id === idResposta ? { ...m, text: textoParcial } : m))
+            );
+          }
+          return;
         }
+
+        finalizarResposta(idResposta, evento.resposta);
       },
       error: () => {
         erro.set('Erro ao enviar mensagem. Tente novamente.');
         isLoading.set(false);
+        recebendoResposta.set(false);
       },
     });
   }
 
+  /**
+   * Aplica a resposta completa do backend: texto final, produtos destacados e ação.
+   * Substitui a mensagem parcial do streaming, se houver.
+   */
+  function finalizarResposta(idResposta: string, response: ChatIAResponse): void {
+    // Debug: Verificar produtos destacados recebidos
+    console.log('🤖 Chat IA Response:', {
+      reply: response.reply?.substring(0, 100) + '...',
+      produtosDestacados: response.produtosDestacados,
+      totalProdutos: response.produtosDestacados?.length || 0,
+      acao: response.acao,
+    });
+
+    const msgAssistente: MensagemChat = {
+      id: idResposta,
+      from: 'assistant',
+      text: response.reply,
+      timestamp: new Date(),
+      produtosDestacados: response.produtosDestacados || [],
+      acao: response.acao,
+    };
+    mensagens.update(msgs =>
+      msgs.some(m => m.id === idResposta)
+        ? msgs.map(m => (m.id === idResposta ? msgAssistente : m))
+        : [...msgs, msgAssistente]
+    );
+    salvarMensagens(mensagens());
+    isLoading.set(false);
+    recebendoResposta.set(false);
+
+    // Se houver ação, executa o callback
+    if (response.acao && response.acao.tipo !== 'NENHUMA') {
+      console.log('🛒 Executando ação:', response.acao);
+      ultimaAcao.set(response.acao);
+      onAcaoExecutar?.(response.acao);
+    }
+  }
+
   /**
    * Salva a conversa atual no histórico antes de iniciar uma nova.
    * Se a conversa foi carregada do histórico, usa o ID existente para evitar duplicatas.
@@ -377,7 +436,7 @@ export function useChatIA(
     // Se é uma conversa carregada do histórico e não houve novas mensagens, não precisa salvar novamente
     if (conversaHistoricoAtualId) {
       const conversaExistente = historicoConversas().find(c => c.id === conversaHistoricoAtualId);
-      if (conversaExistente && conversaExistente.mensagens.length === msgs.length) {
+      if (conversaExistente && conversaExistente.totalMensagens === msgs.length) {
         // Não houve novas mensagens, não precisa salvar
         return;
       }
@@ -395,6 +454,7 @@ export function useChatIA(
       dataInicio: msgs[0].timestamp,
       dataUltimaMensagem: msgs.at(-1)!.timestamp,
       mensagens: msgs,
+      totalMensagens: msgs.length,
       previewUltimaMensagem:
         msgs.at(-1)!.text.substring(0, 50) + (msgs.at(-1)!.text.length > 50 ? '...' : ''),
     };
@@ -405,8 +465,8 @@ export function useChatIA(
       chatService.salvarConversa(clienteId, dto).subscribe({
         next: conversaSalva => {
           if (conversaSalva) {
-            // Atualiza lista local com a resposta da API
-            const novaConversa = converterApiParaLocal(conversaSalva);
+            // Atualiza lista local com a resposta da API (as mensagens já estão em memória)
+            const novaConversa = { ...converterResumoApiParaLocal(conversaSalva), mensagens: msgs };
             const historico = [
               novaConversa,
               ...historicoConversas().filter(c => c.id !== conversaSalva.id),
@@ -464,6 +524,7 @@ export function useChatIA(
 
   /**
    * Carrega uma conversa do histórico.
+   * Conversas listadas da API vêm sem mensagens; elas são buscadas aqui, ao abrir a conversa.
    */
   function carregarConversaDoHistorico(conversaId: string): void {
     const conversa = historicoConversas().find(c => c.id === conversaId);
@@ -472,7 +533,27 @@ export function useChatIA(
     // Salva conversa atual antes de trocar (se tiver interação)
     salvarConversaAtualNoHistorico();
 
-    // Carrega a conversa selecionada
+    const clienteId = clienteIdGetter?.();
+    if (clienteId && conversa.mensagens.length === 0 && conversa.totalMensagens > 0) {
+      chatService.buscarConversa(clienteId, conversaId).subscribe(conversaApi => {
+        if (!conversaApi) {
+          erro.set('Não foi possível carregar a conversa. Tente novamente.');
+          return;
+        }
+        const completa = converterApiParaLocal(conversaApi);
+        historicoConversas.update(lista => lista.map(c => (c.id === completa.id ? completa : c)));
+        abrirConversa(completa);
+      });
+      return;
+    }
+
+    abrirConversa(conversa);
+  }
+
+  /**
+   * Exibe as mensagens de uma conversa do histórico e passa a continuá-la.
+   */
+  function abrirConversa(conversa: ConversaSalva): void {
     mensagens.set(conversa.mensagens);
     sessionId = conversa.sessionId;
 
@@ -12,6 +12,9 @@ import { ClienteService, Cliente, CriarClienteRequest } from '../../../../servic
   changeDetection: ChangeDetectionStrategy.OnPush
 })
 export class SelecaoClienteComponent implements OnInit, AfterViewInit, OnDestroy {
+  // A busca devolve os mais relevantes primeiro; a paginação da tela é feita sobre eles
+  private static readonly LIMITE_BUSCA = 100;
+
   private readonly clienteService = inject(ClienteService);
   private readonly fb = inject(FormBuilder);
   private readonly platformId = inject(PLATFORM_ID);
@@ -211,11 +214,11 @@ export class SelecaoClienteComponent implements OnInit, AfterViewInit, OnDestroy
     return Math.ceil(total / porPagina);
   });
 
-  carregarClientes(telefone?: string, nome?: string): void {
-    this.clienteService.listar({ telefone, nome })
+  carregarClientes(termo = ''): void {
+    this.clienteService.buscar(termo, 0, SelecaoClienteComponent.LIMITE_BUSCA)
       .subscribe({
-        next: (clientes) => {
-          this.clientes.set(clientes);
+        next: (pagina) => {
+          this.clientes.set(pagina.content);
           // Recalcula após os clientes serem carregados
           if (this.isBrowser) {
             setTimeout(() => {
@@ -231,12 +234,7 @@ export class SelecaoClienteComponent implements OnInit, AfterViewInit, OnDestroy
   buscarClientes(texto: string): void {
     this.paginaClientes.set(1);
     if (texto && texto.trim().length >= 2) {
-      const textoLimpo = texto.trim();
-      if (/^\d/.test(textoLimpo)) {
-        this.carregarClientes(textoLimpo);
-      } else {
-        this.carregarClientes(undefined, textoLimpo);
-      }
+      this.carregarClientes(texto.trim());
     } else {
       this.carregarClientes();
     }
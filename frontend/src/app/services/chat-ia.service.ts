@@ -28,6 +28,17 @@ export interface ConversaSalva {
     mensagens: MensagemConversa[];
 }
 
+/** Conversa na listagem do histórico (sem as mensagens, carregadas ao abrir a conversa) */
+export interface ResumoConversa {
+    id: string;
+    sessionId: string;
+    titulo: string;
+    previewUltimaMensagem: string;
+    dataInicio: string;
+    dataUltimaMensagem: string;
+    totalMensagens: number;
+}
+
 /** DTO para salvar uma conversa */
 export interface SalvarConversaDTO {
     sessionId: string;
@@ -66,6 +77,14 @@ export interface ChatIAResponse {
     acao?: AcaoChat;
 }
 
+/**
+ * Evento do endpoint de streaming: trechos da resposta à medida que chegam
+ * e, por último, a resposta completa (texto final, produtos e ação).
+ */
+export type EventoChatStream =
+    | { tipo: 'trecho'; texto: string }
+    | { tipo: 'resposta'; resposta: ChatIAResponse };
+
 /**
  * Service para comunicação com o Chat IA backend.
  * Gerencia envio de mensagens e histórico via sessionId.
@@ -105,6 +124,110 @@ export class ChatIAService {
         );
     }
 
+    /**
+     * Envia uma mensagem e recebe a resposta em streaming (server-sent events).
+     * Usa fetch porque EventSource não suporta POST com corpo.
+     * O último evento é sempre do tipo 'resposta'; em caso de erro, emite uma resposta de erro.
+     *
+     * @param mensagem texto da mensagem do usuário
+     * @param sessionId identificador opcional da sessão para manter contexto
+     * @param clienteId identificador opcional do cliente para personalização
+     * @returns Observable com os eventos do stream
+     */
+    enviarMensagemStreaming(mensagem: string, sessionId?: string, clienteId?: string): Observable<EventoChatStream> {
+        const body: ChatIARequest = {
+            message: mensagem,
+            clienteId: clienteId
+        };
+
+        const headers: Record<string, string> = {
+            'Content-Type': 'application/json',
+            Accept: 'text/event-stream'
+        };
+        if (sessionId) {
+            headers['X-Session-ID'] = sessionId;
+        }
+
+        return new Observable<EventoChatStream>(subscriber => {
+            const controller = new AbortController();
+
+            fetch(`${this.apiUrl}/stream`, {
+                method: 'POST',
+                headers,
+                body: JSON.stringify(body),
+                signal: controller.signal
+            })
+                .then(async response => {
+                    if (!response.ok || !response.body) {
+                        throw new Error(`Status ${response.status}`);
+                    }
+
+                    const reader = response.body.getReader();
+                    const decoder = new TextDecoder();
+                    let buffer = '';
+                    let recebeuResposta = false;
+
+                    while (true) {
+                        const { done, value } = await reader.read();
+                        if (done) break;
+
+                        buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+                        let fimEvento = buffer.indexOf('\n\n');
+                        while (fimEvento >= 0) {
+                            const evento = this.parsearEventoSse(buffer.slice(0, fimEvento));
+                            buffer = buffer.slice(fimEvento + 2);
+                            if (evento) {
+                                recebeuResposta ||= evento.tipo === 'resposta';
+                                subscriber.next(evento);
+                            }
+                            fimEvento = buffer.indexOf('\n\n');
+                        }
+                    }
+
+                    if (!recebeuResposta) {
+                        throw new Error('Stream encerrado sem resposta final');
+                    }
+                    subscriber.complete();
+                })
+                .catch(error => {
+                    if (controller.signal.aborted) return;
+                    console.error('Erro no streaming do Chat IA:', error);
+                    subscriber.next({
+                        tipo: 'resposta',
+                        resposta: { reply: 'Desculpe, ocorreu um erro. Tente novamente.', produtosDestacados: [] }
+                    });
+                    subscriber.complete();
+                });
+
+            return () => controller.abort();
+        });
+    }
+
+    /**
+     * Converte um bloco SSE ("event: ...\ndata: ...") em evento do chat.
+     */
+    private parsearEventoSse(bloco: string): EventoChatStream | null {
+        let nome = 'message';
+        const dados: string[] = [];
+        for (const linha of bloco.split('\n')) {
+            if (linha.startsWith('event:')) {
+                nome = linha.slice(6).trim();
+            } else if (linha.startsWith('data:')) {
+                dados.push(linha.slice(5));
+            }
+        }
+        if (dados.length === 0) return null;
+
+        const payload = JSON.parse(dados.join('\n'));
+        if (nome === 'trecho') {
+            return { tipo: 'trecho', texto: payload.texto ?? '' };
+        }
+        if (nome === 'resposta') {
+            return { tipo: 'resposta', resposta: payload as ChatIAResponse };
+        }
+        return null;
+    }
+
     /**
      * Limpa o histórico de mensagens no backend para a sessão especificada.
      * 
@@ -128,13 +251,13 @@ export class ChatIAService {
     // ==================== MÉTODOS DE HISTÓRICO DE CONVERSAS ====================
 
     /**
-     * Lista as últimas conversas salvas de um cliente.
+     * Lista as últimas conversas salvas de um cliente, sem as mensagens.
      * 
      * @param clienteId identificador do cliente
      * @returns Observable com lista de conversas
      */
-    listarConversasSalvas(clienteId: string): Observable<ConversaSalva[]> {
-        return this.http.get<ConversaSalva[]>(`${this.apiUrl}/historico/${clienteId}`).pipe(
+    listarConversasSalvas(clienteId: string): Observable<ResumoConversa[]> {
+        return this.http.get<ResumoConversa[]>(`${this.apiUrl}/historico/${clienteId}`).pipe(
             catchError(error => {
                 console.error('Erro ao listar conversas:', error);
                 return of([]);
@@ -144,13 +267,14 @@ export class ChatIAService {
 
     /**
      * Salva uma conversa no histórico do cliente.
+     * O backend grava apenas as mensagens que ainda não estavam salvas.
      * 
      * @param clienteId identificador do cliente
      * @param conversa dados da conversa a salvar
-     * @returns Observable com a conversa salva
+     * @returns Observable com o resumo da conversa salva
      */
-    salvarConversa(clienteId: string, conversa: SalvarConversaDTO): Observable<ConversaSalva | null> {
-        return this.http.post<ConversaSalva>(`${this.apiUrl}/historico/${clienteId}`, conversa).pipe(
+    salvarConversa(clienteId: string, conversa: SalvarConversaDTO): Observable<ResumoConversa | null> {
+        return this.http.post<ResumoConversa>(`${this.apiUrl}/historico/${clienteId}`, conversa).pipe(
             catchError(error => {
                 console.error('Erro ao salvar conversa:', error);
                 return of(null);
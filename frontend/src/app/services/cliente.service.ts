@@ -13,6 +13,14 @@ export interface Cliente {
   updatedAt: string;
 }
 
+export interface PaginaClientes {
+  content: Cliente[];
+  totalElements: number;
+  totalPages: number;
+  size: number;
+  number: number;
+}
+
 export interface CriarClienteRequest {
   nome: string;
   telefone: string;
@@ -45,6 +53,17 @@ export class ClienteService {
     return this.http.get<Cliente[]>(this.apiUrl, { params });
   }
 
+  /**
+   * Busca paginada por nome (sem diferenciar acentos) ou telefone (início ou final do número).
+   */
+  buscar(termo: string, page = 0, size = 20): Observable<PaginaClientes> {
+    const params = new HttpParams()
+      .set('termo', termo)
+      .set('page', page)
+      .set('size', size);
+    return this.http.get<PaginaClientes>(`${this.apiUrl}/busca`, { params });
+  }
+
   buscarPorId(id: string): Observable<Cliente> {
     return this.http.get<Cliente>(`${this.apiUrl}/${id}`);
   }
@@ -48,6 +48,8 @@ export interface ImprimirCupomResponse {
   mensagem: string;
   dataImpressao: string;
   pedidoId: string;
+  trabalhoId?: string;
+  statusTrabalho?: 'PENDENTE' | 'EM_ENVIO' | 'IMPRESSO' | 'FALHOU';
 }
 
 export interface FormatarCupomResponse {
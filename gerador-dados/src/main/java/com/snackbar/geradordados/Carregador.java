@@ -0,0 +1,16 @@
+package com.snackbar.geradordados;
+
+/**
+ * Destino dos lotes gerados. Os lotes chegam em ordem, de uma única thread.
+ */
+interface Carregador extends AutoCloseable {
+
+    void carregar(Lote lote) throws Exception;
+
+    /**
+     * Chamado uma vez, depois do último lote.
+     *
+     * @param ultimoNumeroPedido maior número de pedido gerado, para a sequência continuar dele
+     */
+    void finalizar(int ultimoNumeroPedido) throws Exception;
+}
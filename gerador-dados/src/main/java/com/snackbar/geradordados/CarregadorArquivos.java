@@ -0,0 +1,66 @@
+package com.snackbar.geradordados;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava um TSV por tabela e um {@code carregar.sql} que os importa com LOAD DATA LOCAL.
+ * Serve para gerar numa máquina e carregar em outra, ou para conferir os dados sem banco:
+ * {@code cd <diretorio> && mysql --local-infile=1 -u root -p snackbar < carregar.sql}.
+ */
+final class CarregadorArquivos implements Carregador {
+
+    private final Path diretorio;
+    private final String fuso;
+    private final Map<Tabela, Writer> arquivos = new EnumMap<>(Tabela.class);
+
+    CarregadorArquivos(Path diretorio, String fuso) throws IOException {
+        this.diretorio = Files.createDirectories(diretorio);
+        this.fuso = fuso;
+        for (Tabela tabela : Tabela.values()) {
+            arquivos.put(tabela, Files.newBufferedWriter(arquivo(tabela), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void carregar(Lote lote) throws IOException {
+        StringBuilder tsv = new StringBuilder();
+        for (Tabela tabela : Tabela.values()) {
+            tsv.setLength(0);
+            FormatoTsv.escrever(tsv, lote.linhas(tabela));
+            arquivos.get(tabela).append(tsv);
+        }
+    }
+
+    @Override
+    public void finalizar(int ultimoNumeroPedido) throws IOException {
+        List<String> comandos = new ArrayList<>();
+        comandos.add("SET SESSION foreign_key_checks = 0, unique_checks = 0, time_zone = '" + fuso + "';");
+        for (Tabela tabela : Tabela.values()) {
+            comandos.add(FormatoTsv.clausulaLoadData(arquivo(tabela).getFileName().toString(), tabela) + ";");
+        }
+        comandos.add("INSERT IGNORE INTO numero_pedido_sequence (id) VALUES (" + ultimoNumeroPedido + ");");
+        for (Tabela tabela : Tabela.values()) {
+            comandos.add("ANALYZE TABLE " + tabela.nome() + ";");
+        }
+        Files.write(diretorio.resolve("carregar.sql"), comandos, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Writer arquivo : arquivos.values()) {
+            arquivo.close();
+        }
+    }
+
+    private Path arquivo(Tabela tabela) {
+        return diretorio.resolve(tabela.nome() + ".tsv");
+    }
+}
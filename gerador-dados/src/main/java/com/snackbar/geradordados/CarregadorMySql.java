@@ -0,0 +1,145 @@
+package com.snackbar.geradordados;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Carrega os lotes direto no MySQL, um lote por transação.
+ *
+ * Com {@code loadData}, cada tabela do lote vira um único LOAD DATA LOCAL alimentado por stream
+ * em memória (sem arquivo temporário), o caminho mais rápido do servidor. Sem ele, usa INSERT
+ * multi-linha via {@code rewriteBatchedStatements}, que funciona mesmo com {@code local_infile}
+ * desligado no servidor.
+ *
+ * Checagem de chave estrangeira e de unicidade ficam desligadas na sessão: as referências vêm
+ * do próprio banco e os números de pedido e sessão continuam dos maiores existentes.
+ */
+final class CarregadorMySql implements Carregador {
+
+    private static final int TAMANHO_BATCH = 2_000;
+
+    private final Connection conexao;
+    private final boolean loadData;
+
+    CarregadorMySql(Connection conexao, boolean loadData, String fuso) throws SQLException {
+        this.conexao = conexao;
+        this.loadData = loadData;
+        if (loadData && !localInfileHabilitado()) {
+            throw new IllegalStateException("O servidor MySQL está com local_infile desligado. Rode "
+                    + "'SET GLOBAL local_infile = 1' como administrador ou use --destino=batch");
+        }
+        try (PreparedStatement sessao = conexao.prepareStatement(
+                "SET SESSION foreign_key_checks = 0, unique_checks = 0, time_zone = ?")) {
+            sessao.setString(1, fuso);
+            sessao.execute();
+        }
+        conexao.setAutoCommit(false);
+    }
+
+    static Connection conectar(ConfiguracaoGerador configuracao) throws SQLException {
+        Properties propriedades = new Properties();
+        propriedades.setProperty("user", configuracao.mysqlUsuario());
+        propriedades.setProperty("password", configuracao.mysqlSenha());
+        propriedades.setProperty("allowLoadLocalInfile", "true");
+        propriedades.setProperty("rewriteBatchedStatements", "true");
+        propriedades.setProperty("useServerPrepStmts", "false");
+        return DriverManager.getConnection(configuracao.mysqlUrl(), propriedades);
+    }
+
+    @Override
+    public void carregar(Lote lote) throws SQLException {
+        try {
+            for (Tabela tabela : Tabela.values()) {
+                List<Object[]> linhas = lote.linhas(tabela);
+                if (linhas.isEmpty()) {
+                    continue;
+                }
+                if (loadData) {
+                    carregarComLoadData(tabela, linhas);
+                } else {
+                    carregarComBatch(tabela, linhas);
+                }
+            }
+            conexao.commit();
+        } catch (SQLException e) {
+            conexao.rollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public void finalizar(int ultimoNumeroPedido) throws SQLException {
+        // A aplicação tira o próximo número do AUTO_INCREMENT desta tabela
+        try (PreparedStatement sequencia = conexao.prepareStatement(
+                "INSERT IGNORE INTO numero_pedido_sequence (id) VALUES (?)")) {
+            sequencia.setInt(1, ultimoNumeroPedido);
+            sequencia.executeUpdate();
+        }
+        conexao.commit();
+
+        try (Statement analise = conexao.createStatement()) {
+            for (Tabela tabela : Tabela.values()) {
+                analise.execute("ANALYZE TABLE " + tabela.nome());
+            }
+        }
+        conexao.commit();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        conexao.close();
+    }
+
+    private void carregarComLoadData(Tabela tabela, List<Object[]> linhas) throws SQLException {
+        StringBuilder tsv = new StringBuilder(linhas.size() * 160);
+        FormatoTsv.escrever(tsv, linhas);
+        try (Statement comando = conexao.createStatement()) {
+            comando.unwrap(JdbcStatement.class).setLocalInfileInputStream(
+                    new ByteArrayInputStream(tsv.toString().getBytes(StandardCharsets.UTF_8)));
+            long carregadas = comando.executeLargeUpdate(FormatoTsv.clausulaLoadData("stream", tabela));
+            if (carregadas != linhas.size()) {
+                throw new SQLException(tabela.nome() + ": " + carregadas + " de " + linhas.size()
+                        + " linhas carregadas; confira os avisos com SHOW WARNINGS");
+            }
+        }
+    }
+
+    private void carregarComBatch(Tabela tabela, List<Object[]> linhas) throws SQLException {
+        String sql = "INSERT INTO " + tabela.nome() + " (" + String.join(", ", tabela.colunas()) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(tabela.colunas().size(), "?")) + ")";
+        try (PreparedStatement insercao = conexao.prepareStatement(sql)) {
+            int pendentes = 0;
+            for (Object[] linha : linhas) {
+                for (int i = 0; i < linha.length; i++) {
+                    insercao.setObject(i + 1, linha[i]);
+                }
+                insercao.addBatch();
+                if (++pendentes == TAMANHO_BATCH) {
+                    insercao.executeBatch();
+                    pendentes = 0;
+                }
+            }
+            if (pendentes > 0) {
+                insercao.executeBatch();
+            }
+        }
+    }
+
+    private boolean localInfileHabilitado() throws SQLException {
+        try (Statement consulta = conexao.createStatement();
+                ResultSet resultado = consulta.executeQuery("SELECT @@GLOBAL.local_infile")) {
+            return resultado.next() && resultado.getInt(1) == 1;
+        }
+    }
+}
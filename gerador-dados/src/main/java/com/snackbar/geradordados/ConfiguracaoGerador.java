@@ -0,0 +1,209 @@
+package com.snackbar.geradordados;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parâmetros do gerador: {@code gerador-dados.properties} do classpath, depois o arquivo de
+ * {@code --config} e por fim as opções {@code --chave=valor} da linha de comando.
+ * Valores no formato {@code ${VARIAVEL:padrao}} são lidos do ambiente.
+ */
+record ConfiguracaoGerador(
+        String mysqlUrl,
+        String mysqlUsuario,
+        String mysqlSenha,
+        Destino destino,
+        Path saidaDiretorio,
+        LocalDate inicio,
+        int dias,
+        double pedidosPorDia,
+        double[] pesosSemana,
+        double variacaoDias,
+        double[] pesosHora,
+        int sessoesPorDia,
+        Distribuicao<Integer> caixaAbertura,
+        Distribuicao<Integer> sangriasPorSessao,
+        Distribuicao<Integer> suprimentosPorSessao,
+        Distribuicao<Origem> origens,
+        double clientesIdentificados,
+        double concentracaoClientes,
+        int clientesMaximo,
+        Distribuicao<String> status,
+        double observacaoPedido,
+        Distribuicao<Integer> itensPorPedido,
+        Distribuicao<Integer> quantidadePorItem,
+        double observacaoItem,
+        double concentracaoProdutos,
+        double probabilidadeAdicionais,
+        Distribuicao<Integer> adicionaisPorItem,
+        Distribuicao<String> meiosPagamento,
+        double pagamentoDividido,
+        long semente,
+        int diasPorLote,
+        String fuso) {
+
+    enum Destino { LOAD_DATA, BATCH, ARQUIVOS }
+
+    enum Origem { BALCAO, MESA, TOTEM }
+
+    private static final Pattern VARIAVEL = Pattern.compile("\\$\\{([A-Z0-9_]+):([^}]*)}");
+
+    static ConfiguracaoGerador carregar(String[] args) throws IOException {
+        Properties propriedades = new Properties();
+        try (InputStream padrao = ConfiguracaoGerador.class.getResourceAsStream("/gerador-dados.properties")) {
+            if (padrao == null) {
+                throw new IllegalStateException("gerador-dados.properties não encontrado no classpath");
+            }
+            propriedades.load(new InputStreamReader(padrao, StandardCharsets.UTF_8));
+        }
+
+        for (String arg : args) {
+            if (arg.startsWith("--config=")) {
+                try (Reader arquivo = Files.newBufferedReader(Path.of(arg.substring("--config=".length())))) {
+                    propriedades.load(arquivo);
+                }
+            }
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg + " (use --chave=valor)");
+            }
+            int igual = arg.indexOf('=');
+            String chave = arg.substring(2, igual);
+            if (!chave.equals("config")) {
+                propriedades.setProperty(chave, arg.substring(igual + 1));
+            }
+        }
+
+        Leitor leitor = new Leitor(propriedades);
+        return new ConfiguracaoGerador(
+                leitor.texto("mysql.url"),
+                leitor.texto("mysql.usuario"),
+                leitor.texto("mysql.senha"),
+                Destino.valueOf(leitor.texto("destino").toUpperCase().replace('-', '_')),
+                Path.of(leitor.texto("saida.diretorio")),
+                LocalDate.parse(leitor.texto("periodo.inicio")),
+                leitor.inteiro("periodo.dias"),
+                leitor.decimal("pedidos.por-dia"),
+                leitor.pesos("semana.pesos", 7),
+                leitor.decimal("dias.variacao"),
+                leitor.pesos("hora.pesos", 24),
+                leitor.inteiro("sessoes.por-dia"),
+                Distribuicao.inteiros(leitor.texto("caixa.abertura")),
+                Distribuicao.inteiros(leitor.texto("caixa.sangrias-por-sessao")),
+                Distribuicao.inteiros(leitor.texto("caixa.suprimentos-por-sessao")),
+                Distribuicao.de(leitor.texto("origem.mix"), Origem::valueOf),
+                leitor.probabilidade("clientes.identificados"),
+                leitor.decimal("clientes.concentracao"),
+                leitor.inteiro("clientes.maximo"),
+                Distribuicao.de(leitor.texto("status.mix"), valor -> valor),
+                leitor.probabilidade("pedidos.observacao.probabilidade"),
+                Distribuicao.inteiros(leitor.texto("itens.por-pedido")),
+                Distribuicao.inteiros(leitor.texto("itens.quantidade")),
+                leitor.probabilidade("itens.observacao.probabilidade"),
+                leitor.decimal("produtos.concentracao"),
+                leitor.probabilidade("adicionais.probabilidade"),
+                Distribuicao.inteiros(leitor.texto("adicionais.por-item")),
+                Distribuicao.de(leitor.texto("pagamento.mix"), valor -> valor),
+                leitor.probabilidade("pagamento.dividido.probabilidade"),
+                Long.parseLong(leitor.texto("semente")),
+                leitor.inteiro("lote.dias"),
+                leitor.texto("fuso"));
+    }
+
+    /**
+     * Primeira e última hora (exclusiva) com pedidos; define o expediente das sessões.
+     */
+    int horaAbertura() {
+        for (int hora = 0; hora < 24; hora++) {
+            if (pesosHora[hora] > 0) {
+                return hora;
+            }
+        }
+        throw new IllegalArgumentException("hora.pesos precisa de pelo menos uma hora com peso");
+    }
+
+    int horaFechamento() {
+        for (int hora = 23; hora >= 0; hora--) {
+            if (pesosHora[hora] > 0) {
+                return hora + 1;
+            }
+        }
+        throw new IllegalArgumentException("hora.pesos precisa de pelo menos uma hora com peso");
+    }
+
+    @Override
+    public String toString() {
+        return "período " + inicio + " + " + dias + " dias, ~" + Math.round(pedidosPorDia) + " pedidos/dia, "
+                + sessoesPorDia + " sessão(ões)/dia, pesos da semana " + Arrays.toString(pesosSemana)
+                + ", destino " + destino + ", semente " + semente;
+    }
+
+    private record Leitor(Properties propriedades) {
+
+        String texto(String chave) {
+            String valor = propriedades.getProperty(chave);
+            if (valor == null) {
+                throw new IllegalArgumentException("Configuração ausente: " + chave);
+            }
+            Matcher matcher = VARIAVEL.matcher(valor.trim());
+            StringBuilder resolvido = new StringBuilder();
+            while (matcher.find()) {
+                String ambiente = System.getenv(matcher.group(1));
+                String substituto = ambiente != null && !ambiente.isBlank() ? ambiente : matcher.group(2);
+                matcher.appendReplacement(resolvido, Matcher.quoteReplacement(substituto));
+            }
+            matcher.appendTail(resolvido);
+            return resolvido.toString();
+        }
+
+        int inteiro(String chave) {
+            int valor = Integer.parseInt(texto(chave));
+            if (valor <= 0) {
+                throw new IllegalArgumentException(chave + " precisa ser maior que zero");
+            }
+            return valor;
+        }
+
+        double decimal(String chave) {
+            double valor = Double.parseDouble(texto(chave));
+            if (valor < 0) {
+                throw new IllegalArgumentException(chave + " não pode ser negativo");
+            }
+            return valor;
+        }
+
+        double probabilidade(String chave) {
+            double valor = decimal(chave);
+            if (valor > 1) {
+                throw new IllegalArgumentException(chave + " precisa estar entre 0 e 1");
+            }
+            return valor;
+        }
+
+        double[] pesos(String chave, int quantidade) {
+            String[] partes = texto(chave).split(",");
+            if (partes.length != quantidade) {
+                throw new IllegalArgumentException(chave + " precisa de " + quantidade + " valores");
+            }
+            double[] pesos = new double[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                pesos[i] = Double.parseDouble(partes[i].trim());
+                if (pesos[i] < 0) {
+                    throw new IllegalArgumentException(chave + " não aceita pesos negativos");
+                }
+            }
+            return pesos;
+        }
+    }
+}
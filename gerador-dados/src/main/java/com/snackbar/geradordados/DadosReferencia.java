@@ -0,0 +1,133 @@
+package com.snackbar.geradordados;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Cadastros que os pedidos gerados referenciam: produtos, adicionais, clientes, usuários e mesas.
+ * Vêm do banco de destino para as chaves estrangeiras e os relatórios por produto baterem.
+ */
+record DadosReferencia(
+        List<Produto> produtos,
+        List<Adicional> adicionais,
+        List<Cliente> clientes,
+        List<String> usuarios,
+        List<Mesa> mesas,
+        int ultimoNumeroPedido,
+        int ultimaSessao) {
+
+    record Produto(String id, String nome, long precoCentavos) {
+    }
+
+    record Adicional(String id, String nome, long precoCentavos) {
+    }
+
+    record Cliente(String id, String nome) {
+    }
+
+    record Mesa(String id, int numero) {
+    }
+
+    static DadosReferencia carregar(Connection conexao, int clientesMaximo, long semente) throws SQLException {
+        List<Produto> produtos = new ArrayList<>();
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                "SELECT id, nome, preco FROM produtos WHERE disponivel = TRUE ORDER BY id");
+                ResultSet resultado = consulta.executeQuery()) {
+            while (resultado.next()) {
+                produtos.add(new Produto(resultado.getString(1), resultado.getString(2), centavos(resultado.getBigDecimal(3))));
+            }
+        }
+        List<Adicional> adicionais = new ArrayList<>();
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                "SELECT id, nome, preco FROM adicionais WHERE disponivel = TRUE ORDER BY id");
+                ResultSet resultado = consulta.executeQuery()) {
+            while (resultado.next()) {
+                adicionais.add(new Adicional(resultado.getString(1), resultado.getString(2), centavos(resultado.getBigDecimal(3))));
+            }
+        }
+        List<Cliente> clientes = new ArrayList<>();
+        try (PreparedStatement consulta = conexao.prepareStatement("SELECT id, nome FROM clientes ORDER BY id LIMIT ?")) {
+            consulta.setInt(1, clientesMaximo);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                while (resultado.next()) {
+                    clientes.add(new Cliente(resultado.getString(1), resultado.getString(2)));
+                }
+            }
+        }
+        List<String> usuarios = new ArrayList<>();
+        try (PreparedStatement consulta = conexao.prepareStatement("SELECT id FROM usuarios WHERE ativo = TRUE ORDER BY id");
+                ResultSet resultado = consulta.executeQuery()) {
+            while (resultado.next()) {
+                usuarios.add(resultado.getString(1));
+            }
+        }
+        List<Mesa> mesas = new ArrayList<>();
+        try (PreparedStatement consulta = conexao.prepareStatement("SELECT id, numero FROM mesas WHERE ativa = TRUE ORDER BY numero");
+                ResultSet resultado = consulta.executeQuery()) {
+            while (resultado.next()) {
+                mesas.add(new Mesa(resultado.getString(1), resultado.getInt(2)));
+            }
+        }
+
+        if (produtos.isEmpty()) {
+            throw new IllegalStateException("Não há produtos disponíveis. Cadastre o cardápio antes de gerar pedidos.");
+        }
+        if (usuarios.isEmpty()) {
+            throw new IllegalStateException("Não há usuários ativos para abrir as sessões de trabalho.");
+        }
+
+        // A popularidade (Zipf) segue a ordem da lista; embaralhar com a semente evita que os
+        // produtos "campeões" sejam sempre os de menor id
+        Collections.shuffle(produtos, new Random(semente));
+        Collections.shuffle(clientes, new Random(semente + 1));
+
+        return new DadosReferencia(produtos, adicionais, clientes, usuarios, mesas,
+                inteiro(conexao, "SELECT COALESCE(MAX(CAST(numero_pedido AS UNSIGNED)), 0) FROM pedidos WHERE numero_pedido REGEXP '^[0-9]+$'"),
+                inteiro(conexao, "SELECT COALESCE(MAX(numero_sessao), 0) FROM sessoes_trabalho"));
+    }
+
+    /**
+     * Cadastros fictícios para o destino "arquivos", quando não há banco para consultar.
+     */
+    static DadosReferencia ficticios(long semente) {
+        Random random = new Random(semente);
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 1; i <= 120; i++) {
+            produtos.add(new Produto(String.format("00000000-0000-4000-8000-%012d", i), "Produto " + i,
+                    400 + random.nextInt(56) * 100L + (i % 2 == 0 ? 90 : 0)));
+        }
+        List<Adicional> adicionais = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            adicionais.add(new Adicional(String.format("00000000-0000-4000-9000-%012d", i), "Adicional " + i,
+                    200 + random.nextInt(7) * 100L));
+        }
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 1; i <= 5000; i++) {
+            clientes.add(new Cliente(String.format("00000000-0000-4000-a000-%012d", i), "Cliente " + i));
+        }
+        List<Mesa> mesas = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            mesas.add(new Mesa(String.format("00000000-0000-4000-b000-%012d", i), i));
+        }
+        return new DadosReferencia(produtos, adicionais, clientes,
+                List.of("00000000-0000-4000-c000-000000000001", "00000000-0000-4000-c000-000000000002"),
+                mesas, 0, 0);
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.movePointRight(2).longValueExact();
+    }
+
+    private static int inteiro(Connection conexao, String sql) throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement(sql); ResultSet resultado = consulta.executeQuery()) {
+            return resultado.next() ? resultado.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.snackbar.geradordados;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Distribuição discreta com pesos, lida de "valor:peso,valor:peso". O sorteio é uma busca
+ * binária nos pesos acumulados.
+ */
+final class Distribuicao<T> {
+
+    private final List<T> valores;
+    private final double[] acumulado;
+
+    private Distribuicao(List<T> valores, double[] pesos) {
+        this.valores = List.copyOf(valores);
+        this.acumulado = new double[pesos.length];
+        double soma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            soma += pesos[i];
+            acumulado[i] = soma;
+        }
+        if (soma <= 0) {
+            throw new IllegalArgumentException("Distribuição sem nenhum peso positivo: " + valores);
+        }
+    }
+
+    static <T> Distribuicao<T> de(String especificacao, Function<String, T> conversor) {
+        List<T> valores = new ArrayList<>();
+        List<Double> pesos = new ArrayList<>();
+        for (String parte : especificacao.split(",")) {
+            String[] valorPeso = parte.trim().split(":");
+            if (valorPeso.length != 2) {
+                throw new IllegalArgumentException("Use valor:peso em '" + especificacao + "'");
+            }
+            valores.add(conversor.apply(valorPeso[0].trim()));
+            double peso = Double.parseDouble(valorPeso[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo em '" + especificacao + "'");
+            }
+            pesos.add(peso);
+        }
+        return new Distribuicao<>(valores, pesos.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    static Distribuicao<Integer> inteiros(String especificacao) {
+        return de(especificacao, Integer::valueOf);
+    }
+
+    /**
+     * Índices 0..n-1 com peso 1/(i+1)^expoente (lei de Zipf): poucos itens concentram a maior
+     * parte dos sorteios, como produtos campeões de venda e clientes frequentes.
+     */
+    static Distribuicao<Integer> zipf(int quantidade, double expoente) {
+        List<Integer> indices = new ArrayList<>(quantidade);
+        double[] pesos = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            indices.add(i);
+            pesos[i] = 1.0 / Math.pow(i + 1, expoente);
+        }
+        return new Distribuicao<>(indices, pesos);
+    }
+
+    /**
+     * Distribuição sobre os índices de um vetor de pesos (ex.: pedidos por hora).
+     */
+    static Distribuicao<Integer> indices(double[] pesos) {
+        List<Integer> indices = new ArrayList<>(pesos.length);
+        for (int i = 0; i < pesos.length; i++) {
+            indices.add(i);
+        }
+        return new Distribuicao<>(indices, pesos);
+    }
+
+    T sortear(SplittableRandom random) {
+        double alvo = random.nextDouble() * acumulado[acumulado.length - 1];
+        int posicao = Arrays.binarySearch(acumulado, alvo);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        // Pesos zero repetem o acumulado anterior; avança até um valor que de fato tem peso
+        while (posicao < acumulado.length - 1 && acumulado[posicao] <= alvo) {
+            posicao++;
+        }
+        return valores.get(posicao);
+    }
+}
@@ -0,0 +1,78 @@
+package com.snackbar.geradordados;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Linhas no formato padrão do LOAD DATA do MySQL: campos separados por tab, linhas por
+ * {@code \n}, barra invertida como escape e {@code \N} para NULL.
+ *
+ * Datas são formatadas à mão: com dezenas de milhões de valores, o DateTimeFormatter
+ * pesa no tempo total da geração.
+ */
+final class FormatoTsv {
+
+    private FormatoTsv() {
+    }
+
+    static String clausulaLoadData(String arquivo, Tabela tabela) {
+        return "LOAD DATA LOCAL INFILE '" + arquivo + "' INTO TABLE " + tabela.nome()
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' ("
+                + String.join(", ", tabela.colunas()) + ")";
+    }
+
+    static void escrever(StringBuilder saida, List<Object[]> linhas) {
+        for (Object[] linha : linhas) {
+            for (int i = 0; i < linha.length; i++) {
+                if (i > 0) {
+                    saida.append('\t');
+                }
+                escreverValor(saida, linha[i]);
+            }
+            saida.append('\n');
+        }
+    }
+
+    private static void escreverValor(StringBuilder saida, Object valor) {
+        switch (valor) {
+            case null -> saida.append("\\N");
+            case String texto -> escreverTexto(saida, texto);
+            case BigDecimal decimal -> saida.append(decimal.toPlainString());
+            case LocalDateTime dataHora -> {
+                escreverData(saida, dataHora.toLocalDate());
+                saida.append(' ');
+                doisDigitos(saida, dataHora.getHour()).append(':');
+                doisDigitos(saida, dataHora.getMinute()).append(':');
+                doisDigitos(saida, dataHora.getSecond());
+            }
+            case LocalDate data -> escreverData(saida, data);
+            default -> saida.append(valor);
+        }
+    }
+
+    private static void escreverTexto(StringBuilder saida, String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char caractere = texto.charAt(i);
+            switch (caractere) {
+                case '\\' -> saida.append("\\\\");
+                case '\t' -> saida.append("\\t");
+                case '\n' -> saida.append("\\n");
+                case '\r' -> saida.append("\\r");
+                case '\0' -> saida.append("\\0");
+                default -> saida.append(caractere);
+            }
+        }
+    }
+
+    private static void escreverData(StringBuilder saida, LocalDate data) {
+        saida.append(data.getYear()).append('-');
+        doisDigitos(saida, data.getMonthValue()).append('-');
+        doisDigitos(saida, data.getDayOfMonth());
+    }
+
+    private static StringBuilder doisDigitos(StringBuilder saida, int valor) {
+        return saida.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+    }
+}
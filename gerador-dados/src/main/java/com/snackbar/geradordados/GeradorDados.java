@@ -0,0 +1,158 @@
+package com.snackbar.geradordados;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera anos de movimento sintético e carrega no MySQL: sessões de trabalho, pedidos com itens,
+ * adicionais e pagamentos, e movimentações de caixa.
+ *
+ * A geração roda na thread principal e a carga numa segunda thread; a fila entre as duas
+ * guarda no máximo dois lotes, então a memória fica limitada a poucos dias de dados e o banco
+ * nunca espera o gerador (nem o contrário) por muito tempo.
+ *
+ * Uso: {@code java -jar gerador-dados/target/gerador-dados.jar [--config=arquivo] [--chave=valor ...]}.
+ * As chaves e seus padrões estão em {@code gerador-dados.properties}.
+ */
+public final class GeradorDados {
+
+    private static final Lote FIM = new Lote(LocalDate.MIN, LocalDate.MIN);
+
+    private GeradorDados() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            executar(ConfiguracaoGerador.carregar(args));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void executar(ConfiguracaoGerador configuracao) throws Exception {
+        System.out.println("Configuração: " + configuracao);
+
+        DadosReferencia referencia;
+        Carregador carregador;
+        if (configuracao.destino() == ConfiguracaoGerador.Destino.ARQUIVOS) {
+            referencia = DadosReferencia.ficticios(configuracao.semente());
+            carregador = new CarregadorArquivos(configuracao.saidaDiretorio(), configuracao.fuso());
+        } else {
+            Connection conexao = CarregadorMySql.conectar(configuracao);
+            referencia = DadosReferencia.carregar(conexao, configuracao.clientesMaximo(), configuracao.semente());
+            carregador = new CarregadorMySql(conexao,
+                    configuracao.destino() == ConfiguracaoGerador.Destino.LOAD_DATA, configuracao.fuso());
+        }
+        System.out.printf("Cadastros: %d produtos, %d adicionais, %d clientes, %d usuários, %d mesas; "
+                        + "pedidos a partir do nº %d, sessões a partir da nº %d%n",
+                referencia.produtos().size(), referencia.adicionais().size(), referencia.clientes().size(),
+                referencia.usuarios().size(), referencia.mesas().size(),
+                referencia.ultimoNumeroPedido() + 1, referencia.ultimaSessao() + 1);
+
+        GeradorPedidos gerador = new GeradorPedidos(configuracao, referencia);
+        Progresso progresso = new Progresso(gerador.estimarPedidos());
+        BlockingQueue<Lote> fila = new ArrayBlockingQueue<>(2);
+        ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> new Thread(tarefa, "carregador"));
+
+        try (carregador) {
+            Future<?> carga = executor.submit(() -> {
+                for (Lote lote = fila.take(); lote != FIM; lote = fila.take()) {
+                    carregador.carregar(lote);
+                    progresso.registrar(lote);
+                }
+                carregador.finalizar(gerador.ultimoNumeroPedido());
+                return null;
+            });
+
+            for (int dia = 0; dia < configuracao.dias(); dia += configuracao.diasPorLote()) {
+                int dias = Math.min(configuracao.diasPorLote(), configuracao.dias() - dia);
+                entregar(fila, gerador.gerar(configuracao.inicio().plusDays(dia), dias), carga);
+            }
+            entregar(fila, FIM, carga);
+            aguardar(carga);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        progresso.resumir();
+        if (configuracao.destino() == ConfiguracaoGerador.Destino.ARQUIVOS) {
+            System.out.println("Arquivos em " + configuracao.saidaDiretorio().toAbsolutePath()
+                    + " (carregue com: mysql --local-infile=1 <banco> < carregar.sql, a partir desse diretório)");
+        }
+    }
+
+    /**
+     * Põe o lote na fila sem ficar preso se a carga já tiver falhado.
+     */
+    private static void entregar(BlockingQueue<Lote> fila, Lote lote, Future<?> carga) throws Exception {
+        while (!fila.offer(lote, 1, TimeUnit.SECONDS)) {
+            if (carga.isDone()) {
+                aguardar(carga);
+                throw new IllegalStateException("A carga terminou antes do fim da geração");
+            }
+        }
+    }
+
+    private static void aguardar(Future<?> carga) throws Exception {
+        try {
+            carga.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Contagem por tabela e vazão, atualizada pela thread de carga.
+     */
+    private static final class Progresso {
+
+        private final long pedidosEstimados;
+        private final long inicio = System.nanoTime();
+        private final Map<Tabela, Long> linhas = new EnumMap<>(Tabela.class);
+        private long totalLinhas;
+
+        Progresso(long pedidosEstimados) {
+            this.pedidosEstimados = pedidosEstimados;
+            for (Tabela tabela : Tabela.values()) {
+                linhas.put(tabela, 0L);
+            }
+        }
+
+        void registrar(Lote lote) {
+            for (Tabela tabela : Tabela.values()) {
+                linhas.merge(tabela, (long) lote.quantidade(tabela), Long::sum);
+            }
+            totalLinhas += lote.totalLinhas();
+            long pedidos = linhas.get(Tabela.PEDIDOS);
+            System.out.printf("%s a %s: %,d pedidos (%.0f%% de ~%,d), %,.0f linhas/s%n",
+                    lote.primeiroDia(), lote.ultimoDia(), pedidos,
+                    pedidosEstimados > 0 ? pedidos * 100.0 / pedidosEstimados : 100.0, pedidosEstimados,
+                    totalLinhas / segundos());
+        }
+
+        void resumir() {
+            Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+            System.out.printf("%nConcluído em %dmin%02ds (%,.0f linhas/s):%n",
+                    duracao.toMinutes(), duracao.toSecondsPart(), totalLinhas / segundos());
+            linhas.forEach((tabela, quantidade) -> System.out.printf("  %-26s %,14d%n", tabela.nome(), quantidade));
+        }
+
+        private double segundos() {
+            return Math.max(1e-3, (System.nanoTime() - inicio) / 1e9);
+        }
+    }
+}
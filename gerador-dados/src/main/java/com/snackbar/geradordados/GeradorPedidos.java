@@ -0,0 +1,364 @@
+package com.snackbar.geradordados;
+
+import com.snackbar.geradordados.ConfiguracaoGerador.Origem;
+import com.snackbar.geradordados.DadosReferencia.Adicional;
+import com.snackbar.geradordados.DadosReferencia.Cliente;
+import com.snackbar.geradordados.DadosReferencia.Mesa;
+import com.snackbar.geradordados.DadosReferencia.Produto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Gera os dias de movimento: sessões de trabalho (turnos), pedidos com itens, adicionais e
+ * meios de pagamento, e sangrias/suprimentos de caixa. Os valores seguem as regras do domínio
+ * (subtotal = (preço + adicionais) x quantidade; troco só em dinheiro) e os números de pedido
+ * e de sessão continuam a partir dos que já existem no banco.
+ *
+ * Com a mesma semente e os mesmos cadastros, gera exatamente os mesmos dados.
+ */
+final class GeradorPedidos {
+
+    private static final String[] NOMES = {
+            "Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela", "Heitor", "Isabela", "João",
+            "Karina", "Lucas", "Mariana", "Nicolas", "Olívia", "Pedro", "Rafaela", "Samuel", "Tatiane", "Vinícius"
+    };
+    private static final String[] OBSERVACOES_PEDIDO = {
+            "Para viagem", "Entregar tudo junto", "Cliente aguardando no balcão", "Sem talheres", "Embalar separado"
+    };
+    private static final String[] OBSERVACOES_ITEM = {
+            "sem cebola", "bem passado", "sem gelo", "molho à parte", "pouco sal", "sem tomate", "ponto da casa"
+    };
+    private static final int[] NOTAS = {5, 10, 20, 50, 100};
+
+    private final ConfiguracaoGerador configuracao;
+    private final DadosReferencia referencia;
+    private final SplittableRandom random;
+    private final Distribuicao<Integer> horas;
+    private final Distribuicao<Integer> popularidadeProdutos;
+    private final Distribuicao<Integer> frequenciaClientes;
+    private final int horaAbertura;
+    private final int minutosPorTurno;
+
+    private int numeroPedido;
+    private int numeroSessao;
+
+    GeradorPedidos(ConfiguracaoGerador configuracao, DadosReferencia referencia) {
+        this.configuracao = configuracao;
+        this.referencia = referencia;
+        this.random = new SplittableRandom(configuracao.semente());
+        this.horas = Distribuicao.indices(configuracao.pesosHora());
+        this.popularidadeProdutos = Distribuicao.zipf(referencia.produtos().size(), configuracao.concentracaoProdutos());
+        this.frequenciaClientes = referencia.clientes().isEmpty()
+                ? null
+                : Distribuicao.zipf(referencia.clientes().size(), configuracao.concentracaoClientes());
+        this.horaAbertura = configuracao.horaAbertura();
+        this.minutosPorTurno = Math.max(1,
+                (configuracao.horaFechamento() - horaAbertura) * 60 / configuracao.sessoesPorDia());
+        this.numeroPedido = referencia.ultimoNumeroPedido();
+        this.numeroSessao = referencia.ultimaSessao();
+    }
+
+    int ultimoNumeroPedido() {
+        return numeroPedido;
+    }
+
+    /**
+     * Total aproximado de pedidos do período, para acompanhar o progresso.
+     */
+    long estimarPedidos() {
+        double total = 0;
+        for (int dia = 0; dia < configuracao.dias(); dia++) {
+            total += configuracao.pedidosPorDia() * pesoDoDia(configuracao.inicio().plusDays(dia));
+        }
+        return Math.round(total);
+    }
+
+    Lote gerar(LocalDate primeiroDia, int dias) {
+        Lote lote = new Lote(primeiroDia, primeiroDia.plusDays(dias - 1L));
+        for (int i = 0; i < dias; i++) {
+            gerarDia(lote, primeiroDia.plusDays(i));
+        }
+        return lote;
+    }
+
+    private void gerarDia(Lote lote, LocalDate dia) {
+        double peso = pesoDoDia(dia);
+        if (peso <= 0) {
+            return;
+        }
+
+        LocalDateTime abertura = dia.atTime(horaAbertura, 0);
+        Turno[] turnos = new Turno[configuracao.sessoesPorDia()];
+        for (int i = 0; i < turnos.length; i++) {
+            LocalDateTime inicio = abertura.plusMinutes((long) i * minutosPorTurno);
+            // O primeiro turno abre o caixa meia hora antes do expediente e o último fecha meia
+            // hora depois; entre turnos, a troca é na hora exata
+            turnos[i] = new Turno(uuid(), ++numeroSessao, inicio,
+                    i == 0 ? inicio.minusMinutes(30) : inicio,
+                    i == turnos.length - 1 ? inicio.plusMinutes(minutosPorTurno + 30L) : inicio.plusMinutes(minutosPorTurno),
+                    sortear(referencia.usuarios()), configuracao.caixaAbertura().sortear(random) * 100L);
+        }
+
+        double variacao = Math.max(0.1, 1 + configuracao.variacaoDias() * random.nextGaussian());
+        int quantidade = (int) Math.round(configuracao.pedidosPorDia() * peso * variacao);
+        // Horários ordenados para a numeração dos pedidos acompanhar a hora, como no balcão
+        long[] segundos = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            segundos[i] = horas.sortear(random) * 3600L + random.nextInt(3600);
+        }
+        Arrays.sort(segundos);
+
+        for (long segundo : segundos) {
+            LocalDateTime horario = dia.atStartOfDay().plusSeconds(segundo);
+            int indiceTurno = (int) Math.min(turnos.length - 1,
+                    Math.max(0, (segundo / 60 - horaAbertura * 60L) / minutosPorTurno));
+            gerarPedido(lote, turnos[indiceTurno], horario);
+        }
+
+        for (Turno turno : turnos) {
+            fecharTurno(lote, turno);
+        }
+    }
+
+    private void gerarPedido(Lote lote, Turno turno, LocalDateTime horario) {
+        String pedidoId = uuid();
+        Origem origem = configuracao.origens().sortear(random);
+        if (origem == Origem.MESA && referencia.mesas().isEmpty()) {
+            origem = Origem.BALCAO;
+        }
+
+        String clienteId = null;
+        String clienteNome;
+        String usuarioId = turno.usuarioId();
+        String mesaId = null;
+        Integer numeroMesa = null;
+        String nomeClienteMesa = null;
+        switch (origem) {
+            case BALCAO -> {
+                Cliente cliente = frequenciaClientes != null ? referencia.clientes().get(frequenciaClientes.sortear(random)) : null;
+                clienteId = cliente != null ? cliente.id() : null;
+                clienteNome = cliente != null ? cliente.nome() : sortear(NOMES);
+            }
+            case MESA -> {
+                Mesa mesa = sortear(referencia.mesas());
+                Cliente cliente = frequenciaClientes != null && random.nextDouble() < configuracao.clientesIdentificados()
+                        ? referencia.clientes().get(frequenciaClientes.sortear(random))
+                        : null;
+                clienteId = cliente != null ? cliente.id() : null;
+                clienteNome = cliente != null ? cliente.nome() : sortear(NOMES);
+                mesaId = mesa.id();
+                numeroMesa = mesa.numero();
+                nomeClienteMesa = clienteNome;
+                usuarioId = null;
+            }
+            default -> clienteNome = sortear(NOMES);
+        }
+
+        long total = 0;
+        int itens = configuracao.itensPorPedido().sortear(random);
+        for (int i = 0; i < itens; i++) {
+            total += gerarItem(lote, pedidoId, horario);
+        }
+
+        String status = configuracao.status().sortear(random);
+        LocalDateTime finalizacao = null;
+        LocalDateTime atualizacao = horario.plusMinutes(2 + random.nextInt(18));
+        if ("FINALIZADO".equals(status)) {
+            finalizacao = horario.plusMinutes(8 + random.nextInt(38));
+            atualizacao = finalizacao;
+        }
+
+        lote.adicionar(Tabela.PEDIDOS,
+                pedidoId, String.format("%04d", ++numeroPedido), clienteId, clienteNome, status, dinheiro(total),
+                random.nextDouble() < configuracao.observacaoPedido() ? sortear(OBSERVACOES_PEDIDO) : null,
+                usuarioId, turno.id(), mesaId, numeroMesa, nomeClienteMesa, horario, finalizacao, 0L,
+                horario, atualizacao);
+
+        long dinheiroRecebido = gerarPagamentos(lote, pedidoId, total);
+        if (finalizacao != null) {
+            turno.vendasDinheiro += dinheiroRecebido;
+        }
+    }
+
+    /**
+     * @return subtotal do item em centavos
+     */
+    private long gerarItem(Lote lote, String pedidoId, LocalDateTime horario) {
+        String itemId = uuid();
+        Produto produto = referencia.produtos().get(popularidadeProdutos.sortear(random));
+        int quantidade = configuracao.quantidadePorItem().sortear(random);
+
+        long adicionais = 0;
+        if (!referencia.adicionais().isEmpty() && random.nextDouble() < configuracao.probabilidadeAdicionais()) {
+            int quantidadeAdicionais = Math.min(configuracao.adicionaisPorItem().sortear(random),
+                    referencia.adicionais().size());
+            List<Adicional> escolhidos = new ArrayList<>(quantidadeAdicionais);
+            while (escolhidos.size() < quantidadeAdicionais) {
+                Adicional adicional = sortear(referencia.adicionais());
+                if (!escolhidos.contains(adicional)) {
+                    escolhidos.add(adicional);
+                }
+            }
+            for (Adicional adicional : escolhidos) {
+                int quantidadeAdicional = random.nextInt(10) == 0 ? 2 : 1;
+                adicionais += adicional.precoCentavos() * quantidadeAdicional;
+                lote.adicionar(Tabela.ITENS_PEDIDO_ADICIONAIS, uuid(), itemId, adicional.id(), adicional.nome(),
+                        quantidadeAdicional, dinheiro(adicional.precoCentavos()), horario);
+            }
+        }
+
+        lote.adicionar(Tabela.ITENS_PEDIDO, itemId, pedidoId, produto.id(), produto.nome(), quantidade,
+                dinheiro(produto.precoCentavos()),
+                random.nextDouble() < configuracao.observacaoItem() ? sortear(OBSERVACOES_ITEM) : null);
+        return (produto.precoCentavos() + adicionais) * quantidade;
+    }
+
+    /**
+     * Um meio de pagamento, ou dois quando o pagamento é dividido.
+     *
+     * @return quanto do total foi pago em dinheiro, em centavos
+     */
+    private long gerarPagamentos(Lote lote, String pedidoId, long total) {
+        String primeiro = configuracao.meiosPagamento().sortear(random);
+        if (total < 200 || random.nextDouble() >= configuracao.pagamentoDividido()) {
+            return registrarPagamento(lote, pedidoId, primeiro, total);
+        }
+        String segundo = configuracao.meiosPagamento().sortear(random);
+        for (int tentativa = 0; segundo.equals(primeiro) && tentativa < 5; tentativa++) {
+            segundo = configuracao.meiosPagamento().sortear(random);
+        }
+        long parte = Math.max(100, Math.min(total - 100, total * (30 + random.nextInt(41)) / 100));
+        return registrarPagamento(lote, pedidoId, primeiro, parte)
+                + registrarPagamento(lote, pedidoId, segundo, total - parte);
+    }
+
+    private long registrarPagamento(Lote lote, String pedidoId, String meio, long valor) {
+        if (!"DINHEIRO".equals(meio)) {
+            lote.adicionar(Tabela.MEIOS_PAGAMENTO_PEDIDO, uuid(), pedidoId, meio, dinheiro(valor), null, null);
+            return 0;
+        }
+        // Um terço paga trocado; os demais com a menor nota (ou múltiplo dela) que cobre o valor
+        long pago = valor;
+        if (random.nextInt(3) != 0) {
+            long nota = NOTAS[random.nextInt(NOTAS.length)] * 100L;
+            pago = (valor + nota - 1) / nota * nota;
+        }
+        lote.adicionar(Tabela.MEIOS_PAGAMENTO_PEDIDO, uuid(), pedidoId, meio, dinheiro(valor), dinheiro(pago),
+                dinheiro(pago - valor));
+        return valor;
+    }
+
+    private void fecharTurno(Lote lote, Turno turno) {
+        long sangrias = 0;
+        int quantidadeSangrias = configuracao.sangriasPorSessao().sortear(random);
+        for (int i = 0; i < quantidadeSangrias; i++) {
+            long valor = (100 + random.nextInt(9) * 50L) * 100;
+            sangrias += valor;
+            registrarMovimentacao(lote, turno, "SANGRIA", valor, "Sangria para depósito");
+        }
+        long suprimentos = 0;
+        int quantidadeSuprimentos = configuracao.suprimentosPorSessao().sortear(random);
+        for (int i = 0; i < quantidadeSuprimentos; i++) {
+            long valor = (50 + random.nextInt(4) * 50L) * 100;
+            suprimentos += valor;
+            registrarMovimentacao(lote, turno, "SUPRIMENTO", valor, "Reforço de troco");
+        }
+
+        LocalDateTime abertura = turno.abertura();
+        LocalDateTime fechamento = turno.fechamento();
+        long valorFechamento = turno.valorAbertura() + turno.vendasDinheiro + suprimentos - sangrias;
+        lote.adicionar(Tabela.SESSOES_TRABALHO,
+                turno.id(), turno.numero(), turno.inicio().toLocalDate(), abertura, fechamento, "FINALIZADA",
+                turno.usuarioId(), dinheiro(turno.valorAbertura()), dinheiro(valorFechamento), 0L,
+                abertura, fechamento);
+    }
+
+    private void registrarMovimentacao(Lote lote, Turno turno, String tipo, long valor, String descricao) {
+        LocalDateTime horario = turno.inicio().plusMinutes(random.nextInt(minutosPorTurno));
+        lote.adicionar(Tabela.MOVIMENTACOES_CAIXA, uuid(), turno.id(), turno.usuarioId(), tipo, dinheiro(valor),
+                descricao, horario, horario, horario);
+    }
+
+    private double pesoDoDia(LocalDate dia) {
+        return configuracao.pesosSemana()[dia.getDayOfWeek().getValue() - 1];
+    }
+
+    private <T> T sortear(List<T> valores) {
+        return valores.get(random.nextInt(valores.size()));
+    }
+
+    private <T> T sortear(T[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+
+    /**
+     * UUID versão 4 a partir do gerador com semente (UUID.randomUUID usa SecureRandom, lento e
+     * sem reprodutibilidade para milhões de linhas).
+     */
+    private String uuid() {
+        long maisSignificativos = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long menosSignificativos = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(maisSignificativos, menosSignificativos).toString();
+    }
+
+    private static BigDecimal dinheiro(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    private static final class Turno {
+        private final String id;
+        private final int numero;
+        private final LocalDateTime inicio;
+        private final LocalDateTime abertura;
+        private final LocalDateTime fechamento;
+        private final String usuarioId;
+        private final long valorAbertura;
+        private long vendasDinheiro;
+
+        Turno(String id, int numero, LocalDateTime inicio, LocalDateTime abertura, LocalDateTime fechamento,
+                String usuarioId, long valorAbertura) {
+            this.id = id;
+            this.numero = numero;
+            this.inicio = inicio;
+            this.abertura = abertura;
+            this.fechamento = fechamento;
+            this.usuarioId = usuarioId;
+            this.valorAbertura = valorAbertura;
+        }
+
+        String id() {
+            return id;
+        }
+
+        int numero() {
+            return numero;
+        }
+
+        LocalDateTime inicio() {
+            return inicio;
+        }
+
+        LocalDateTime abertura() {
+            return abertura;
+        }
+
+        LocalDateTime fechamento() {
+            return fechamento;
+        }
+
+        String usuarioId() {
+            return usuarioId;
+        }
+
+        long valorAbertura() {
+            return valorAbertura;
+        }
+    }
+}
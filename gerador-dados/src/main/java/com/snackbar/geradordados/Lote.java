@@ -0,0 +1,58 @@
+package com.snackbar.geradordados;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linhas de um grupo de dias, por tabela. Cada linha é um array na ordem de {@link Tabela#colunas()},
+ * com String, Integer, Long, BigDecimal, LocalDate, LocalDateTime ou null.
+ */
+final class Lote {
+
+    private final LocalDate primeiroDia;
+    private final LocalDate ultimoDia;
+    private final Map<Tabela, List<Object[]>> linhas = new EnumMap<>(Tabela.class);
+
+    Lote(LocalDate primeiroDia, LocalDate ultimoDia) {
+        this.primeiroDia = primeiroDia;
+        this.ultimoDia = ultimoDia;
+        for (Tabela tabela : Tabela.values()) {
+            linhas.put(tabela, new ArrayList<>());
+        }
+    }
+
+    void adicionar(Tabela tabela, Object... valores) {
+        if (valores.length != tabela.colunas().size()) {
+            throw new IllegalArgumentException(tabela.nome() + " espera " + tabela.colunas().size()
+                    + " colunas, recebeu " + valores.length);
+        }
+        linhas.get(tabela).add(valores);
+    }
+
+    List<Object[]> linhas(Tabela tabela) {
+        return linhas.get(tabela);
+    }
+
+    int quantidade(Tabela tabela) {
+        return linhas.get(tabela).size();
+    }
+
+    long totalLinhas() {
+        long total = 0;
+        for (List<Object[]> tabela : linhas.values()) {
+            total += tabela.size();
+        }
+        return total;
+    }
+
+    LocalDate primeiroDia() {
+        return primeiroDia;
+    }
+
+    LocalDate ultimoDia() {
+        return ultimoDia;
+    }
+}
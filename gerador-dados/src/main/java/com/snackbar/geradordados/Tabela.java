@@ -0,0 +1,48 @@
+package com.snackbar.geradordados;
+
+import java.util.List;
+
+/**
+ * Tabelas carregadas, na ordem de carga, com as colunas preenchidas pelo gerador.
+ * Colunas que não aparecem aqui ficam com o default do banco (ex.: pedidos.meio_pagamento, legado).
+ */
+enum Tabela {
+
+    SESSOES_TRABALHO("sessoes_trabalho", List.of(
+            "id", "numero_sessao", "data_inicio", "data_inicio_completa", "data_fim", "status", "usuario_id",
+            "valor_abertura", "valor_fechamento", "version", "created_at", "updated_at")),
+
+    PEDIDOS("pedidos", List.of(
+            "id", "numero_pedido", "cliente_id", "cliente_nome", "status", "valor_total", "observacoes",
+            "usuario_id", "sessao_id", "mesa_id", "numero_mesa", "nome_cliente_mesa", "data_pedido",
+            "data_finalizacao", "version", "created_at", "updated_at")),
+
+    ITENS_PEDIDO("itens_pedido", List.of(
+            "id", "pedido_id", "produto_id", "produto_nome", "quantidade", "preco_unitario", "observacoes")),
+
+    ITENS_PEDIDO_ADICIONAIS("itens_pedido_adicionais", List.of(
+            "id", "item_pedido_id", "adicional_id", "adicional_nome", "quantidade", "preco_unitario", "created_at")),
+
+    MEIOS_PAGAMENTO_PEDIDO("meios_pagamento_pedido", List.of(
+            "id", "pedido_id", "meio_pagamento", "valor", "valor_pago_dinheiro", "troco")),
+
+    MOVIMENTACOES_CAIXA("movimentacoes_caixa", List.of(
+            "id", "sessao_id", "usuario_id", "tipo", "valor", "descricao", "data_movimentacao",
+            "created_at", "updated_at"));
+
+    private final String nome;
+    private final List<String> colunas;
+
+    Tabela(String nome, List<String> colunas) {
+        this.nome = nome;
+        this.colunas = colunas;
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    List<String> colunas() {
+        return colunas;
+    }
+}
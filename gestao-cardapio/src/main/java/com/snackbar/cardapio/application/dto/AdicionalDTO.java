@@ -9,7 +9,7 @@ import lombok.experimental.SuperBuilder;
 import java.math.BigDecimal;
 
 @Data
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @EqualsAndHashCode(callSuper = true)
 public class AdicionalDTO extends BaseDTO {
     private String nome;
@@ -0,0 +1,11 @@
+package com.snackbar.cardapio.application.events;
+
+/**
+ * Evento publicado pelos casos de uso que alteram o cardápio
+ * (produtos, adicionais, categorias e vínculos produto-adicional).
+ * O catálogo em memória é reconstruído quando a transação que publicou o evento é confirmada.
+ *
+ * @param origem descrição curta da alteração, usada apenas em logs
+ */
+public record CardapioAlteradoEvent(String origem) {
+}
@@ -0,0 +1,19 @@
+package com.snackbar.cardapio.application.ports;
+
+/**
+ * Port para o contador de versão do cardápio compartilhado entre as instâncias da aplicação.
+ * Cada alteração do cardápio incrementa o contador; uma instância que encontra um valor
+ * diferente do usado para montar o seu catálogo em memória sabe que ele está desatualizado.
+ */
+public interface VersaoCardapioPort {
+
+    /**
+     * Retorna a versão atual do cardápio no banco.
+     */
+    long buscarVersao();
+
+    /**
+     * Incrementa a versão do cardápio no banco.
+     */
+    void incrementar();
+}
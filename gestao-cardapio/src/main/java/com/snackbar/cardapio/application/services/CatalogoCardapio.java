@@ -0,0 +1,127 @@
+package com.snackbar.cardapio.application.services;
+
+import com.snackbar.cardapio.application.dto.AdicionalDTO;
+import com.snackbar.cardapio.application.dto.CategoriaDTO;
+import com.snackbar.cardapio.application.dto.ProdutoDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fotografia imutável do cardápio em um instante.
+ * Os mapas são indexados por ID e preservam a ordem de leitura do banco.
+ * Uma nova instância é criada a cada reconstrução; instâncias antigas nunca são alteradas,
+ * então leitores podem usá-las sem sincronização.
+ *
+ * Os DTOs ({@code @Data}, mutáveis) ficam guardados aqui; os acessores entregam cópias,
+ * então um leitor que altera o DTO recebido não corrompe o catálogo dos demais.
+ */
+public final class CatalogoCardapio {
+
+    private final long versao;
+    private final LocalDateTime construidoEm;
+    private final Map<String, ProdutoDTO> produtosPorId;
+    private final Map<String, AdicionalDTO> adicionaisPorId;
+    private final List<CategoriaDTO> categorias;
+    private final List<ProdutoDTO> produtosDisponiveis;
+    private final List<CategoriaDTO> categoriasAtivas;
+
+    private CatalogoCardapio(long versao,
+            Map<String, ProdutoDTO> produtosPorId,
+            Map<String, AdicionalDTO> adicionaisPorId,
+            List<CategoriaDTO> categorias) {
+        this.versao = versao;
+        this.construidoEm = LocalDateTime.now();
+        this.produtosPorId = produtosPorId;
+        this.adicionaisPorId = adicionaisPorId;
+        this.categorias = categorias;
+        this.produtosDisponiveis = produtosPorId.values().stream()
+                .filter(ProdutoDTO::isDisponivel)
+                .toList();
+        this.categoriasAtivas = categorias.stream()
+                .filter(CategoriaDTO::isAtiva)
+                .toList();
+    }
+
+    public static CatalogoCardapio de(long versao,
+            List<ProdutoDTO> produtos,
+            List<AdicionalDTO> adicionais,
+            List<CategoriaDTO> categorias) {
+        Map<String, ProdutoDTO> produtosPorId = new LinkedHashMap<>();
+        produtos.forEach(p -> produtosPorId.put(p.getId(), p));
+
+        Map<String, AdicionalDTO> adicionaisPorId = new LinkedHashMap<>();
+        adicionais.forEach(a -> adicionaisPorId.put(a.getId(), a));
+
+        return new CatalogoCardapio(
+                versao,
+                Collections.unmodifiableMap(produtosPorId),
+                Collections.unmodifiableMap(adicionaisPorId),
+                List.copyOf(categorias));
+    }
+
+    public long versao() {
+        return versao;
+    }
+
+    public LocalDateTime construidoEm() {
+        return construidoEm;
+    }
+
+    public Optional<ProdutoDTO> produto(String id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(produtosPorId.get(id)).map(CatalogoCardapio::copia);
+    }
+
+    public Optional<AdicionalDTO> adicional(String id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(adicionaisPorId.get(id)).map(CatalogoCardapio::copia);
+    }
+
+    public List<ProdutoDTO> produtos() {
+        return produtosPorId.values().stream().map(CatalogoCardapio::copia).toList();
+    }
+
+    public List<AdicionalDTO> adicionais() {
+        return adicionaisPorId.values().stream().map(CatalogoCardapio::copia).toList();
+    }
+
+    public List<ProdutoDTO> produtosDisponiveis() {
+        return produtosDisponiveis.stream().map(CatalogoCardapio::copia).toList();
+    }
+
+    public List<CategoriaDTO> categorias() {
+        return categorias.stream().map(CatalogoCardapio::copia).toList();
+    }
+
+    public List<CategoriaDTO> categoriasAtivas() {
+        return categoriasAtivas.stream().map(CatalogoCardapio::copia).toList();
+    }
+
+    public int totalProdutos() {
+        return produtosPorId.size();
+    }
+
+    public int totalAdicionais() {
+        return adicionaisPorId.size();
+    }
+
+    public int totalCategorias() {
+        return categorias.size();
+    }
+
+    // Cópia rasa: os campos são imutáveis (String, BigDecimal, LocalDateTime)
+    private static ProdutoDTO copia(ProdutoDTO produto) {
+        return produto.toBuilder().build();
+    }
+
+    private static AdicionalDTO copia(AdicionalDTO adicional) {
+        return adicional.toBuilder().build();
+    }
+
+    private static CategoriaDTO copia(CategoriaDTO categoria) {
+        return categoria.toBuilder().build();
+    }
+}
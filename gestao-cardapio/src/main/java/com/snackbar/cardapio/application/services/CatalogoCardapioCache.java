@@ -0,0 +1,253 @@
+package com.snackbar.cardapio.application.services;
+
+import com.snackbar.cardapio.application.dto.AdicionalDTO;
+import com.snackbar.cardapio.application.dto.CategoriaDTO;
+import com.snackbar.cardapio.application.dto.ProdutoDTO;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
+import com.snackbar.cardapio.application.ports.AdicionalRepositoryPort;
+import com.snackbar.cardapio.application.ports.CategoriaRepositoryPort;
+import com.snackbar.cardapio.application.ports.ProdutoRepositoryPort;
+import com.snackbar.cardapio.application.ports.VersaoCardapioPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache em memória do cardápio compartilhado por todos os módulos
+ * (pedidos, chat IA, cardápio público e impressão via pedidos).
+ *
+ * Leitores sempre obtêm um {@link CatalogoCardapio} imutável através de uma referência atômica.
+ * Alterações no cardápio publicam {@link CardapioAlteradoEvent}; após o commit o catálogo
+ * é reconstruído por inteiro e trocado de uma vez (copy-on-write), incrementando a versão.
+ * Se a reconstrução falhar, a versão anterior continua sendo servida e nova tentativa
+ * acontece na próxima leitura.
+ *
+ * Com várias instâncias (Cloud Run), cada alteração também incrementa a versão do cardápio no
+ * banco ({@link VersaoCardapioPort}). No máximo uma vez por intervalo de verificação, uma leitura
+ * compara essa versão com a usada na montagem do catálogo e, se mudou, reconstrói. Assim uma
+ * alteração feita em outra instância chega a esta em até um intervalo.
+ */
+@Slf4j
+@Service
+public class CatalogoCardapioCache {
+
+    private final ProdutoRepositoryPort produtoRepository;
+    private final AdicionalRepositoryPort adicionalRepository;
+    private final CategoriaRepositoryPort categoriaRepository;
+    private final VersaoCardapioPort versaoCardapio;
+    private final long intervaloVerificacaoNanos;
+
+    private final AtomicReference<CatalogoCardapio> atual = new AtomicReference<>();
+    private final AtomicBoolean desatualizado = new AtomicBoolean(true);
+    private final AtomicLong versao = new AtomicLong();
+    // Mantido durante a leitura do banco: com synchronized, a virtual thread que reconstrói
+    // ficaria presa à carrier thread até o fim das consultas
+    private final ReentrantLock lockReconstrucao = new ReentrantLock();
+    // Versão do banco lida antes da última reconstrução; -1 se a leitura falhou (força nova verificação)
+    private final AtomicLong versaoBancoCatalogo = new AtomicLong(-1);
+    private final AtomicLong proximaVerificacaoNanos = new AtomicLong(System.nanoTime());
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder reconstrucoes = new LongAdder();
+    private final AtomicLong ultimaReconstrucaoNanos = new AtomicLong();
+    private final AtomicLong tempoTotalReconstrucaoNanos = new AtomicLong();
+
+    public CatalogoCardapioCache(
+            ProdutoRepositoryPort produtoRepository,
+            AdicionalRepositoryPort adicionalRepository,
+            CategoriaRepositoryPort categoriaRepository,
+            VersaoCardapioPort versaoCardapio,
+            @Value("${cardapio.catalogo.intervalo-verificacao-ms:2000}") long intervaloVerificacaoMs) {
+        this.produtoRepository = produtoRepository;
+        this.adicionalRepository = adicionalRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.versaoCardapio = versaoCardapio;
+        this.intervaloVerificacaoNanos = Duration.ofMillis(intervaloVerificacaoMs).toNanos();
+    }
+
+    /**
+     * Retorna o catálogo vigente, reconstruindo-o se ainda não existir, estiver desatualizado
+     * ou tiver sido alterado por outra instância.
+     */
+    public CatalogoCardapio obter() {
+        CatalogoCardapio catalogo = atual.get();
+        if (catalogo != null && !desatualizado.get() && !alteradoEmOutraInstancia()) {
+            return catalogo;
+        }
+        return reconstruir();
+    }
+
+    public long versaoAtual() {
+        return obter().versao();
+    }
+
+    /**
+     * Busca um produto pelo ID no catálogo vigente.
+     * Contabiliza acerto/falha para a taxa de acerto do cache.
+     */
+    public Optional<ProdutoDTO> buscarProduto(String id) {
+        return registrar(obter().produto(id));
+    }
+
+    /**
+     * Busca um adicional pelo ID no catálogo vigente.
+     * Contabiliza acerto/falha para a taxa de acerto do cache.
+     */
+    public Optional<AdicionalDTO> buscarAdicional(String id) {
+        return registrar(obter().adicional(id));
+    }
+
+    /**
+     * Marca o catálogo como desatualizado; a próxima leitura reconstrói.
+     */
+    public void invalidar() {
+        desatualizado.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCardapio(CardapioAlteradoEvent evento) {
+        log.debug("Cardápio alterado ({}), reconstruindo catálogo em memória", evento.origem());
+        invalidar();
+        try {
+            versaoCardapio.incrementar();
+        } catch (Exception e) {
+            log.warn("Falha ao incrementar a versão do cardápio; outras instâncias não verão a alteração ({}): {}",
+                    evento.origem(), e.getMessage());
+        }
+        try {
+            reconstruir();
+        } catch (Exception e) {
+            // Alteração já foi confirmada no banco; a próxima leitura tenta reconstruir novamente
+            log.warn("Falha ao reconstruir catálogo após alteração do cardápio: {}", e.getMessage());
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        CatalogoCardapio catalogo = atual.get();
+        return new Estatisticas(
+                catalogo != null ? catalogo.versao() : 0,
+                catalogo != null ? catalogo.totalProdutos() : 0,
+                catalogo != null ? catalogo.totalAdicionais() : 0,
+                acertos.sum(),
+                falhas.sum(),
+                reconstrucoes.sum(),
+                ultimaReconstrucaoNanos.get() / 1_000_000,
+                tempoTotalReconstrucaoNanos.get() / 1_000_000);
+    }
+
+    private CatalogoCardapio reconstruir() {
+        lockReconstrucao.lock();
+        try {
+            CatalogoCardapio anterior = atual.get();
+            if (anterior != null && !desatualizado.get()) {
+                // Outra thread reconstruiu enquanto esta aguardava o lock
+                return anterior;
+            }
+
+            // Limpa a marca antes de ler: uma alteração concorrente volta a marcar e força nova reconstrução
+            desatualizado.set(false);
+            long inicio = System.nanoTime();
+            // Lida antes das tabelas: uma alteração durante a leitura aparece na próxima verificação
+            long versaoBanco = buscarVersaoBanco();
+            CatalogoCardapio novo;
+            try {
+                novo = CatalogoCardapio.de(
+                        versao.get() + 1,
+                        produtoRepository.buscarTodos().stream().map(ProdutoDTO::de).toList(),
+                        adicionalRepository.buscarTodos().stream().map(AdicionalDTO::de).toList(),
+                        categoriaRepository.buscarTodas().stream().map(CategoriaDTO::de).toList());
+            } catch (RuntimeException e) {
+                desatualizado.set(true);
+                if (anterior == null) {
+                    throw e;
+                }
+                log.warn("Falha ao reconstruir catálogo, mantendo versão {}: {}", anterior.versao(), e.getMessage());
+                return anterior;
+            }
+
+            long duracao = System.nanoTime() - inicio;
+            versao.set(novo.versao());
+            versaoBancoCatalogo.set(versaoBanco);
+            proximaVerificacaoNanos.set(System.nanoTime() + intervaloVerificacaoNanos);
+            atual.set(novo);
+            reconstrucoes.increment();
+            ultimaReconstrucaoNanos.set(duracao);
+            tempoTotalReconstrucaoNanos.addAndGet(duracao);
+
+            log.info("Catálogo do cardápio reconstruído - versão {}, {} produtos, {} adicionais, {} categorias em {} ms",
+                    novo.versao(), novo.totalProdutos(), novo.totalAdicionais(),
+                    novo.totalCategorias(), duracao / 1_000_000);
+            return novo;
+        } finally {
+            lockReconstrucao.unlock();
+        }
+    }
+
+    /**
+     * Compara a versão do cardápio no banco com a do catálogo vigente, no máximo uma vez por
+     * intervalo e por uma única thread; as demais seguem com o catálogo atual sem esperar.
+     */
+    private boolean alteradoEmOutraInstancia() {
+        long agora = System.nanoTime();
+        long proxima = proximaVerificacaoNanos.get();
+        if (agora - proxima < 0 || !proximaVerificacaoNanos.compareAndSet(proxima, agora + intervaloVerificacaoNanos)) {
+            return false;
+        }
+        long versaoBanco = buscarVersaoBanco();
+        if (versaoBanco == versaoBancoCatalogo.get() && versaoBanco >= 0) {
+            return false;
+        }
+        log.debug("Versão do cardápio no banco mudou ({} -> {}), reconstruindo catálogo",
+                versaoBancoCatalogo.get(), versaoBanco);
+        invalidar();
+        return true;
+    }
+
+    private long buscarVersaoBanco() {
+        try {
+            return versaoCardapio.buscarVersao();
+        } catch (RuntimeException e) {
+            // Sem a versão, o catálogo passa a ser reconstruído a cada intervalo, como um TTL
+            log.warn("Falha ao ler a versão do cardápio no banco: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private <T> Optional<T> registrar(Optional<T> resultado) {
+        if (resultado.isPresent()) {
+            acertos.increment();
+        } else {
+            falhas.increment();
+        }
+        return resultado;
+    }
+
+    /**
+     * Métricas do cache do catálogo.
+     */
+    public record Estatisticas(
+            long versao,
+            int totalProdutos,
+            int totalAdicionais,
+            long acertos,
+            long falhas,
+            long reconstrucoes,
+            long ultimaReconstrucaoMs,
+            long tempoTotalReconstrucaoMs) {
+
+        public double taxaAcerto() {
+            long total = acertos + falhas;
+            return total == 0 ? 0.0 : (double) acertos / total;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.AtualizarAdicionalRequest;
 import com.snackbar.cardapio.application.dto.AdicionalDTO;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.AdicionalRepositoryPort;
 import com.snackbar.cardapio.domain.entities.Adicional;
 import com.snackbar.cardapio.domain.valueobjects.Preco;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 public class AtualizarAdicionalUseCase {
 
     private final AdicionalRepositoryPort adicionalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdicionalDTO executar(String id, AtualizarAdicionalRequest request) {
         Adicional adicional = adicionalRepository.buscarPorId(id)
@@ -45,6 +48,7 @@ public class AtualizarAdicionalUseCase {
 
         @SuppressWarnings("null")
         Adicional adicionalAtualizado = adicionalRepository.salvar(adicional);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("adicional atualizado"));
 
         return AdicionalDTO.de(adicionalAtualizado);
     }
@@ -1,9 +1,11 @@
 package com.snackbar.cardapio.application.usecases;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.snackbar.cardapio.application.dto.AtualizarCategoriaRequest;
 import com.snackbar.cardapio.application.dto.CategoriaDTO;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.CategoriaRepositoryPort;
 import com.snackbar.cardapio.domain.entities.Categoria;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
@@ -15,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 public class AtualizarCategoriaUseCase {
 
     private final CategoriaRepositoryPort categoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @SuppressWarnings("null")
     public CategoriaDTO executar(String id, AtualizarCategoriaRequest request) {
@@ -42,6 +45,7 @@ public class AtualizarCategoriaUseCase {
         }
 
         Categoria categoriaAtualizada = categoriaRepository.salvar(categoria);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("categoria atualizada"));
 
         return CategoriaDTO.de(categoriaAtualizada);
     }
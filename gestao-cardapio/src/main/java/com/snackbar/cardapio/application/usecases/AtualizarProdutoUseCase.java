@@ -2,11 +2,13 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.AtualizarProdutoRequest;
 import com.snackbar.cardapio.application.dto.ProdutoDTO;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.ProdutoRepositoryPort;
 import com.snackbar.cardapio.domain.entities.Produto;
 import com.snackbar.cardapio.domain.valueobjects.Preco;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 public class AtualizarProdutoUseCase {
 
     private final ProdutoRepositoryPort produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @SuppressWarnings("null") // repository.salvar() nunca retorna null, .orElseThrow() nunca retorna null
     public ProdutoDTO executar(String id, AtualizarProdutoRequest request) {
@@ -58,6 +61,7 @@ public class AtualizarProdutoUseCase {
         }
 
         Produto produtoAtualizado = produtoRepository.salvar(produto);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("produto atualizado"));
 
         return ProdutoDTO.de(produtoAtualizado);
     }
@@ -2,6 +2,7 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.AdicionalDTO;
 import com.snackbar.cardapio.application.ports.AdicionalRepositoryPort;
+import com.snackbar.cardapio.application.services.CatalogoCardapioCache;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,10 +12,11 @@ import org.springframework.stereotype.Service;
 public class BuscarAdicionalPorIdUseCase {
 
     private final AdicionalRepositoryPort adicionalRepository;
+    private final CatalogoCardapioCache catalogoCardapio;
 
     public AdicionalDTO executar(String id) {
-        return adicionalRepository.buscarPorId(id)
-                .map(AdicionalDTO::de)
+        return catalogoCardapio.buscarAdicional(id)
+                .or(() -> adicionalRepository.buscarPorId(id).map(AdicionalDTO::de))
                 .orElseThrow(() -> new ValidationException("Adicional não encontrado com ID: " + id));
     }
 }
@@ -2,6 +2,7 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.ProdutoDTO;
 import com.snackbar.cardapio.application.ports.ProdutoRepositoryPort;
+import com.snackbar.cardapio.application.services.CatalogoCardapioCache;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,14 +12,15 @@ import org.springframework.stereotype.Service;
 public class BuscarProdutoPorIdUseCase {
     
     private final ProdutoRepositoryPort produtoRepository;
+    private final CatalogoCardapioCache catalogoCardapio;
     
     public ProdutoDTO executar(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new ValidationException("ID do produto não pode ser nulo ou vazio");
         }
         
-        return produtoRepository.buscarPorId(id)
-            .map(ProdutoDTO::de)
+        return catalogoCardapio.buscarProduto(id)
+            .or(() -> produtoRepository.buscarPorId(id).map(ProdutoDTO::de))
             .orElseThrow(() -> new ValidationException("Produto não encontrado com ID: " + id));
     }
 }
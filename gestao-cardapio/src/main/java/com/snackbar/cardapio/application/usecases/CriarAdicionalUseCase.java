@@ -2,10 +2,12 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.CriarAdicionalRequest;
 import com.snackbar.cardapio.application.dto.AdicionalDTO;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.AdicionalRepositoryPort;
 import com.snackbar.cardapio.domain.entities.Adicional;
 import com.snackbar.cardapio.domain.valueobjects.Preco;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Service;
 public class CriarAdicionalUseCase {
 
     private final AdicionalRepositoryPort adicionalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdicionalDTO executar(CriarAdicionalRequest request) {
         Preco preco = Preco.of(request.getPreco());
@@ -25,6 +28,7 @@ public class CriarAdicionalUseCase {
 
         @SuppressWarnings("null")
         Adicional adicionalSalvo = adicionalRepository.salvar(adicional);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("adicional criado"));
 
         return AdicionalDTO.de(adicionalSalvo);
     }
@@ -2,9 +2,11 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.CategoriaDTO;
 import com.snackbar.cardapio.application.dto.CriarCategoriaRequest;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.CategoriaRepositoryPort;
 import com.snackbar.cardapio.domain.entities.Categoria;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,6 +14,7 @@ import org.springframework.stereotype.Service;
 public class CriarCategoriaUseCase {
     
     private final CategoriaRepositoryPort categoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public CategoriaDTO executar(CriarCategoriaRequest request) {
         Categoria categoria = Categoria.criar(
@@ -21,6 +24,7 @@ public class CriarCategoriaUseCase {
         
         @SuppressWarnings("null") // repository.salvar() nunca retorna null
         Categoria categoriaSalva = categoriaRepository.salvar(categoria);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("categoria criada"));
         
         return CategoriaDTO.de(categoriaSalva);
     }
@@ -2,10 +2,12 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.CriarProdutoRequest;
 import com.snackbar.cardapio.application.dto.ProdutoDTO;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.ProdutoRepositoryPort;
 import com.snackbar.cardapio.domain.entities.Produto;
 import com.snackbar.cardapio.domain.valueobjects.Preco;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,6 +15,7 @@ import org.springframework.stereotype.Service;
 public class CriarProdutoUseCase {
     
     private final ProdutoRepositoryPort produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public ProdutoDTO executar(CriarProdutoRequest request) {
         Preco preco = Preco.of(request.getPreco());
@@ -27,6 +30,7 @@ public class CriarProdutoUseCase {
         
         @SuppressWarnings("null") // repository.salvar() nunca retorna null
         Produto produtoSalvo = produtoRepository.salvar(produto);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("produto criado"));
         
         return ProdutoDTO.de(produtoSalvo);
     }
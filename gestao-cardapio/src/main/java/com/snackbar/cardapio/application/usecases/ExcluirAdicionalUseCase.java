@@ -1,8 +1,10 @@
 package com.snackbar.cardapio.application.usecases;
 
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.AdicionalRepositoryPort;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Service;
 public class ExcluirAdicionalUseCase {
 
     private final AdicionalRepositoryPort adicionalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void executar(String id) {
         if (!adicionalRepository.existePorId(id)) {
@@ -17,5 +20,6 @@ public class ExcluirAdicionalUseCase {
         }
 
         adicionalRepository.excluir(id);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("adicional excluído"));
     }
 }
@@ -1,7 +1,9 @@
 package com.snackbar.cardapio.application.usecases;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.CategoriaRepositoryPort;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 
@@ -12,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 public class ExcluirCategoriaUseCase {
 
     private final CategoriaRepositoryPort categoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void executar(String id) {
         if (id == null || id.trim().isEmpty()) {
@@ -23,5 +26,6 @@ public class ExcluirCategoriaUseCase {
         }
 
         categoriaRepository.excluir(id);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("categoria excluída"));
     }
 }
@@ -1,8 +1,10 @@
 package com.snackbar.cardapio.application.usecases;
 
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.ProdutoRepositoryPort;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Service;
 public class ExcluirProdutoUseCase {
     
     private final ProdutoRepositoryPort produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public void executar(String id) {
         if (id == null || id.trim().isEmpty()) {
@@ -21,6 +24,7 @@ public class ExcluirProdutoUseCase {
         }
         
         produtoRepository.excluir(id);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("produto excluído"));
     }
 }
 
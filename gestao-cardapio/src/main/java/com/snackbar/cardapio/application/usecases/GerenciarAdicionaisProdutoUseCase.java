@@ -1,11 +1,13 @@
 package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.AdicionalDTO;
+import com.snackbar.cardapio.application.events.CardapioAlteradoEvent;
 import com.snackbar.cardapio.application.ports.ProdutoAdicionalRepositoryPort;
 import com.snackbar.cardapio.application.ports.ProdutoRepositoryPort;
 import com.snackbar.cardapio.domain.entities.Adicional;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +18,7 @@ public class GerenciarAdicionaisProdutoUseCase {
 
     private final ProdutoRepositoryPort produtoRepository;
     private final ProdutoAdicionalRepositoryPort produtoAdicionalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Busca todos os adicionais vinculados a um produto.
@@ -43,6 +46,7 @@ public class GerenciarAdicionaisProdutoUseCase {
     public void atualizarAdicionaisDoProduto(String produtoId, List<String> adicionalIds) {
         validarProdutoExiste(produtoId);
         produtoAdicionalRepository.atualizarVinculos(produtoId, adicionalIds != null ? adicionalIds : List.of());
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("adicionais do produto atualizados"));
     }
 
     /**
@@ -51,6 +55,7 @@ public class GerenciarAdicionaisProdutoUseCase {
     public void vincularAdicional(String produtoId, String adicionalId) {
         validarProdutoExiste(produtoId);
         produtoAdicionalRepository.vincular(produtoId, adicionalId);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("adicional vinculado ao produto"));
     }
 
     /**
@@ -59,6 +64,7 @@ public class GerenciarAdicionaisProdutoUseCase {
     public void desvincularAdicional(String produtoId, String adicionalId) {
         validarProdutoExiste(produtoId);
         produtoAdicionalRepository.desvincular(produtoId, adicionalId);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent("adicional desvinculado do produto"));
     }
 
     private void validarProdutoExiste(String produtoId) {
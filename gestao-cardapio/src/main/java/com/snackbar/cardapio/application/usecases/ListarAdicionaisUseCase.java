@@ -2,6 +2,7 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.AdicionalDTO;
 import com.snackbar.cardapio.application.ports.AdicionalRepositoryPort;
+import com.snackbar.cardapio.application.services.CatalogoCardapioCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,14 +13,11 @@ import java.util.List;
 public class ListarAdicionaisUseCase {
 
     private final AdicionalRepositoryPort adicionalRepository;
+    private final CatalogoCardapioCache catalogoCardapio;
 
     public List<AdicionalDTO> executar(boolean apenasDisponiveis) {
-        var adicionais = apenasDisponiveis
-                ? adicionalRepository.buscarDisponiveis()
-                : adicionalRepository.buscarTodos();
-
-        return adicionais.stream()
-                .map(AdicionalDTO::de)
+        return catalogoCardapio.obter().adicionais().stream()
+                .filter(adicional -> !apenasDisponiveis || adicional.isDisponivel())
                 .toList();
     }
 
@@ -1,7 +1,7 @@
 package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.CategoriaDTO;
-import com.snackbar.cardapio.application.ports.CategoriaRepositoryPort;
+import com.snackbar.cardapio.application.services.CatalogoCardapioCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,18 +11,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ListarCategoriasUseCase {
     
-    private final CategoriaRepositoryPort categoriaRepository;
+    private final CatalogoCardapioCache catalogoCardapio;
     
     public List<CategoriaDTO> executar() {
-        return categoriaRepository.buscarTodas().stream()
-            .map(CategoriaDTO::de)
-            .toList();
+        return catalogoCardapio.obter().categorias();
     }
     
     public List<CategoriaDTO> executarAtivas() {
-        return categoriaRepository.buscarAtivas().stream()
-            .map(CategoriaDTO::de)
-            .toList();
+        return catalogoCardapio.obter().categoriasAtivas();
     }
 }
 
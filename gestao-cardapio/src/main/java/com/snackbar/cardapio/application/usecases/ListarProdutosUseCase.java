@@ -2,6 +2,7 @@ package com.snackbar.cardapio.application.usecases;
 
 import com.snackbar.cardapio.application.dto.ProdutoDTO;
 import com.snackbar.cardapio.application.ports.ProdutoRepositoryPort;
+import com.snackbar.cardapio.application.services.CatalogoCardapioCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,11 +13,10 @@ import java.util.List;
 public class ListarProdutosUseCase {
     
     private final ProdutoRepositoryPort produtoRepository;
+    private final CatalogoCardapioCache catalogoCardapio;
     
     public List<ProdutoDTO> executar() {
-        return produtoRepository.buscarTodos().stream()
-            .map(ProdutoDTO::de)
-            .toList();
+        return catalogoCardapio.obter().produtos();
     }
     
     public List<ProdutoDTO> executarPorCategoria(String categoria) {
@@ -26,9 +26,7 @@ public class ListarProdutosUseCase {
     }
     
     public List<ProdutoDTO> executarDisponiveis() {
-        return produtoRepository.buscarDisponiveis().stream()
-            .map(ProdutoDTO::de)
-            .toList();
+        return catalogoCardapio.obter().produtosDisponiveis();
     }
 }
 
@@ -0,0 +1,31 @@
+package com.snackbar.cardapio.infrastructure.persistence;
+
+import com.snackbar.cardapio.application.ports.VersaoCardapioPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adapter do contador de versão do cardápio (tabela {@code versao_cardapio}, linha única).
+ */
+@Component
+public class VersaoCardapioRepositoryAdapter implements VersaoCardapioPort {
+
+    private static final int ID = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VersaoCardapioRepositoryAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long buscarVersao() {
+        Long versao = jdbcTemplate.queryForObject("SELECT versao FROM versao_cardapio WHERE id = ?", Long.class, ID);
+        return versao != null ? versao : 0;
+    }
+
+    @Override
+    public void incrementar() {
+        jdbcTemplate.update("UPDATE versao_cardapio SET versao = versao + 1, updated_at = CURRENT_TIMESTAMP WHERE id = ?", ID);
+    }
+}
@@ -13,6 +13,10 @@ public interface ClienteRepositoryPort {
 
     List<Cliente> buscarTodos();
 
+    List<Cliente> buscarPorIds(List<String> ids);
+
+    List<ClienteResumo> buscarResumos();
+
     List<Cliente> buscarPorTelefone(String telefone);
 
     List<Cliente> buscarPorNome(String nome);
@@ -0,0 +1,10 @@
+package com.snackbar.clientes.application.ports;
+
+/**
+ * Campos do cliente usados pelo índice de busca (nome e telefone), sem carregar a entidade inteira
+ */
+public record ClienteResumo(
+        String id,
+        String nome,
+        String telefone) {
+}
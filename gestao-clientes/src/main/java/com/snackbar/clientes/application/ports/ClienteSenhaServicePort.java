@@ -11,4 +11,9 @@ public interface ClienteSenhaServicePort {
      * Verifica se a senha corresponde ao hash
      */
     boolean verificarSenha(String senhaPlana, String hash);
+
+    /**
+     * Indica se o hash foi gerado com custo menor que o configurado e deve ser refeito
+     */
+    boolean precisaAtualizarHash(String hash);
 }
@@ -0,0 +1,515 @@
+package com.snackbar.clientes.application.services;
+
+import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
+import com.snackbar.clientes.application.ports.ClienteResumo;
+import com.snackbar.clientes.domain.entities.Cliente;
+import com.snackbar.kernel.domain.valueobjects.PhoneNumber;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória para a busca de clientes no balcão (autocomplete a cada tecla).
+ *
+ * Nome: sem acentos e em minúsculas. Cada palavra entra em um mapa ordenado, para busca por
+ * prefixo de palavra ("jo si" encontra "João da Silva"), e o nome inteiro é quebrado em
+ * trigramas, para achar trechos no meio do nome ("ilv" encontra "Silva").
+ * Telefone: só os dígitos ({@link PhoneNumber#normalize}), em um mapa ordenado pelo número
+ * (prefixo) e outro pelo número invertido (sufixo, ex.: os últimos 4 dígitos).
+ *
+ * O índice é montado a partir do banco quando a aplicação sobe e reconstruído periodicamente,
+ * para pegar alterações feitas por outros caminhos ou outras instâncias; o cadastro e a troca
+ * de telefone atualizam o índice na hora. Enquanto a primeira carga não termina, quem busca
+ * deve usar o banco ({@link #carregado()}).
+ */
+@Service
+@Slf4j
+public class IndiceBuscaClientes {
+
+    public record Resultado(List<String> ids, long total) {
+    }
+
+    public record Estatisticas(
+            boolean carregado,
+            int clientes,
+            int palavras,
+            int trigramas,
+            long buscas,
+            long recargas,
+            long falhasRecarga,
+            long duracaoUltimaRecargaMs) {
+    }
+
+    private static final int TAMANHO_TRIGRAMA = 3;
+    private static final Pattern SEPARADOR_PALAVRAS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_ACENTO = Pattern.compile("\\p{M}+");
+    private static final Pattern TEM_LETRA = Pattern.compile("\\p{L}");
+
+    // Classificação dos resultados: menor aparece primeiro
+    private static final int NOME_COMECA_COM_TERMO = 0;
+    private static final int PALAVRAS_COMECAM_COM_TERMOS = 1;
+    private static final int NOME_CONTEM_TERMO = 2;
+    private static final int TELEFONE_IGUAL = 0;
+    private static final int TELEFONE_TERMINA_COM = 1;
+    private static final int TELEFONE_COMECA_COM = 2;
+
+    private final ClienteRepositoryPort clienteRepository;
+    private final long intervaloRecargaMs;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegidos pelo lock
+    private Indice indice = new Indice();
+    // Alterações feitas durante uma reconstrução, reaplicadas no índice novo antes da troca
+    private List<ClienteResumo> alteracoesDuranteRecarga;
+
+    private volatile boolean carregado;
+    private volatile long duracaoUltimaRecargaMs;
+    private volatile Thread thread;
+
+    private final LongAdder buscas = new LongAdder();
+    private final LongAdder recargas = new LongAdder();
+    private final LongAdder falhasRecarga = new LongAdder();
+
+    public IndiceBuscaClientes(
+            ClienteRepositoryPort clienteRepository,
+            @Value("${clientes.busca.recarga-minutos:10}") long recargaMinutos) {
+        this.clienteRepository = clienteRepository;
+        this.intervaloRecargaMs = TimeUnit.MINUTES.toMillis(Math.max(1, recargaMinutos));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        thread = Thread.ofVirtual().name("indice-busca-clientes").start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    recarregar();
+                    Thread.sleep(intervaloRecargaMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        Thread atual = thread;
+        if (atual != null) {
+            atual.interrupt();
+        }
+    }
+
+    public boolean carregado() {
+        return carregado;
+    }
+
+    /**
+     * Inclui ou atualiza o cliente no índice (cadastro, troca de nome ou telefone).
+     */
+    public void atualizar(Cliente cliente) {
+        ClienteResumo resumo = new ClienteResumo(cliente.getId(), cliente.getNome(), cliente.getTelefone());
+        lock.writeLock().lock();
+        try {
+            indice.colocar(resumo);
+            if (alteracoesDuranteRecarga != null) {
+                alteracoesDuranteRecarga.add(resumo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca por nome (prefixo de palavra ou trecho, sem diferenciar acentos) ou, se o termo não
+     * tiver letras, por telefone (número igual, final ou início). Termo vazio lista todos em
+     * ordem alfabética.
+     *
+     * @return ids da página pedida, na ordem de relevância, e o total de clientes encontrados
+     */
+    public Resultado buscar(String termo, int pagina, int tamanho) {
+        buscas.increment();
+        String termoNormalizado = normalizar(termo);
+        lock.readLock().lock();
+        try {
+            if (termoNormalizado.isEmpty()) {
+                return indice.listarEmOrdem(pagina, tamanho);
+            }
+            String digitos = PhoneNumber.normalize(termo);
+            if (!digitos.isEmpty() && !TEM_LETRA.matcher(termoNormalizado).find()) {
+                return indice.paginar(indice.buscarTelefone(digitos), pagina, tamanho);
+            }
+            return indice.paginar(indice.buscarNome(termoNormalizado), pagina, tamanho);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        lock.readLock().lock();
+        try {
+            return new Estatisticas(
+                    carregado,
+                    indice.slotPorId.size(),
+                    indice.porPalavra.size(),
+                    indice.porTrigrama.size(),
+                    buscas.sum(),
+                    recargas.sum(),
+                    falhasRecarga.sum(),
+                    duracaoUltimaRecargaMs);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco. A montagem é feita fora do lock; só a troca
+     * bloqueia as buscas.
+     */
+    void recarregar() {
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            alteracoesDuranteRecarga = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Indice novo = null;
+        try {
+            novo = new Indice();
+            for (ClienteResumo resumo : clienteRepository.buscarResumos()) {
+                novo.colocar(resumo);
+            }
+        } catch (RuntimeException e) {
+            falhasRecarga.increment();
+            novo = null;
+            log.warn("Falha ao carregar o índice de busca de clientes: {}", e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (novo != null) {
+                    alteracoesDuranteRecarga.forEach(novo::colocar);
+                    indice = novo;
+                    carregado = true;
+                }
+                alteracoesDuranteRecarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        if (novo != null) {
+            recargas.increment();
+            duracaoUltimaRecargaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            log.debug("Índice de busca de clientes carregado: {} clientes em {} ms",
+                    novo.slotPorId.size(), duracaoUltimaRecargaMs);
+        }
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_ACENTO.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADOR_PALAVRAS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private record Entrada(String id, String nome, String digitos) {
+    }
+
+    /**
+     * Estruturas do índice. Cada cliente ocupa um slot (posição em {@link #slots}); as listas de
+     * ocorrências guardam slots em ordem crescente. Ao atualizar um cliente, o slot antigo vira
+     * null e um novo é criado; as ocorrências do slot antigo ficam para trás até a próxima
+     * reconstrução e são ignoradas nas buscas.
+     */
+    private static final class Indice {
+
+        private final List<Entrada> slots = new ArrayList<>();
+        private final Map<String, Integer> slotPorId = new HashMap<>();
+        private final TreeMap<String, Integer> porNome = new TreeMap<>();
+        private final TreeMap<String, ListaSlots> porPalavra = new TreeMap<>();
+        private final Map<String, ListaSlots> porTrigrama = new HashMap<>();
+        private final TreeMap<String, ListaSlots> porTelefone = new TreeMap<>();
+        private final TreeMap<String, ListaSlots> porTelefoneInvertido = new TreeMap<>();
+
+        void colocar(ClienteResumo resumo) {
+            Integer anterior = slotPorId.remove(resumo.id());
+            if (anterior != null) {
+                Entrada antiga = slots.set(anterior, null);
+                porNome.remove(chaveOrdem(antiga));
+            }
+
+            Entrada entrada = new Entrada(resumo.id(), normalizar(resumo.nome()), PhoneNumber.normalize(resumo.telefone()));
+            int slot = slots.size();
+            slots.add(entrada);
+            slotPorId.put(entrada.id(), slot);
+            porNome.put(chaveOrdem(entrada), slot);
+
+            for (String palavra : entrada.nome().split(" ")) {
+                if (!palavra.isEmpty()) {
+                    adicionar(porPalavra, palavra, slot);
+                }
+            }
+            String nome = entrada.nome();
+            for (int i = 0; i + TAMANHO_TRIGRAMA <= nome.length(); i++) {
+                adicionar(porTrigrama, nome.substring(i, i + TAMANHO_TRIGRAMA), slot);
+            }
+            if (!entrada.digitos().isEmpty()) {
+                adicionar(porTelefone, entrada.digitos(), slot);
+                adicionar(porTelefoneInvertido, inverter(entrada.digitos()), slot);
+            }
+        }
+
+        Resultado listarEmOrdem(int pagina, int tamanho) {
+            long inicio = (long) pagina * tamanho;
+            List<String> ids = porNome.values().stream()
+                    .skip(inicio)
+                    .limit(tamanho)
+                    .map(slot -> slots.get(slot).id())
+                    .toList();
+            return new Resultado(ids, porNome.size());
+        }
+
+        Encontrados buscarTelefone(String digitos) {
+            Encontrados encontrados = new Encontrados(slots.size());
+            for (ListaSlots lista : comPrefixo(porTelefoneInvertido, inverter(digitos)).values()) {
+                lista.paraCada(slot -> classificarTelefone(encontrados, slot, digitos, TELEFONE_TERMINA_COM));
+            }
+            for (ListaSlots lista : comPrefixo(porTelefone, digitos).values()) {
+                lista.paraCada(slot -> classificarTelefone(encontrados, slot, digitos, TELEFONE_COMECA_COM));
+            }
+            return encontrados;
+        }
+
+        Encontrados buscarNome(String termo) {
+            String[] termos = termo.split(" ");
+            Encontrados encontrados = new Encontrados(slots.size());
+
+            // Candidatos pelo termo com menos ocorrências; os demais termos são conferidos depois
+            NavigableMap<String, ListaSlots> maisSeletivo = null;
+            int menorTotal = Integer.MAX_VALUE;
+            for (String t : termos) {
+                NavigableMap<String, ListaSlots> faixa = comPrefixo(porPalavra, t);
+                int total = 0;
+                for (ListaSlots lista : faixa.values()) {
+                    total += lista.tamanho();
+                }
+                if (total < menorTotal) {
+                    menorTotal = total;
+                    maisSeletivo = faixa;
+                }
+            }
+            if (maisSeletivo != null) {
+                for (ListaSlots lista : maisSeletivo.values()) {
+                    lista.paraCada(slot -> classificarNome(encontrados, slot, termo, termos));
+                }
+            }
+
+            // Trechos no meio do nome: slots presentes em todos os trigramas do termo
+            if (termo.length() >= TAMANHO_TRIGRAMA) {
+                ListaSlots[] listas = new ListaSlots[termo.length() - TAMANHO_TRIGRAMA + 1];
+                for (int i = 0; i < listas.length; i++) {
+                    listas[i] = porTrigrama.get(termo.substring(i, i + TAMANHO_TRIGRAMA));
+                    if (listas[i] == null) {
+                        return encontrados;
+                    }
+                }
+                Arrays.sort(listas, Comparator.comparingInt(ListaSlots::tamanho));
+                listas[0].paraCada(slot -> {
+                    for (int i = 1; i < listas.length; i++) {
+                        if (!listas[i].contem(slot)) {
+                            return;
+                        }
+                    }
+                    classificarNome(encontrados, slot, termo, termos);
+                });
+            }
+            return encontrados;
+        }
+
+        /**
+         * Ordena por classificação, nome e id e devolve a página. Guarda só os melhores até o
+         * fim da página em um heap, em vez de ordenar tudo o que foi encontrado.
+         */
+        Resultado paginar(Encontrados encontrados, int pagina, int tamanho) {
+            long inicio = (long) pagina * tamanho;
+            int limite = (int) Math.min(inicio + tamanho, encontrados.tamanho);
+            if (limite <= inicio) {
+                return new Resultado(List.of(), encontrados.tamanho);
+            }
+
+            Comparator<Integer> ordem = Comparator.<Integer>comparingInt(i -> encontrados.classes[i])
+                    .thenComparing(i -> slots.get(encontrados.slots[i]).nome())
+                    .thenComparing(i -> slots.get(encontrados.slots[i]).id());
+            PriorityQueue<Integer> melhores = new PriorityQueue<>(limite, ordem.reversed());
+            for (int i = 0; i < encontrados.tamanho; i++) {
+                if (melhores.size() < limite) {
+                    melhores.add(i);
+                } else if (ordem.compare(i, melhores.peek()) < 0) {
+                    melhores.poll();
+                    melhores.add(i);
+                }
+            }
+
+            List<Integer> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(ordem);
+            List<String> ids = ordenados.subList((int) inicio, ordenados.size()).stream()
+                    .map(i -> slots.get(encontrados.slots[i]).id())
+                    .toList();
+            return new Resultado(ids, encontrados.tamanho);
+        }
+
+        private void classificarTelefone(Encontrados encontrados, int slot, String digitos, int classe) {
+            Entrada entrada = slots.get(slot);
+            if (entrada == null || !encontrados.marcar(slot)) {
+                return;
+            }
+            encontrados.adicionar(slot, entrada.digitos().equals(digitos) ? TELEFONE_IGUAL : classe);
+        }
+
+        private void classificarNome(Encontrados encontrados, int slot, String termo, String[] termos) {
+            Entrada entrada = slots.get(slot);
+            if (entrada == null || !encontrados.marcar(slot)) {
+                return;
+            }
+            String nome = entrada.nome();
+            if (nome.startsWith(termo)) {
+                encontrados.adicionar(slot, NOME_COMECA_COM_TERMO);
+            } else if (palavrasComecamCom(nome, termos)) {
+                encontrados.adicionar(slot, PALAVRAS_COMECAM_COM_TERMOS);
+            } else if (nome.contains(termo)) {
+                encontrados.adicionar(slot, NOME_CONTEM_TERMO);
+            }
+        }
+
+        private static boolean palavrasComecamCom(String nome, String[] termos) {
+            for (String termo : termos) {
+                if (!algumaPalavraComecaCom(nome, termo)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean algumaPalavraComecaCom(String nome, String termo) {
+            int inicioPalavra = 0;
+            while (inicioPalavra >= 0) {
+                if (nome.startsWith(termo, inicioPalavra)) {
+                    return true;
+                }
+                int espaco = nome.indexOf(' ', inicioPalavra);
+                inicioPalavra = espaco < 0 ? -1 : espaco + 1;
+            }
+            return false;
+        }
+
+        private static String chaveOrdem(Entrada entrada) {
+            return entrada.nome() + '\0' + entrada.id();
+        }
+
+        private static <K> void adicionar(Map<K, ListaSlots> mapa, K chave, int slot) {
+            mapa.computeIfAbsent(chave, k -> new ListaSlots()).adicionar(slot);
+        }
+
+        private static NavigableMap<String, ListaSlots> comPrefixo(TreeMap<String, ListaSlots> mapa, String prefixo) {
+            return mapa.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+        }
+
+        private static String inverter(String texto) {
+            return new StringBuilder(texto).reverse().toString();
+        }
+    }
+
+    /**
+     * Clientes encontrados em uma busca, com a classificação de cada um. O BitSet evita
+     * conferir duas vezes o mesmo slot (ex.: achado pela palavra e pelo trigrama).
+     */
+    private static final class Encontrados {
+
+        private final BitSet conferidos;
+        private int[] slots = new int[16];
+        private byte[] classes = new byte[16];
+        private int tamanho;
+
+        Encontrados(int totalSlots) {
+            this.conferidos = new BitSet(totalSlots);
+        }
+
+        /**
+         * @return false se o slot já foi conferido nesta busca
+         */
+        boolean marcar(int slot) {
+            if (conferidos.get(slot)) {
+                return false;
+            }
+            conferidos.set(slot);
+            return true;
+        }
+
+        void adicionar(int slot, int classe) {
+            if (tamanho == slots.length) {
+                slots = Arrays.copyOf(slots, tamanho * 2);
+                classes = Arrays.copyOf(classes, tamanho * 2);
+            }
+            slots[tamanho] = slot;
+            classes[tamanho++] = (byte) classe;
+        }
+    }
+
+    /**
+     * Lista crescente de slots em um int[], bem mais leve que um Set&lt;Integer&gt; com 100 mil clientes.
+     */
+    private static final class ListaSlots {
+
+        private int[] slots = new int[2];
+        private int tamanho;
+
+        void adicionar(int slot) {
+            // Slots só crescem; a mesma palavra duas vezes no nome não repete o slot
+            if (tamanho > 0 && slots[tamanho - 1] == slot) {
+                return;
+            }
+            if (tamanho == slots.length) {
+                slots = Arrays.copyOf(slots, tamanho * 2);
+            }
+            slots[tamanho++] = slot;
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        boolean contem(int slot) {
+            return Arrays.binarySearch(slots, 0, tamanho, slot) >= 0;
+        }
+
+        void paraCada(IntConsumer acao) {
+            for (int i = 0; i < tamanho; i++) {
+                acao.accept(slots[i]);
+            }
+        }
+    }
+}
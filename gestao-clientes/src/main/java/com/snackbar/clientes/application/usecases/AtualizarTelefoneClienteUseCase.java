@@ -3,6 +3,7 @@ package com.snackbar.clientes.application.usecases;
 import com.snackbar.clientes.application.dto.AtualizarTelefoneRequest;
 import com.snackbar.clientes.application.dto.ClienteDTO;
 import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
+import com.snackbar.clientes.application.services.IndiceBuscaClientes;
 import com.snackbar.clientes.domain.entities.Cliente;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 public class AtualizarTelefoneClienteUseCase {
 
     private final ClienteRepositoryPort clienteRepository;
+    private final IndiceBuscaClientes indiceBusca;
 
     public ClienteDTO executar(String clienteId, AtualizarTelefoneRequest request) {
         Cliente cliente = clienteRepository.buscarPorId(clienteId)
@@ -19,6 +21,7 @@ public class AtualizarTelefoneClienteUseCase {
 
         cliente.atualizarTelefone(request.getTelefone());
         clienteRepository.salvar(cliente);
+        indiceBusca.atualizar(cliente);
 
         return ClienteDTO.de(cliente);
     }
@@ -7,6 +7,7 @@ import com.snackbar.clientes.application.ports.ClienteJwtServicePort;
 import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
 import com.snackbar.clientes.application.ports.GoogleAuthServicePort;
 import com.snackbar.clientes.application.ports.GoogleUserInfo;
+import com.snackbar.clientes.application.services.IndiceBuscaClientes;
 import com.snackbar.clientes.domain.entities.Cliente;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ public class AutenticarClienteGoogleUseCase {
     private final ClienteRepositoryPort clienteRepository;
     private final GoogleAuthServicePort googleAuthService;
     private final ClienteJwtServicePort jwtService;
+    private final IndiceBuscaClientes indiceBusca;
 
     public ClienteLoginResponse executar(ClienteGoogleLoginRequest request) {
         // Validar token do Google e obter dados
@@ -53,6 +55,7 @@ public class AutenticarClienteGoogleUseCase {
                         googleUser.googleId(),
                         googleUser.fotoUrl());
                 clienteRepository.salvar(cliente);
+                indiceBusca.atualizar(cliente);
             }
         }
 
@@ -7,6 +7,7 @@ import com.snackbar.clientes.application.ports.ClienteJwtServicePort;
 import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
 import com.snackbar.clientes.application.ports.ClienteSenhaServicePort;
 import com.snackbar.clientes.domain.entities.Cliente;
+import com.snackbar.kernel.security.SobrecargaHashSenhaException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -36,6 +37,16 @@ public class AutenticarClienteUseCase {
             throw new IllegalArgumentException("Credenciais inválidas");
         }
 
+        // Refaz o hash com o custo atual, se necessário; é salvo junto com o acesso.
+        // Se o pool de hash estiver cheio, fica para o próximo login
+        if (senhaService.precisaAtualizarHash(cliente.getSenhaHash())) {
+            try {
+                cliente.definirSenha(senhaService.hashSenha(request.getSenha()));
+            } catch (SobrecargaHashSenhaException e) {
+                // Login segue com o hash atual
+            }
+        }
+
         // Registrar acesso
         cliente.registrarAcesso();
         clienteRepository.salvar(cliente);
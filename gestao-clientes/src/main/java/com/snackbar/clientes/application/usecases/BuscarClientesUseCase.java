@@ -0,0 +1,71 @@
+package com.snackbar.clientes.application.usecases;
+
+import com.snackbar.clientes.application.dto.ClienteDTO;
+import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
+import com.snackbar.clientes.application.services.IndiceBuscaClientes;
+import com.snackbar.clientes.domain.entities.Cliente;
+import com.snackbar.kernel.domain.valueobjects.PhoneNumber;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Use case para a busca paginada de clientes por nome ou telefone (autocomplete do balcão).
+ * Usa o índice em memória; só consulta o banco para carregar os clientes da página.
+ */
+@Service
+@RequiredArgsConstructor
+public class BuscarClientesUseCase {
+
+    private final IndiceBuscaClientes indice;
+    private final ClienteRepositoryPort clienteRepository;
+
+    public Page<ClienteDTO> executar(String termo, Pageable pageable) {
+        if (!indice.carregado()) {
+            return buscarNoBanco(termo, pageable);
+        }
+
+        IndiceBuscaClientes.Resultado resultado = indice.buscar(termo, pageable.getPageNumber(), pageable.getPageSize());
+        Map<String, Cliente> porId = clienteRepository.buscarPorIds(resultado.ids()).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+
+        // Mantém a ordem de relevância do índice
+        List<ClienteDTO> clientes = resultado.ids().stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(ClienteDTO::de)
+                .toList();
+        return new PageImpl<>(clientes, pageable, resultado.total());
+    }
+
+    /**
+     * Enquanto o índice não terminou a primeira carga (logo após subir a aplicação).
+     */
+    private Page<ClienteDTO> buscarNoBanco(String termo, Pageable pageable) {
+        List<Cliente> encontrados;
+        if (termo == null || termo.isBlank()) {
+            encontrados = clienteRepository.buscarTodos();
+        } else if (termo.chars().noneMatch(Character::isLetter) && !PhoneNumber.normalize(termo).isEmpty()) {
+            encontrados = clienteRepository.buscarPorTelefone(PhoneNumber.normalize(termo));
+        } else {
+            encontrados = clienteRepository.buscarPorNome(termo.trim());
+        }
+
+        List<ClienteDTO> pagina = encontrados.stream()
+                .sorted(Comparator.comparing(Cliente::getNome, String.CASE_INSENSITIVE_ORDER))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(ClienteDTO::de)
+                .toList();
+        return new PageImpl<>(pagina, pageable, encontrados.size());
+    }
+}
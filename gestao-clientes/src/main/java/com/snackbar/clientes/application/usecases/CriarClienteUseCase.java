@@ -3,6 +3,7 @@ package com.snackbar.clientes.application.usecases;
 import com.snackbar.clientes.application.dto.CriarClienteRequest;
 import com.snackbar.clientes.application.dto.ClienteDTO;
 import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
+import com.snackbar.clientes.application.services.IndiceBuscaClientes;
 import com.snackbar.clientes.domain.entities.Cliente;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 public class CriarClienteUseCase {
     
     private final ClienteRepositoryPort clienteRepository;
+    private final IndiceBuscaClientes indiceBusca;
     
     public ClienteDTO executar(CriarClienteRequest request) {
         Cliente cliente = Cliente.criar(
@@ -24,6 +26,7 @@ public class CriarClienteUseCase {
         
         @SuppressWarnings("null") // repository.salvar() nunca retorna null
         Cliente clienteSalvo = clienteRepository.salvar(cliente);
+        indiceBusca.atualizar(clienteSalvo);
         
         return ClienteDTO.de(clienteSalvo);
     }
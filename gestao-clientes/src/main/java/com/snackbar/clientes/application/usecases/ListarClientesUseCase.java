@@ -3,6 +3,7 @@ package com.snackbar.clientes.application.usecases;
 import com.snackbar.clientes.application.dto.ClienteDTO;
 import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,7 +12,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ListarClientesUseCase {
 
+    // Filtros por telefone/nome devolvem os mais relevantes, não todos os que combinam
+    private static final int LIMITE_FILTRO = 100;
+
     private final ClienteRepositoryPort clienteRepository;
+    private final BuscarClientesUseCase buscarClientesUseCase;
 
     public List<ClienteDTO> executar() {
         return clienteRepository.buscarTodos().stream()
@@ -20,14 +25,10 @@ public class ListarClientesUseCase {
     }
 
     public List<ClienteDTO> executarPorTelefone(String telefone) {
-        return clienteRepository.buscarPorTelefone(telefone).stream()
-                .map(ClienteDTO::de)
-                .toList();
+        return buscarClientesUseCase.executar(telefone, PageRequest.of(0, LIMITE_FILTRO)).getContent();
     }
 
     public List<ClienteDTO> executarPorNome(String nome) {
-        return clienteRepository.buscarPorNome(nome).stream()
-                .map(ClienteDTO::de)
-                .toList();
+        return buscarClientesUseCase.executar(nome, PageRequest.of(0, LIMITE_FILTRO)).getContent();
     }
 }
@@ -0,0 +1,558 @@
+package com.snackbar.clientes.infrastructure.imagem;
+
+import com.snackbar.kernel.infrastructure.cache.CacheLru;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Cache das fotos de perfil do Google servidas pelo proxy de imagens, em dois níveis:
+ * um LRU pequeno em memória para as fotos mais acessadas e um diretório em disco com
+ * tamanho máximo (LRU pelo último acesso), que sobrevive a reinícios.
+ *
+ * A chave é o SHA-256 da URL. A validade vem do Cache-Control da resposta do Google; depois
+ * dela a foto é revalidada com requisição condicional (If-None-Match / If-Modified-Since),
+ * e um 304 só renova a validade. Se o Google falhar (ex.: 429) e houver cópia, a cópia vencida
+ * é servida. Buscas simultâneas da mesma foto viram uma só requisição ao Google.
+ *
+ * Cada foto recebe um ETag forte (hash do conteúdo) para o navegador revalidar com o proxy.
+ * Os arquivos são gravados em um temporário e movidos no lugar, e os removidos só são apagados
+ * depois de um intervalo, para não sumir no meio de um envio.
+ */
+@Component
+@Slf4j
+public class CacheAvatares {
+
+    /**
+     * Foto pronta para envio: em memória ({@code bytes}) ou em disco ({@code arquivo}).
+     */
+    public record Avatar(String contentType, String etag, long tamanho, byte[] bytes, Path arquivo) {
+        public boolean emMemoria() {
+            return bytes != null;
+        }
+    }
+
+    public record Estatisticas(
+            CacheLru.Estatisticas memoria,
+            int arquivos,
+            long bytesDisco,
+            long bytesMaximoDisco,
+            long acertosDisco,
+            long buscasOrigem,
+            long revalidacoes,
+            long naoModificados,
+            long falhasOrigem,
+            long servidosVencidos,
+            long remocoesDisco) {
+    }
+
+    private record Metadados(
+            String chave,
+            String arquivo,
+            String contentType,
+            String etag,
+            long tamanho,
+            long validoAteMs,
+            String etagOrigem,
+            String ultimaModificacaoOrigem) {
+
+        boolean valido(long agoraMs) {
+            return agoraMs < validoAteMs;
+        }
+
+        Metadados renovado(long validoAteMs) {
+            return new Metadados(chave, arquivo, contentType, etag, tamanho, validoAteMs, etagOrigem,
+                    ultimaModificacaoOrigem);
+        }
+    }
+
+    private static final String EXTENSAO_DADOS = ".img";
+    private static final String EXTENSAO_METADADOS = ".properties";
+    private static final Duration VALIDADE_PADRAO = Duration.ofHours(1);
+    private static final Duration VALIDADE_MAXIMA = Duration.ofDays(7);
+    private static final Duration ATRASO_EXCLUSAO = Duration.ofSeconds(30);
+    private static final long TAMANHO_MAXIMO_IMAGEM = 5L * 1024 * 1024;
+
+    private final RestTemplate restTemplate;
+    private final Path diretorio;
+    private final long bytesMaximoDisco;
+    private final int tamanhoMaximoItemMemoria;
+    private final CacheLru<String, byte[]> memoria;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Ordem de acesso: o primeiro é o menos usado recentemente. Protegidos pelo lock
+    private final LinkedHashMap<String, Metadados> indiceDisco = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytesDisco;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<Metadados>>> buscasEmAndamento =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder acertosDisco = new LongAdder();
+    private final LongAdder buscasOrigem = new LongAdder();
+    private final LongAdder revalidacoes = new LongAdder();
+    private final LongAdder naoModificados = new LongAdder();
+    private final LongAdder falhasOrigem = new LongAdder();
+    private final LongAdder servidosVencidos = new LongAdder();
+    private final LongAdder remocoesDisco = new LongAdder();
+
+    public CacheAvatares(
+            RestTemplate restTemplate,
+            @Value("${clientes.avatar-cache.diretorio:${java.io.tmpdir}/snackbar-avatares}") String diretorio,
+            @Value("${clientes.avatar-cache.tamanho-maximo-disco-mb:100}") long tamanhoMaximoDiscoMb,
+            @Value("${clientes.avatar-cache.itens-memoria:256}") int itensMemoria,
+            @Value("${clientes.avatar-cache.tamanho-maximo-item-memoria-kb:64}") int tamanhoMaximoItemMemoriaKb) {
+        this.restTemplate = restTemplate;
+        this.diretorio = Paths.get(diretorio).toAbsolutePath();
+        this.bytesMaximoDisco = tamanhoMaximoDiscoMb * 1024 * 1024;
+        this.tamanhoMaximoItemMemoria = tamanhoMaximoItemMemoriaKb * 1024;
+        this.memoria = new CacheLru<>(itensMemoria, VALIDADE_MAXIMA);
+    }
+
+    /**
+     * Recarrega o índice a partir dos arquivos já gravados e apaga o que estiver incompleto.
+     */
+    @PostConstruct
+    void carregarDoDisco() {
+        try {
+            Files.createDirectories(diretorio);
+            List<Metadados> encontrados = new ArrayList<>();
+            try (Stream<Path> arquivos = Files.list(diretorio)) {
+                for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                    String nome = arquivo.getFileName().toString();
+                    if (nome.endsWith(EXTENSAO_METADADOS)) {
+                        lerMetadados(arquivo).ifPresent(encontrados::add);
+                    }
+                }
+            }
+
+            // Mais antigos primeiro, para a ordem LRU do índice seguir o último acesso
+            encontrados.sort(Comparator.comparingLong(m -> ultimaModificacao(diretorio.resolve(m.arquivo()))));
+            lock.lock();
+            try {
+                for (Metadados metadados : encontrados) {
+                    indiceDisco.put(metadados.chave(), metadados);
+                    bytesDisco += metadados.tamanho();
+                }
+            } finally {
+                lock.unlock();
+            }
+            removerOrfaos();
+            liberarEspaco();
+            Estatisticas estatisticas = estatisticas();
+            log.info("Cache de avatares em {}: {} fotos, {} KB", diretorio, estatisticas.arquivos(),
+                    estatisticas.bytesDisco() / 1024);
+        } catch (IOException e) {
+            log.warn("Não foi possível carregar o cache de avatares em {}: {}", diretorio, e.getMessage());
+        }
+    }
+
+    /**
+     * Foto da URL, do cache quando válida ou buscada/revalidada no Google.
+     *
+     * @return vazio se o Google responder 404
+     * @throws RestClientException se o Google falhar e não houver cópia em cache
+     */
+    public Optional<Avatar> obter(String url) {
+        String chave = hash(url.getBytes(StandardCharsets.UTF_8));
+        Metadados metadados = consultarIndice(chave);
+        if (metadados != null && metadados.valido(System.currentTimeMillis())) {
+            return Optional.of(paraAvatar(metadados));
+        }
+
+        CompletableFuture<Optional<Metadados>> nova = new CompletableFuture<>();
+        CompletableFuture<Optional<Metadados>> emAndamento = buscasEmAndamento.putIfAbsent(chave, nova);
+        if (emAndamento != null) {
+            return emAndamento.join().map(this::paraAvatar);
+        }
+        try {
+            Optional<Metadados> resultado = buscarNaOrigem(chave, url, metadados);
+            nova.complete(resultado);
+            return resultado.map(this::paraAvatar);
+        } catch (RuntimeException e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            buscasEmAndamento.remove(chave, nova);
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        lock.lock();
+        try {
+            return new Estatisticas(
+                    memoria.estatisticas(),
+                    indiceDisco.size(),
+                    bytesDisco,
+                    bytesMaximoDisco,
+                    acertosDisco.sum(),
+                    buscasOrigem.sum(),
+                    revalidacoes.sum(),
+                    naoModificados.sum(),
+                    falhasOrigem.sum(),
+                    servidosVencidos.sum(),
+                    remocoesDisco.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<Metadados> buscarNaOrigem(String chave, String url, Metadados anterior) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        if (anterior != null) {
+            revalidacoes.increment();
+            if (anterior.etagOrigem() != null) {
+                cabecalhos.setIfNoneMatch(anterior.etagOrigem());
+            }
+            if (anterior.ultimaModificacaoOrigem() != null) {
+                cabecalhos.set(HttpHeaders.IF_MODIFIED_SINCE, anterior.ultimaModificacaoOrigem());
+            }
+        }
+
+        ResponseEntity<byte[]> resposta;
+        try {
+            buscasOrigem.increment();
+            resposta = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(cabecalhos), byte[].class);
+        } catch (HttpClientErrorException.NotFound e) {
+            remover(chave);
+            return Optional.empty();
+        } catch (RestClientException e) {
+            falhasOrigem.increment();
+            if (anterior == null) {
+                throw e;
+            }
+            servidosVencidos.increment();
+            log.debug("Falha ao revalidar avatar ({}); servindo cópia vencida", e.getMessage());
+            return Optional.of(anterior);
+        }
+
+        long validoAte = System.currentTimeMillis() + validade(resposta.getHeaders()).toMillis();
+        if (resposta.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && anterior != null) {
+            naoModificados.increment();
+            Metadados renovado = anterior.renovado(validoAte);
+            gravarMetadadosSemFalhar(renovado);
+            lock.lock();
+            try {
+                indiceDisco.replace(chave, renovado);
+            } finally {
+                lock.unlock();
+            }
+            return Optional.of(renovado);
+        }
+
+        byte[] corpo = resposta.getBody();
+        if (corpo == null || corpo.length == 0) {
+            return Optional.empty();
+        }
+        if (corpo.length > TAMANHO_MAXIMO_IMAGEM) {
+            throw new RestClientException("Imagem maior que o permitido: " + corpo.length + " bytes");
+        }
+
+        MediaType tipo = resposta.getHeaders().getContentType();
+        String contentType = tipo != null && "image".equals(tipo.getType()) ? tipo.toString() : determinarContentType(url);
+        String hashConteudo = hash(corpo);
+        Metadados novo = new Metadados(
+                chave,
+                chave + "-" + hashConteudo.substring(0, 16) + EXTENSAO_DADOS,
+                contentType,
+                "\"" + hashConteudo.substring(0, 32) + "\"",
+                corpo.length,
+                validoAte,
+                resposta.getHeaders().getETag(),
+                resposta.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+
+        if (corpo.length <= tamanhoMaximoItemMemoria) {
+            memoria.armazenar(chave, corpo);
+        } else {
+            memoria.remover(chave);
+        }
+        try {
+            gravar(novo, corpo);
+        } catch (IOException e) {
+            // Sem disco, a foto ainda vai do corpo recebido
+            log.warn("Não foi possível gravar avatar no cache em disco: {}", e.getMessage());
+            memoria.armazenar(chave, corpo);
+        }
+        return Optional.of(novo);
+    }
+
+    private Metadados consultarIndice(String chave) {
+        lock.lock();
+        try {
+            return indiceDisco.get(chave);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Avatar paraAvatar(Metadados metadados) {
+        Optional<byte[]> emMemoria = memoria.obter(metadados.chave());
+        if (emMemoria.isPresent()) {
+            return new Avatar(metadados.contentType(), metadados.etag(), metadados.tamanho(), emMemoria.get(), null);
+        }
+        acertosDisco.increment();
+        return new Avatar(metadados.contentType(), metadados.etag(), metadados.tamanho(), null,
+                diretorio.resolve(metadados.arquivo()));
+    }
+
+    private void gravar(Metadados metadados, byte[] corpo) throws IOException {
+        Path temporario = Files.createTempFile(diretorio, metadados.chave(), ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(corpo);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+        Files.move(temporario, diretorio.resolve(metadados.arquivo()),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        gravarMetadados(metadados);
+
+        Metadados anterior;
+        lock.lock();
+        try {
+            anterior = indiceDisco.put(metadados.chave(), metadados);
+            bytesDisco += metadados.tamanho() - (anterior != null ? anterior.tamanho() : 0);
+        } finally {
+            lock.unlock();
+        }
+        if (anterior != null && !anterior.arquivo().equals(metadados.arquivo())) {
+            excluirDepois(List.of(diretorio.resolve(anterior.arquivo())));
+        }
+        liberarEspaco();
+    }
+
+    /**
+     * Remove os menos usados até o disco voltar ao limite.
+     */
+    private void liberarEspaco() {
+        List<Path> excluir = new ArrayList<>();
+        lock.lock();
+        try {
+            var iterador = indiceDisco.values().iterator();
+            while (bytesDisco > bytesMaximoDisco && iterador.hasNext()) {
+                Metadados maisAntigo = iterador.next();
+                iterador.remove();
+                bytesDisco -= maisAntigo.tamanho();
+                memoria.remover(maisAntigo.chave());
+                excluir.add(diretorio.resolve(maisAntigo.arquivo()));
+                excluir.add(diretorio.resolve(maisAntigo.chave() + EXTENSAO_METADADOS));
+                remocoesDisco.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+        excluirDepois(excluir);
+    }
+
+    private void remover(String chave) {
+        Metadados removido;
+        lock.lock();
+        try {
+            removido = indiceDisco.remove(chave);
+            if (removido != null) {
+                bytesDisco -= removido.tamanho();
+            }
+        } finally {
+            lock.unlock();
+        }
+        memoria.remover(chave);
+        if (removido != null) {
+            excluirDepois(List.of(diretorio.resolve(removido.arquivo()), diretorio.resolve(chave + EXTENSAO_METADADOS)));
+        }
+    }
+
+    /**
+     * Apaga depois de um intervalo: um envio em andamento (ou o sendfile do Tomcat, que abre o
+     * arquivo só depois da resposta) ainda pode estar usando o arquivo.
+     */
+    private void excluirDepois(List<Path> arquivos) {
+        if (arquivos.isEmpty()) {
+            return;
+        }
+        Thread.ofVirtual().name("avatar-cache-exclusao").start(() -> {
+            try {
+                Thread.sleep(ATRASO_EXCLUSAO);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (Path arquivo : arquivos) {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException e) {
+                    log.debug("Não foi possível apagar {}: {}", arquivo, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Apaga arquivos de dados sem metadados no índice (ex.: gravação interrompida).
+     */
+    private void removerOrfaos() throws IOException {
+        List<Path> orfaos = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            lock.lock();
+            try {
+                Map<String, Boolean> emUso = new LinkedHashMap<>();
+                indiceDisco.values().forEach(m -> {
+                    emUso.put(m.arquivo(), Boolean.TRUE);
+                    emUso.put(m.chave() + EXTENSAO_METADADOS, Boolean.TRUE);
+                });
+                arquivos.filter(a -> !emUso.containsKey(a.getFileName().toString())).forEach(orfaos::add);
+            } finally {
+                lock.unlock();
+            }
+        }
+        for (Path orfao : orfaos) {
+            Files.deleteIfExists(orfao);
+        }
+    }
+
+    private void gravarMetadados(Metadados metadados) throws IOException {
+        Properties propriedades = new Properties();
+        propriedades.setProperty("chave", metadados.chave());
+        propriedades.setProperty("arquivo", metadados.arquivo());
+        propriedades.setProperty("contentType", metadados.contentType());
+        propriedades.setProperty("etag", metadados.etag());
+        propriedades.setProperty("tamanho", Long.toString(metadados.tamanho()));
+        propriedades.setProperty("validoAteMs", Long.toString(metadados.validoAteMs()));
+        if (metadados.etagOrigem() != null) {
+            propriedades.setProperty("etagOrigem", metadados.etagOrigem());
+        }
+        if (metadados.ultimaModificacaoOrigem() != null) {
+            propriedades.setProperty("ultimaModificacaoOrigem", metadados.ultimaModificacaoOrigem());
+        }
+
+        Path temporario = Files.createTempFile(diretorio, metadados.chave(), ".tmp");
+        try (Writer escritor = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+            propriedades.store(escritor, null);
+        }
+        Files.move(temporario, diretorio.resolve(metadados.chave() + EXTENSAO_METADADOS),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void gravarMetadadosSemFalhar(Metadados metadados) {
+        try {
+            gravarMetadados(metadados);
+        } catch (IOException e) {
+            log.debug("Não foi possível atualizar metadados do avatar: {}", e.getMessage());
+        }
+    }
+
+    private Optional<Metadados> lerMetadados(Path arquivo) {
+        Properties propriedades = new Properties();
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            propriedades.load(leitor);
+            Metadados metadados = new Metadados(
+                    propriedades.getProperty("chave"),
+                    propriedades.getProperty("arquivo"),
+                    propriedades.getProperty("contentType"),
+                    propriedades.getProperty("etag"),
+                    Long.parseLong(propriedades.getProperty("tamanho")),
+                    Long.parseLong(propriedades.getProperty("validoAteMs")),
+                    propriedades.getProperty("etagOrigem"),
+                    propriedades.getProperty("ultimaModificacaoOrigem"));
+            Path dados = diretorio.resolve(metadados.arquivo());
+            if (Files.exists(dados) && Files.size(dados) == metadados.tamanho()) {
+                return Optional.of(metadados);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Metadados de avatar inválidos em {}: {}", arquivo, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private static long ultimaModificacao(Path arquivo) {
+        try {
+            return Files.getLastModifiedTime(arquivo).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * max-age do Cache-Control do Google (sem cache se no-store/no-cache), limitado a 7 dias.
+     */
+    private static Duration validade(HttpHeaders cabecalhos) {
+        String cacheControl = cabecalhos.getCacheControl();
+        if (cacheControl == null) {
+            return VALIDADE_PADRAO;
+        }
+        Duration validade = VALIDADE_PADRAO;
+        for (String diretiva : cacheControl.split(",")) {
+            String d = diretiva.trim().toLowerCase();
+            if (d.equals("no-store") || d.equals("no-cache")) {
+                return Duration.ZERO;
+            }
+            if (d.startsWith("max-age=")) {
+                try {
+                    validade = Duration.ofSeconds(Long.parseLong(d.substring("max-age=".length())));
+                } catch (NumberFormatException e) {
+                    // Mantém o padrão
+                }
+            }
+        }
+        return validade.compareTo(VALIDADE_MAXIMA) > 0 ? VALIDADE_MAXIMA : validade;
+    }
+
+    private static String determinarContentType(String url) {
+        String urlLower = url.toLowerCase();
+        if (urlLower.contains(".png")) {
+            return "image/png";
+        } else if (urlLower.contains(".gif")) {
+            return "image/gif";
+        } else if (urlLower.contains(".webp")) {
+            return "image/webp";
+        } else {
+            return "image/jpeg"; // Padrão para imagens do Google
+        }
+    }
+
+    private static String hash(byte[] dados) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(dados));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
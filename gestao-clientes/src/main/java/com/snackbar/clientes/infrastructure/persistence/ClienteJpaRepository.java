@@ -1,6 +1,8 @@
 package com.snackbar.clientes.infrastructure.persistence;
 
+import com.snackbar.clientes.application.ports.ClienteResumo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,9 @@ public interface ClienteJpaRepository extends JpaRepository<ClienteEntity, Strin
 
     List<ClienteEntity> findByNomeContainingIgnoreCase(String nome);
 
+    @Query("SELECT new com.snackbar.clientes.application.ports.ClienteResumo(c.id, c.nome, c.telefone) FROM ClienteEntity c")
+    List<ClienteResumo> findResumos();
+
     Optional<ClienteEntity> findByGoogleId(String googleId);
 
     Optional<ClienteEntity> findByEmail(String email);
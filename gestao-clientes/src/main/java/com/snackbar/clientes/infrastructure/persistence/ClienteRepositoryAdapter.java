@@ -1,6 +1,7 @@
 package com.snackbar.clientes.infrastructure.persistence;
 
 import com.snackbar.clientes.application.ports.ClienteRepositoryPort;
+import com.snackbar.clientes.application.ports.ClienteResumo;
 import com.snackbar.clientes.domain.entities.Cliente;
 import com.snackbar.clientes.infrastructure.mappers.ClienteMapper;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,18 @@ public class ClienteRepositoryAdapter implements ClienteRepositoryPort {
                 .toList();
     }
 
+    @Override
+    public List<Cliente> buscarPorIds(List<String> ids) {
+        return jpaRepository.findAllById(ids).stream()
+                .map(mapper::paraDomain)
+                .toList();
+    }
+
+    @Override
+    public List<ClienteResumo> buscarResumos() {
+        return jpaRepository.findResumos();
+    }
+
     @Override
     public List<Cliente> buscarPorTelefone(String telefone) {
         return jpaRepository.findByTelefone(telefone).stream()
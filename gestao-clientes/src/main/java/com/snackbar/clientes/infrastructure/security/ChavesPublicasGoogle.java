@@ -0,0 +1,320 @@
+package com.snackbar.clientes.infrastructure.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chaves públicas que o Google usa para assinar os ID tokens (JWKS), mantidas em memória.
+ *
+ * Uma virtual thread baixa o JWKS e o renova antes de vencer o {@code max-age} do
+ * Cache-Control (descontado o {@code Age}); se a renovação falhar, as chaves atuais continuam
+ * valendo e novas tentativas seguem um backoff exponencial. A verificação de um token só
+ * consulta o mapa em memória. A exceção é um {@code kid} desconhecido, que acontece logo depois
+ * de o Google trocar as chaves: aí a renovação é antecipada (no máximo uma a cada
+ * {@link #INTERVALO_MINIMO_ANTECIPACAO}) e quem pediu espera por ela um tempo limitado.
+ *
+ * O download roda fora do lock; quem espera pela renovação aguarda numa
+ * {@link Condition} com prazo, sinalizada a cada atualização.
+ */
+@Slf4j
+public final class ChavesPublicasGoogle {
+
+    private static final Duration MAX_AGE_PADRAO = Duration.ofHours(1);
+    private static final Duration MAX_AGE_MINIMO = Duration.ofMinutes(1);
+    private static final Duration MAX_AGE_MAXIMO = Duration.ofDays(1);
+    private static final Duration BACKOFF_INICIAL = Duration.ofSeconds(1);
+    private static final Duration BACKOFF_MAXIMO = Duration.ofMinutes(5);
+    private static final Duration INTERVALO_MINIMO_ANTECIPACAO = Duration.ofSeconds(30);
+    // Renova com 80% do max-age decorrido, para nunca depender de chaves vencidas
+    private static final double FRACAO_RENOVACAO = 0.8;
+
+    public record Estatisticas(
+            int chaves,
+            long atualizacoes,
+            long falhasAtualizacao,
+            long kidsDesconhecidos,
+            Instant ultimaAtualizacao,
+            Instant expiraEm) {
+    }
+
+    private record Chaveiro(Map<String, PublicKey> chaves, Instant obtidoEm, Instant expiraEm) {
+        static final Chaveiro VAZIO = new Chaveiro(Map.of(), null, null);
+    }
+
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition reagendada = lock.newCondition();
+    private final Condition atualizada = lock.newCondition();
+
+    private volatile Chaveiro chaveiro = Chaveiro.VAZIO;
+
+    // Protegidos pelo lock
+    private long proximaAtualizacaoNanos;
+    private long ultimaAntecipacaoNanos;
+    private long geracao;
+    private int falhasConsecutivas;
+    private boolean ativa = true;
+    private Thread thread;
+
+    private final LongAdder atualizacoes = new LongAdder();
+    private final LongAdder falhasAtualizacao = new LongAdder();
+    private final LongAdder kidsDesconhecidos = new LongAdder();
+
+    public ChavesPublicasGoogle(String url, Duration timeout) {
+        this.url = URI.create(url);
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Inicia as atualizações em segundo plano; a primeira é feita imediatamente.
+     */
+    public void iniciar() {
+        lock.lock();
+        try {
+            if (thread != null) {
+                return;
+            }
+            proximaAtualizacaoNanos = System.nanoTime();
+            ultimaAntecipacaoNanos = System.nanoTime() - INTERVALO_MINIMO_ANTECIPACAO.toNanos();
+            thread = Thread.ofVirtual().name("google-jwks").start(this::executar);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void encerrar() {
+        lock.lock();
+        try {
+            ativa = false;
+            reagendada.signalAll();
+            atualizada.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Chave pública do {@code kid}. Se não estiver em memória, antecipa a renovação do JWKS e
+     * espera por ela até {@code espera}.
+     */
+    public Optional<PublicKey> chave(String kid, Duration espera) {
+        if (kid == null) {
+            return Optional.empty();
+        }
+        PublicKey chave = chaveiro.chaves().get(kid);
+        if (chave != null) {
+            return Optional.of(chave);
+        }
+
+        kidsDesconhecidos.increment();
+        if (!antecipar(espera)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(chaveiro.chaves().get(kid));
+    }
+
+    public Estatisticas estatisticas() {
+        Chaveiro atual = chaveiro;
+        return new Estatisticas(
+                atual.chaves().size(),
+                atualizacoes.sum(),
+                falhasAtualizacao.sum(),
+                kidsDesconhecidos.sum(),
+                atual.obtidoEm(),
+                atual.expiraEm());
+    }
+
+    /**
+     * @return true se houve uma atualização bem-sucedida dentro da espera
+     */
+    private boolean antecipar(Duration espera) {
+        lock.lock();
+        try {
+            if (thread == null || !ativa) {
+                return false;
+            }
+            long agora = System.nanoTime();
+            if (agora - ultimaAntecipacaoNanos >= INTERVALO_MINIMO_ANTECIPACAO.toNanos()) {
+                ultimaAntecipacaoNanos = agora;
+                if (proximaAtualizacaoNanos - agora > 0) {
+                    proximaAtualizacaoNanos = agora;
+                    reagendada.signalAll();
+                }
+            } else if (!chaveiro.chaves().isEmpty()) {
+                return false;
+            }
+            // Sem chaves ainda (ex.: logo após subir), espera a atualização em andamento
+
+            long geracaoInicial = geracao;
+            long restante = espera.toNanos();
+            while (geracao == geracaoInicial && restante > 0 && ativa) {
+                restante = atualizada.awaitNanos(restante);
+            }
+            return geracao != geracaoInicial;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void executar() {
+        try {
+            while (aguardarProximaAtualizacao()) {
+                Duration proxima;
+                boolean sucesso = false;
+                try {
+                    Chaveiro novo = baixar();
+                    chaveiro = novo;
+                    atualizacoes.increment();
+                    sucesso = true;
+                    Duration validade = Duration.between(novo.obtidoEm(), novo.expiraEm());
+                    proxima = Duration.ofMillis((long) (validade.toMillis() * FRACAO_RENOVACAO));
+                    log.debug("JWKS do Google atualizado: {} chaves, válido até {}", novo.chaves().size(), novo.expiraEm());
+                } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                    falhasAtualizacao.increment();
+                    proxima = proximoBackoff();
+                    log.warn("Falha ao atualizar JWKS do Google ({}); mantendo {} chaves, nova tentativa em {}s",
+                            e.getMessage(), chaveiro.chaves().size(), proxima.toSeconds());
+                }
+
+                lock.lock();
+                try {
+                    if (sucesso) {
+                        falhasConsecutivas = 0;
+                        geracao++;
+                        atualizada.signalAll();
+                    }
+                    proximaAtualizacaoNanos = System.nanoTime() + proxima.toNanos();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean aguardarProximaAtualizacao() throws InterruptedException {
+        lock.lock();
+        try {
+            while (ativa) {
+                long espera = proximaAtualizacaoNanos - System.nanoTime();
+                if (espera <= 0) {
+                    return true;
+                }
+                reagendada.awaitNanos(espera);
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Duration proximoBackoff() {
+        lock.lock();
+        try {
+            int expoente = Math.min(falhasConsecutivas++, 20);
+            long nanos = BACKOFF_INICIAL.toNanos() << expoente;
+            return Duration.ofNanos(Math.min(nanos, BACKOFF_MAXIMO.toNanos()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Chaveiro baixar() throws IOException, GeneralSecurityException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+
+        Map<String, PublicKey> chaves = lerChaves(response.body());
+        if (chaves.isEmpty()) {
+            throw new IOException("JWKS sem chaves RSA de assinatura");
+        }
+        Instant agora = Instant.now();
+        return new Chaveiro(Map.copyOf(chaves), agora, agora.plus(validade(response.headers())));
+    }
+
+    private Map<String, PublicKey> lerChaves(String json) throws IOException, GeneralSecurityException {
+        JsonNode keys = objectMapper.readTree(json).path("keys");
+        KeyFactory fabrica = KeyFactory.getInstance("RSA");
+        Map<String, PublicKey> chaves = new HashMap<>();
+        for (JsonNode jwk : keys) {
+            String kid = jwk.path("kid").asText(null);
+            String uso = jwk.path("use").asText("sig");
+            if (kid == null || !"RSA".equals(jwk.path("kty").asText()) || !"sig".equals(uso)) {
+                continue;
+            }
+            BigInteger modulo = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+            BigInteger expoente = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+            chaves.put(kid, fabrica.generatePublic(new RSAPublicKeySpec(modulo, expoente)));
+        }
+        return chaves;
+    }
+
+    /**
+     * {@code max-age} do Cache-Control menos o {@code Age} (tempo que a resposta já passou em
+     * caches intermediários), limitado a um intervalo razoável.
+     */
+    static Duration validade(HttpHeaders headers) {
+        Duration maxAge = MAX_AGE_PADRAO;
+        for (String valor : headers.allValues("Cache-Control")) {
+            for (String diretiva : valor.split(",")) {
+                String d = diretiva.trim().toLowerCase();
+                if (d.startsWith("max-age=")) {
+                    try {
+                        maxAge = Duration.ofSeconds(Long.parseLong(d.substring("max-age=".length()).trim()));
+                    } catch (NumberFormatException e) {
+                        // Mantém o padrão
+                    }
+                }
+            }
+        }
+        long idade = headers.firstValueAsLong("Age").orElse(0);
+        Duration validade = maxAge.minusSeconds(Math.max(0, idade));
+        if (validade.compareTo(MAX_AGE_MINIMO) < 0) {
+            return MAX_AGE_MINIMO;
+        }
+        return validade.compareTo(MAX_AGE_MAXIMO) > 0 ? MAX_AGE_MAXIMO : validade;
+    }
+}
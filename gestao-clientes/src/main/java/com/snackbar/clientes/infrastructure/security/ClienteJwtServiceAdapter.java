@@ -2,7 +2,10 @@ package com.snackbar.clientes.infrastructure.security;
 
 import com.snackbar.clientes.application.ports.ClienteJwtServicePort;
 import com.snackbar.clientes.domain.entities.Cliente;
+import com.snackbar.kernel.security.CacheTokensVerificados;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,18 +17,29 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Tokens dos clientes. A chave e o parser são montados uma vez; cada token é verificado uma
+ * única vez e fica em cache até expirar (ver {@link CacheTokensVerificados}).
+ */
 @Service
 public class ClienteJwtServiceAdapter implements ClienteJwtServicePort {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private record ClienteAutenticado(String clienteId, String telefone) {
+    }
 
-    @Value("${jwt.expiration:86400000}") // 24 horas em milissegundos
-    private long expiration;
+    private final long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final CacheTokensVerificados<ClienteAutenticado> tokensVerificados;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public ClienteJwtServiceAdapter(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration:86400000}") long expiration, // 24 horas em milissegundos
+            @Value("${jwt.cache-tokens:10000}") int tamanhoCacheTokens) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.tokensVerificados = new CacheTokensVerificados<>(tamanhoCacheTokens, this::verificarToken);
     }
 
     @Override
@@ -44,37 +58,36 @@ public class ClienteJwtServiceAdapter implements ClienteJwtServicePort {
                 .subject(cliente.getId())
                 .issuedAt(now)
                 .expiration(expirationDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     @Override
     public String extrairClienteId(String token) {
-        return extrairClaims(token).getSubject();
+        return tokensVerificados.verificar(token).clienteId();
     }
 
     @Override
     public boolean validarToken(String token) {
-        try {
-            Claims claims = extrairClaims(token);
-            Date expiration = claims.getExpiration();
-            return expiration.after(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+        return tokensVerificados.verificarSeValido(token).isPresent();
     }
 
     @Override
     public String extrairTelefone(String token) {
-        Claims claims = extrairClaims(token);
-        return claims.get("telefone", String.class);
+        return tokensVerificados.verificar(token).telefone();
     }
 
-    private Claims extrairClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public CacheTokensVerificados.Estatisticas estatisticasCacheTokens() {
+        return tokensVerificados.estatisticas();
+    }
+
+    private CacheTokensVerificados.TokenVerificado<ClienteAutenticado> verificarToken(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiracao = claims.getExpiration();
+        if (expiracao == null) {
+            throw new JwtException("Token sem data de expiração");
+        }
+        ClienteAutenticado cliente = new ClienteAutenticado(claims.getSubject(), claims.get("telefone", String.class));
+        return new CacheTokensVerificados.TokenVerificado<>(cliente, expiracao.toInstant());
     }
 }
@@ -1,26 +1,41 @@
 package com.snackbar.clientes.infrastructure.security;
 
 import com.snackbar.clientes.application.ports.ClienteSenhaServicePort;
+import com.snackbar.kernel.security.ExecutorHashSenha;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+/**
+ * Hash e verificação de senha dos clientes no pool dedicado ({@link ExecutorHashSenha}),
+ * o mesmo usado pelo login da equipe.
+ */
 @Service
 public class ClienteSenhaServiceAdapter implements ClienteSenhaServicePort {
 
     private final PasswordEncoder passwordEncoder;
+    private final ExecutorHashSenha executorHashSenha;
 
-    public ClienteSenhaServiceAdapter() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
+    public ClienteSenhaServiceAdapter(
+            ExecutorHashSenha executorHashSenha,
+            @Value("${hash-senha.custo-bcrypt:10}") int custoBcrypt) {
+        this.passwordEncoder = new BCryptPasswordEncoder(custoBcrypt);
+        this.executorHashSenha = executorHashSenha;
     }
 
     @Override
     public String hashSenha(String senhaPlana) {
-        return passwordEncoder.encode(senhaPlana);
+        return executorHashSenha.executar(() -> passwordEncoder.encode(senhaPlana));
     }
 
     @Override
     public boolean verificarSenha(String senhaPlana, String hash) {
-        return passwordEncoder.matches(senhaPlana, hash);
+        return executorHashSenha.executar(() -> passwordEncoder.matches(senhaPlana, hash));
+    }
+
+    @Override
+    public boolean precisaAtualizarHash(String hash) {
+        return hash != null && passwordEncoder.upgradeEncoding(hash);
     }
 }
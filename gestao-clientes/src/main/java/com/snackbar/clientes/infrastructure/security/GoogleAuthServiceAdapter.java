@@ -1,62 +1,127 @@
 package com.snackbar.clientes.infrastructure.security;
 
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.snackbar.clientes.application.ports.GoogleAuthServicePort;
 import com.snackbar.clientes.application.ports.GoogleUserInfo;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Set;
 
+/**
+ * Valida o ID token do login com Google localmente: a assinatura é conferida com as chaves
+ * públicas do Google mantidas em memória ({@link ChavesPublicasGoogle}), sem requisição ao
+ * Google no caminho do login. As mesmas regras do {@code GoogleIdTokenVerifier}: RS256 com
+ * chave conhecida, audience igual ao client ID, emissor do Google, exp/iat presentes e
+ * tolerância de 5 minutos no relógio.
+ */
 @Service
 @Slf4j
 public class GoogleAuthServiceAdapter implements GoogleAuthServicePort {
 
-    @Value("${google.client-id:}")
-    private String clientId;
+    private static final Set<String> EMISSORES = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final long TOLERANCIA_RELOGIO_SEGUNDOS = 300;
 
-    private GoogleIdTokenVerifier getVerifier() {
-        if (clientId == null || clientId.isEmpty()) {
-            log.error("Google Client ID não configurado! Verifique a variável de ambiente GOOGLE_CLIENT_ID");
-            throw new IllegalStateException("Google Client ID não configurado");
-        }
-        log.debug("Usando Google Client ID: {}", clientId.substring(0, Math.min(20, clientId.length())) + "...");
-        return new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
-                .setAudience(Collections.singletonList(clientId))
+    private final String clientId;
+    private final Duration esperaChaveNova;
+    private final ChavesPublicasGoogle chavesPublicas;
+    private final JwtParser parser;
+
+    public GoogleAuthServiceAdapter(
+            @Value("${google.client-id:}") String clientId,
+            @Value("${google.jwks-url:https://www.googleapis.com/oauth2/v3/certs}") String jwksUrl,
+            @Value("${google.jwks-timeout-ms:3000}") long jwksTimeoutMs) {
+        this.clientId = clientId;
+        this.esperaChaveNova = Duration.ofMillis(jwksTimeoutMs);
+        this.chavesPublicas = new ChavesPublicasGoogle(jwksUrl, Duration.ofMillis(jwksTimeoutMs));
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        if (!"RS256".equals(header.getAlgorithm())) {
+                            throw new IllegalArgumentException("Token do Google inválido");
+                        }
+                        return chavesPublicas.chave(header.getKeyId(), esperaChaveNova)
+                                .orElseThrow(() -> new IllegalArgumentException("Token do Google inválido"));
+                    }
+                })
+                .clockSkewSeconds(TOLERANCIA_RELOGIO_SEGUNDOS)
                 .build();
     }
 
+    @PostConstruct
+    void iniciar() {
+        if (clientIdConfigurado()) {
+            chavesPublicas.iniciar();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        chavesPublicas.encerrar();
+    }
+
     @Override
     public GoogleUserInfo validarTokenGoogle(String googleToken) {
-        try {
-            log.info("Validando token Google...");
-            GoogleIdToken idToken = getVerifier().verify(googleToken);
-
-            if (idToken == null) {
-                log.error("Token do Google inválido - verify() retornou null");
-                throw new IllegalArgumentException("Token do Google inválido");
-            }
+        if (!clientIdConfigurado()) {
+            log.error("Google Client ID não configurado! Verifique a variável de ambiente GOOGLE_CLIENT_ID");
+            throw new IllegalStateException("Google Client ID não configurado");
+        }
 
-            GoogleIdToken.Payload payload = idToken.getPayload();
+        try {
+            Claims payload = parser.parseSignedClaims(googleToken).getPayload();
+            validarClaims(payload);
 
             String googleId = payload.getSubject();
-            String email = payload.getEmail();
-            String nome = (String) payload.get("name");
-            String fotoUrl = (String) payload.get("picture");
-            boolean emailVerificado = Boolean.TRUE.equals(payload.getEmailVerified());
+            String email = payload.get("email", String.class);
+            String nome = payload.get("name", String.class);
+            String fotoUrl = payload.get("picture", String.class);
+            Object verificado = payload.get("email_verified");
+            boolean emailVerificado = Boolean.TRUE.equals(verificado) || "true".equals(verificado);
 
             log.info("Token Google validado com sucesso para: {}", email);
             return new GoogleUserInfo(googleId, email, nome, fotoUrl, emailVerificado);
 
-        } catch (IllegalStateException | IllegalArgumentException e) {
-            throw e; // Repassa erros de configuração e token inválido
-        } catch (Exception e) {
-            log.error("Erro ao validar token do Google: {}", e.getMessage(), e);
-            throw new IllegalArgumentException("Erro ao validar token do Google: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            log.warn("Token do Google inválido: {}", e.getMessage());
+            throw new IllegalArgumentException("Token do Google inválido", e);
+        } catch (JwtException e) {
+            log.warn("Token do Google inválido: {}", e.getMessage());
+            throw new IllegalArgumentException("Token do Google inválido", e);
+        }
+    }
+
+    public ChavesPublicasGoogle.Estatisticas estatisticasChavesPublicas() {
+        return chavesPublicas.estatisticas();
+    }
+
+    private void validarClaims(Claims payload) {
+        if (!EMISSORES.contains(payload.getIssuer())) {
+            throw new IllegalArgumentException("emissor inesperado: " + payload.getIssuer());
+        }
+        Set<String> audiencia = payload.getAudience();
+        if (audiencia == null || !audiencia.contains(clientId)) {
+            throw new IllegalArgumentException("audience diferente do client ID");
+        }
+        if (payload.getExpiration() == null || payload.getIssuedAt() == null) {
+            throw new IllegalArgumentException("token sem exp/iat");
         }
+        if (payload.getSubject() == null) {
+            throw new IllegalArgumentException("token sem subject");
+        }
+    }
+
+    private boolean clientIdConfigurado() {
+        return clientId != null && !clientId.isEmpty();
     }
 }
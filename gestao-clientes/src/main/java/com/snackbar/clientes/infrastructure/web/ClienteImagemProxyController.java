@@ -1,77 +1,125 @@
 package com.snackbar.clientes.infrastructure.web;
 
+import com.snackbar.clientes.infrastructure.imagem.CacheAvatares;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Base64;
+import java.util.Optional;
 
 /**
  * Controller para fazer proxy de imagens de perfil do Google.
  * Evita problemas de CORS e rate limiting do Google (429 Too Many Requests).
+ *
+ * As imagens vêm do {@link CacheAvatares}; fotos em disco são enviadas pelo sendfile do Tomcat
+ * quando disponível (sem passar pelo heap) ou por {@link FileChannel#transferTo}.
  */
 @RestController
 @RequestMapping("/api/publico/cliente/imagem")
 @RequiredArgsConstructor
 public class ClienteImagemProxyController {
 
-    private final RestTemplate restTemplate;
+    private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    private final CacheAvatares cacheAvatares;
 
     /**
      * Faz proxy de uma imagem externa (ex: foto do Google).
-     * 
+     * Responde 304 quando o If-None-Match do navegador bate com o ETag da foto.
+     *
      * @param url URL da imagem codificada em Base64
-     * @return Imagem como array de bytes
      */
-    @GetMapping("/proxy")
-    public ResponseEntity<byte[]> proxyImagem(@RequestParam String url) {
+    @RequestMapping(value = "/proxy", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void proxyImagem(@RequestParam String url, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String urlDecodificada;
         try {
-            // Decodificar URL do Base64
-            String urlDecodificada = new String(Base64.getDecoder().decode(url));
-
-            // Validar que é uma URL do Google (segurança)
-            if (!urlDecodificada.startsWith("https://lh3.googleusercontent.com/") &&
-                    !urlDecodificada.startsWith("https://www.google.com/") &&
-                    !urlDecodificada.startsWith("https://googleusercontent.com/")) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
+            urlDecodificada = new String(Base64.getDecoder().decode(url), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
 
-            // Buscar imagem
-            byte[] imagemBytes = restTemplate.getForObject(urlDecodificada, byte[].class);
+        // Validar que é uma URL do Google (segurança)
+        if (!urlDecodificada.startsWith("https://lh3.googleusercontent.com/") &&
+                !urlDecodificada.startsWith("https://www.google.com/") &&
+                !urlDecodificada.startsWith("https://googleusercontent.com/")) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
 
-            if (imagemBytes == null || imagemBytes.length == 0) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
+        Optional<CacheAvatares.Avatar> encontrado;
+        try {
+            encontrado = cacheAvatares.obter(urlDecodificada);
+        } catch (Exception e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        if (encontrado.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
 
-            // Determinar content type baseado na extensão ou usar image/jpeg como padrão
-            String contentType = determinarContentType(urlDecodificada);
+        CacheAvatares.Avatar avatar = encontrado.get();
+        response.setHeader(HttpHeaders.ETAG, avatar.etag());
+        // Cache por 1 hora para reduzir requisições
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=3600");
+        if (etagCorresponde(request.getHeader(HttpHeaders.IF_NONE_MATCH), avatar.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(contentType));
-            // Cache por 1 hora para reduzir requisições
-            headers.setCacheControl("public, max-age=3600");
+        response.setContentType(avatar.contentType());
+        response.setContentLengthLong(avatar.tamanho());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
 
-            return new ResponseEntity<>(imagemBytes, headers, HttpStatus.OK);
+        if (avatar.emMemoria()) {
+            response.getOutputStream().write(avatar.bytes());
+        } else if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+            request.setAttribute(SENDFILE_ARQUIVO, avatar.arquivo().toString());
+            request.setAttribute(SENDFILE_INICIO, 0L);
+            request.setAttribute(SENDFILE_FIM, avatar.tamanho());
+        } else {
+            enviarArquivo(avatar, response.getOutputStream());
+        }
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    private void enviarArquivo(CacheAvatares.Avatar avatar, OutputStream saida) throws IOException {
+        try (FileChannel canal = FileChannel.open(avatar.arquivo(), StandardOpenOption.READ)) {
+            WritableByteChannel destino = Channels.newChannel(saida);
+            long posicao = 0;
+            long tamanho = canal.size();
+            while (posicao < tamanho) {
+                posicao += canal.transferTo(posicao, tamanho - posicao, destino);
+            }
         }
     }
 
-    private String determinarContentType(String url) {
-        String urlLower = url.toLowerCase();
-        if (urlLower.contains(".png")) {
-            return "image/png";
-        } else if (urlLower.contains(".gif")) {
-            return "image/gif";
-        } else if (urlLower.contains(".webp")) {
-            return "image/webp";
-        } else {
-            return "image/jpeg"; // Padrão para imagens do Google
+    private boolean etagCorresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String c = candidato.trim();
+            if (c.equals("*") || c.equals(etag) || c.equals("W/" + etag)) {
+                return true;
+            }
         }
+        return false;
     }
 }
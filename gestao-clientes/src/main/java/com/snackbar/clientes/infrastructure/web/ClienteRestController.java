@@ -3,10 +3,13 @@ package com.snackbar.clientes.infrastructure.web;
 import com.snackbar.clientes.application.dto.CriarClienteRequest;
 import com.snackbar.clientes.application.dto.ClienteDTO;
 import com.snackbar.clientes.application.usecases.BuscarClientePorIdUseCase;
+import com.snackbar.clientes.application.usecases.BuscarClientesUseCase;
 import com.snackbar.clientes.application.usecases.CriarClienteUseCase;
 import com.snackbar.clientes.application.usecases.ListarClientesUseCase;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,9 +21,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ClienteRestController {
     
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    
     private final CriarClienteUseCase criarClienteUseCase;
     private final ListarClientesUseCase listarClientesUseCase;
     private final BuscarClientePorIdUseCase buscarClientePorIdUseCase;
+    private final BuscarClientesUseCase buscarClientesUseCase;
     
     @PostMapping
     public ResponseEntity<ClienteDTO> criar(@Valid @RequestBody CriarClienteRequest request) {
@@ -45,6 +51,19 @@ public class ClienteRestController {
         return ResponseEntity.ok(clientes);
     }
     
+    /**
+     * Busca paginada por nome (sem diferenciar acentos) ou telefone (início ou final do número),
+     * para o autocomplete do balcão.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<Page<ClienteDTO>> buscar(
+            @RequestParam(defaultValue = "") String termo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, TAMANHO_MAXIMO_PAGINA)));
+        return ResponseEntity.ok(buscarClientesUseCase.executar(termo, pageable));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ClienteDTO> buscarPorId(@PathVariable String id) {
         ClienteDTO cliente = buscarClientePorIdUseCase.executar(id);
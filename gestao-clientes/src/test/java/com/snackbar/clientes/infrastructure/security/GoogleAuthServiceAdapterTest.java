@@ -0,0 +1,242 @@
+package com.snackbar.clientes.infrastructure.security;
+
+import com.snackbar.clientes.application.ports.GoogleUserInfo;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Validação do ID token do Google contra um JWKS local (stub) com chaves RSA geradas no teste.
+ *
+ * O stub serve as chaves de {@link #publicadas}; trocar esse mapa simula a rotação de chaves
+ * do Google.
+ */
+class GoogleAuthServiceAdapterTest {
+
+    private static final String CLIENT_ID = "cliente-teste.apps.googleusercontent.com";
+    private static final String EMISSOR = "https://accounts.google.com";
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(10);
+
+    private static final KeyPair CHAVE_ATUAL = gerarChave();
+    private static final KeyPair CHAVE_NOVA = gerarChave();
+    private static final KeyPair CHAVE_ESTRANHA = gerarChave();
+
+    private final Map<String, KeyPair> publicadas = new LinkedHashMap<>();
+    private final AtomicInteger requisicoesJwks = new AtomicInteger();
+    private HttpServer servidor;
+    private GoogleAuthServiceAdapter adapter;
+
+    @BeforeEach
+    void iniciarStub() throws IOException {
+        publicadas.put("atual", CHAVE_ATUAL);
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext("/oauth2/v3/certs", this::responderJwks);
+        servidor.start();
+
+        adapter = new GoogleAuthServiceAdapter(CLIENT_ID,
+                "http://127.0.0.1:" + servidor.getAddress().getPort() + "/oauth2/v3/certs", 2000);
+        adapter.iniciar();
+        aguardarPrimeiraAtualizacao();
+    }
+
+    @AfterEach
+    void pararStub() {
+        adapter.encerrar();
+        servidor.stop(0);
+    }
+
+    @Test
+    void tokenValidoEAceito() {
+        GoogleUserInfo usuario = adapter.validarTokenGoogle(token().compact());
+
+        assertThat(usuario.googleId()).isEqualTo("1234567890");
+        assertThat(usuario.email()).isEqualTo("cliente@example.com");
+        assertThat(usuario.nome()).isEqualTo("Cliente Teste");
+        assertThat(usuario.emailVerificado()).isTrue();
+        assertThat(requisicoesJwks).hasValue(1);
+    }
+
+    @Test
+    void kidDesconhecidoERejeitado() {
+        String token = token()
+                .header().keyId("outra").and()
+                .signWith(CHAVE_ESTRANHA.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        assertRejeitado(token);
+    }
+
+    @Test
+    void assinaturaDeOutraChaveERejeitada() {
+        String token = token()
+                .signWith(CHAVE_ESTRANHA.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        assertRejeitado(token);
+    }
+
+    @Test
+    void emissorDiferenteERejeitado() {
+        assertRejeitado(token().issuer("https://login.example.com").compact());
+    }
+
+    @Test
+    void audienceDeOutroClienteERejeitada() {
+        String token = token()
+                .audience().single("outro-cliente.apps.googleusercontent.com")
+                .compact();
+
+        assertRejeitado(token);
+    }
+
+    @Test
+    void tokenVencidoERejeitado() {
+        Instant agora = Instant.now();
+        String token = token()
+                .issuedAt(Date.from(agora.minus(Duration.ofHours(1))))
+                .expiration(Date.from(agora.minus(Duration.ofMinutes(10))))
+                .compact();
+
+        assertRejeitado(token);
+    }
+
+    @Test
+    void tokenVencidoDentroDaToleranciaDoRelogioEAceito() {
+        Instant agora = Instant.now();
+        String token = token()
+                .issuedAt(Date.from(agora.minus(Duration.ofHours(1))))
+                .expiration(Date.from(agora.minus(Duration.ofMinutes(2))))
+                .compact();
+
+        assertThat(adapter.validarTokenGoogle(token).googleId()).isEqualTo("1234567890");
+    }
+
+    @Test
+    void tokenSemSubjectERejeitado() {
+        assertRejeitado(token().subject(null).compact());
+    }
+
+    @Test
+    void kidNovoDepoisDaRotacaoBuscaOJwksDeNovo() {
+        adapter.validarTokenGoogle(token().compact());
+        synchronized (publicadas) {
+            publicadas.put("nova", CHAVE_NOVA);
+        }
+        String token = token()
+                .header().keyId("nova").and()
+                .signWith(CHAVE_NOVA.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        GoogleUserInfo usuario = adapter.validarTokenGoogle(token);
+
+        assertThat(usuario.googleId()).isEqualTo("1234567890");
+        assertThat(requisicoesJwks).hasValue(2);
+        assertThat(adapter.estatisticasChavesPublicas().kidsDesconhecidos()).isEqualTo(1);
+        assertThat(adapter.estatisticasChavesPublicas().chaves()).isEqualTo(2);
+    }
+
+    private void assertRejeitado(String token) {
+        assertThatThrownBy(() -> adapter.validarTokenGoogle(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token do Google inválido");
+    }
+
+    /**
+     * Token válido assinado com a chave "atual"; os testes sobrescrevem o que querem invalidar.
+     */
+    private static JwtBuilder token() {
+        Instant agora = Instant.now();
+        return Jwts.builder()
+                .header().keyId("atual").and()
+                .issuer(EMISSOR)
+                .audience().add(CLIENT_ID).and()
+                .subject("1234567890")
+                .issuedAt(Date.from(agora))
+                .expiration(Date.from(agora.plus(Duration.ofHours(1))))
+                .claim("email", "cliente@example.com")
+                .claim("name", "Cliente Teste")
+                .claim("email_verified", true)
+                .signWith(CHAVE_ATUAL.getPrivate(), Jwts.SIG.RS256);
+    }
+
+    private void responderJwks(HttpExchange exchange) throws IOException {
+        requisicoesJwks.incrementAndGet();
+        StringBuilder chaves = new StringBuilder();
+        synchronized (publicadas) {
+            publicadas.forEach((kid, par) -> {
+                RSAPublicKey publica = (RSAPublicKey) par.getPublic();
+                chaves.append(chaves.isEmpty() ? "" : ",")
+                        .append("{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"").append(kid)
+                        .append("\",\"n\":\"").append(base64Url(publica.getModulus()))
+                        .append("\",\"e\":\"").append(base64Url(publica.getPublicExponent())).append("\"}");
+            });
+        }
+        byte[] corpo = ("{\"keys\":[" + chaves + "]}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+        exchange.sendResponseHeaders(200, corpo.length);
+        try (OutputStream saida = exchange.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    private void aguardarPrimeiraAtualizacao() {
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (adapter.estatisticasChavesPublicas().atualizacoes() == 0) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("JWKS não foi baixado em " + ESPERA_MAXIMA);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static String base64Url(BigInteger valor) {
+        byte[] bytes = valor.toByteArray();
+        int inicio = bytes[0] == 0 && bytes.length > 1 ? 1 : 0;
+        byte[] semSinal = new byte[bytes.length - inicio];
+        System.arraycopy(bytes, inicio, semSinal, 0, semSinal.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(semSinal);
+    }
+
+    private static KeyPair gerarChave() {
+        try {
+            KeyPairGenerator gerador = KeyPairGenerator.getInstance("RSA");
+            gerador.initialize(2048);
+            return gerador.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.snackbar.pedidos.application.events;
+
+/**
+ * Evento publicado quando um pedido é criado (balcão ou aceite de pedido de mesa).
+ * Consumidores que mantêm dados derivados do histórico do cliente o usam para se atualizar
+ * após a confirmação da transação.
+ *
+ * @param pedidoId id do pedido criado
+ * @param clienteId id do cliente do pedido; null quando o pedido não tem cliente cadastrado
+ */
+public record PedidoCriadoEvent(String pedidoId, String clienteId) {
+}
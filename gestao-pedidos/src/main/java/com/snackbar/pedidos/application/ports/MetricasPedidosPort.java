@@ -0,0 +1,31 @@
+package com.snackbar.pedidos.application.ports;
+
+import java.time.Duration;
+
+/**
+ * Port para registrar métricas dos caminhos de criação de pedidos e das filas de pendentes.
+ * As implementações devem ser baratas: são chamadas em toda criação de pedido.
+ */
+public interface MetricasPedidosPort {
+
+    enum Origem {
+        BALCAO,
+        MESA,
+        TOTEM
+    }
+
+    /**
+     * Tempo para criar um pedido real (balcão) ou aceitar um pendente (mesa/totem).
+     */
+    void registrarCriacaoPedido(Origem origem, long duracaoNanos, boolean sucesso);
+
+    /**
+     * Quanto tempo o pedido pendente esperou na fila até ser aceito.
+     */
+    void registrarEsperaFila(Origem origem, Duration espera);
+
+    /**
+     * Requisição com chave de idempotência: {@code repetida} quando a resposta veio da chave já gravada.
+     */
+    void registrarIdempotencia(boolean repetida);
+}
@@ -1,5 +1,8 @@
 package com.snackbar.pedidos.application.usecases;
 
+import java.time.Duration;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -7,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 import com.snackbar.cardapio.domain.valueobjects.Preco;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import com.snackbar.pedidos.application.dto.*;
+import com.snackbar.pedidos.application.events.PedidoCriadoEvent;
+import com.snackbar.pedidos.application.ports.MetricasPedidosPort;
 import com.snackbar.pedidos.application.ports.PedidoRepositoryPort;
 import com.snackbar.pedidos.application.ports.SessaoTrabalhoRepositoryPort;
 import com.snackbar.pedidos.application.services.AuditoriaPagamentoService;
@@ -45,6 +50,8 @@ public class AceitarPedidoMesaUseCase {
     private final SessaoTrabalhoRepositoryPort sessaoTrabalhoRepository;
     private final GeradorNumeroPedidoService geradorNumeroPedido;
     private final AuditoriaPagamentoService auditoriaPagamentoService;
+    private final MetricasPedidosPort metricas;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PedidoDTO executar(String pedidoPendenteId, String usuarioId, @Nullable ContextoRequisicao contexto) {
@@ -52,6 +59,18 @@ public class AceitarPedidoMesaUseCase {
             contexto = ContextoRequisicao.vazio();
         }
 
+        long inicio = System.nanoTime();
+        boolean sucesso = false;
+        try {
+            PedidoDTO pedido = aceitar(pedidoPendenteId, usuarioId, contexto);
+            sucesso = true;
+            return pedido;
+        } finally {
+            metricas.registrarCriacaoPedido(MetricasPedidosPort.Origem.MESA, System.nanoTime() - inicio, sucesso);
+        }
+    }
+
+    private PedidoDTO aceitar(String pedidoPendenteId, String usuarioId, ContextoRequisicao contexto) {
         // Valida parâmetros
         if (pedidoPendenteId == null || pedidoPendenteId.isBlank()) {
             throw new ValidationException("ID do pedido pendente é obrigatório");
@@ -66,6 +85,9 @@ public class AceitarPedidoMesaUseCase {
                 .orElseThrow(() -> new ValidationException(
                         "Pedido pendente não encontrado ou já foi aceito/expirado: " + pedidoPendenteId));
 
+        metricas.registrarEsperaFila(MetricasPedidosPort.Origem.MESA,
+                Duration.ofSeconds(pedidoPendente.getTempoEsperaSegundos()));
+
         // Cria o pedido real a partir do pendente
         return criarPedidoReal(pedidoPendente, usuarioId, pedidoPendenteId, contexto);
     }
@@ -144,6 +166,7 @@ public class AceitarPedidoMesaUseCase {
 
         // Salva o pedido
         Pedido pedidoSalvo = pedidoRepository.salvar(pedido);
+        eventPublisher.publishEvent(new PedidoCriadoEvent(pedidoSalvo.getId(), pedidoSalvo.getClienteId()));
 
         // Registra auditoria do pagamento (assíncrono via @Async)
         if (!pedidoSalvo.getMeiosPagamento().isEmpty()) {
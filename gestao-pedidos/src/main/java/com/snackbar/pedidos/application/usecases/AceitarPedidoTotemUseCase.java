@@ -1,5 +1,7 @@
 package com.snackbar.pedidos.application.usecases;
 
+import java.time.Duration;
+
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -7,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.snackbar.cardapio.domain.valueobjects.Preco;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
 import com.snackbar.pedidos.application.dto.*;
+import com.snackbar.pedidos.application.ports.MetricasPedidosPort;
 import com.snackbar.pedidos.application.ports.PedidoRepositoryPort;
 import com.snackbar.pedidos.application.ports.SessaoTrabalhoRepositoryPort;
 import com.snackbar.pedidos.application.services.AuditoriaPagamentoService;
@@ -39,6 +42,7 @@ public class AceitarPedidoTotemUseCase {
     private final GeradorNumeroPedidoService geradorNumeroPedido;
     private final PedidoValidator pedidoValidator;
     private final AuditoriaPagamentoService auditoriaPagamentoService;
+    private final MetricasPedidosPort metricas;
 
     @Transactional
     public PedidoDTO executar(String pedidoPendenteId, String usuarioId, @Nullable ContextoRequisicao contexto) {
@@ -46,6 +50,18 @@ public class AceitarPedidoTotemUseCase {
             contexto = ContextoRequisicao.vazio();
         }
 
+        long inicio = System.nanoTime();
+        boolean sucesso = false;
+        try {
+            PedidoDTO pedido = aceitar(pedidoPendenteId, usuarioId, contexto);
+            sucesso = true;
+            return pedido;
+        } finally {
+            metricas.registrarCriacaoPedido(MetricasPedidosPort.Origem.TOTEM, System.nanoTime() - inicio, sucesso);
+        }
+    }
+
+    private PedidoDTO aceitar(String pedidoPendenteId, String usuarioId, ContextoRequisicao contexto) {
         if (pedidoPendenteId == null || pedidoPendenteId.isBlank()) {
             throw new ValidationException("ID do pedido pendente é obrigatório");
         }
@@ -57,6 +73,9 @@ public class AceitarPedidoTotemUseCase {
                 .orElseThrow(() -> new ValidationException(
                         "Pedido pendente não encontrado ou já foi aceito/expirado: " + pedidoPendenteId));
 
+        metricas.registrarEsperaFila(MetricasPedidosPort.Origem.TOTEM,
+                Duration.ofSeconds(pedidoPendente.getTempoEsperaSegundos()));
+
         return criarPedidoReal(pedidoPendente, usuarioId, pedidoPendenteId, contexto);
     }
 
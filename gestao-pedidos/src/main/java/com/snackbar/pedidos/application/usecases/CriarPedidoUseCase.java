@@ -3,13 +3,16 @@ package com.snackbar.pedidos.application.usecases;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.snackbar.cardapio.domain.valueobjects.Preco;
 import com.snackbar.pedidos.application.dto.*;
+import com.snackbar.pedidos.application.events.PedidoCriadoEvent;
 import com.snackbar.pedidos.application.ports.CardapioServicePort;
+import com.snackbar.pedidos.application.ports.MetricasPedidosPort;
 import com.snackbar.pedidos.application.ports.PedidoRepositoryPort;
 import com.snackbar.pedidos.application.ports.SessaoTrabalhoRepositoryPort;
 import com.snackbar.pedidos.application.services.AuditoriaPagamentoService;
@@ -42,6 +45,8 @@ public class CriarPedidoUseCase {
     private final SessaoTrabalhoRepositoryPort sessaoTrabalhoRepository;
     private final GeradorNumeroPedidoService geradorNumeroPedido;
     private final AuditoriaPagamentoService auditoriaPagamentoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasPedidosPort metricas;
 
     @Transactional
     public PedidoDTO executar(CriarPedidoRequest request, @Nullable ContextoRequisicao contexto) {
@@ -49,7 +54,15 @@ public class CriarPedidoUseCase {
             contexto = ContextoRequisicao.vazio();
         }
 
-        return executarCriacao(request, contexto);
+        long inicio = System.nanoTime();
+        boolean sucesso = false;
+        try {
+            PedidoDTO pedido = executarCriacao(request, contexto);
+            sucesso = true;
+            return pedido;
+        } finally {
+            metricas.registrarCriacaoPedido(MetricasPedidosPort.Origem.BALCAO, System.nanoTime() - inicio, sucesso);
+        }
     }
 
     /**
@@ -103,6 +116,7 @@ public class CriarPedidoUseCase {
         vincularSessaoAtiva(pedido);
 
         Pedido pedidoSalvo = pedidoRepository.salvar(pedido);
+        eventPublisher.publishEvent(new PedidoCriadoEvent(pedidoSalvo.getId(), pedidoSalvo.getClienteId()));
 
         // Registra auditoria do pagamento (assíncrono via @Async)
         if (!pedidoSalvo.getMeiosPagamento().isEmpty()) {
@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snackbar.pedidos.application.ports.MetricasPedidosPort;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +37,7 @@ public class IdempotencyService {
 
     private final IdempotencyKeyRepository idempotencyKeyRepository;
     private final ObjectMapper objectMapper;
+    private final MetricasPedidosPort metricas;
 
     /**
      * Tempo de expiração padrão das chaves de idempotência (24 horas).
@@ -84,6 +86,7 @@ public class IdempotencyService {
 
             try {
                 T cachedResponse = objectMapper.readValue(cached.getResponseBody(), responseType);
+                metricas.registrarIdempotencia(true);
                 return ResponseEntity
                         .status(cached.getResponseStatus())
                         .body(cachedResponse);
@@ -94,6 +97,7 @@ public class IdempotencyService {
         }
 
         // Executa a operação
+        metricas.registrarIdempotencia(false);
         T result = operation.get();
         HttpStatus status = HttpStatus.CREATED;
 
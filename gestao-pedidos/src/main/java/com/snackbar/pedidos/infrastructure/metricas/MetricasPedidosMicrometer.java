@@ -0,0 +1,139 @@
+package com.snackbar.pedidos.infrastructure.metricas;
+
+import com.snackbar.pedidos.application.dto.PedidoPendenteDTO;
+import com.snackbar.pedidos.application.ports.MetricasPedidosPort;
+import com.snackbar.pedidos.application.ports.PedidoPendenteRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de pedidos no Micrometer.
+ *
+ * Os timers são criados uma vez no construtor (um por origem e resultado), então registrar
+ * uma medição é só o {@code record} do timer, sem busca no registry. Os histogramas têm
+ * limites mínimo/máximo para manter poucos buckets no Prometheus.
+ *
+ * O tamanho das filas é um count no banco; para o scrape não virar carga, o valor é
+ * reaproveitado por {@link #VALIDADE_CONTAGEM_FILA}.
+ */
+@Component
+@Slf4j
+public class MetricasPedidosMicrometer implements MetricasPedidosPort {
+
+    private static final Duration VALIDADE_CONTAGEM_FILA = Duration.ofSeconds(10);
+
+    private final Map<Origem, Timer> criacoesComSucesso = new EnumMap<>(Origem.class);
+    private final Map<Origem, Timer> criacoesComErro = new EnumMap<>(Origem.class);
+    private final Map<Origem, Timer> esperasFila = new EnumMap<>(Origem.class);
+    private final Counter idempotenciaRepetidas;
+    private final Counter idempotenciaNovas;
+
+    public MetricasPedidosMicrometer(MeterRegistry registry, PedidoPendenteRepositoryPort pedidoPendenteRepository) {
+        for (Origem origem : Origem.values()) {
+            criacoesComSucesso.put(origem, timerCriacao(registry, origem, "sucesso"));
+            criacoesComErro.put(origem, timerCriacao(registry, origem, "erro"));
+        }
+        for (Origem origem : new Origem[] { Origem.MESA, Origem.TOTEM }) {
+            esperasFila.put(origem, Timer.builder("pedidos.fila.espera")
+                    .description("Tempo do pedido pendente na fila até ser aceito")
+                    .tag("fila", nome(origem))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofSeconds(1))
+                    .maximumExpectedValue(Duration.ofMinutes(30))
+                    .register(registry));
+        }
+
+        ContagemFila mesa = new ContagemFila(pedidoPendenteRepository, PedidoPendenteDTO.TIPO_MESA);
+        ContagemFila totem = new ContagemFila(pedidoPendenteRepository, PedidoPendenteDTO.TIPO_TOTEM);
+        Gauge.builder("pedidos.fila.pendentes", mesa, ContagemFila::valor)
+                .description("Pedidos aguardando aceite")
+                .tag("fila", nome(Origem.MESA))
+                .register(registry);
+        Gauge.builder("pedidos.fila.pendentes", totem, ContagemFila::valor)
+                .description("Pedidos aguardando aceite")
+                .tag("fila", nome(Origem.TOTEM))
+                .register(registry);
+
+        idempotenciaRepetidas = Counter.builder("pedidos.idempotencia")
+                .description("Requisições com chave de idempotência")
+                .tag("resultado", "repetida")
+                .register(registry);
+        idempotenciaNovas = Counter.builder("pedidos.idempotencia")
+                .description("Requisições com chave de idempotência")
+                .tag("resultado", "nova")
+                .register(registry);
+    }
+
+    @Override
+    public void registrarCriacaoPedido(Origem origem, long duracaoNanos, boolean sucesso) {
+        (sucesso ? criacoesComSucesso : criacoesComErro).get(origem).record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void registrarEsperaFila(Origem origem, Duration espera) {
+        Timer timer = esperasFila.get(origem);
+        if (timer != null && !espera.isNegative()) {
+            timer.record(espera);
+        }
+    }
+
+    @Override
+    public void registrarIdempotencia(boolean repetida) {
+        (repetida ? idempotenciaRepetidas : idempotenciaNovas).increment();
+    }
+
+    private static Timer timerCriacao(MeterRegistry registry, Origem origem, String resultado) {
+        return Timer.builder("pedidos.criacao")
+                .description("Criação de pedido (balcão) ou aceite de pedido pendente (mesa/totem)")
+                .tag("origem", nome(origem))
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    private static String nome(Origem origem) {
+        return origem.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Último count de pendentes de um tipo, refeito no máximo a cada {@link #VALIDADE_CONTAGEM_FILA}.
+     * Duas leituras simultâneas podem contar duas vezes; não há problema.
+     */
+    private static final class ContagemFila {
+
+        private final PedidoPendenteRepositoryPort repository;
+        private final String tipo;
+        private volatile double valor = Double.NaN;
+        private volatile long proximaContagemNanos = System.nanoTime();
+
+        ContagemFila(PedidoPendenteRepositoryPort repository, String tipo) {
+            this.repository = repository;
+            this.tipo = tipo;
+        }
+
+        double valor() {
+            long agora = System.nanoTime();
+            if (agora - proximaContagemNanos >= 0) {
+                proximaContagemNanos = agora + VALIDADE_CONTAGEM_FILA.toNanos();
+                try {
+                    valor = repository.contarPendentesPorTipo(tipo);
+                } catch (RuntimeException e) {
+                    log.debug("Não foi possível contar pedidos pendentes ({}): {}", tipo, e.getMessage());
+                }
+            }
+            return valor;
+        }
+    }
+}
@@ -16,5 +16,7 @@ public class ImprimirCupomResponse {
     private String mensagem;
     private LocalDateTime dataImpressao;
     private String pedidoId;
+    private String trabalhoId;
+    private String statusTrabalho;
 }
 
@@ -0,0 +1,39 @@
+package com.snackbar.impressao.application.dtos;
+
+import com.snackbar.impressao.domain.entities.StatusTrabalhoImpressao;
+import com.snackbar.impressao.domain.entities.TipoImpressora;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrabalhoImpressaoDTO {
+    private String id;
+    private String pedidoId;
+    private TipoImpressora tipoImpressora;
+    private StatusTrabalhoImpressao status;
+    private int tentativas;
+    private String ultimoErro;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static TrabalhoImpressaoDTO de(TrabalhoImpressao trabalho) {
+        return TrabalhoImpressaoDTO.builder()
+                .id(trabalho.getId())
+                .pedidoId(trabalho.getPedidoId())
+                .tipoImpressora(trabalho.getTipoImpressora())
+                .status(trabalho.getStatus())
+                .tentativas(trabalho.getTentativas())
+                .ultimoErro(trabalho.getUltimoErro())
+                .createdAt(trabalho.getCreatedAt())
+                .updatedAt(trabalho.getUpdatedAt())
+                .build();
+    }
+}
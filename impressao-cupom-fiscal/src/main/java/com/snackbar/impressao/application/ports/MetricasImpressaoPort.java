@@ -0,0 +1,17 @@
+package com.snackbar.impressao.application.ports;
+
+import com.snackbar.impressao.domain.entities.TipoImpressora;
+
+/**
+ * Métricas do pedido de impressão de cupom, por tipo de impressora.
+ */
+public interface MetricasImpressaoPort {
+
+    enum Resultado {
+        IMPRESSO_ELECTRON,
+        ENFILEIRADO,
+        ERRO
+    }
+
+    void registrarImpressao(TipoImpressora tipo, Resultado resultado, long duracaoNanos);
+}
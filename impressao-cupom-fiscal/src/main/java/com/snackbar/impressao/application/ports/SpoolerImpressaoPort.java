@@ -0,0 +1,11 @@
+package com.snackbar.impressao.application.ports;
+
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+
+/**
+ * Fila de impressão: recebe trabalhos já persistidos e os envia em segundo plano,
+ * na ordem de chegada por impressora.
+ */
+public interface SpoolerImpressaoPort {
+    void enfileirar(TrabalhoImpressao trabalho);
+}
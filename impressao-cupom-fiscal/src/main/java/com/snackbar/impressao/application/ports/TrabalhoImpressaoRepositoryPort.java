@@ -0,0 +1,43 @@
+package com.snackbar.impressao.application.ports;
+
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TrabalhoImpressaoRepositoryPort {
+    TrabalhoImpressao salvar(TrabalhoImpressao trabalho);
+    Optional<TrabalhoImpressao> buscarPorId(String id);
+
+    /**
+     * Trabalhos ainda não enviados e sem reserva válida (pendentes ou com a reserva vencida),
+     * do mais antigo para o mais recente.
+     */
+    List<TrabalhoImpressao> buscarDisponiveis(LocalDateTime agora);
+
+    /**
+     * Reserva o trabalho para o dono informado se ele estiver pendente ou com a reserva vencida.
+     *
+     * @return true se esta chamada ficou com o trabalho; false se outra instância já o reservou
+     *         ou se ele já foi finalizado
+     */
+    boolean reservar(String id, String dono, LocalDateTime reservadoAte, LocalDateTime agora);
+
+    /**
+     * Estende o prazo de todas as reservas ainda em envio do dono.
+     */
+    int renovarReservas(String dono, LocalDateTime reservadoAte);
+
+    /**
+     * Devolve como pendentes os trabalhos ainda em envio do dono, para outra instância assumir.
+     */
+    int liberarReservas(String dono);
+
+    /**
+     * Atualiza apenas status, tentativas e erro, sem regravar os dados do cupom.
+     */
+    void atualizarStatus(TrabalhoImpressao trabalho);
+
+    int removerFinalizadosAntesDe(LocalDateTime limite);
+}
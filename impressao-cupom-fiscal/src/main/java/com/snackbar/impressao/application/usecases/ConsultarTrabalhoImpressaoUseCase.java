@@ -0,0 +1,19 @@
+package com.snackbar.impressao.application.usecases;
+
+import com.snackbar.impressao.application.dtos.TrabalhoImpressaoDTO;
+import com.snackbar.impressao.application.ports.TrabalhoImpressaoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ConsultarTrabalhoImpressaoUseCase {
+    
+    private final TrabalhoImpressaoRepositoryPort repository;
+    
+    public TrabalhoImpressaoDTO executar(String trabalhoId) {
+        return repository.buscarPorId(trabalhoId)
+                .map(TrabalhoImpressaoDTO::de)
+                .orElse(null);
+    }
+}
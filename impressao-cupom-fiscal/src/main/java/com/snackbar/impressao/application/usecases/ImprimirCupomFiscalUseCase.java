@@ -5,9 +5,13 @@ import com.snackbar.impressao.application.dtos.ImprimirCupomResponse;
 import com.snackbar.impressao.application.ports.ConfiguracaoImpressoraRepositoryPort;
 import com.snackbar.impressao.application.ports.ElectronGatewayException;
 import com.snackbar.impressao.application.ports.ElectronGatewayPort;
+import com.snackbar.impressao.application.ports.MetricasImpressaoPort;
 import com.snackbar.impressao.application.ports.PedidoServicePort;
+import com.snackbar.impressao.application.ports.SpoolerImpressaoPort;
+import com.snackbar.impressao.application.ports.TrabalhoImpressaoRepositoryPort;
 import com.snackbar.impressao.domain.entities.CupomFiscal;
 import com.snackbar.impressao.domain.entities.TipoImpressora;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
 import com.snackbar.impressao.domain.ports.ImpressaoException;
 import com.snackbar.impressao.domain.ports.ImpressoraPort;
 import com.snackbar.impressao.domain.valueobjects.ConfiguracaoImpressora;
@@ -38,8 +42,31 @@ public class ImprimirCupomFiscalUseCase {
     private final ImpressoraFactory impressoraFactory;
     private final ConfiguracaoImpressoraRepositoryPort configuracaoRepository;
     private final ElectronGatewayPort electronGateway;
+    private final TrabalhoImpressaoRepositoryPort trabalhoRepository;
+    private final SpoolerImpressaoPort spooler;
+    private final MetricasImpressaoPort metricas;
 
     public ImprimirCupomResponse executar(ImprimirCupomRequest request) {
+        long inicio = System.nanoTime();
+        ImprimirCupomResponse resposta = null;
+        try {
+            resposta = imprimir(request);
+            return resposta;
+        } finally {
+            metricas.registrarImpressao(request.getTipoImpressora(), resultado(resposta), System.nanoTime() - inicio);
+        }
+    }
+
+    private static MetricasImpressaoPort.Resultado resultado(ImprimirCupomResponse resposta) {
+        if (resposta == null || !resposta.isSucesso()) {
+            return MetricasImpressaoPort.Resultado.ERRO;
+        }
+        return resposta.getTrabalhoId() != null
+                ? MetricasImpressaoPort.Resultado.ENFILEIRADO
+                : MetricasImpressaoPort.Resultado.IMPRESSO_ELECTRON;
+    }
+
+    private ImprimirCupomResponse imprimir(ImprimirCupomRequest request) {
         PedidoDTO pedido = buscarPedido(request.getPedidoId());
         ConfiguracaoImpressora configuracao = criarConfiguracao(request);
         CupomFiscal cupomFiscal = criarCupomFiscal(pedido, configuracao, request);
@@ -69,7 +96,7 @@ public class ImprimirCupomFiscalUseCase {
             }
         }
 
-        // Fallback: Impressão direta
+        // Fallback: Impressão direta, via fila de impressão
         // Funciona para:
         // - Impressoras de rede (IP:PORTA) - backend online pode imprimir
         // - Backend local com impressoras locais
@@ -89,13 +116,16 @@ public class ImprimirCupomFiscalUseCase {
             }
 
             ImpressoraPort impressora = impressoraFactory.criar(configuracao.getTipoImpressora());
-            impressora.imprimir(cupomFiscal);
+            TrabalhoImpressao trabalho = trabalhoRepository.salvar(impressora.prepararTrabalho(cupomFiscal));
+            spooler.enfileirar(trabalho);
 
             return ImprimirCupomResponse.builder()
                     .sucesso(true)
-                    .mensagem("Cupom fiscal impresso com sucesso")
+                    .mensagem("Cupom fiscal enviado para a fila de impressão")
                     .dataImpressao(LocalDateTime.now())
                     .pedidoId(pedido.getId())
+                    .trabalhoId(trabalho.getId())
+                    .statusTrabalho(trabalho.getStatus().name())
                     .build();
         } catch (ImpressaoException e) {
             String mensagemErro = e.getMessage();
@@ -0,0 +1,18 @@
+package com.snackbar.impressao.domain.entities;
+
+public enum StatusTrabalhoImpressao {
+    PENDENTE("Aguardando impressão"),
+    EM_ENVIO("Reservado por uma instância para envio"),
+    IMPRESSO("Impresso"),
+    FALHOU("Falhou");
+    
+    private final String descricao;
+    
+    StatusTrabalhoImpressao(String descricao) {
+        this.descricao = descricao;
+    }
+    
+    public String getDescricao() {
+        return descricao;
+    }
+}
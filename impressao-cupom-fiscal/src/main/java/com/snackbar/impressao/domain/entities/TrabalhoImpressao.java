@@ -0,0 +1,94 @@
+package com.snackbar.impressao.domain.entities;
+
+import com.snackbar.kernel.domain.entities.BaseEntity;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cupom já formatado em ESC/POS aguardando envio para uma impressora.
+ *
+ * O destino é resolvido quando o trabalho é criado (IP:PORTA, dispositivo local ou arquivo
+ * .prn do modo teste), então o envio não depende mais do pedido nem da configuração.
+ */
+@Getter
+public class TrabalhoImpressao extends BaseEntity {
+    private String pedidoId;
+    private TipoImpressora tipoImpressora;
+    private String destino;
+    private byte[] dados;
+    private StatusTrabalhoImpressao status;
+    private int tentativas;
+    private String ultimoErro;
+
+    private TrabalhoImpressao() {
+        super();
+        this.status = StatusTrabalhoImpressao.PENDENTE;
+    }
+
+    public static TrabalhoImpressao criar(String pedidoId, TipoImpressora tipoImpressora, String destino, byte[] dados) {
+        validarDados(tipoImpressora, destino, dados);
+
+        TrabalhoImpressao trabalho = new TrabalhoImpressao();
+        trabalho.pedidoId = pedidoId;
+        trabalho.tipoImpressora = tipoImpressora;
+        trabalho.destino = destino;
+        trabalho.dados = dados;
+        return trabalho;
+    }
+
+    /**
+     * Marca o trabalho como reservado por esta instância, depois de a reserva ter sido gravada no banco.
+     */
+    public void marcarEmEnvio() {
+        this.status = StatusTrabalhoImpressao.EM_ENVIO;
+    }
+
+    public void marcarImpresso() {
+        this.status = StatusTrabalhoImpressao.IMPRESSO;
+        this.ultimoErro = null;
+        touch();
+    }
+
+    /**
+     * Registra uma tentativa de envio que falhou.
+     *
+     * @return true se ainda pode tentar de novo; false se esgotou as tentativas e o trabalho falhou
+     */
+    public boolean registrarFalha(String erro, int tentativasMaximas) {
+        this.tentativas++;
+        this.ultimoErro = erro;
+        if (tentativas >= tentativasMaximas) {
+            this.status = StatusTrabalhoImpressao.FALHOU;
+        }
+        touch();
+        return status != StatusTrabalhoImpressao.FALHOU;
+    }
+
+    public boolean isPendente() {
+        return status == StatusTrabalhoImpressao.PENDENTE || status == StatusTrabalhoImpressao.EM_ENVIO;
+    }
+
+    public void restaurarEstado(StatusTrabalhoImpressao status, int tentativas, String ultimoErro) {
+        this.status = status;
+        this.tentativas = tentativas;
+        this.ultimoErro = ultimoErro;
+    }
+
+    public void restaurarDoBanco(String id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        restaurarId(id);
+        restaurarTimestamps(createdAt, updatedAt);
+    }
+
+    private static void validarDados(TipoImpressora tipoImpressora, String destino, byte[] dados) {
+        if (tipoImpressora == null) {
+            throw new IllegalArgumentException("Tipo de impressora não pode ser nulo");
+        }
+        if (destino == null || destino.trim().isEmpty()) {
+            throw new IllegalArgumentException("Destino da impressão não pode ser nulo ou vazio");
+        }
+        if (dados == null || dados.length == 0) {
+            throw new IllegalArgumentException("Dados da impressão não podem ser vazios");
+        }
+    }
+}
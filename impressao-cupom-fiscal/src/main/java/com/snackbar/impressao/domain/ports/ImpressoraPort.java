@@ -1,9 +1,15 @@
 package com.snackbar.impressao.domain.ports;
 
 import com.snackbar.impressao.domain.entities.CupomFiscal;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
 
 public interface ImpressoraPort {
     void imprimir(CupomFiscal cupomFiscal) throws ImpressaoException;
     boolean verificarDisponibilidade() throws ImpressaoException;
-}
 
+    /**
+     * Formata o cupom e resolve o destino desta impressora, sem enviar nada;
+     * o envio fica a cargo da fila de impressão.
+     */
+    TrabalhoImpressao prepararTrabalho(CupomFiscal cupomFiscal) throws ImpressaoException;
+}
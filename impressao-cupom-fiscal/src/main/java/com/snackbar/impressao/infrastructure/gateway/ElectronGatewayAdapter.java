@@ -4,9 +4,12 @@ import com.snackbar.impressao.application.ports.ElectronGatewayException;
 import com.snackbar.impressao.application.ports.ElectronGatewayPort;
 import com.snackbar.impressao.domain.entities.CupomFiscal;
 import com.snackbar.impressao.infrastructure.impressora.FormatoCupomFiscal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -18,7 +21,9 @@ import java.util.Objects;
  * Adapter para comunicação com o servidor HTTP local do Electron
  * 
  * Este adapter detecta se o Electron está rodando localmente e envia
- * comandos de impressão para ele quando disponível.
+ * comandos de impressão para ele quando disponível. A disponibilidade é
+ * verificada em segundo plano ({@link SondaDisponibilidadeElectron}), então
+ * consultar se o Electron está no ar não custa uma requisição na impressão.
  */
 @Component
 @Slf4j
@@ -27,29 +32,62 @@ public class ElectronGatewayAdapter implements ElectronGatewayPort {
     private static final String ELECTRON_HEALTH_ENDPOINT = "/health";
     private static final String ELECTRON_IMPRIMIR_ENDPOINT = "/imprimir/cupom-fiscal";
 
+    // Sondagem deve ser rápida: o Electron roda na mesma máquina
+    private static final int TIMEOUT_CONEXAO_SONDA_MS = 500;
+    private static final int TIMEOUT_LEITURA_SONDA_MS = 1000;
+    private static final int TIMEOUT_CONEXAO_ENVIO_MS = 1000;
+    private static final int TIMEOUT_LEITURA_ENVIO_MS = 10_000;
+
     private final RestTemplate restTemplate;
+    private final RestTemplate restTemplateSonda;
     private final String electronBaseUrl;
+    private final boolean urlLocal;
+    private final SondaDisponibilidadeElectron sonda;
 
     public ElectronGatewayAdapter(
-            @Value("${impressao.electron.gateway.url:http://localhost:3001}") String electronBaseUrl) {
+            @Value("${impressao.electron.gateway.url:http://localhost:3001}") String electronBaseUrl,
+            @Value("${impressao.electron.gateway.intervalo-sondagem-ms:5000}") long intervaloSondagemMs,
+            @Value("${impressao.electron.gateway.backoff-inicial-ms:1000}") long backoffInicialMs,
+            @Value("${impressao.electron.gateway.backoff-maximo-ms:60000}") long backoffMaximoMs) {
         this.electronBaseUrl = electronBaseUrl;
-        this.restTemplate = criarRestTemplate();
+        this.restTemplate = criarRestTemplate(TIMEOUT_CONEXAO_ENVIO_MS, TIMEOUT_LEITURA_ENVIO_MS);
+        this.restTemplateSonda = criarRestTemplate(TIMEOUT_CONEXAO_SONDA_MS, TIMEOUT_LEITURA_SONDA_MS);
+        // Electron só funciona localmente: backend online não pode acessar localhost:3001 do cliente
+        this.urlLocal = electronBaseUrl.contains("localhost") || electronBaseUrl.contains("127.0.0.1");
+        this.sonda = new SondaDisponibilidadeElectron(this::verificarSaude,
+                intervaloSondagemMs, backoffInicialMs, backoffMaximoMs);
+    }
+
+    @PostConstruct
+    void iniciarSonda() {
+        if (urlLocal) {
+            sonda.iniciar();
+        } else {
+            log.debug("Electron Gateway não disponível: URL não é local ({})", electronBaseUrl);
+        }
     }
 
+    @PreDestroy
+    void encerrarSonda() {
+        sonda.encerrar();
+    }
+
+    /**
+     * Responde com o último resultado da sondagem em segundo plano, sem fazer requisição.
+     */
     @Override
     public boolean estaDisponivel() {
-        try {
-            // Verifica se a URL é localhost (Electron só funciona localmente)
-            // Backend online não pode acessar localhost:3001 do cliente
-            if (!electronBaseUrl.contains("localhost") && !electronBaseUrl.contains("127.0.0.1")) {
-                log.debug("Electron Gateway não disponível: URL não é local ({})", electronBaseUrl);
-                return false;
-            }
+        return urlLocal && sonda.disponivel();
+    }
 
-            String url = electronBaseUrl + ELECTRON_HEALTH_ENDPOINT;
+    public SondaDisponibilidadeElectron.Estatisticas estatisticas() {
+        return sonda.estatisticas();
+    }
 
-            // Timeout curto para não travar se Electron não estiver rodando
-            ResponseEntity<ElectronHealthResponse> response = restTemplate.getForEntity(
+    private boolean verificarSaude() {
+        try {
+            String url = electronBaseUrl + ELECTRON_HEALTH_ENDPOINT;
+            ResponseEntity<ElectronHealthResponse> response = restTemplateSonda.getForEntity(
                     url, ElectronHealthResponse.class);
 
             ElectronHealthResponse body = response.getBody();
@@ -57,20 +95,16 @@ public class ElectronGatewayAdapter implements ElectronGatewayPort {
                     && body != null
                     && "online".equalsIgnoreCase(body.getStatus());
 
-            if (disponivel) {
-                log.debug("Electron Gateway está disponível em {}", electronBaseUrl);
-            } else {
+            if (!disponivel) {
                 log.debug("Electron Gateway não respondeu corretamente: {}", body);
             }
-
             return disponivel;
         } catch (RestClientException e) {
             // Log apenas em debug para não poluir logs quando Electron não está rodando
             log.debug("Electron Gateway não está disponível (esperado se não estiver rodando): {}",
-                    e.getMessage().length() > 100 ? e.getMessage().substring(0, 100) : e.getMessage());
-            return false;
-        } catch (Exception e) {
-            log.debug("Erro ao verificar Electron Gateway: {}", e.getMessage());
+                    e.getMessage() != null && e.getMessage().length() > 100
+                            ? e.getMessage().substring(0, 100)
+                            : e.getMessage());
             return false;
         }
     }
@@ -125,15 +159,17 @@ public class ElectronGatewayAdapter implements ElectronGatewayPort {
             }
 
         } catch (RestClientException e) {
+            sonda.registrarFalhaEnvio();
             log.error("Erro ao enviar comando de impressão para o Electron", e);
             throw new ElectronGatewayException("Erro ao comunicar com Electron Gateway: " + e.getMessage(), e);
         }
     }
 
-    private RestTemplate criarRestTemplate() {
-        // Configuração de timeout é feita via RestTemplate builder se necessário
-        // Por simplicidade, usando RestTemplate padrão com timeouts do sistema
-        return new RestTemplate();
+    private static RestTemplate criarRestTemplate(int timeoutConexaoMs, int timeoutLeituraMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutConexaoMs);
+        requestFactory.setReadTimeout(timeoutLeituraMs);
+        return new RestTemplate(requestFactory);
     }
 
     // DTOs internos para comunicação com Electron
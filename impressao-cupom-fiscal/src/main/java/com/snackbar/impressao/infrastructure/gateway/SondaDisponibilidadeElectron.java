@@ -0,0 +1,247 @@
+package com.snackbar.impressao.infrastructure.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verifica em segundo plano se o Electron Gateway está no ar e guarda o resultado.
+ *
+ * Funciona como um circuit breaker: enquanto o Electron responde, o circuito fica fechado e
+ * a verificação é refeita a intervalos regulares; quando falha (na sondagem ou em um envio de
+ * impressão), o circuito abre e as novas sondagens seguem um backoff exponencial. Quem consulta
+ * a disponibilidade só lê o estado em memória, sem fazer requisição. O último resultado positivo
+ * vale por um tempo limitado, então uma sondagem travada não mantém o circuito fechado.
+ *
+ * A thread da sonda dorme numa {@link Condition} até a próxima
+ * sondagem; uma falha de envio a acorda antes do prazo. A sondagem em si roda fora do lock.
+ */
+@Slf4j
+public final class SondaDisponibilidadeElectron {
+
+    public enum Estado {
+        DESCONHECIDO, DISPONIVEL, INDISPONIVEL
+    }
+
+    @FunctionalInterface
+    interface Sonda {
+        boolean verificar() throws Exception;
+    }
+
+    private static final int MULTIPLICADOR_VALIDADE = 3;
+
+    private final Sonda sonda;
+    private final long intervaloNanos;
+    private final long backoffInicialNanos;
+    private final long backoffMaximoNanos;
+    private final long validadeNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition reagendada = lock.newCondition();
+
+    private volatile Estado estado = Estado.DESCONHECIDO;
+    private volatile long validoAteNanos;
+    private volatile LocalDateTime ultimaMudancaEstado = LocalDateTime.now();
+
+    // Protegidos pelo lock
+    private long proximaSondagemNanos;
+    private int falhasConsecutivas;
+    private boolean ativa = true;
+    private Thread thread;
+
+    private final LongAdder sondagens = new LongAdder();
+    private final LongAdder falhasSondagem = new LongAdder();
+    private final LongAdder falhasEnvio = new LongAdder();
+    private final LongAdder aberturas = new LongAdder();
+    private final LongAdder fechamentos = new LongAdder();
+    private final LongAdder latenciaTotalNanos = new LongAdder();
+    private final AtomicLong latenciaUltimaNanos = new AtomicLong();
+    private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+
+    SondaDisponibilidadeElectron(Sonda sonda, long intervaloMs, long backoffInicialMs, long backoffMaximoMs) {
+        this.sonda = sonda;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervaloMs));
+        this.backoffInicialNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, backoffInicialMs));
+        this.backoffMaximoNanos = Math.max(backoffInicialNanos, TimeUnit.MILLISECONDS.toNanos(backoffMaximoMs));
+        this.validadeNanos = intervaloNanos * MULTIPLICADOR_VALIDADE;
+    }
+
+    /**
+     * Inicia as sondagens; a primeira é feita imediatamente. Até ela terminar o Electron é
+     * considerado indisponível.
+     */
+    void iniciar() {
+        lock.lock();
+        try {
+            proximaSondagemNanos = System.nanoTime();
+            thread = Thread.ofVirtual().name("electron-gateway-sonda").start(this::executar);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void encerrar() {
+        lock.lock();
+        try {
+            ativa = false;
+            reagendada.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Leitura do estado em memória; nunca faz requisição.
+     */
+    boolean disponivel() {
+        return estado == Estado.DISPONIVEL && validoAteNanos - System.nanoTime() > 0;
+    }
+
+    Estado estado() {
+        return estado;
+    }
+
+    /**
+     * Um envio de impressão falhou: abre o circuito na hora e antecipa a próxima sondagem para
+     * o início do backoff.
+     */
+    void registrarFalhaEnvio() {
+        falhasEnvio.increment();
+        lock.lock();
+        try {
+            if (estado != Estado.INDISPONIVEL) {
+                falhasConsecutivas = 1;
+            }
+            mudarEstado(Estado.INDISPONIVEL);
+            long proxima = System.nanoTime() + backoffInicialNanos;
+            if (proxima - proximaSondagemNanos < 0) {
+                proximaSondagemNanos = proxima;
+                reagendada.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void executar() {
+        try {
+            while (aguardarProximaSondagem()) {
+                boolean ok = sondar();
+                lock.lock();
+                try {
+                    if (ok) {
+                        falhasConsecutivas = 0;
+                        validoAteNanos = System.nanoTime() + validadeNanos;
+                        mudarEstado(Estado.DISPONIVEL);
+                        proximaSondagemNanos = System.nanoTime() + intervaloNanos;
+                    } else {
+                        falhasConsecutivas++;
+                        mudarEstado(Estado.INDISPONIVEL);
+                        proximaSondagemNanos = System.nanoTime() + backoff();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean aguardarProximaSondagem() throws InterruptedException {
+        lock.lock();
+        try {
+            long restante;
+            while (ativa && (restante = proximaSondagemNanos - System.nanoTime()) > 0) {
+                reagendada.awaitNanos(restante);
+            }
+            return ativa;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean sondar() {
+        long inicio = System.nanoTime();
+        boolean ok;
+        try {
+            ok = sonda.verificar();
+        } catch (Exception e) {
+            ok = false;
+        }
+        long latencia = System.nanoTime() - inicio;
+        sondagens.increment();
+        if (!ok) {
+            falhasSondagem.increment();
+        }
+        latenciaTotalNanos.add(latencia);
+        latenciaUltimaNanos.set(latencia);
+        latenciaMaximaNanos.accumulateAndGet(latencia, Math::max);
+        return ok;
+    }
+
+    private long backoff() {
+        int expoente = Math.min(falhasConsecutivas - 1, 20);
+        return Math.min(backoffMaximoNanos, backoffInicialNanos << expoente);
+    }
+
+    private void mudarEstado(Estado novo) {
+        Estado anterior = estado;
+        if (anterior == novo) {
+            return;
+        }
+        estado = novo;
+        ultimaMudancaEstado = LocalDateTime.now();
+        if (novo == Estado.DISPONIVEL) {
+            fechamentos.increment();
+            log.info("Electron Gateway disponível");
+        } else {
+            aberturas.increment();
+            if (anterior == Estado.DISPONIVEL) {
+                log.info("Electron Gateway ficou indisponível");
+            } else {
+                log.debug("Electron Gateway indisponível (esperado se não estiver rodando)");
+            }
+        }
+    }
+
+    Estatisticas estatisticas() {
+        long total = sondagens.sum();
+        return new Estatisticas(
+                estado.name(),
+                total,
+                falhasSondagem.sum(),
+                falhasEnvio.sum(),
+                aberturas.sum(),
+                fechamentos.sum(),
+                TimeUnit.NANOSECONDS.toMillis(latenciaUltimaNanos.get()),
+                total == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latenciaTotalNanos.sum() / total),
+                TimeUnit.NANOSECONDS.toMillis(latenciaMaximaNanos.get()),
+                ultimaMudancaEstado);
+    }
+
+    /**
+     * @param aberturas   transições para indisponível (circuito aberto)
+     * @param fechamentos transições para disponível (circuito fechado)
+     */
+    public record Estatisticas(
+            String estado,
+            long sondagens,
+            long falhasSondagem,
+            long falhasEnvio,
+            long aberturas,
+            long fechamentos,
+            long latenciaUltimaSondagemMs,
+            long latenciaMediaSondagemMs,
+            long latenciaMaximaSondagemMs,
+            LocalDateTime ultimaMudancaEstado) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.snackbar.impressao.infrastructure.impressora;
 
 import com.snackbar.impressao.domain.entities.CupomFiscal;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
 import com.snackbar.impressao.domain.ports.ImpressaoException;
 import com.snackbar.impressao.domain.ports.ImpressoraPort;
 
@@ -13,42 +14,56 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 
 public abstract class BaseImpressoraAdapter implements ImpressoraPort {
-    
+
     @Override
     public void imprimir(CupomFiscal cupomFiscal) throws ImpressaoException {
-        byte[] dadosImpressao = FormatoCupomFiscal.formatarCupom(cupomFiscal);
-        
+        EscPosWriter dadosImpressao = FormatoCupomFiscal.escreverCupom(cupomFiscal);
+        String destino = resolverDestino(cupomFiscal);
+
         try {
-            OutputStream outputStream = obterOutputStream(cupomFiscal);
-            outputStream.write(dadosImpressao);
+            OutputStream outputStream = abrirDestino(destino);
+            dadosImpressao.escreverEm(outputStream);
             outputStream.flush();
-            fecharOutputStream(outputStream);
-            
-            String nomeArquivoTeste = obterNomeArquivoTeste(cupomFiscal);
-            if (nomeArquivoTeste != null && nomeArquivoTeste.endsWith(".prn")) {
-                salvarVersaoTexto(nomeArquivoTeste, cupomFiscal);
+            outputStream.close();
+
+            if (ConexaoImpressoraUtil.eArquivoTeste(destino)) {
+                salvarVersaoTexto(destino, cupomFiscal);
             }
         } catch (IOException e) {
             throw new ImpressaoException("Erro ao imprimir cupom fiscal: " + e.getMessage(), e);
         }
     }
-    
+
+    @Override
+    public TrabalhoImpressao prepararTrabalho(CupomFiscal cupomFiscal) throws ImpressaoException {
+        String destino = resolverDestino(cupomFiscal);
+        if (ConexaoImpressoraUtil.eArquivoTeste(destino)) {
+            salvarVersaoTexto(destino, cupomFiscal);
+        }
+
+        try {
+            return TrabalhoImpressao.criar(
+                    cupomFiscal.getPedido().getId(),
+                    cupomFiscal.getConfiguracaoImpressora().getTipoImpressora(),
+                    destino,
+                    FormatoCupomFiscal.formatarCupom(cupomFiscal));
+        } catch (IllegalArgumentException e) {
+            throw new ImpressaoException("Erro ao preparar cupom fiscal para impressão: " + e.getMessage(), e);
+        }
+    }
+
     private void salvarVersaoTexto(String nomeArquivoPrn, CupomFiscal cupomFiscal) {
         try {
             String nomeArquivoTxt = nomeArquivoPrn.replace(".prn", ".txt");
             String conteudoLegivel = FormatoCupomFiscal.formatarCupomLegivel(cupomFiscal);
             Path caminhoTxt = Paths.get(nomeArquivoTxt);
-            Files.write(caminhoTxt, conteudoLegivel.getBytes(StandardCharsets.UTF_8), 
+            Files.write(caminhoTxt, conteudoLegivel.getBytes(StandardCharsets.UTF_8),
                 StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
         } catch (Exception e) {
             System.err.println("Aviso: Não foi possível salvar versão texto do cupom: " + e.getMessage());
         }
     }
-    
-    protected String obterNomeArquivoTeste(CupomFiscal cupomFiscal) {
-        return null;
-    }
-    
+
     @Override
     public boolean verificarDisponibilidade() throws ImpressaoException {
         try {
@@ -57,20 +72,26 @@ public abstract class BaseImpressoraAdapter implements ImpressoraPort {
             throw new ImpressaoException("Erro ao verificar disponibilidade da impressora: " + e.getMessage(), e);
         }
     }
-    
-    protected abstract OutputStream obterOutputStream(CupomFiscal cupomFiscal) throws ImpressaoException;
-    
-    protected abstract void fecharOutputStream(OutputStream outputStream) throws IOException;
-    
+
+    /**
+     * Para onde o cupom vai: arquivo .prn no modo teste, IP:PORTA para impressora de rede
+     * ou caminho do dispositivo local.
+     */
+    protected abstract String resolverDestino(CupomFiscal cupomFiscal);
+
+    protected abstract String obterNomeImpressora();
+
     protected abstract boolean verificarImpressoraDisponivel() throws Exception;
-    
-    protected OutputStream criarOutputStreamArquivo(String nomeArquivo) throws ImpressaoException {
+
+    private OutputStream abrirDestino(String destino) throws ImpressaoException {
         try {
-            Path caminho = Paths.get(nomeArquivo);
-            return Files.newOutputStream(caminho, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            return ConexaoImpressoraUtil.abrirDestino(destino);
         } catch (IOException e) {
-            throw new ImpressaoException("Erro ao criar arquivo de impressão: " + e.getMessage(), e);
+            if (ConexaoImpressoraUtil.eArquivoTeste(destino)) {
+                throw new ImpressaoException("Erro ao criar arquivo de impressão: " + e.getMessage(), e);
+            }
+            throw new ImpressaoException(
+                    "Erro ao conectar com impressora " + obterNomeImpressora() + ": " + e.getMessage(), e);
         }
     }
 }
-
@@ -0,0 +1,347 @@
+package com.snackbar.impressao.infrastructure.impressora;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.Arrays;
+
+/**
+ * Converte uma imagem no comando de bitmap rasterizado ESC/POS ({@code GS v 0}).
+ *
+ * No modo {@link Pontilhamento#LIMIAR} (o padrão) a imagem é desenhada em um raster
+ * {@code TYPE_BYTE_BINARY}, como sempre foi: cada pixel vira a cor mais próxima da paleta
+ * preto/branco, o que não equivale a um corte na luminância (verde puro sai preto, magenta
+ * sai branco). Os bits desse raster já estão no formato do comando e são copiados por linha.
+ * O raster começa branco, então pixels transparentes saem como papel.
+ *
+ * Nos modos com pontilhamento os pixels são lidos direto do {@link DataBuffer} do raster nos
+ * formatos que o ImageIO costuma devolver (RGB/ARGB inteiro, BGR/ABGR em bytes e tons de
+ * cinza), com luminância em aritmética inteira. Outros formatos (paleta, 16 bits) e imagens
+ * que precisam ser reduzidas passam antes por um único redesenho em ARGB.
+ */
+public final class BitmapEscPos {
+
+    /**
+     * Como os tons de cinza viram pontos pretos ou brancos.
+     */
+    public enum Pontilhamento {
+        /** Cor mais próxima entre preto e branco; bom para logos em preto e branco. */
+        LIMIAR,
+        /** Matriz de Bayer 8x8; degradês sem ruído, com padrão regular. */
+        ORDENADO,
+        /** Difusão de erro de Floyd–Steinberg; melhor para fotos. */
+        FLOYD_STEINBERG
+    }
+
+    /** Pontos por linha de uma impressora de 58mm (a mais estreita suportada). */
+    public static final int LARGURA_MAXIMA_PADRAO = 384;
+
+    private static final int TAMANHO_CABECALHO = 7;
+    private static final int LIMIAR = 128;
+    private static final int BRANCO = 255;
+
+    // Pesos de luminância (BT.601) escalados para somar 256: 0.299, 0.587, 0.114
+    private static final int PESO_R = 77;
+    private static final int PESO_G = 150;
+    private static final int PESO_B = 29;
+
+    private static final int[] BAYER_8X8 = {
+            0, 32, 8, 40, 2, 34, 10, 42,
+            48, 16, 56, 24, 50, 18, 58, 26,
+            12, 44, 4, 36, 14, 46, 6, 38,
+            60, 28, 52, 20, 62, 30, 54, 22,
+            3, 35, 11, 43, 1, 33, 9, 41,
+            51, 19, 59, 27, 49, 17, 57, 25,
+            15, 47, 7, 39, 13, 45, 5, 37,
+            63, 31, 55, 23, 61, 29, 53, 21
+    };
+
+    private BitmapEscPos() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * Gera o comando {@code GS v 0} com a imagem reduzida proporcionalmente, se for mais larga
+     * que {@code larguraMaxima}.
+     *
+     * @param quebraLinhaFinal adiciona LF depois do bitmap
+     * @return comando completo, ou array vazio se a imagem não tiver pixels
+     */
+    public static byte[] converter(BufferedImage imagem, int larguraMaxima, Pontilhamento pontilhamento,
+            boolean quebraLinhaFinal) {
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+        if (largura > larguraMaxima) {
+            double escala = (double) larguraMaxima / largura;
+            largura = larguraMaxima;
+            altura = (int) (altura * escala);
+        }
+        if (largura <= 0 || altura <= 0) {
+            return new byte[0];
+        }
+
+        int larguraBytes = (largura + 7) / 8;
+        byte[] comando = new byte[TAMANHO_CABECALHO + larguraBytes * altura + (quebraLinhaFinal ? 1 : 0)];
+        escreverCabecalho(comando, larguraBytes, altura);
+
+        switch (pontilhamento != null ? pontilhamento : Pontilhamento.LIMIAR) {
+            case LIMIAR -> limiar(imagem, largura, altura, comando);
+            case ORDENADO -> ordenado(lerLuminancia(imagem, largura, altura), largura, altura, comando);
+            case FLOYD_STEINBERG -> floydSteinberg(lerLuminancia(imagem, largura, altura), largura, altura, comando);
+        }
+
+        if (quebraLinhaFinal) {
+            comando[comando.length - 1] = EscPosComandos.LF;
+        }
+        return comando;
+    }
+
+    // ==================== Leitura dos pixels ====================
+
+    /**
+     * Luminância (0 = preto, 255 = branco) de cada pixel, linha a linha.
+     */
+    private static byte[] lerLuminancia(BufferedImage imagem, int largura, int altura) {
+        BufferedImage origem = imagem;
+        if (imagem.getWidth() != largura || imagem.getHeight() != altura) {
+            origem = redesenharArgb(imagem, largura, altura);
+        }
+
+        byte[] luminancia = new byte[largura * altura];
+        if (lerInteiros(origem, luminancia) || lerBytes(origem, luminancia)) {
+            return luminancia;
+        }
+
+        lerInteiros(redesenharArgb(origem, largura, altura), luminancia);
+        return luminancia;
+    }
+
+    private static BufferedImage redesenharArgb(BufferedImage imagem, int largura, int altura) {
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(imagem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    /**
+     * TYPE_INT_RGB, TYPE_INT_ARGB e TYPE_INT_ARGB_PRE.
+     */
+    private static boolean lerInteiros(BufferedImage imagem, byte[] luminancia) {
+        int tipo = imagem.getType();
+        if (tipo != BufferedImage.TYPE_INT_RGB && tipo != BufferedImage.TYPE_INT_ARGB
+                && tipo != BufferedImage.TYPE_INT_ARGB_PRE) {
+            return false;
+        }
+        Raster raster = imagem.getRaster();
+        if (!(raster.getSampleModel() instanceof SinglePixelPackedSampleModel modelo)
+                || !(raster.getDataBuffer() instanceof DataBufferInt buffer)) {
+            return false;
+        }
+
+        int[] dados = buffer.getData();
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+        int passoLinha = modelo.getScanlineStride();
+        int inicio = buffer.getOffset()
+                - raster.getSampleModelTranslateY() * passoLinha - raster.getSampleModelTranslateX();
+        boolean temAlfa = tipo != BufferedImage.TYPE_INT_RGB;
+        boolean preMultiplicado = tipo == BufferedImage.TYPE_INT_ARGB_PRE;
+
+        int destino = 0;
+        for (int y = 0; y < altura; y++) {
+            int indice = inicio + y * passoLinha;
+            for (int x = 0; x < largura; x++) {
+                int argb = dados[indice + x];
+                int lum = (PESO_R * ((argb >> 16) & 0xFF) + PESO_G * ((argb >> 8) & 0xFF)
+                        + PESO_B * (argb & 0xFF)) >> 8;
+                if (temAlfa) {
+                    lum = sobreBranco(lum, argb >>> 24, preMultiplicado);
+                }
+                luminancia[destino++] = (byte) lum;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Componentes de 8 bits intercalados em tons de cinza ou RGB, com ou sem alfa
+     * (TYPE_BYTE_GRAY, TYPE_3BYTE_BGR, TYPE_4BYTE_ABGR e equivalentes do PNG).
+     */
+    private static boolean lerBytes(BufferedImage imagem, byte[] luminancia) {
+        Raster raster = imagem.getRaster();
+        SampleModel modeloAmostras = raster.getSampleModel();
+        if (!(imagem.getColorModel() instanceof ComponentColorModel cores)
+                || !(modeloAmostras instanceof PixelInterleavedSampleModel modelo)
+                || !(raster.getDataBuffer() instanceof DataBufferByte buffer)
+                || modelo.getDataType() != DataBuffer.TYPE_BYTE) {
+            return false;
+        }
+
+        int tipoEspaco = cores.getColorSpace().getType();
+        int bandas = modelo.getNumBands();
+        boolean cinza = tipoEspaco == ColorSpace.TYPE_GRAY && (bandas == 1 || bandas == 2);
+        boolean rgb = tipoEspaco == ColorSpace.TYPE_RGB && (bandas == 3 || bandas == 4);
+        if (!cinza && !rgb) {
+            return false;
+        }
+
+        byte[] dados = buffer.getData();
+        int[] deslocamentos = modelo.getBandOffsets();
+        int passoPixel = modelo.getPixelStride();
+        int passoLinha = modelo.getScanlineStride();
+        int inicio = buffer.getOffset() - raster.getSampleModelTranslateY() * passoLinha
+                - raster.getSampleModelTranslateX() * passoPixel;
+        boolean temAlfa = cores.hasAlpha();
+        boolean preMultiplicado = cores.isAlphaPremultiplied();
+        int bandaAlfa = bandas - 1;
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+
+        int destino = 0;
+        for (int y = 0; y < altura; y++) {
+            int indice = inicio + y * passoLinha;
+            for (int x = 0; x < largura; x++, indice += passoPixel) {
+                int lum;
+                if (cinza) {
+                    lum = dados[indice + deslocamentos[0]] & 0xFF;
+                } else {
+                    lum = (PESO_R * (dados[indice + deslocamentos[0]] & 0xFF)
+                            + PESO_G * (dados[indice + deslocamentos[1]] & 0xFF)
+                            + PESO_B * (dados[indice + deslocamentos[2]] & 0xFF)) >> 8;
+                }
+                if (temAlfa) {
+                    lum = sobreBranco(lum, dados[indice + deslocamentos[bandaAlfa]] & 0xFF, preMultiplicado);
+                }
+                luminancia[destino++] = (byte) lum;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compõe o pixel sobre papel branco conforme a opacidade.
+     */
+    private static int sobreBranco(int lum, int alfa, boolean preMultiplicado) {
+        if (preMultiplicado) {
+            return Math.min(BRANCO, lum + BRANCO - alfa);
+        }
+        return (lum * alfa + BRANCO * (BRANCO - alfa) + 127) / BRANCO;
+    }
+
+    // ==================== Pontilhamento ====================
+
+    /**
+     * Desenha em preto e branco pela paleta do {@code TYPE_BYTE_BINARY} (índice 1 = branco) e
+     * copia os bits invertidos, zerando o preenchimento do fim de cada linha.
+     */
+    private static void limiar(BufferedImage imagem, int largura, int altura, byte[] comando) {
+        BufferedImage binaria = new BufferedImage(largura, altura, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D g = binaria.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, largura, altura);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.drawImage(imagem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+
+        Raster raster = binaria.getRaster();
+        byte[] bits = ((DataBufferByte) raster.getDataBuffer()).getData();
+        int passoLinha = ((MultiPixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+        int larguraBytes = (largura + 7) / 8;
+        int sobra = largura & 7;
+        byte mascaraFinal = (byte) (sobra == 0 ? 0xFF : 0xFF << (8 - sobra));
+        for (int y = 0; y < altura; y++) {
+            int origem = y * passoLinha;
+            int linha = TAMANHO_CABECALHO + y * larguraBytes;
+            for (int i = 0; i < larguraBytes; i++) {
+                comando[linha + i] = (byte) ~bits[origem + i];
+            }
+            comando[linha + larguraBytes - 1] &= mascaraFinal;
+        }
+    }
+
+    private static void ordenado(byte[] luminancia, int largura, int altura, byte[] comando) {
+        int larguraBytes = (largura + 7) / 8;
+        int origem = 0;
+        for (int y = 0; y < altura; y++) {
+            int linha = TAMANHO_CABECALHO + y * larguraBytes;
+            int linhaMatriz = (y & 7) << 3;
+            for (int x = 0; x < largura; x++) {
+                // Limiares de 2 a 254, espalhados pela matriz
+                int limiar = BAYER_8X8[linhaMatriz + (x & 7)] * 4 + 2;
+                if ((luminancia[origem++] & 0xFF) < limiar) {
+                    comando[linha + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+        }
+    }
+
+    /**
+     * Erro distribuído 7/16 à direita e 3/16, 5/16, 1/16 na linha de baixo. Usa só duas linhas
+     * de erro (atual e próxima), deslocadas em uma posição para dispensar testes de borda.
+     */
+    private static void floydSteinberg(byte[] luminancia, int largura, int altura, byte[] comando) {
+        int larguraBytes = (largura + 7) / 8;
+        int[] erroAtual = new int[largura + 2];
+        int[] erroProximo = new int[largura + 2];
+        int origem = 0;
+        for (int y = 0; y < altura; y++) {
+            int linha = TAMANHO_CABECALHO + y * larguraBytes;
+            for (int x = 0; x < largura; x++) {
+                int valor = (luminancia[origem++] & 0xFF) + (erroAtual[x + 1] >> 4);
+                int erro;
+                if (valor < LIMIAR) {
+                    comando[linha + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                    erro = valor;
+                } else {
+                    erro = valor - BRANCO;
+                }
+                erroAtual[x + 2] += erro * 7;
+                erroProximo[x] += erro * 3;
+                erroProximo[x + 1] += erro * 5;
+                erroProximo[x + 2] += erro;
+            }
+            int[] troca = erroAtual;
+            erroAtual = erroProximo;
+            erroProximo = troca;
+            Arrays.fill(erroProximo, 0);
+        }
+    }
+
+    // ==================== Comando ====================
+
+    /**
+     * GS v 0 m xL xH yL yH: modo normal, largura em bytes e altura em pontos.
+     * Reset (ESC @) não é adicionado aqui; o Electron já envia no início do cupom.
+     */
+    private static void escreverCabecalho(byte[] comando, int larguraBytes, int altura) {
+        comando[0] = EscPosComandos.GS;
+        comando[1] = 'v';
+        comando[2] = 0;
+        comando[3] = (byte) (larguraBytes & 0xFF);
+        comando[4] = (byte) ((larguraBytes >> 8) & 0xFF);
+        comando[5] = (byte) (altura & 0xFF);
+        comando[6] = (byte) ((altura >> 8) & 0xFF);
+    }
+}
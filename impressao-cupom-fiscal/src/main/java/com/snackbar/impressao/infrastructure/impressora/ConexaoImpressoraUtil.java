@@ -2,10 +2,12 @@ package com.snackbar.impressao.infrastructure.impressora;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 public class ConexaoImpressoraUtil {
     
@@ -16,7 +18,27 @@ public class ConexaoImpressoraUtil {
         return devicePath.contains(":") && !devicePath.startsWith("/") && !devicePath.contains("\\");
     }
     
-    public static OutputStream criarConexaoRede(String devicePath) throws IOException {
+    /**
+     * Arquivo .prn gerado no modo teste (criado ou sobrescrito a cada impressão).
+     */
+    public static boolean eArquivoTeste(String destino) {
+        return destino != null && destino.endsWith(".prn");
+    }
+    
+    /**
+     * Abre o destino de impressão: arquivo do modo teste, conexão de rede ou dispositivo local.
+     */
+    public static OutputStream abrirDestino(String destino) throws IOException {
+        if (eArquivoTeste(destino)) {
+            return Files.newOutputStream(Paths.get(destino), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        if (eConexaoRede(destino)) {
+            return criarConexaoRede(destino);
+        }
+        return criarConexaoLocal(destino);
+    }
+    
+    public static InetSocketAddress obterEnderecoRede(String devicePath) throws IOException {
         String[] partes = devicePath.split(":");
         if (partes.length != 2) {
             throw new IOException("Formato de conexão de rede inválido. Use IP:PORTA (ex: 127.0.0.1:9100)");
@@ -29,8 +51,13 @@ public class ConexaoImpressoraUtil {
         } catch (NumberFormatException e) {
             throw new IOException("Porta inválida: " + partes[1]);
         }
+        return InetSocketAddress.createUnresolved(host, porta);
+    }
+    
+    public static OutputStream criarConexaoRede(String devicePath) throws IOException {
+        InetSocketAddress endereco = obterEnderecoRede(devicePath);
         
-        Socket socket = new Socket(host, porta);
+        Socket socket = new Socket(endereco.getHostString(), endereco.getPort());
         socket.setSoTimeout(5000);
         socket.setTcpNoDelay(true);
         return new SocketOutputStream(socket);
@@ -78,7 +105,7 @@ public class ConexaoImpressoraUtil {
             if (!Files.exists(caminho)) {
                 throw new IOException("Dispositivo não encontrado: " + devicePath);
             }
-            return Files.newOutputStream(caminho, java.nio.file.StandardOpenOption.WRITE);
+            return Files.newOutputStream(caminho, StandardOpenOption.WRITE);
         } catch (java.nio.file.InvalidPathException e) {
             throw new IOException("Caminho inválido: " + devicePath + ". Use formato IP:PORTA para rede (ex: 127.0.0.1:9100) ou caminho válido para dispositivo local", e);
         }
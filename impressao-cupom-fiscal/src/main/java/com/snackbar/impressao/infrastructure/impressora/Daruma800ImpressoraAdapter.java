@@ -1,14 +1,10 @@
 package com.snackbar.impressao.infrastructure.impressora;
 
 import com.snackbar.impressao.domain.entities.CupomFiscal;
-import com.snackbar.impressao.domain.ports.ImpressaoException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.io.OutputStream;
-
 @Component
 @RequiredArgsConstructor
 public class Daruma800ImpressoraAdapter extends BaseImpressoraAdapter {
@@ -19,26 +15,17 @@ public class Daruma800ImpressoraAdapter extends BaseImpressoraAdapter {
     @Value("${impressao.daruma.800.modo-teste:true}")
     private boolean modoTeste;
 
-    private String nomeArquivoTeste;
-
     @Override
-    protected OutputStream obterOutputStream(CupomFiscal cupomFiscal) throws ImpressaoException {
+    protected String resolverDestino(CupomFiscal cupomFiscal) {
         if (modoTeste) {
-            nomeArquivoTeste = "cupom_daruma_" + cupomFiscal.getPedido().getNumeroPedido() + ".prn";
-            return criarOutputStreamArquivo(nomeArquivoTeste);
+            return "cupom_daruma_" + cupomFiscal.getPedido().getNumeroPedido() + ".prn";
         }
+        return obterDevicePath(cupomFiscal);
+    }
 
-        String devicePathParaUsar = obterDevicePath(cupomFiscal);
-
-        try {
-            if (ConexaoImpressoraUtil.eConexaoRede(devicePathParaUsar)) {
-                return ConexaoImpressoraUtil.criarConexaoRede(devicePathParaUsar);
-            } else {
-                return ConexaoImpressoraUtil.criarConexaoLocal(devicePathParaUsar);
-            }
-        } catch (IOException e) {
-            throw new ImpressaoException("Erro ao conectar com impressora DARUMA 800: " + e.getMessage(), e);
-        }
+    @Override
+    protected String obterNomeImpressora() {
+        return "DARUMA 800";
     }
 
     private String obterDevicePath(CupomFiscal cupomFiscal) {
@@ -48,16 +35,6 @@ public class Daruma800ImpressoraAdapter extends BaseImpressoraAdapter {
                 : devicePath;
     }
 
-    @Override
-    protected String obterNomeArquivoTeste(CupomFiscal cupomFiscal) {
-        return nomeArquivoTeste;
-    }
-
-    @Override
-    protected void fecharOutputStream(OutputStream outputStream) throws IOException {
-        outputStream.close();
-    }
-
     @Override
     protected boolean verificarImpressoraDisponivel() throws Exception {
         if (modoTeste) {
@@ -0,0 +1,257 @@
+package com.snackbar.impressao.infrastructure.impressora;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Monta um documento ESC/POS em um único buffer que cresce conforme necessário.
+ *
+ * Substitui a concatenação de arrays a cada trecho do cupom (que copiava o documento inteiro
+ * a cada passo) e o {@code String.format} por linha: texto é codificado em UTF-8 direto no
+ * buffer e números e colunas são escritos sem criar strings intermediárias. A saída é a mesma,
+ * byte a byte, de {@code String.format} com a localidade padrão da JVM seguido de
+ * {@code getBytes(UTF_8)}.
+ *
+ * Não é thread-safe: cada cupom usa a sua instância.
+ */
+public final class EscPosWriter {
+
+    private static final int CAPACIDADE_PADRAO = 1024;
+    private static final byte ESPACO = ' ';
+    private static final byte SUBSTITUTO_UTF8 = '?';
+    private static final String PREFIXO_MOEDA = "R$";
+
+    // Valores até 13 dígitos inteiros com no máximo 2 casas convertem para double sem perda,
+    // então "%.2f" imprime exatamente os mesmos dígitos do BigDecimal
+    private static final int MAXIMO_DIGITOS_INTEIROS_EXATOS = 13;
+
+    private byte[] buffer;
+    private int tamanho;
+
+    private final char separadorDecimal;
+    // Localidades com outros dígitos (ex.: árabe) caem no String.format para manter a saída
+    private final boolean digitosAscii;
+    private final StringBuilder numero = new StringBuilder(24);
+
+    public EscPosWriter() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    public EscPosWriter(int capacidadeInicial) {
+        this.buffer = new byte[Math.max(16, capacidadeInicial)];
+        DecimalFormatSymbols simbolos = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.separadorDecimal = simbolos.getDecimalSeparator();
+        this.digitosAscii = simbolos.getZeroDigit() == '0';
+    }
+
+    // ==================== Comandos ====================
+
+    public EscPosWriter alinharEsquerda() {
+        return comando(EscPosComandos.ESC, (byte) 'a', (byte) 0);
+    }
+
+    public EscPosWriter alinharCentro() {
+        return comando(EscPosComandos.ESC, (byte) 'a', (byte) 1);
+    }
+
+    public EscPosWriter textoNormal() {
+        return comando(EscPosComandos.ESC, (byte) '!', (byte) 0);
+    }
+
+    public EscPosWriter textoNegrito() {
+        return comando(EscPosComandos.ESC, (byte) '!', (byte) 8);
+    }
+
+    public EscPosWriter textoDuploAltura() {
+        return comando(EscPosComandos.ESC, (byte) '!', (byte) 32);
+    }
+
+    private EscPosWriter comando(byte b1, byte b2, byte b3) {
+        garantirCapacidade(3);
+        buffer[tamanho++] = b1;
+        buffer[tamanho++] = b2;
+        buffer[tamanho++] = b3;
+        return this;
+    }
+
+    // ==================== Texto ====================
+
+    public EscPosWriter bytes(byte[] dados) {
+        garantirCapacidade(dados.length);
+        System.arraycopy(dados, 0, buffer, tamanho, dados.length);
+        tamanho += dados.length;
+        return this;
+    }
+
+    /**
+     * Escreve o texto em UTF-8; null é escrito como "null", como em {@code StringBuilder.append}.
+     */
+    public EscPosWriter texto(CharSequence texto) {
+        CharSequence conteudo = texto != null ? texto : "null";
+        int comprimento = conteudo.length();
+        garantirCapacidade(comprimento);
+        for (int i = 0; i < comprimento; i++) {
+            char c = conteudo.charAt(i);
+            if (c < 0x80) {
+                buffer[tamanho++] = (byte) c;
+            } else {
+                i = escreverNaoAscii(conteudo, i, c);
+            }
+        }
+        return this;
+    }
+
+    public EscPosWriter linha(CharSequence texto) {
+        return texto(texto).novaLinha();
+    }
+
+    public EscPosWriter novaLinha() {
+        garantirCapacidade(1);
+        buffer[tamanho++] = EscPosComandos.LF;
+        return this;
+    }
+
+    public EscPosWriter espacos(int quantidade) {
+        if (quantidade <= 0) {
+            return this;
+        }
+        garantirCapacidade(quantidade);
+        Arrays.fill(buffer, tamanho, tamanho + quantidade, ESPACO);
+        tamanho += quantidade;
+        return this;
+    }
+
+    /**
+     * Texto alinhado à esquerda, completado com espaços até a largura (como {@code %-Ns}).
+     */
+    public EscPosWriter colunaEsquerda(CharSequence texto, int largura) {
+        CharSequence conteudo = texto != null ? texto : "null";
+        texto(conteudo);
+        return espacos(largura - conteudo.length());
+    }
+
+    /**
+     * Texto alinhado à direita, precedido de espaços até a largura (como {@code %Ns}).
+     */
+    public EscPosWriter colunaDireita(CharSequence texto, int largura) {
+        CharSequence conteudo = texto != null ? texto : "null";
+        espacos(largura - conteudo.length());
+        return texto(conteudo);
+    }
+
+    /**
+     * Inteiro alinhado à direita (como {@code %Nd}).
+     */
+    public EscPosWriter inteiro(int valor, int largura) {
+        if (!digitosAscii) {
+            return texto(String.format("%" + largura + "d", valor));
+        }
+        numero.setLength(0);
+        numero.append(valor);
+        return colunaDireita(numero, largura);
+    }
+
+    /**
+     * Valor monetário alinhado à direita (como {@code %Ns} de {@code "R$%.2f"}).
+     */
+    public EscPosWriter moeda(BigDecimal valor, int largura) {
+        return colunaDireita(formatarMoeda(valor), largura);
+    }
+
+    /**
+     * Rótulo à esquerda e valor monetário encostado na margem direita, com pelo menos um espaço
+     * entre eles, seguido de quebra de linha.
+     */
+    public EscPosWriter linhaComValor(String rotulo, BigDecimal valor, int colunas) {
+        CharSequence valorFormatado = formatarMoeda(valor);
+        texto(rotulo);
+        espacos(Math.max(1, colunas - rotulo.length() - valorFormatado.length()));
+        return texto(valorFormatado).novaLinha();
+    }
+
+    /**
+     * Formata como {@code String.format("R$%.2f", valor.doubleValue())}. O resultado fica em um
+     * buffer reaproveitado e só é válido até a próxima formatação.
+     */
+    private CharSequence formatarMoeda(BigDecimal valor) {
+        if (!digitosAscii || valor.scale() > 2
+                || valor.precision() - valor.scale() > MAXIMO_DIGITOS_INTEIROS_EXATOS) {
+            return String.format("R$%.2f", valor.doubleValue());
+        }
+
+        long centavos = valor.movePointRight(2).longValue();
+        long absoluto = Math.abs(centavos);
+        numero.setLength(0);
+        numero.append(PREFIXO_MOEDA);
+        if (centavos < 0) {
+            // O sinal vem depois do prefixo literal, como no "%.2f": R$-1,50
+            numero.append('-');
+        }
+        numero.append(absoluto / 100).append(separadorDecimal);
+        long fracao = absoluto % 100;
+        if (fracao < 10) {
+            numero.append('0');
+        }
+        return numero.append(fracao);
+    }
+
+    // ==================== Saída ====================
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, tamanho);
+    }
+
+    /**
+     * Escreve o documento direto no destino (ex.: stream da impressora), sem cópia intermediária.
+     */
+    public void escreverEm(OutputStream destino) throws IOException {
+        destino.write(buffer, 0, tamanho);
+    }
+
+    /**
+     * Codifica um caractere fora do ASCII como {@code String.getBytes(UTF_8)}: pares surrogate
+     * viram 4 bytes e surrogates isolados viram '?'.
+     *
+     * @return índice do último char consumido
+     */
+    private int escreverNaoAscii(CharSequence texto, int indice, char c) {
+        garantirCapacidade(4 + texto.length() - indice);
+        if (c < 0x800) {
+            buffer[tamanho++] = (byte) (0xC0 | (c >> 6));
+            buffer[tamanho++] = (byte) (0x80 | (c & 0x3F));
+            return indice;
+        }
+        if (Character.isHighSurrogate(c) && indice + 1 < texto.length()
+                && Character.isLowSurrogate(texto.charAt(indice + 1))) {
+            int codePoint = Character.toCodePoint(c, texto.charAt(indice + 1));
+            buffer[tamanho++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[tamanho++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[tamanho++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[tamanho++] = (byte) (0x80 | (codePoint & 0x3F));
+            return indice + 1;
+        }
+        if (Character.isSurrogate(c)) {
+            buffer[tamanho++] = SUBSTITUTO_UTF8;
+            return indice;
+        }
+        buffer[tamanho++] = (byte) (0xE0 | (c >> 12));
+        buffer[tamanho++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[tamanho++] = (byte) (0x80 | (c & 0x3F));
+        return indice;
+    }
+
+    private void garantirCapacidade(int adicional) {
+        int necessario = tamanho + adicional;
+        if (necessario > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(necessario, buffer.length * 2));
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.snackbar.impressao.infrastructure.impressora;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import com.snackbar.impressao.domain.entities.CupomFiscal;
@@ -13,6 +12,10 @@ public class FormatoCupomFiscal {
 
     private static final int LARGURA_PADRAO = 48;
 
+    // Tamanho aproximado do cupom em bytes, para o buffer raramente precisar crescer
+    private static final int TAMANHO_BASE_ESTIMADO = 1024;
+    private static final int TAMANHO_ITEM_ESTIMADO = 160;
+
     /**
      * Formata apenas o CONTEÚDO do cupom (sem comandos de impressora)
      * 
@@ -23,26 +26,35 @@ public class FormatoCupomFiscal {
      * @return bytes ESC/POS contendo apenas o conteúdo formatado
      */
     public static byte[] formatarCupom(CupomFiscal cupomFiscal) {
-        byte[] cupom = new byte[0];
+        return escreverCupom(cupomFiscal).toByteArray();
+    }
+
+    /**
+     * Formata o cupom sem copiar o resultado para um novo array; use
+     * {@link EscPosWriter#escreverEm} para enviar direto ao stream da impressora.
+     */
+    public static EscPosWriter escreverCupom(CupomFiscal cupomFiscal) {
+        LayoutCupom layout = LayoutCupom.PADRAO;
+        EscPosWriter cupom = new EscPosWriter(estimarTamanho(cupomFiscal));
 
         // 1. Cabeçalho (texto centralizado)
         // Logo é tratado separadamente pelo Electron via node-thermal-printer
-        cupom = concatenar(cupom, EscPosComandos.alinharCentro());
-        cupom = concatenar(cupom, formatarCabecalho(cupomFiscal));
+        cupom.alinharCentro();
+        escreverCabecalho(cupom, cupomFiscal);
 
         // 2. Conteúdo do cupom (dados do pedido)
-        cupom = concatenar(cupom, EscPosComandos.textoNormal());
-        cupom = concatenar(cupom, EscPosComandos.alinharEsquerda());
-        cupom = concatenar(cupom, EscPosComandos.linhaSeparadora(LARGURA_PADRAO));
-        cupom = concatenar(cupom, formatarDadosPedido(cupomFiscal));
-        cupom = concatenar(cupom, EscPosComandos.linhaSeparadora(LARGURA_PADRAO));
-        cupom = concatenar(cupom, formatarItens(cupomFiscal.getItens()));
-        cupom = concatenar(cupom, EscPosComandos.linhaSeparadora(LARGURA_PADRAO));
-        cupom = concatenar(cupom, formatarTotal(cupomFiscal.getValorTotal()));
-        cupom = concatenar(cupom, EscPosComandos.linhaSeparadora(LARGURA_PADRAO));
-        cupom = concatenar(cupom, formatarMeiosPagamento(cupomFiscal.getMeiosPagamento()));
-        cupom = concatenar(cupom, EscPosComandos.linhaSeparadora(LARGURA_PADRAO));
-        cupom = concatenar(cupom, formatarRodape(cupomFiscal));
+        cupom.textoNormal();
+        cupom.alinharEsquerda();
+        cupom.bytes(layout.linhaSeparadora());
+        escreverDadosPedido(cupom, cupomFiscal);
+        cupom.bytes(layout.linhaSeparadora());
+        escreverItens(cupom, layout, cupomFiscal.getItens());
+        cupom.bytes(layout.linhaSeparadora());
+        escreverTotal(cupom, layout, cupomFiscal.getValorTotal());
+        cupom.bytes(layout.linhaSeparadora());
+        escreverMeiosPagamento(cupom, layout, cupomFiscal.getMeiosPagamento());
+        cupom.bytes(layout.linhaSeparadora());
+        escreverRodape(cupom);
 
         // NOTA: Comandos de inicialização (reset) e finalização (corte, feeds)
         // são adicionados pelo Electron conforme a impressora específica
@@ -50,141 +62,119 @@ public class FormatoCupomFiscal {
         return cupom;
     }
 
-    private static byte[] formatarCabecalho(CupomFiscal cupomFiscal) {
-        byte[] cabecalho = new byte[0];
+    private static int estimarTamanho(CupomFiscal cupomFiscal) {
+        int itens = cupomFiscal.getItens() != null ? cupomFiscal.getItens().size() : 0;
+        return TAMANHO_BASE_ESTIMADO + itens * TAMANHO_ITEM_ESTIMADO;
+    }
 
+    private static void escreverCabecalho(EscPosWriter cupom, CupomFiscal cupomFiscal) {
         // Nome do estabelecimento: altura dupla + negrito (mais evidente)
-        cabecalho = concatenar(cabecalho, EscPosComandos.textoDuploAltura());
-        String nome = cupomFiscal.getNomeEstabelecimento() + "\n";
-        cabecalho = concatenar(cabecalho, nome.getBytes(StandardCharsets.UTF_8));
+        cupom.textoDuploAltura();
+        cupom.linha(cupomFiscal.getNomeEstabelecimento());
 
         // Volta para texto normal para o resto do cabeçalho
-        cabecalho = concatenar(cabecalho, EscPosComandos.textoNormal());
-
-        StringBuilder resto = new StringBuilder();
+        cupom.textoNormal();
 
         if (cupomFiscal.getEnderecoEstabelecimento() != null
                 && !cupomFiscal.getEnderecoEstabelecimento().trim().isEmpty()) {
-            resto.append(cupomFiscal.getEnderecoEstabelecimento()).append("\n");
+            cupom.linha(cupomFiscal.getEnderecoEstabelecimento());
         }
 
         if (cupomFiscal.getTelefoneEstabelecimento() != null
                 && !cupomFiscal.getTelefoneEstabelecimento().trim().isEmpty()) {
-            resto.append("Tel: ").append(cupomFiscal.getTelefoneEstabelecimento()).append("\n");
+            cupom.texto("Tel: ").linha(cupomFiscal.getTelefoneEstabelecimento());
         }
 
         if (cupomFiscal.getCnpjEstabelecimento() != null && !cupomFiscal.getCnpjEstabelecimento().trim().isEmpty()) {
-            resto.append("CNPJ: ").append(formatarCnpj(cupomFiscal.getCnpjEstabelecimento())).append("\n");
+            cupom.texto("CNPJ: ").linha(formatarCnpj(cupomFiscal.getCnpjEstabelecimento()));
         }
 
-        resto.append("\n");
+        cupom.novaLinha();
 
         // CUPOM FISCAL em negrito
-        cabecalho = concatenar(cabecalho, resto.toString().getBytes(StandardCharsets.UTF_8));
-        cabecalho = concatenar(cabecalho, EscPosComandos.textoNegrito());
-        cabecalho = concatenar(cabecalho, "CUPOM FISCAL\n".getBytes(StandardCharsets.UTF_8));
-        cabecalho = concatenar(cabecalho, EscPosComandos.textoNormal());
-        cabecalho = concatenar(cabecalho, "\n".getBytes(StandardCharsets.UTF_8));
-
-        return cabecalho;
+        cupom.textoNegrito();
+        cupom.linha("CUPOM FISCAL");
+        cupom.textoNormal();
+        cupom.novaLinha();
     }
 
-    private static byte[] formatarDadosPedido(CupomFiscal cupomFiscal) {
-        StringBuilder dados = new StringBuilder();
-        dados.append("Pedido: #").append(cupomFiscal.getPedido().getNumeroPedido()).append("\n");
-        dados.append("Cliente: ").append(cupomFiscal.getPedido().getClienteNome()).append("\n");
-        dados.append("Data: ").append(cupomFiscal.getDataFormatada()).append("\n");
+    private static void escreverDadosPedido(EscPosWriter cupom, CupomFiscal cupomFiscal) {
+        cupom.texto("Pedido: #").linha(cupomFiscal.getPedido().getNumeroPedido());
+        cupom.texto("Cliente: ").linha(cupomFiscal.getPedido().getClienteNome());
+        cupom.texto("Data: ").linha(cupomFiscal.getDataFormatada());
 
         if (cupomFiscal.getPedido().getObservacoes() != null
                 && !cupomFiscal.getPedido().getObservacoes().trim().isEmpty()) {
-            dados.append("Obs: ").append(cupomFiscal.getPedido().getObservacoes()).append("\n");
+            cupom.texto("Obs: ").linha(cupomFiscal.getPedido().getObservacoes());
         }
 
-        dados.append("\n");
-
-        return dados.toString().getBytes(StandardCharsets.UTF_8);
+        cupom.novaLinha();
     }
 
-    private static byte[] formatarItens(List<ItemPedidoDTO> itens) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("ITENS DO PEDIDO\n\n");
+    private static void escreverItens(EscPosWriter cupom, LayoutCupom layout, List<ItemPedidoDTO> itens) {
+        cupom.texto("ITENS DO PEDIDO\n\n");
 
         // Cabeçalho da tabela
-        sb.append(String.format("%-34s %3s %9s", "DESCRICAO", "QTD", "VALOR")).append("\n");
-        sb.append("-".repeat(LARGURA_PADRAO)).append("\n");
+        cupom.bytes(layout.cabecalhoItens());
+        cupom.bytes(layout.linhaSeparadora());
 
         for (ItemPedidoDTO item : itens) {
-            String nome = truncarTexto(item.getProdutoNome(), 34);
-            String valorStr = String.format("R$%.2f", item.getSubtotal().doubleValue());
-            sb.append(String.format("%-34s %3d %9s", nome, item.getQuantidade(), valorStr)).append("\n");
+            cupom.colunaEsquerda(truncarTexto(item.getProdutoNome(), layout.larguraDescricao()), layout.larguraDescricao())
+                    .espacos(1)
+                    .inteiro(item.getQuantidade(), layout.larguraQuantidade())
+                    .espacos(1)
+                    .moeda(item.getSubtotal(), layout.larguraValor())
+                    .novaLinha();
 
             // Adicionais do item
             if (item.getAdicionais() != null && !item.getAdicionais().isEmpty()) {
                 for (ItemPedidoAdicionalDTO adicional : item.getAdicionais()) {
-                    String nomeAd = truncarTexto(adicional.getAdicionalNome(), 30);
-                    String valorAd = String.format("R$%.2f",
-                            adicional.getSubtotal() != null ? adicional.getSubtotal().doubleValue() : 0.0);
-                    sb.append(String.format("  + %-30s %3d %9s", nomeAd, adicional.getQuantidade(), valorAd))
-                            .append("\n");
+                    cupom.texto(layout.prefixoAdicional())
+                            .colunaEsquerda(truncarTexto(adicional.getAdicionalNome(), layout.larguraDescricaoAdicional()),
+                                    layout.larguraDescricaoAdicional())
+                            .espacos(1)
+                            .inteiro(adicional.getQuantidade(), layout.larguraQuantidade())
+                            .espacos(1)
+                            .moeda(adicional.getSubtotal() != null ? adicional.getSubtotal() : BigDecimal.ZERO,
+                                    layout.larguraValor())
+                            .novaLinha();
                 }
             }
 
             // Observações do item
             if (item.getObservacoes() != null && !item.getObservacoes().trim().isEmpty()) {
-                sb.append("  > ").append(item.getObservacoes()).append("\n");
+                cupom.texto("  > ").linha(item.getObservacoes());
             }
         }
 
-        sb.append("\n");
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
+        cupom.novaLinha();
     }
 
-    private static byte[] formatarTotal(BigDecimal valorTotal) {
-        StringBuilder total = new StringBuilder();
-        total.append("\n");
-        String valorStr = String.format("R$%.2f", valorTotal.doubleValue());
-        String totalLabel = "TOTAL:";
-        int espacos = LARGURA_PADRAO - totalLabel.length() - valorStr.length();
-        total.append(totalLabel).append(" ".repeat(Math.max(1, espacos))).append(valorStr).append("\n");
-
-        return total.toString().getBytes(StandardCharsets.UTF_8);
+    private static void escreverTotal(EscPosWriter cupom, LayoutCupom layout, BigDecimal valorTotal) {
+        cupom.novaLinha();
+        cupom.linhaComValor("TOTAL:", valorTotal, layout.colunas());
     }
 
-    private static byte[] formatarMeiosPagamento(List<MeioPagamentoDTO> meiosPagamento) {
-        StringBuilder pagamentos = new StringBuilder();
-        pagamentos.append("FORMA DE PAGAMENTO:\n");
+    private static void escreverMeiosPagamento(EscPosWriter cupom, LayoutCupom layout,
+            List<MeioPagamentoDTO> meiosPagamento) {
+        cupom.linha("FORMA DE PAGAMENTO:");
 
         for (MeioPagamentoDTO meioPagamento : meiosPagamento) {
-            String descricao = meioPagamento.getMeioPagamento().getDescricao();
-            String valorStr = String.format("R$%.2f", meioPagamento.getValor().doubleValue());
-            int espacos = LARGURA_PADRAO - descricao.length() - valorStr.length();
-            pagamentos.append(descricao).append(" ".repeat(Math.max(1, espacos))).append(valorStr).append("\n");
+            cupom.linhaComValor(meioPagamento.getMeioPagamento().getDescricao(), meioPagamento.getValor(),
+                    layout.colunas());
 
             // Troco para pagamento em dinheiro
             if (meioPagamento.getTroco() != null && meioPagamento.getTroco().compareTo(BigDecimal.ZERO) > 0) {
-                String pagoLabel = "  Valor Pago:";
-                String pagoStr = String.format("R$%.2f", meioPagamento.getValorPagoDinheiro().doubleValue());
-                int espacosPago = LARGURA_PADRAO - pagoLabel.length() - pagoStr.length();
-                pagamentos.append(pagoLabel).append(" ".repeat(Math.max(1, espacosPago))).append(pagoStr).append("\n");
-
-                String trocoLabel = "  Troco:";
-                String trocoStr = String.format("R$%.2f", meioPagamento.getTroco().doubleValue());
-                int espacosTroco = LARGURA_PADRAO - trocoLabel.length() - trocoStr.length();
-                pagamentos.append(trocoLabel).append(" ".repeat(Math.max(1, espacosTroco))).append(trocoStr)
-                        .append("\n");
+                cupom.linhaComValor("  Valor Pago:", meioPagamento.getValorPagoDinheiro(), layout.colunas());
+                cupom.linhaComValor("  Troco:", meioPagamento.getTroco(), layout.colunas());
             }
         }
-
-        return pagamentos.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    private static byte[] formatarRodape(CupomFiscal cupomFiscal) {
-        StringBuilder rodape = new StringBuilder();
-        rodape.append("\n");
-        rodape.append("Obrigado pela preferencia!\n");
-        rodape.append("Volte sempre!\n");
-
-        return rodape.toString().getBytes(StandardCharsets.UTF_8);
+    private static void escreverRodape(EscPosWriter cupom) {
+        cupom.novaLinha();
+        cupom.linha("Obrigado pela preferencia!");
+        cupom.linha("Volte sempre!");
     }
 
     private static String formatarCnpj(String cnpj) {
@@ -252,13 +242,6 @@ public class FormatoCupomFiscal {
         return texto.substring(0, tamanhoMaximo - 3) + "...";
     }
 
-    private static byte[] concatenar(byte[] array1, byte[] array2) {
-        byte[] resultado = new byte[array1.length + array2.length];
-        System.arraycopy(array1, 0, resultado, 0, array1.length);
-        System.arraycopy(array2, 0, resultado, array1.length, array2.length);
-        return resultado;
-    }
-
     public static String formatarCupomLegivel(CupomFiscal cupomFiscal) {
         StringBuilder cupom = new StringBuilder();
 
@@ -1,125 +1,89 @@
 package com.snackbar.impressao.infrastructure.impressora;
 
+import com.snackbar.kernel.infrastructure.cache.CacheLru;
+
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
 
+/**
+ * Converte o logo configurado (base64) no comando de bitmap ESC/POS.
+ *
+ * A configuração da impressora é recarregada do banco a cada impressão e o logo era
+ * reconvertido em toda carga. O resultado agora fica em cache, indexado pelo hash do conteúdo,
+ * pela largura e pelo pontilhamento, então o mesmo logo só é decodificado uma vez.
+ */
 public class ImagemEscPosUtil {
     
-    private static final int LARGURA_MAXIMA = 384;
+    private static final int LARGURA_MAXIMA = BitmapEscPos.LARGURA_MAXIMA_PADRAO;
+    private static final int TAMANHO_CACHE = 16;
+    private static final Duration VALIDADE_CACHE = Duration.ofDays(1);
+    
+    private static final CacheLru<ChaveBitmap, byte[]> CACHE = new CacheLru<>(TAMANHO_CACHE, VALIDADE_CACHE);
+    
+    private record ChaveBitmap(String hashConteudo, int larguraMaxima, BitmapEscPos.Pontilhamento pontilhamento) {
+    }
     
     public static byte[] converterBase64ParaEscPos(String base64) {
+        return converterBase64ParaEscPos(base64, LARGURA_MAXIMA, BitmapEscPos.Pontilhamento.LIMIAR);
+    }
+    
+    public static byte[] converterBase64ParaEscPos(String base64, int larguraMaxima,
+            BitmapEscPos.Pontilhamento pontilhamento) {
         if (base64 == null || base64.trim().isEmpty()) {
             return new byte[0];
         }
         
+        String base64Data = base64;
+        if (base64Data.contains(",")) {
+            base64Data = base64Data.substring(base64Data.indexOf(",") + 1);
+        }
+        
+        ChaveBitmap chave = new ChaveBitmap(calcularHash(base64Data), larguraMaxima, pontilhamento);
+        Optional<byte[]> emCache = CACHE.obter(chave);
+        if (emCache.isPresent()) {
+            return emCache.get().clone();
+        }
+        
+        byte[] comando = converter(base64Data, larguraMaxima, pontilhamento);
+        // Imagens inválidas também ficam em cache para não serem decodificadas de novo
+        CACHE.armazenar(chave, comando);
+        return comando.clone();
+    }
+    
+    public static CacheLru.Estatisticas estatisticasCache() {
+        return CACHE.estatisticas();
+    }
+    
+    private static byte[] converter(String base64Data, int larguraMaxima, BitmapEscPos.Pontilhamento pontilhamento) {
         try {
-            String base64Data = base64;
-            if (base64Data.contains(",")) {
-                base64Data = base64Data.substring(base64Data.indexOf(",") + 1);
-            }
-            
             byte[] imageBytes = Base64.getDecoder().decode(base64Data);
-            BufferedImage imagem = ImageIO.read(new java.io.ByteArrayInputStream(imageBytes));
+            BufferedImage imagem = ImageIO.read(new ByteArrayInputStream(imageBytes));
             
             if (imagem == null) {
                 return new byte[0];
             }
             
-            BufferedImage imagemProcessada = processarImagem(imagem);
-            return converterParaEscPos(imagemProcessada);
+            return BitmapEscPos.converter(imagem, larguraMaxima, pontilhamento, true);
         } catch (Exception e) {
             System.err.println("Erro ao converter imagem para ESC/POS: " + e.getMessage());
             return new byte[0];
         }
     }
     
-    private static BufferedImage processarImagem(BufferedImage imagemOriginal) {
-        int largura = imagemOriginal.getWidth();
-        int altura = imagemOriginal.getHeight();
-        
-        if (largura > LARGURA_MAXIMA) {
-            double escala = (double) LARGURA_MAXIMA / largura;
-            largura = LARGURA_MAXIMA;
-            altura = (int) (altura * escala);
-        }
-        
-        BufferedImage imagemProcessada = new BufferedImage(largura, altura, BufferedImage.TYPE_BYTE_BINARY);
-        Graphics2D g = imagemProcessada.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.drawImage(imagemOriginal, 0, 0, largura, altura, null);
-        g.dispose();
-        
-        return imagemProcessada;
-    }
-    
-    private static byte[] converterParaEscPos(BufferedImage imagem) throws IOException {
-        int largura = imagem.getWidth();
-        int altura = imagem.getHeight();
-        
-        int larguraBytes = (largura + 7) / 8;
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        
-        for (int y = 0; y < altura; y++) {
-            byte[] linha = new byte[larguraBytes];
-            
-            for (int x = 0; x < largura; x++) {
-                int rgb = imagem.getRGB(x, y);
-                int cinza = (int) (0.299 * ((rgb >> 16) & 0xFF) + 
-                                   0.587 * ((rgb >> 8) & 0xFF) + 
-                                   0.114 * (rgb & 0xFF));
-                
-                if (cinza < 128) {
-                    int byteIndex = x / 8;
-                    int bitIndex = 7 - (x % 8);
-                    linha[byteIndex] |= (1 << bitIndex);
-                }
-            }
-            
-            output.write(linha);
-        }
-        
-        byte[] dadosImagem = output.toByteArray();
-        return criarComandoEscPosImagem(largura, altura, dadosImagem);
-    }
-    
-    private static byte[] criarComandoEscPosImagem(int largura, int altura, byte[] dadosImagem) {
-        int larguraBytes = (largura + 7) / 8;
-        int nL = larguraBytes & 0xFF;
-        int nH = (larguraBytes >> 8) & 0xFF;
-        int alturaL = altura & 0xFF;
-        int alturaH = (altura >> 8) & 0xFF;
-        
-        ByteArrayOutputStream comando = new ByteArrayOutputStream();
-        
-        // NOTA: Reset (ESC @) não deve ser adicionado aqui.
-        // O Electron adiciona reset no início de todo o cupom.
-        // Aqui enviamos apenas o comando de bitmap.
-        
-        // Comando GS (v 0) para imprimir bitmap rasterizado
-        // Formato: GS v 0 nL nH vL vH [dados]
-        comando.write(EscPosComandos.GS);
-        comando.write('v');
-        comando.write(0); // m = 0 (modo normal)
-        comando.write(nL); // nL = largura em bytes (LSB)
-        comando.write(nH); // nH = largura em bytes (MSB)
-        comando.write(alturaL); // vL = altura em pixels (LSB)
-        comando.write(alturaH); // vH = altura em pixels (MSB)
-        
-        // Dados da imagem (bitmap)
-        for (byte b : dadosImagem) {
-            comando.write(b);
+    private static String calcularHash(String base64Data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(base64Data.getBytes(StandardCharsets.ISO_8859_1)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
         }
-        
-        // Adiciona quebra de linha após a imagem
-        comando.write(EscPosComandos.LF);
-        
-        return comando.toByteArray();
     }
 }
-
@@ -0,0 +1,75 @@
+package com.snackbar.impressao.infrastructure.impressora;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Colunas do cupom.
+ *
+ * O layout é calculado uma única vez na carga da classe, junto com as linhas fixas
+ * (separador e cabeçalho da tabela de itens) já em bytes, para não refazer a formatação
+ * a cada cupom.
+ */
+public final class LayoutCupom {
+
+    private static final int LARGURA_QUANTIDADE = 3;
+    private static final int LARGURA_VALOR = 9;
+    private static final String PREFIXO_ADICIONAL = "  + ";
+
+    /**
+     * Layout usado por todos os cupons: 48 colunas (papel de 80mm, fonte normal).
+     */
+    public static final LayoutCupom PADRAO = new LayoutCupom(48);
+
+    private final int colunas;
+    private final int larguraDescricao;
+    private final int larguraDescricaoAdicional;
+    private final byte[] linhaSeparadora;
+    private final byte[] cabecalhoItens;
+
+    private LayoutCupom(int colunas) {
+        this.colunas = colunas;
+        this.larguraDescricao = Math.max(1, colunas - LARGURA_QUANTIDADE - LARGURA_VALOR - 2);
+        this.larguraDescricaoAdicional = Math.max(1, larguraDescricao - PREFIXO_ADICIONAL.length());
+        this.linhaSeparadora = ("-".repeat(colunas) + "\n").getBytes(StandardCharsets.UTF_8);
+        this.cabecalhoItens = (String.format("%-" + larguraDescricao + "s %" + LARGURA_QUANTIDADE + "s %"
+                + LARGURA_VALOR + "s", "DESCRICAO", "QTD", "VALOR") + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public int colunas() {
+        return colunas;
+    }
+
+    public int larguraDescricao() {
+        return larguraDescricao;
+    }
+
+    public int larguraDescricaoAdicional() {
+        return larguraDescricaoAdicional;
+    }
+
+    public int larguraQuantidade() {
+        return LARGURA_QUANTIDADE;
+    }
+
+    public int larguraValor() {
+        return LARGURA_VALOR;
+    }
+
+    String prefixoAdicional() {
+        return PREFIXO_ADICIONAL;
+    }
+
+    /**
+     * Linha de traços com a largura do layout, já com a quebra de linha. Não deve ser alterada.
+     */
+    byte[] linhaSeparadora() {
+        return linhaSeparadora;
+    }
+
+    /**
+     * Cabeçalho "DESCRICAO QTD VALOR" da tabela de itens, já com a quebra de linha. Não deve ser alterado.
+     */
+    byte[] cabecalhoItens() {
+        return cabecalhoItens;
+    }
+}
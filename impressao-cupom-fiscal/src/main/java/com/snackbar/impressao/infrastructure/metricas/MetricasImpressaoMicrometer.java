@@ -0,0 +1,54 @@
+package com.snackbar.impressao.infrastructure.metricas;
+
+import com.snackbar.impressao.application.ports.MetricasImpressaoPort;
+import com.snackbar.impressao.domain.entities.TipoImpressora;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers do pedido de impressão no Micrometer, criados todos no construtor (tipo de impressora
+ * x resultado), para o registro de cada cupom não passar pelo registry.
+ */
+@Component
+public class MetricasImpressaoMicrometer implements MetricasImpressaoPort {
+
+    private final Map<TipoImpressora, Map<Resultado, Timer>> timers = new EnumMap<>(TipoImpressora.class);
+    private final Map<Resultado, Timer> timersSemTipo = new EnumMap<>(Resultado.class);
+
+    public MetricasImpressaoMicrometer(MeterRegistry registry) {
+        for (TipoImpressora tipo : TipoImpressora.values()) {
+            Map<Resultado, Timer> porResultado = new EnumMap<>(Resultado.class);
+            for (Resultado resultado : Resultado.values()) {
+                porResultado.put(resultado, criarTimer(registry, tipo.name(), resultado));
+            }
+            timers.put(tipo, porResultado);
+        }
+        for (Resultado resultado : Resultado.values()) {
+            timersSemTipo.put(resultado, criarTimer(registry, "desconhecido", resultado));
+        }
+    }
+
+    @Override
+    public void registrarImpressao(TipoImpressora tipo, Resultado resultado, long duracaoNanos) {
+        Map<Resultado, Timer> porResultado = tipo != null ? timers.get(tipo) : timersSemTipo;
+        porResultado.get(resultado).record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer criarTimer(MeterRegistry registry, String tipo, Resultado resultado) {
+        return Timer.builder("impressao.cupom")
+                .description("Pedido de impressão de cupom (envio ao Electron ou entrada na fila)")
+                .tag("tipo_impressora", tipo.toLowerCase(Locale.ROOT))
+                .tag("resultado", resultado.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+}
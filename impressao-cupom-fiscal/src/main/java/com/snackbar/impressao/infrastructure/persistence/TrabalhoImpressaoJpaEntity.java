@@ -0,0 +1,74 @@
+package com.snackbar.impressao.infrastructure.persistence;
+
+import com.snackbar.impressao.domain.entities.StatusTrabalhoImpressao;
+import com.snackbar.impressao.domain.entities.TipoImpressora;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "trabalhos_impressao")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrabalhoImpressaoJpaEntity implements Persistable<String> {
+    @Id
+    private String id;
+
+    @Column(name = "pedido_id", length = 36)
+    private String pedidoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_impressora", nullable = false, length = 50)
+    private TipoImpressora tipoImpressora;
+
+    @Column(nullable = false, length = 255)
+    private String destino;
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] dados;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusTrabalhoImpressao status;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+
+    @Column(length = 64)
+    private String dono;
+
+    @Column(name = "reservado_ate")
+    private LocalDateTime reservadoAte;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Transient
+    @Builder.Default
+    private boolean novo = true;
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.novo = false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.snackbar.impressao.infrastructure.persistence;
+
+import com.snackbar.impressao.domain.entities.StatusTrabalhoImpressao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TrabalhoImpressaoJpaRepository extends JpaRepository<TrabalhoImpressaoJpaEntity, String> {
+
+    @Query("""
+            SELECT t FROM TrabalhoImpressaoJpaEntity t
+            WHERE t.status = :pendente OR (t.status = :emEnvio AND t.reservadoAte < :agora)
+            ORDER BY t.createdAt ASC
+            """)
+    List<TrabalhoImpressaoJpaEntity> buscarDisponiveis(@Param("pendente") StatusTrabalhoImpressao pendente,
+            @Param("emEnvio") StatusTrabalhoImpressao emEnvio,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Reserva condicional: só uma instância consegue mudar a linha, as outras recebem 0.
+     */
+    @Modifying
+    @Query("""
+            UPDATE TrabalhoImpressaoJpaEntity t
+            SET t.status = :emEnvio, t.dono = :dono, t.reservadoAte = :reservadoAte
+            WHERE t.id = :id AND (t.status = :pendente OR (t.status = :emEnvio AND t.reservadoAte < :agora))
+            """)
+    int reservar(@Param("id") String id,
+            @Param("dono") String dono,
+            @Param("reservadoAte") LocalDateTime reservadoAte,
+            @Param("agora") LocalDateTime agora,
+            @Param("pendente") StatusTrabalhoImpressao pendente,
+            @Param("emEnvio") StatusTrabalhoImpressao emEnvio);
+
+    @Modifying
+    @Query("""
+            UPDATE TrabalhoImpressaoJpaEntity t
+            SET t.reservadoAte = :reservadoAte
+            WHERE t.dono = :dono AND t.status = :emEnvio
+            """)
+    int renovarReservas(@Param("dono") String dono,
+            @Param("reservadoAte") LocalDateTime reservadoAte,
+            @Param("emEnvio") StatusTrabalhoImpressao emEnvio);
+
+    @Modifying
+    @Query("""
+            UPDATE TrabalhoImpressaoJpaEntity t
+            SET t.status = :pendente, t.dono = NULL, t.reservadoAte = NULL
+            WHERE t.dono = :dono AND t.status = :emEnvio
+            """)
+    int liberarReservas(@Param("dono") String dono,
+            @Param("pendente") StatusTrabalhoImpressao pendente,
+            @Param("emEnvio") StatusTrabalhoImpressao emEnvio);
+
+    @Modifying
+    @Query("""
+            UPDATE TrabalhoImpressaoJpaEntity t
+            SET t.status = :status, t.tentativas = :tentativas, t.ultimoErro = :ultimoErro, t.updatedAt = :updatedAt
+            WHERE t.id = :id
+            """)
+    int atualizarStatus(@Param("id") String id,
+            @Param("status") StatusTrabalhoImpressao status,
+            @Param("tentativas") int tentativas,
+            @Param("ultimoErro") String ultimoErro,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM TrabalhoImpressaoJpaEntity t WHERE t.status IN :finalizados AND t.updatedAt < :limite")
+    int removerFinalizadosAntesDe(@Param("finalizados") List<StatusTrabalhoImpressao> finalizados,
+            @Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,67 @@
+package com.snackbar.impressao.infrastructure.persistence;
+
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+
+import java.util.List;
+
+public class TrabalhoImpressaoMapper {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private TrabalhoImpressaoMapper() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    public static TrabalhoImpressaoJpaEntity paraEntity(TrabalhoImpressao domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return TrabalhoImpressaoJpaEntity.builder()
+                .id(domain.getId())
+                .pedidoId(domain.getPedidoId())
+                .tipoImpressora(domain.getTipoImpressora())
+                .destino(domain.getDestino())
+                .dados(domain.getDados())
+                .status(domain.getStatus())
+                .tentativas(domain.getTentativas())
+                .ultimoErro(limitarErro(domain.getUltimoErro()))
+                .createdAt(domain.getCreatedAt())
+                .updatedAt(domain.getUpdatedAt())
+                .build();
+    }
+
+    public static TrabalhoImpressao paraDomain(TrabalhoImpressaoJpaEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        TrabalhoImpressao domain = TrabalhoImpressao.criar(
+                entity.getPedidoId(),
+                entity.getTipoImpressora(),
+                entity.getDestino(),
+                entity.getDados());
+
+        domain.restaurarDoBanco(
+                entity.getId(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt());
+
+        domain.restaurarEstado(entity.getStatus(), entity.getTentativas(), entity.getUltimoErro());
+
+        return domain;
+    }
+
+    public static List<TrabalhoImpressao> paraDomainList(List<TrabalhoImpressaoJpaEntity> entities) {
+        return entities.stream()
+                .map(TrabalhoImpressaoMapper::paraDomain)
+                .toList();
+    }
+
+    static String limitarErro(String erro) {
+        if (erro == null || erro.length() <= TAMANHO_MAXIMO_ERRO) {
+            return erro;
+        }
+        return erro.substring(0, TAMANHO_MAXIMO_ERRO);
+    }
+}
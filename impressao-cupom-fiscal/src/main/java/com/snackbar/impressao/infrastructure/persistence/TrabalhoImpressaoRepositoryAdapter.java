@@ -0,0 +1,76 @@
+package com.snackbar.impressao.infrastructure.persistence;
+
+import com.snackbar.impressao.application.ports.TrabalhoImpressaoRepositoryPort;
+import com.snackbar.impressao.domain.entities.StatusTrabalhoImpressao;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class TrabalhoImpressaoRepositoryAdapter implements TrabalhoImpressaoRepositoryPort {
+
+    private final TrabalhoImpressaoJpaRepository jpaRepository;
+
+    @Override
+    @SuppressWarnings("null")
+    public TrabalhoImpressao salvar(TrabalhoImpressao trabalho) {
+        TrabalhoImpressaoJpaEntity entity = TrabalhoImpressaoMapper.paraEntity(Objects.requireNonNull(trabalho));
+        return TrabalhoImpressaoMapper.paraDomain(jpaRepository.save(entity));
+    }
+
+    @Override
+    public Optional<TrabalhoImpressao> buscarPorId(String id) {
+        return jpaRepository.findById(Objects.requireNonNull(id))
+                .map(TrabalhoImpressaoMapper::paraDomain);
+    }
+
+    @Override
+    public List<TrabalhoImpressao> buscarDisponiveis(LocalDateTime agora) {
+        return TrabalhoImpressaoMapper.paraDomainList(jpaRepository.buscarDisponiveis(
+                StatusTrabalhoImpressao.PENDENTE, StatusTrabalhoImpressao.EM_ENVIO, agora));
+    }
+
+    @Override
+    @Transactional
+    public boolean reservar(String id, String dono, LocalDateTime reservadoAte, LocalDateTime agora) {
+        return jpaRepository.reservar(id, dono, reservadoAte, agora,
+                StatusTrabalhoImpressao.PENDENTE, StatusTrabalhoImpressao.EM_ENVIO) == 1;
+    }
+
+    @Override
+    @Transactional
+    public int renovarReservas(String dono, LocalDateTime reservadoAte) {
+        return jpaRepository.renovarReservas(dono, reservadoAte, StatusTrabalhoImpressao.EM_ENVIO);
+    }
+
+    @Override
+    @Transactional
+    public int liberarReservas(String dono) {
+        return jpaRepository.liberarReservas(dono, StatusTrabalhoImpressao.PENDENTE, StatusTrabalhoImpressao.EM_ENVIO);
+    }
+
+    @Override
+    @Transactional
+    public void atualizarStatus(TrabalhoImpressao trabalho) {
+        jpaRepository.atualizarStatus(
+                trabalho.getId(),
+                trabalho.getStatus(),
+                trabalho.getTentativas(),
+                TrabalhoImpressaoMapper.limitarErro(trabalho.getUltimoErro()),
+                trabalho.getUpdatedAt());
+    }
+
+    @Override
+    @Transactional
+    public int removerFinalizadosAntesDe(LocalDateTime limite) {
+        return jpaRepository.removerFinalizadosAntesDe(
+                List.of(StatusTrabalhoImpressao.IMPRESSO, StatusTrabalhoImpressao.FALHOU), limite);
+    }
+}
@@ -0,0 +1,162 @@
+package com.snackbar.impressao.infrastructure.spooler;
+
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.List;
+
+/**
+ * Conexão TCP mantida aberta com uma impressora de rede (porta RAW, normalmente 9100).
+ *
+ * Em vez de abrir um socket por cupom, a conexão é reaproveitada entre lotes e só é fechada
+ * após um período ocioso ou em caso de erro. Antes de reaproveitar, verifica se a impressora
+ * não encerrou a conexão do lado dela; se a escrita falhar em uma conexão reaproveitada,
+ * tenta mais uma vez com uma conexão nova antes de reportar a falha.
+ *
+ * Cada cupom é descarregado no socket antes do próximo, e os já descarregados contam como
+ * entregues: na reconexão só os seguintes são reenviados, e uma falha no meio do lote é
+ * reportada como envio parcial, para a fila não imprimir de novo o que já saiu.
+ */
+@Slf4j
+final class ConexaoRedePersistente implements TransporteImpressao {
+
+    private static final int TAMANHO_BUFFER_ESCRITA = 16 * 1024;
+    private static final int TIMEOUT_VERIFICACAO_MS = 1;
+
+    private final InetSocketAddress endereco;
+    private final int timeoutConexaoMs;
+
+    private Socket socket;
+    private OutputStream saida;
+    private long ultimoUsoNanos;
+
+    ConexaoRedePersistente(InetSocketAddress endereco, int timeoutConexaoMs) {
+        this.endereco = endereco;
+        this.timeoutConexaoMs = timeoutConexaoMs;
+    }
+
+    @Override
+    public void enviar(List<TrabalhoImpressao> lote) throws IOException {
+        boolean reaproveitada = socket != null && conexaoAindaAberta();
+        if (!reaproveitada) {
+            fechar();
+        }
+        try {
+            escrever(lote, 0);
+        } catch (EscritaInterrompidaException e) {
+            fechar();
+            if (!reaproveitada) {
+                throw falha(e.entregues, e.causa);
+            }
+            log.debug("Conexão com {} caiu enquanto ociosa, reenviando {} de {} cupom(ns): {}",
+                    endereco, lote.size() - e.entregues, lote.size(), e.causa.getMessage());
+            try {
+                escrever(lote, e.entregues);
+            } catch (EscritaInterrompidaException novaFalha) {
+                fechar();
+                throw falha(novaFalha.entregues, novaFalha.causa);
+            }
+        }
+    }
+
+    @Override
+    public void fecharSeOcioso(long ociosidadeMaximaNanos) {
+        if (socket != null && System.nanoTime() - ultimoUsoNanos > ociosidadeMaximaNanos) {
+            log.debug("Fechando conexão ociosa com a impressora {}", endereco);
+            fechar();
+        }
+    }
+
+    @Override
+    public void fechar() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                log.debug("Erro ao fechar conexão com {}: {}", endereco, e.getMessage());
+            }
+        }
+        socket = null;
+        saida = null;
+    }
+
+    /**
+     * Escreve os trabalhos a partir de {@code inicio}, descarregando um por vez.
+     */
+    private void escrever(List<TrabalhoImpressao> lote, int inicio) throws EscritaInterrompidaException {
+        int entregues = inicio;
+        try {
+            if (socket == null) {
+                conectar();
+            }
+            for (; entregues < lote.size(); entregues++) {
+                saida.write(lote.get(entregues).getDados());
+                saida.flush();
+            }
+        } catch (IOException e) {
+            throw new EscritaInterrompidaException(entregues, e);
+        }
+        ultimoUsoNanos = System.nanoTime();
+    }
+
+    private static IOException falha(int entregues, IOException causa) {
+        return entregues > 0 ? new EnvioParcialException(entregues, causa) : causa;
+    }
+
+    /**
+     * Falha de escrita com a quantidade de trabalhos entregues antes dela.
+     */
+    private static final class EscritaInterrompidaException extends Exception {
+        private final int entregues;
+        private final IOException causa;
+
+        EscritaInterrompidaException(int entregues, IOException causa) {
+            super(causa.getMessage(), causa, false, false);
+            this.entregues = entregues;
+            this.causa = causa;
+        }
+    }
+
+    private void conectar() throws IOException {
+        Socket novo = new Socket();
+        try {
+            novo.setTcpNoDelay(true);
+            novo.setKeepAlive(true);
+            novo.connect(new InetSocketAddress(endereco.getHostString(), endereco.getPort()), timeoutConexaoMs);
+        } catch (IOException e) {
+            novo.close();
+            throw e;
+        }
+        socket = novo;
+        saida = new BufferedOutputStream(novo.getOutputStream(), TAMANHO_BUFFER_ESCRITA);
+        log.debug("Conectado à impressora {}", endereco);
+    }
+
+    /**
+     * Leitura rápida para detectar se a impressora fechou a conexão. Bytes de status que a
+     * impressora tenha enviado são descartados.
+     */
+    private boolean conexaoAindaAberta() {
+        try {
+            InputStream entrada = socket.getInputStream();
+            socket.setSoTimeout(TIMEOUT_VERIFICACAO_MS);
+            while (entrada.available() > 0) {
+                if (entrada.read() < 0) {
+                    return false;
+                }
+            }
+            return entrada.read() >= 0;
+        } catch (SocketTimeoutException e) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.snackbar.impressao.infrastructure.spooler;
+
+import com.snackbar.impressao.application.ports.TrabalhoImpressaoRepositoryPort;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fila de uma impressora, atendida por uma única thread virtual.
+ *
+ * Uma thread por impressora garante a ordem dos cupons e que só um envio use a conexão por vez.
+ * Os trabalhos acumulados enquanto a impressora estava ocupada são enviados juntos, em lote.
+ * Em caso de falha os trabalhos voltam para o início da fila e a thread espera com backoff
+ * exponencial antes de tentar de novo; ao esgotar as tentativas o trabalho é marcado como falho.
+ */
+@Slf4j
+final class FilaImpressora {
+
+    private static final long BACKOFF_INICIAL_MS = 500;
+    private static final long BACKOFF_MAXIMO_MS = 30_000;
+    private static final long ESPERA_ENCERRAMENTO_MS = 5_000;
+
+    private final String chave;
+    private final TransporteImpressao transporte;
+    private final TrabalhoImpressaoRepositoryPort repository;
+    private final int loteMaximo;
+    private final int tentativasMaximas;
+    private final long ociosidadeMaximaNanos;
+
+    private final LinkedBlockingDeque<TrabalhoImpressao> pendentes = new LinkedBlockingDeque<>();
+    private final Set<String> idsNaFila = ConcurrentHashMap.newKeySet();
+    private volatile boolean ativa = true;
+    private Thread thread;
+    private int falhasConsecutivas;
+
+    private final LongAdder impressos = new LongAdder();
+    private final LongAdder falhasEnvio = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+
+    FilaImpressora(String chave, TransporteImpressao transporte, TrabalhoImpressaoRepositoryPort repository,
+            int loteMaximo, int tentativasMaximas, long ociosidadeMaximaNanos) {
+        this.chave = chave;
+        this.transporte = transporte;
+        this.repository = repository;
+        this.loteMaximo = Math.max(1, loteMaximo);
+        this.tentativasMaximas = Math.max(1, tentativasMaximas);
+        this.ociosidadeMaximaNanos = ociosidadeMaximaNanos;
+    }
+
+    void iniciar() {
+        thread = Thread.ofVirtual().name("spooler-impressao-" + chave).start(this::executar);
+    }
+
+    /**
+     * Adiciona o trabalho ao fim da fila. Trabalhos que já estão na fila são ignorados.
+     */
+    void enfileirar(TrabalhoImpressao trabalho) {
+        if (idsNaFila.add(trabalho.getId())) {
+            pendentes.offerLast(trabalho);
+        }
+    }
+
+    int tamanho() {
+        return pendentes.size();
+    }
+
+    long impressos() {
+        return impressos.sum();
+    }
+
+    long falhasEnvio() {
+        return falhasEnvio.sum();
+    }
+
+    long descartados() {
+        return descartados.sum();
+    }
+
+    /**
+     * Interrompe a thread e fecha a conexão. Trabalhos ainda na fila continuam pendentes no banco
+     * e são retomados na próxima inicialização.
+     */
+    void parar() {
+        ativa = false;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(ESPERA_ENCERRAMENTO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void executar() {
+        try {
+            while (ativa) {
+                TrabalhoImpressao primeiro = pendentes.pollFirst(ociosidadeMaximaNanos, TimeUnit.NANOSECONDS);
+                if (primeiro == null) {
+                    transporte.fecharSeOcioso(ociosidadeMaximaNanos);
+                    continue;
+                }
+                List<TrabalhoImpressao> lote = new ArrayList<>(loteMaximo);
+                lote.add(primeiro);
+                pendentes.drainTo(lote, loteMaximo - 1);
+                enviar(lote);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            transporte.fechar();
+        }
+    }
+
+    private void enviar(List<TrabalhoImpressao> lote) throws InterruptedException {
+        try {
+            transporte.enviar(lote);
+            concluir(lote);
+            falhasConsecutivas = 0;
+        } catch (TransporteImpressao.EnvioParcialException e) {
+            concluir(lote.subList(0, e.getEntregues()));
+            falhar(lote.subList(e.getEntregues(), lote.size()), e);
+        } catch (IOException | RuntimeException e) {
+            falhar(lote, e);
+        }
+    }
+
+    private void concluir(List<TrabalhoImpressao> trabalhos) {
+        for (TrabalhoImpressao trabalho : trabalhos) {
+            trabalho.marcarImpresso();
+            atualizarStatus(trabalho);
+            idsNaFila.remove(trabalho.getId());
+        }
+        impressos.add(trabalhos.size());
+        if (!trabalhos.isEmpty()) {
+            log.debug("{} cupom(ns) enviado(s) para {}", trabalhos.size(), chave);
+        }
+    }
+
+    private void falhar(List<TrabalhoImpressao> trabalhos, Exception erro) throws InterruptedException {
+        String mensagem = erro.getMessage() != null ? erro.getMessage() : erro.getClass().getSimpleName();
+        List<TrabalhoImpressao> novasTentativas = new ArrayList<>(trabalhos.size());
+        for (TrabalhoImpressao trabalho : trabalhos) {
+            if (trabalho.registrarFalha(mensagem, tentativasMaximas)) {
+                novasTentativas.add(trabalho);
+            } else {
+                idsNaFila.remove(trabalho.getId());
+                descartados.increment();
+                log.error("Trabalho de impressão {} (pedido {}) falhou após {} tentativas: {}",
+                        trabalho.getId(), trabalho.getPedidoId(), trabalho.getTentativas(), mensagem);
+            }
+            atualizarStatus(trabalho);
+        }
+
+        // Devolve ao início da fila mantendo a ordem original
+        for (int i = novasTentativas.size() - 1; i >= 0; i--) {
+            pendentes.offerFirst(novasTentativas.get(i));
+        }
+
+        falhasEnvio.increment();
+        falhasConsecutivas++;
+        long espera = Math.min(BACKOFF_MAXIMO_MS, BACKOFF_INICIAL_MS << Math.min(falhasConsecutivas - 1, 16));
+        log.warn("Falha ao enviar para a impressora {} ({}). Nova tentativa em {} ms", chave, mensagem, espera);
+        Thread.sleep(espera);
+    }
+
+    private void atualizarStatus(TrabalhoImpressao trabalho) {
+        try {
+            repository.atualizarStatus(trabalho);
+        } catch (RuntimeException e) {
+            // O envio não depende do banco; o status é corrigido na próxima atualização
+            log.warn("Não foi possível atualizar o status do trabalho de impressão {}: {}",
+                    trabalho.getId(), e.getMessage());
+        }
+    }
+}
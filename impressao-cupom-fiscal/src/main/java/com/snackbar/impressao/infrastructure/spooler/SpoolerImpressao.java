@@ -0,0 +1,243 @@
+package com.snackbar.impressao.infrastructure.spooler;
+
+import com.snackbar.impressao.application.ports.SpoolerImpressaoPort;
+import com.snackbar.impressao.application.ports.TrabalhoImpressaoRepositoryPort;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+import com.snackbar.impressao.infrastructure.impressora.ConexaoImpressoraUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spooler de impressão: uma fila por impressora, cada uma com a sua thread e, para impressoras
+ * de rede, uma conexão TCP mantida aberta entre os cupons.
+ *
+ * O pedido de impressão só grava o trabalho e o coloca na fila, sem esperar a impressora.
+ * Como os trabalhos ficam no banco até serem enviados, os que estavam pendentes quando a
+ * aplicação parou são retomados na inicialização.
+ *
+ * Com mais de uma instância, cada trabalho é reservado no banco (dono + prazo) antes de entrar
+ * em uma fila; só a instância que conseguiu a reserva o envia. A reserva é renovada enquanto a
+ * instância está viva e devolvida no encerramento. Se a instância cair, a reserva vence e o
+ * trabalho é assumido por outra na próxima verificação.
+ */
+@Component
+@Slf4j
+public class SpoolerImpressao implements SpoolerImpressaoPort {
+
+    private static final int TIMEOUT_CONEXAO_MS = 2000;
+    private static final String PREFIXO_FILA_ARQUIVO_TESTE = "arquivo-teste:";
+
+    private final TrabalhoImpressaoRepositoryPort repository;
+    private final int loteMaximo;
+    private final int tentativasMaximas;
+    private final long ociosidadeConexaoNanos;
+    private final int retencaoDias;
+    private final long reservaSegundos;
+    private final String dono = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String, FilaImpressora> filas = new ConcurrentHashMap<>();
+    private volatile boolean encerrado;
+    // Guarda a criação e a interrupção da thread de manutenção (subida e encerramento)
+    private final ReentrantLock travaManutencao = new ReentrantLock();
+    private Thread manutencao;
+
+    public record Estatisticas(int filas, int pendentes, long impressos, long falhasEnvio, long descartados) {
+    }
+
+    public SpoolerImpressao(
+            TrabalhoImpressaoRepositoryPort repository,
+            @Value("${impressao.spooler.lote-maximo:20}") int loteMaximo,
+            @Value("${impressao.spooler.tentativas-maximas:8}") int tentativasMaximas,
+            @Value("${impressao.spooler.ociosidade-conexao-segundos:30}") int ociosidadeConexaoSegundos,
+            @Value("${impressao.spooler.retencao-dias:7}") int retencaoDias,
+            @Value("${impressao.spooler.reserva-segundos:120}") int reservaSegundos) {
+        this.repository = repository;
+        this.loteMaximo = loteMaximo;
+        this.tentativasMaximas = tentativasMaximas;
+        this.ociosidadeConexaoNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ociosidadeConexaoSegundos));
+        this.retencaoDias = retencaoDias;
+        this.reservaSegundos = Math.max(3, reservaSegundos);
+    }
+
+    /**
+     * Reserva o trabalho para esta instância e o coloca na fila da impressora. Se a reserva
+     * falhar, o trabalho fica no banco e é assumido na próxima verificação (por esta ou outra
+     * instância).
+     */
+    @Override
+    public void enfileirar(TrabalhoImpressao trabalho) {
+        if (encerrado) {
+            log.warn("Spooler encerrado; trabalho {} fica pendente para a próxima inicialização", trabalho.getId());
+            return;
+        }
+        if (!reservar(trabalho)) {
+            return;
+        }
+        filas.computeIfAbsent(chaveFila(trabalho), chave -> criarFila(chave, trabalho.getDestino()))
+                .enfileirar(trabalho);
+    }
+
+    /**
+     * Retoma os trabalhos que ficaram pendentes, remove do banco os já finalizados há mais
+     * tempo que o período de retenção e inicia a renovação periódica das reservas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recuperarPendentes() {
+        try {
+            int removidos = repository.removerFinalizadosAntesDe(LocalDateTime.now().minusDays(retencaoDias));
+            if (removidos > 0) {
+                log.info("{} trabalho(s) de impressão antigo(s) removido(s)", removidos);
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro ao remover trabalhos de impressão antigos: {}", e.getMessage(), e);
+        }
+        assumirDisponiveis();
+
+        travaManutencao.lock();
+        try {
+            if (manutencao == null && !encerrado) {
+                manutencao = Thread.ofVirtual().name("spooler-impressao-reservas").start(this::manterReservas);
+            }
+        } finally {
+            travaManutencao.unlock();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        int pendentes = 0;
+        long impressos = 0;
+        long falhasEnvio = 0;
+        long descartados = 0;
+        for (FilaImpressora fila : filas.values()) {
+            pendentes += fila.tamanho();
+            impressos += fila.impressos();
+            falhasEnvio += fila.falhasEnvio();
+            descartados += fila.descartados();
+        }
+        return new Estatisticas(filas.size(), pendentes, impressos, falhasEnvio, descartados);
+    }
+
+    /**
+     * Para as filas e devolve as reservas dos trabalhos que não chegaram a ser enviados, para
+     * outra instância assumi-los sem esperar o prazo vencer.
+     */
+    @PreDestroy
+    void encerrar() {
+        encerrado = true;
+        travaManutencao.lock();
+        try {
+            if (manutencao != null) {
+                manutencao.interrupt();
+            }
+        } finally {
+            travaManutencao.unlock();
+        }
+        filas.values().forEach(FilaImpressora::parar);
+        filas.clear();
+        try {
+            int liberados = repository.liberarReservas(dono);
+            if (liberados > 0) {
+                log.info("{} trabalho(s) de impressão devolvido(s) para outra instância", liberados);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível devolver as reservas de impressão; vencem em {} s: {}",
+                    reservaSegundos, e.getMessage());
+        }
+    }
+
+    private boolean reservar(TrabalhoImpressao trabalho) {
+        LocalDateTime agora = LocalDateTime.now();
+        try {
+            if (!repository.reservar(trabalho.getId(), dono, agora.plusSeconds(reservaSegundos), agora)) {
+                log.debug("Trabalho de impressão {} já reservado por outra instância ou finalizado", trabalho.getId());
+                return false;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível reservar o trabalho de impressão {}; nova tentativa na próxima verificação: {}",
+                    trabalho.getId(), e.getMessage());
+            return false;
+        }
+        trabalho.marcarEmEnvio();
+        return true;
+    }
+
+    /**
+     * Enfileira os trabalhos pendentes ou com a reserva vencida que esta instância conseguir reservar.
+     */
+    private void assumirDisponiveis() {
+        try {
+            List<TrabalhoImpressao> disponiveis = repository.buscarDisponiveis(LocalDateTime.now());
+            if (!disponiveis.isEmpty()) {
+                log.info("Retomando {} trabalho(s) de impressão pendente(s)", disponiveis.size());
+            }
+            disponiveis.forEach(this::enfileirar);
+        } catch (RuntimeException e) {
+            log.error("Erro ao recuperar trabalhos de impressão pendentes: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Renova as reservas desta instância a cada terço do prazo e assume os trabalhos que outra
+     * instância deixou para trás.
+     */
+    private void manterReservas() {
+        long intervaloMs = TimeUnit.SECONDS.toMillis(reservaSegundos) / 3;
+        while (!encerrado) {
+            try {
+                Thread.sleep(intervaloMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                repository.renovarReservas(dono, LocalDateTime.now().plusSeconds(reservaSegundos));
+            } catch (RuntimeException e) {
+                log.warn("Não foi possível renovar as reservas de impressão: {}", e.getMessage());
+            }
+            assumirDisponiveis();
+        }
+    }
+
+    /**
+     * Cupons do modo teste vão cada um para um arquivo diferente, então compartilham uma fila
+     * por tipo de impressora em vez de criar uma por arquivo.
+     */
+    private static String chaveFila(TrabalhoImpressao trabalho) {
+        if (ConexaoImpressoraUtil.eArquivoTeste(trabalho.getDestino())) {
+            return PREFIXO_FILA_ARQUIVO_TESTE + trabalho.getTipoImpressora();
+        }
+        return trabalho.getDestino();
+    }
+
+    private FilaImpressora criarFila(String chave, String destino) {
+        FilaImpressora fila = new FilaImpressora(chave, criarTransporte(destino), repository,
+                loteMaximo, tentativasMaximas, ociosidadeConexaoNanos);
+        fila.iniciar();
+        log.info("Fila de impressão criada para {}", chave);
+        return fila;
+    }
+
+    private static TransporteImpressao criarTransporte(String destino) {
+        if (!ConexaoImpressoraUtil.eArquivoTeste(destino) && ConexaoImpressoraUtil.eConexaoRede(destino)) {
+            try {
+                return new ConexaoRedePersistente(ConexaoImpressoraUtil.obterEnderecoRede(destino), TIMEOUT_CONEXAO_MS);
+            } catch (IOException e) {
+                // Endereço inválido: o transporte abaixo reporta o mesmo erro em cada tentativa
+                log.warn("Destino de rede inválido {}: {}", destino, e.getMessage());
+            }
+        }
+        return new TransporteDispositivo();
+    }
+}
@@ -0,0 +1,51 @@
+package com.snackbar.impressao.infrastructure.spooler;
+
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+import com.snackbar.impressao.infrastructure.impressora.ConexaoImpressoraUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Dispositivo local (ex.: /dev/usb/lp0) ou arquivo .prn do modo teste.
+ *
+ * Não há conexão para manter: o destino é aberto uma vez por sequência de trabalhos com o
+ * mesmo destino dentro do lote e fechado logo em seguida, liberando o dispositivo.
+ */
+final class TransporteDispositivo implements TransporteImpressao {
+
+    @Override
+    public void enviar(List<TrabalhoImpressao> lote) throws IOException {
+        int inicio = 0;
+        while (inicio < lote.size()) {
+            String destino = lote.get(inicio).getDestino();
+            int fim = inicio + 1;
+            while (fim < lote.size() && destino.equals(lote.get(fim).getDestino())) {
+                fim++;
+            }
+            try (OutputStream saida = ConexaoImpressoraUtil.abrirDestino(destino)) {
+                for (int i = inicio; i < fim; i++) {
+                    saida.write(lote.get(i).getDados());
+                }
+                saida.flush();
+            } catch (IOException e) {
+                if (inicio == 0) {
+                    throw e;
+                }
+                throw new EnvioParcialException(inicio, e);
+            }
+            inicio = fim;
+        }
+    }
+
+    @Override
+    public void fecharSeOcioso(long ociosidadeMaximaNanos) {
+        // Nada fica aberto entre lotes
+    }
+
+    @Override
+    public void fechar() {
+        // Nada fica aberto entre lotes
+    }
+}
@@ -0,0 +1,43 @@
+package com.snackbar.impressao.infrastructure.spooler;
+
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Meio físico de uma fila de impressão. Usado apenas pela thread da fila.
+ */
+interface TransporteImpressao {
+
+    /**
+     * Envia os trabalhos na ordem, com uma única descarga por destino.
+     *
+     * @throws EnvioParcialException quando parte do lote foi entregue antes da falha
+     * @throws IOException quando nenhum trabalho do lote pode ser considerado entregue
+     */
+    void enviar(List<TrabalhoImpressao> lote) throws IOException;
+
+    /**
+     * Falha depois de os primeiros {@code entregues} trabalhos do lote já terem sido entregues.
+     */
+    final class EnvioParcialException extends IOException {
+        private final int entregues;
+
+        EnvioParcialException(int entregues, IOException causa) {
+            super(causa.getMessage(), causa);
+            this.entregues = entregues;
+        }
+
+        int getEntregues() {
+            return entregues;
+        }
+    }
+
+    /**
+     * Libera a conexão se ela está parada há mais tempo que o limite.
+     */
+    void fecharSeOcioso(long ociosidadeMaximaNanos);
+
+    void fechar();
+}
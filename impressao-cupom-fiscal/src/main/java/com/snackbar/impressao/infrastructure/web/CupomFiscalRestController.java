@@ -5,7 +5,9 @@ import com.snackbar.impressao.application.dtos.FormatarCupomResponse;
 import com.snackbar.impressao.application.dtos.ImprimirCupomRequest;
 import com.snackbar.impressao.application.dtos.ImprimirCupomResponse;
 import com.snackbar.impressao.application.dtos.SalvarConfiguracaoImpressoraRequest;
+import com.snackbar.impressao.application.dtos.TrabalhoImpressaoDTO;
 import com.snackbar.impressao.application.usecases.BuscarConfiguracaoImpressoraUseCase;
+import com.snackbar.impressao.application.usecases.ConsultarTrabalhoImpressaoUseCase;
 import com.snackbar.impressao.application.usecases.FormatarCupomFiscalUseCase;
 import com.snackbar.impressao.application.usecases.ImprimirCupomFiscalUseCase;
 import com.snackbar.impressao.application.usecases.SalvarConfiguracaoImpressoraUseCase;
@@ -23,6 +25,7 @@ public class CupomFiscalRestController {
     private final FormatarCupomFiscalUseCase formatarCupomFiscalUseCase;
     private final SalvarConfiguracaoImpressoraUseCase salvarConfiguracaoUseCase;
     private final BuscarConfiguracaoImpressoraUseCase buscarConfiguracaoUseCase;
+    private final ConsultarTrabalhoImpressaoUseCase consultarTrabalhoUseCase;
     
     @PostMapping("/cupom-fiscal")
     public ResponseEntity<ImprimirCupomResponse> imprimirCupomFiscal(@Valid @RequestBody ImprimirCupomRequest request) {
@@ -46,6 +49,18 @@ public class CupomFiscalRestController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Situação de um cupom enviado para a fila de impressão (PENDENTE, IMPRESSO ou FALHOU)
+     */
+    @GetMapping("/trabalhos/{id}")
+    public ResponseEntity<TrabalhoImpressaoDTO> buscarTrabalho(@PathVariable String id) {
+        TrabalhoImpressaoDTO trabalho = consultarTrabalhoUseCase.executar(id);
+        if (trabalho == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(trabalho);
+    }
+    
     @GetMapping("/configuracao")
     public ResponseEntity<ConfiguracaoImpressoraDTO> buscarConfiguracao() {
         ConfiguracaoImpressoraDTO config = buscarConfiguracaoUseCase.executar();
@@ -0,0 +1,164 @@
+package com.snackbar.impressao.infrastructure.impressora;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * O modo {@link BitmapEscPos.Pontilhamento#LIMIAR} deve imprimir exatamente o que a conversão
+ * anterior (desenho em {@code TYPE_BYTE_BINARY} + leitura por {@code getRGB}) imprimia.
+ *
+ * A única diferença intencional são pixels transparentes, que antes saíam pretos e agora saem
+ * brancos; por isso imagens com alfa são comparadas depois de compostas sobre branco.
+ */
+class BitmapEscPosTest {
+
+    private static final Path ASSETS = Path.of("..", "frontend", "src", "assets");
+
+    @ParameterizedTest
+    @ValueSource(strings = { "experimenta_ai_banner_circular.bmp", "experimenta_ai_banner_circular.png" })
+    void logoDoProjetoSaiIgualAConversaoAnterior(String arquivo) throws IOException {
+        Path caminho = ASSETS.resolve(arquivo);
+        assumeTrue(Files.exists(caminho), "logo do frontend não encontrado em " + caminho.toAbsolutePath());
+        BufferedImage logo = compostaSobreBranco(ImageIO.read(caminho.toFile()));
+
+        assertThat(BitmapEscPos.converter(logo, BitmapEscPos.LARGURA_MAXIMA_PADRAO,
+                BitmapEscPos.Pontilhamento.LIMIAR, false))
+                .isEqualTo(converterComoAntes(logo, BitmapEscPos.LARGURA_MAXIMA_PADRAO));
+    }
+
+    /**
+     * Cores em que a paleta mais próxima e um corte na luminância discordam.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 0x00FF00, 0x0080FF, 0xFF00FF, 0xFF0000, 0x0000FF, 0xFFFF00, 0x00FFFF,
+            0x808080, 0x7F7F7F, 0x000000, 0xFFFFFF })
+    void coresSaturadasSaemIguaisAConversaoAnterior(int rgb) {
+        BufferedImage imagem = solida(21, 5, rgb);
+
+        assertThat(BitmapEscPos.converter(imagem, BitmapEscPos.LARGURA_MAXIMA_PADRAO,
+                BitmapEscPos.Pontilhamento.LIMIAR, false))
+                .isEqualTo(converterComoAntes(imagem, BitmapEscPos.LARGURA_MAXIMA_PADRAO));
+    }
+
+    /**
+     * Pela luminância seria o contrário (verde ~150 sai branco, magenta ~105 sai preto).
+     */
+    @Test
+    void verdePuroSaiPretoEMagentaSaiBranco() {
+        byte[] verde = BitmapEscPos.converter(solida(8, 1, 0x00FF00), 384, BitmapEscPos.Pontilhamento.LIMIAR, false);
+        byte[] magenta = BitmapEscPos.converter(solida(8, 1, 0xFF00FF), 384, BitmapEscPos.Pontilhamento.LIMIAR, false);
+
+        assertThat(verde[7]).isEqualTo((byte) 0xFF);
+        assertThat(magenta[7]).isEqualTo((byte) 0x00);
+    }
+
+    @Test
+    void imagemReduzidaERuidoSaemIguaisAConversaoAnterior() {
+        Random aleatorio = new Random(42);
+        BufferedImage ruido = new BufferedImage(800, 97, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < ruido.getHeight(); y++) {
+            for (int x = 0; x < ruido.getWidth(); x++) {
+                ruido.setRGB(x, y, aleatorio.nextInt(0x1000000));
+            }
+        }
+        BufferedImage bgr = new BufferedImage(203, 40, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = bgr.createGraphics();
+        g.drawImage(ruido, 0, 0, 203, 40, null);
+        g.dispose();
+
+        assertThat(BitmapEscPos.converter(ruido, 384, BitmapEscPos.Pontilhamento.LIMIAR, false))
+                .isEqualTo(converterComoAntes(ruido, 384));
+        assertThat(BitmapEscPos.converter(bgr, 384, BitmapEscPos.Pontilhamento.LIMIAR, false))
+                .isEqualTo(converterComoAntes(bgr, 384));
+    }
+
+    @Test
+    void pixelTransparenteSaiComoPapel() {
+        BufferedImage imagem = new BufferedImage(8, 1, BufferedImage.TYPE_INT_ARGB);
+
+        byte[] comando = BitmapEscPos.converter(imagem, 384, BitmapEscPos.Pontilhamento.LIMIAR, true);
+
+        assertThat(comando).hasSize(7 + 1 + 1);
+        assertThat(comando[7]).isEqualTo((byte) 0x00);
+        assertThat(comando[8]).isEqualTo(EscPosComandos.LF);
+    }
+
+    private static BufferedImage solida(int largura, int altura, int rgb) {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagem.createGraphics();
+        g.setColor(new Color(rgb));
+        g.fillRect(0, 0, largura, altura);
+        g.dispose();
+        return imagem;
+    }
+
+    private static BufferedImage compostaSobreBranco(BufferedImage imagem) {
+        if (!imagem.getColorModel().hasAlpha()) {
+            return imagem;
+        }
+        BufferedImage opaca = new BufferedImage(imagem.getWidth(), imagem.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = opaca.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, opaca.getWidth(), opaca.getHeight());
+        g.drawImage(imagem, 0, 0, null);
+        g.dispose();
+        return opaca;
+    }
+
+    /**
+     * Conversão usada antes do {@link BitmapEscPos} (ImagemEscPosUtil/LogoEscPosLoader), sem o LF final.
+     */
+    private static byte[] converterComoAntes(BufferedImage original, int larguraMaxima) {
+        int largura = original.getWidth();
+        int altura = original.getHeight();
+        if (largura > larguraMaxima) {
+            double escala = (double) larguraMaxima / largura;
+            largura = larguraMaxima;
+            altura = (int) (altura * escala);
+        }
+
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D g = imagem.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.drawImage(original, 0, 0, largura, altura, null);
+        g.dispose();
+
+        int larguraBytes = (largura + 7) / 8;
+        byte[] comando = new byte[7 + larguraBytes * altura];
+        comando[0] = EscPosComandos.GS;
+        comando[1] = 'v';
+        comando[2] = 0;
+        comando[3] = (byte) (larguraBytes & 0xFF);
+        comando[4] = (byte) ((larguraBytes >> 8) & 0xFF);
+        comando[5] = (byte) (altura & 0xFF);
+        comando[6] = (byte) ((altura >> 8) & 0xFF);
+        for (int y = 0; y < altura; y++) {
+            for (int x = 0; x < largura; x++) {
+                int rgb = imagem.getRGB(x, y);
+                int cinza = (int) (0.299 * ((rgb >> 16) & 0xFF)
+                        + 0.587 * ((rgb >> 8) & 0xFF)
+                        + 0.114 * (rgb & 0xFF));
+                if (cinza < 128) {
+                    comando[7 + y * larguraBytes + x / 8] |= (byte) (1 << (7 - (x % 8)));
+                }
+            }
+        }
+        return comando;
+    }
+}
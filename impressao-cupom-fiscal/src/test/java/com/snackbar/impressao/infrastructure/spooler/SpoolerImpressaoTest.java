@@ -0,0 +1,455 @@
+package com.snackbar.impressao.infrastructure.spooler;
+
+import com.snackbar.impressao.application.ports.TrabalhoImpressaoRepositoryPort;
+import com.snackbar.impressao.domain.entities.StatusTrabalhoImpressao;
+import com.snackbar.impressao.domain.entities.TipoImpressora;
+import com.snackbar.impressao.domain.entities.TrabalhoImpressao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Spooler e conexão persistente contra uma impressora local (um {@link ServerSocket} em porta
+ * efêmera que guarda o que recebe por conexão).
+ *
+ * O banco é substituído por um repositório em memória em que a reserva tem a mesma condição do
+ * UPDATE condicional do adapter JPA ({@code PENDENTE} ou {@code EM_ENVIO} com prazo vencido),
+ * aplicada de forma atômica por trabalho.
+ */
+class SpoolerImpressaoTest {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(10);
+    // Bem maior que os buffers de socket, para a escrita do cupom seguinte falhar com certeza
+    private static final int TAMANHO_CUPOM_GRANDE = 16 * 1024 * 1024;
+    private static final Pattern CUPOM = Pattern.compile("\\[CUPOM-(\\d+)]");
+
+    private ImpressoraLocal impressora;
+    private RepositorioEmMemoria repositorio;
+    private final List<SpoolerImpressao> spoolers = new ArrayList<>();
+
+    @BeforeEach
+    void iniciarImpressora() throws IOException {
+        impressora = new ImpressoraLocal();
+        repositorio = new RepositorioEmMemoria();
+    }
+
+    @AfterEach
+    void encerrar() throws IOException {
+        spoolers.forEach(SpoolerImpressao::encerrar);
+        impressora.close();
+    }
+
+    @Test
+    void trabalhosReservadosChegamAImpressoraNaOrdem() {
+        SpoolerImpressao spooler = criarSpooler();
+        List<TrabalhoImpressao> trabalhos = criarTrabalhos(5);
+
+        trabalhos.forEach(spooler::enfileirar);
+
+        aguardar(() -> repositorio.todosComStatus(StatusTrabalhoImpressao.IMPRESSO));
+        aguardarRecebimento(trabalhos);
+        assertThat(impressora.recebidoTexto())
+                .isEqualTo("[CUPOM-0][CUPOM-1][CUPOM-2][CUPOM-3][CUPOM-4]");
+        assertThat(repositorio.donos()).hasSize(1);
+        assertThat(repositorio.reservasConcedidas()).isEqualTo(5);
+    }
+
+    @Test
+    void duasInstanciasNuncaEnviamOMesmoTrabalho() throws InterruptedException {
+        SpoolerImpressao primeiro = criarSpooler();
+        SpoolerImpressao segundo = criarSpooler();
+        List<TrabalhoImpressao> trabalhos = criarTrabalhos(60);
+
+        // As duas instâncias sobem juntas e disputam os mesmos pendentes; uma delas também
+        // recebe cada trabalho pelo caminho normal (objeto próprio, como depois de salvar)
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread a = Thread.ofVirtual().start(() -> {
+            aguardarLargada(largada);
+            primeiro.recuperarPendentes();
+        });
+        Thread b = Thread.ofVirtual().start(() -> {
+            aguardarLargada(largada);
+            segundo.recuperarPendentes();
+            trabalhos.forEach(segundo::enfileirar);
+        });
+        largada.countDown();
+        a.join();
+        b.join();
+
+        aguardar(() -> repositorio.todosComStatus(StatusTrabalhoImpressao.IMPRESSO));
+        aguardarRecebimento(trabalhos);
+        Map<String, Integer> vezesPorCupom = new ConcurrentHashMap<>();
+        Matcher cupom = CUPOM.matcher(impressora.recebidoTexto());
+        while (cupom.find()) {
+            vezesPorCupom.merge(cupom.group(1), 1, Integer::sum);
+        }
+        assertThat(vezesPorCupom).hasSize(60);
+        assertThat(vezesPorCupom.values()).containsOnly(1);
+        assertThat(repositorio.reservasConcedidas()).isEqualTo(60);
+    }
+
+    @Test
+    void conexaoQueCaiNoMeioDoLoteReenviaSoOsCuponsNaoEntregues() throws IOException {
+        byte[] inicial = cupomCheio('Z', 16);
+        byte[] a = cupomCheio('A', TAMANHO_CUPOM_GRANDE);
+        byte[] b = cupomCheio('B', TAMANHO_CUPOM_GRANDE);
+        byte[] c = cupomCheio('C', TAMANHO_CUPOM_GRANDE);
+        ConexaoRedePersistente conexao = new ConexaoRedePersistente(impressora.endereco(), 2000);
+        try {
+            conexao.enviar(List.of(trabalho(inicial)));
+            aguardar(() -> impressora.recebidoNaConexao(0).length == inicial.length);
+            // A impressora cai depois de receber o cupom A; a conexão já estava em uso
+            impressora.derrubarConexaoAposReceber(inicial.length + a.length);
+
+            conexao.enviar(List.of(trabalho(a), trabalho(b), trabalho(c)));
+
+            aguardar(() -> impressora.recebidoNaConexao(1).length == b.length + c.length);
+        } finally {
+            conexao.fechar();
+        }
+        assertThat(impressora.conexoes()).isEqualTo(2);
+        assertThat(resumo(impressora.recebidoNaConexao(0))).isEqualTo("Z16 A" + TAMANHO_CUPOM_GRANDE);
+        assertThat(resumo(impressora.recebidoNaConexao(1)))
+                .isEqualTo("B" + TAMANHO_CUPOM_GRANDE + " C" + TAMANHO_CUPOM_GRANDE);
+    }
+
+    @Test
+    void quedaEmConexaoNovaReportaEnvioParcial() {
+        byte[] a = cupomCheio('A', TAMANHO_CUPOM_GRANDE);
+        byte[] b = cupomCheio('B', TAMANHO_CUPOM_GRANDE);
+        impressora.derrubarConexaoAposReceber(a.length);
+        ConexaoRedePersistente conexao = new ConexaoRedePersistente(impressora.endereco(), 2000);
+        try {
+            assertThatThrownBy(() -> conexao.enviar(List.of(trabalho(a), trabalho(b))))
+                    .isInstanceOfSatisfying(TransporteImpressao.EnvioParcialException.class,
+                            e -> assertThat(e.getEntregues()).isEqualTo(1));
+        } finally {
+            conexao.fechar();
+        }
+        assertThat(resumo(impressora.recebidoNaConexao(0))).isEqualTo("A" + TAMANHO_CUPOM_GRANDE);
+    }
+
+    private SpoolerImpressao criarSpooler() {
+        SpoolerImpressao spooler = new SpoolerImpressao(repositorio, 20, 3, 30, 7, 30);
+        spoolers.add(spooler);
+        return spooler;
+    }
+
+    private List<TrabalhoImpressao> criarTrabalhos(int quantidade) {
+        List<TrabalhoImpressao> trabalhos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            TrabalhoImpressao trabalho = trabalho(("[CUPOM-" + i + "]").getBytes(StandardCharsets.US_ASCII));
+            trabalhos.add(repositorio.salvar(trabalho));
+        }
+        return trabalhos;
+    }
+
+    private TrabalhoImpressao trabalho(byte[] dados) {
+        InetSocketAddress endereco = impressora.endereco();
+        return TrabalhoImpressao.criar("pedido", TipoImpressora.EPSON_TM_T20,
+                endereco.getHostString() + ":" + endereco.getPort(), dados);
+    }
+
+    private static byte[] cupomCheio(char caractere, int tamanho) {
+        byte[] dados = new byte[tamanho];
+        Arrays.fill(dados, (byte) caractere);
+        return dados;
+    }
+
+    /**
+     * Sequências de bytes iguais como "A10 B3", para comparar cupons grandes.
+     */
+    private static String resumo(byte[] dados) {
+        StringBuilder resumo = new StringBuilder();
+        int inicio = 0;
+        for (int i = 1; i <= dados.length; i++) {
+            if (i == dados.length || dados[i] != dados[inicio]) {
+                resumo.append(resumo.isEmpty() ? "" : " ").append((char) dados[inicio]).append(i - inicio);
+                inicio = i;
+            }
+        }
+        return resumo.toString();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("Condição não atendida em " + ESPERA_MAXIMA);
+            }
+            dormir(10);
+        }
+    }
+
+    /**
+     * O trabalho vira IMPRESSO quando a escrita no socket termina, não quando a impressora lê;
+     * espera até chegarem pelo menos os bytes de todos os trabalhos.
+     */
+    private void aguardarRecebimento(List<TrabalhoImpressao> trabalhos) {
+        int esperado = trabalhos.stream().mapToInt(trabalho -> trabalho.getDados().length).sum();
+        aguardar(() -> impressora.recebidoTexto().length() >= esperado);
+    }
+
+    private static void aguardarLargada(CountDownLatch largada) {
+        try {
+            largada.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Impressora de rede local: aceita conexões e guarda os bytes de cada uma. Pode derrubar a
+     * conexão atual (RST) depois de um número exato de bytes.
+     */
+    private static final class ImpressoraLocal implements AutoCloseable {
+        private final ServerSocket servidor;
+        private final List<ByteArrayOutputStream> recebidos = new CopyOnWriteArrayList<>();
+        private volatile long derrubarApos = -1;
+
+        ImpressoraLocal() throws IOException {
+            servidor = new ServerSocket();
+            // Buffer de recepção pequeno: a escrita do cliente bloqueia em vez de sobrar no kernel
+            servidor.setReceiveBufferSize(4096);
+            servidor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            Thread.ofVirtual().start(this::aceitar);
+        }
+
+        InetSocketAddress endereco() {
+            return new InetSocketAddress("127.0.0.1", servidor.getLocalPort());
+        }
+
+        void derrubarConexaoAposReceber(long bytes) {
+            derrubarApos = bytes;
+        }
+
+        int conexoes() {
+            return recebidos.size();
+        }
+
+        byte[] recebidoNaConexao(int indice) {
+            if (indice >= recebidos.size()) {
+                return new byte[0];
+            }
+            ByteArrayOutputStream dados = recebidos.get(indice);
+            synchronized (dados) {
+                return dados.toByteArray();
+            }
+        }
+
+        String recebidoTexto() {
+            StringBuilder texto = new StringBuilder();
+            for (int i = 0; i < recebidos.size(); i++) {
+                texto.append(new String(recebidoNaConexao(i), StandardCharsets.US_ASCII));
+            }
+            return texto.toString();
+        }
+
+        private void aceitar() {
+            while (!servidor.isClosed()) {
+                try {
+                    Socket conexao = servidor.accept();
+                    ByteArrayOutputStream dados = new ByteArrayOutputStream();
+                    recebidos.add(dados);
+                    Thread.ofVirtual().start(() -> receber(conexao, dados));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void receber(Socket conexao, ByteArrayOutputStream dados) {
+            try (conexao; InputStream entrada = conexao.getInputStream()) {
+                long total = 0;
+                byte[] buffer = new byte[64 * 1024];
+                while (true) {
+                    long limite = derrubarApos;
+                    int maximo = limite >= 0 ? (int) Math.min(buffer.length, limite - total) : buffer.length;
+                    if (maximo == 0) {
+                        derrubarApos = -1;
+                        conexao.setSoLinger(true, 0);
+                        return;
+                    }
+                    int lidos = entrada.read(buffer, 0, maximo);
+                    if (lidos < 0) {
+                        return;
+                    }
+                    synchronized (dados) {
+                        dados.write(buffer, 0, lidos);
+                    }
+                    total += lidos;
+                }
+            } catch (IOException e) {
+                // Cliente fechou a conexão
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            servidor.close();
+        }
+    }
+
+    /**
+     * Tabela trabalhos_impressao em memória. Cada método altera a linha dentro de
+     * {@link ConcurrentHashMap#compute}, como um UPDATE com WHERE na mesma linha.
+     */
+    private static final class RepositorioEmMemoria implements TrabalhoImpressaoRepositoryPort {
+
+        private static final class Linha {
+            TrabalhoImpressao original;
+            StatusTrabalhoImpressao status = StatusTrabalhoImpressao.PENDENTE;
+            int tentativas;
+            String ultimoErro;
+            String dono;
+            LocalDateTime reservadoAte;
+        }
+
+        private final Map<String, Linha> linhas = new ConcurrentHashMap<>();
+        private final AtomicInteger reservasConcedidas = new AtomicInteger();
+
+        int reservasConcedidas() {
+            return reservasConcedidas.get();
+        }
+
+        boolean todosComStatus(StatusTrabalhoImpressao status) {
+            return linhas.values().stream().allMatch(linha -> linha.status == status);
+        }
+
+        List<String> donos() {
+            return linhas.values().stream().map(linha -> linha.dono).distinct().toList();
+        }
+
+        @Override
+        public TrabalhoImpressao salvar(TrabalhoImpressao trabalho) {
+            Linha linha = new Linha();
+            linha.original = trabalho;
+            linhas.put(trabalho.getId(), linha);
+            return copia(linha);
+        }
+
+        @Override
+        public Optional<TrabalhoImpressao> buscarPorId(String id) {
+            return Optional.ofNullable(linhas.get(id)).map(RepositorioEmMemoria::copia);
+        }
+
+        @Override
+        public List<TrabalhoImpressao> buscarDisponiveis(LocalDateTime agora) {
+            return linhas.values().stream()
+                    .filter(linha -> disponivel(linha, agora))
+                    .sorted(Comparator.comparing(linha -> linha.original.getCreatedAt()))
+                    .map(RepositorioEmMemoria::copia)
+                    .toList();
+        }
+
+        @Override
+        public boolean reservar(String id, String dono, LocalDateTime reservadoAte, LocalDateTime agora) {
+            boolean[] reservou = new boolean[1];
+            linhas.computeIfPresent(id, (chave, linha) -> {
+                if (disponivel(linha, agora)) {
+                    linha.status = StatusTrabalhoImpressao.EM_ENVIO;
+                    linha.dono = dono;
+                    linha.reservadoAte = reservadoAte;
+                    reservou[0] = true;
+                }
+                return linha;
+            });
+            if (reservou[0]) {
+                reservasConcedidas.incrementAndGet();
+            }
+            return reservou[0];
+        }
+
+        @Override
+        public void atualizarStatus(TrabalhoImpressao trabalho) {
+            linhas.computeIfPresent(trabalho.getId(), (chave, linha) -> {
+                linha.status = trabalho.getStatus();
+                linha.tentativas = trabalho.getTentativas();
+                linha.ultimoErro = trabalho.getUltimoErro();
+                return linha;
+            });
+        }
+
+        @Override
+        public int renovarReservas(String dono, LocalDateTime reservadoAte) {
+            AtomicInteger renovadas = new AtomicInteger();
+            linhas.replaceAll((chave, linha) -> {
+                if (dono.equals(linha.dono) && linha.status == StatusTrabalhoImpressao.EM_ENVIO) {
+                    linha.reservadoAte = reservadoAte;
+                    renovadas.incrementAndGet();
+                }
+                return linha;
+            });
+            return renovadas.get();
+        }
+
+        @Override
+        public int liberarReservas(String dono) {
+            AtomicInteger liberadas = new AtomicInteger();
+            linhas.replaceAll((chave, linha) -> {
+                if (dono.equals(linha.dono) && linha.status == StatusTrabalhoImpressao.EM_ENVIO) {
+                    linha.status = StatusTrabalhoImpressao.PENDENTE;
+                    linha.dono = null;
+                    linha.reservadoAte = null;
+                    liberadas.incrementAndGet();
+                }
+                return linha;
+            });
+            return liberadas.get();
+        }
+
+        @Override
+        public int removerFinalizadosAntesDe(LocalDateTime limite) {
+            return 0;
+        }
+
+        private static boolean disponivel(Linha linha, LocalDateTime agora) {
+            return linha.status == StatusTrabalhoImpressao.PENDENTE
+                    || (linha.status == StatusTrabalhoImpressao.EM_ENVIO && linha.reservadoAte.isBefore(agora));
+        }
+
+        private static TrabalhoImpressao copia(Linha linha) {
+            TrabalhoImpressao original = linha.original;
+            TrabalhoImpressao copia = TrabalhoImpressao.criar(original.getPedidoId(), original.getTipoImpressora(),
+                    original.getDestino(), original.getDados());
+            copia.restaurarDoBanco(original.getId(), original.getCreatedAt(), original.getUpdatedAt());
+            copia.restaurarEstado(linha.status, linha.tentativas, linha.ultimoErro);
+            return copia;
+        }
+    }
+}
@@ -6,7 +6,7 @@ import lombok.experimental.SuperBuilder;
 import java.time.LocalDateTime;
 
 @Data
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 public abstract class BaseDTO {
     private String id;
     private LocalDateTime createdAt;
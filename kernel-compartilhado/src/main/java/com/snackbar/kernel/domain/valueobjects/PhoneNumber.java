@@ -9,13 +9,13 @@ import java.util.regex.Pattern;
 public class PhoneNumber {
     String value;
     private static final Pattern PHONE_PATTERN = Pattern.compile("^\\d{10,11}$");
-    private static final Pattern NON_DIGIT_PATTERN = Pattern.compile("\\\\D+");
+    private static final Pattern NON_DIGIT_PATTERN = Pattern.compile("\\D+");
 
     private PhoneNumber(String value) {
         if (value == null || value.trim().isEmpty()) {
             throw new ValidationException("Telefone não pode ser nulo ou vazio");
         }
-        String cleanedValue = NON_DIGIT_PATTERN.matcher(value).replaceAll("");
+        String cleanedValue = normalize(value);
         if (cleanedValue.length() < 10 || cleanedValue.length() > 11) {
             throw new ValidationException("Telefone deve conter 10 ou 11 dígitos");
         }
@@ -29,6 +29,17 @@ public class PhoneNumber {
         return new PhoneNumber(value);
     }
 
+    /**
+     * Only the digits of a phone typed in any format, e.g. "(11) 98765-4321" -> "11987654321".
+     * Does not validate the length, so it also works for partial numbers typed in a search.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return NON_DIGIT_PATTERN.matcher(value).replaceAll("");
+    }
+
     public String getFormatted() {
         if (value.length() == 11) {
             return String.format("(%s) %s-%s",
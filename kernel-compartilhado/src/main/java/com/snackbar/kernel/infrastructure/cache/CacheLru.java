@@ -0,0 +1,203 @@
+package com.snackbar.kernel.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache em memória com tamanho máximo (LRU) e expiração por tempo (TTL).
+ *
+ * Sem dependências de framework, para uso pelos módulos que precisam de um cache
+ * pequeno e local. Contabiliza acertos, falhas, remoções por tamanho e expirações.
+ *
+ * Até a leitura reordena a lista do LRU, então toda operação passa pelo mesmo lock; ele só é
+ * mantido enquanto o mapa é alterado (o valor é calculado por quem chama, fora do lock).
+ *
+ * Inserir no limite remove só a entrada usada há mais tempo (O(1)). Entradas expiradas saem
+ * quando lidas ou numa varredura completa feita no máximo uma vez por intervalo de limpeza
+ * (o menor entre o TTL padrão e um minuto), e não a cada inserção.
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor
+ */
+public class CacheLru<K, V> {
+
+    private record Entrada<V>(V valor, long expiraEmNanos) {
+    }
+
+    private static final long INTERVALO_LIMPEZA_MAXIMO_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final LongSupplier relogioNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+    private final long intervaloLimpezaNanos;
+    private long proximaLimpezaNanos; // protegido por lock
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoesPorTamanho = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+
+    public CacheLru(int tamanhoMaximo, Duration ttl) {
+        this(tamanhoMaximo, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param relogioNanos fonte de tempo monotônica (substituível em testes)
+     */
+    public CacheLru(int tamanhoMaximo, Duration ttl, LongSupplier relogioNanos) {
+        if (tamanhoMaximo <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do cache deve ser positivo");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL do cache deve ser positivo");
+        }
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttl.toNanos();
+        this.relogioNanos = relogioNanos;
+        // accessOrder = true: cada leitura move a entrada para o fim (mais recente)
+        this.entradas = new LinkedHashMap<>(Math.min(tamanhoMaximo, 1024), 0.75f, true);
+        this.intervaloLimpezaNanos = Math.min(ttlNanos, INTERVALO_LIMPEZA_MAXIMO_NANOS);
+        this.proximaLimpezaNanos = relogioNanos.getAsLong() + intervaloLimpezaNanos;
+    }
+
+    /**
+     * Retorna o valor se presente e não expirado, contabilizando acerto ou falha.
+     */
+    public Optional<V> obter(K chave) {
+        lock.lock();
+        try {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada == null) {
+                falhas.increment();
+                return Optional.empty();
+            }
+            if (expirada(entrada, relogioNanos.getAsLong())) {
+                entradas.remove(chave);
+                expiracoes.increment();
+                falhas.increment();
+                return Optional.empty();
+            }
+            acertos.increment();
+            return Optional.of(entrada.valor());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Armazena o valor com o TTL padrão, removendo, se necessário, a entrada usada há mais tempo.
+     */
+    public void armazenar(K chave, V valor) {
+        armazenar(chave, valor, ttlNanos);
+    }
+
+    /**
+     * Armazena o valor com um TTL específico (ex.: vindo de um cabeçalho max-age).
+     */
+    public void armazenar(K chave, V valor, Duration ttl) {
+        armazenar(chave, valor, ttl.toNanos());
+    }
+
+    private void armazenar(K chave, V valor, long ttlEntradaNanos) {
+        if (chave == null || valor == null || ttlEntradaNanos <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            long agora = relogioNanos.getAsLong();
+            entradas.put(chave, new Entrada<>(valor, agora + ttlEntradaNanos));
+            if (agora - proximaLimpezaNanos >= 0) {
+                removerExpiradas(agora);
+                proximaLimpezaNanos = agora + intervaloLimpezaNanos;
+            }
+            // Cabeça da lista de acesso = usada há mais tempo
+            Iterator<Entrada<V>> maisAntigas = entradas.values().iterator();
+            while (entradas.size() > tamanhoMaximo && maisAntigas.hasNext()) {
+                Entrada<V> removida = maisAntigas.next();
+                maisAntigas.remove();
+                if (expirada(removida, agora)) {
+                    expiracoes.increment();
+                } else {
+                    remocoesPorTamanho.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remover(K chave) {
+        lock.lock();
+        try {
+            entradas.remove(chave);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.lock();
+        try {
+            entradas.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.lock();
+        try {
+            return entradas.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int tamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(tamanho(), tamanhoMaximo, acertos.sum(), falhas.sum(),
+                remocoesPorTamanho.sum(), expiracoes.sum());
+    }
+
+    private void removerExpiradas(long agora) {
+        Iterator<Map.Entry<K, Entrada<V>>> iterator = entradas.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (expirada(iterator.next().getValue(), agora)) {
+                iterator.remove();
+                expiracoes.increment();
+            }
+        }
+    }
+
+    private boolean expirada(Entrada<V> entrada, long agora) {
+        return agora - entrada.expiraEmNanos() >= 0;
+    }
+
+    /**
+     * Métricas do cache.
+     */
+    public record Estatisticas(
+            int tamanho,
+            int tamanhoMaximo,
+            long acertos,
+            long falhas,
+            long remocoesPorTamanho,
+            long expiracoes) {
+
+        public double taxaAcerto() {
+            long total = acertos + falhas;
+            return total == 0 ? 0.0 : (double) acertos / total;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.snackbar.kernel.security;
+
+import com.snackbar.kernel.infrastructure.cache.CacheLru;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache de tokens já verificados (assinatura e expiração), para não repetir a verificação
+ * a cada requisição do mesmo portador.
+ *
+ * O token é verificado uma única vez e o resultado (um principal imutável) fica guardado,
+ * indexado pelo SHA-256 do token, até a expiração do próprio token. O token em si não é
+ * guardado. Falhas de verificação não entram no cache: cada token inválido é verificado de
+ * novo e a exceção do verificador chega ao chamador.
+ *
+ * Sem dependência de biblioteca de JWT: quem usa fornece o {@link Verificador}.
+ *
+ * @param <P> principal extraído do token
+ */
+public final class CacheTokensVerificados<P> {
+
+    /**
+     * Verifica o token e extrai o principal; deve lançar exceção se o token for inválido.
+     */
+    @FunctionalInterface
+    public interface Verificador<P> {
+        TokenVerificado<P> verificar(String token);
+    }
+
+    /**
+     * @param expiraEm expiração do token; null se o token não expira
+     */
+    public record TokenVerificado<P>(P principal, Instant expiraEm) {
+    }
+
+    // Tokens sem expiração ainda são verificados de novo de tempos em tempos
+    private static final Duration VALIDADE_SEM_EXPIRACAO = Duration.ofMinutes(15);
+
+    private final CacheLru<String, P> cache;
+    private final Verificador<P> verificador;
+    private final Supplier<Instant> relogio;
+    private final LongAdder verificacoes = new LongAdder();
+    private final LongAdder rejeitados = new LongAdder();
+
+    public CacheTokensVerificados(int tamanhoMaximo, Verificador<P> verificador) {
+        this(tamanhoMaximo, verificador, Instant::now);
+    }
+
+    /**
+     * @param relogio fonte do instante atual (substituível em testes)
+     */
+    public CacheTokensVerificados(int tamanhoMaximo, Verificador<P> verificador, Supplier<Instant> relogio) {
+        this.cache = new CacheLru<>(tamanhoMaximo, VALIDADE_SEM_EXPIRACAO);
+        this.verificador = verificador;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Principal do token, verificando-o apenas se ainda não estiver no cache.
+     *
+     * @throws RuntimeException a exceção do verificador, se o token for inválido
+     */
+    public P verificar(String token) {
+        String chave = hash(token);
+        Optional<P> emCache = cache.obter(chave);
+        if (emCache.isPresent()) {
+            return emCache.get();
+        }
+
+        verificacoes.increment();
+        TokenVerificado<P> verificado;
+        try {
+            verificado = verificador.verificar(token);
+        } catch (RuntimeException e) {
+            rejeitados.increment();
+            throw e;
+        }
+
+        if (verificado.expiraEm() == null) {
+            cache.armazenar(chave, verificado.principal());
+        } else {
+            Duration restante = Duration.between(relogio.get(), verificado.expiraEm());
+            if (!restante.isNegative() && !restante.isZero()) {
+                cache.armazenar(chave, verificado.principal(), restante);
+            }
+        }
+        return verificado.principal();
+    }
+
+    /**
+     * Principal do token, ou vazio se o token for inválido.
+     */
+    public Optional<P> verificarSeValido(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(verificar(token));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void limpar() {
+        cache.limpar();
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(cache.estatisticas(), verificacoes.sum(), rejeitados.sum());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    /**
+     * @param verificacoes verificações completas (falhas de cache)
+     * @param rejeitados   tokens que não passaram na verificação
+     */
+    public record Estatisticas(CacheLru.Estatisticas cache, long verificacoes, long rejeitados) {
+    }
+}
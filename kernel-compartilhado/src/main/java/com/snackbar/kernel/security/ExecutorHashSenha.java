@@ -0,0 +1,154 @@
+package com.snackbar.kernel.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado e limitado para gerar e verificar hashes de senha (BCrypt).
+ *
+ * O hash é deliberadamente caro em CPU. Rodando na thread da requisição, uma leva de logins
+ * no início do turno disputa processador com a criação de pedidos. Aqui o número de hashes
+ * simultâneos é fixo (por padrão metade dos processadores), a fila tem tamanho máximo e,
+ * quando ela está cheia ou a espera passa do limite, a requisição é recusada na hora com
+ * {@link SobrecargaHashSenhaException} em vez de acumular threads bloqueadas.
+ *
+ * A thread da requisição espera o resultado; o que muda é quem consome a CPU e quanto.
+ */
+public final class ExecutorHashSenha {
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int filaMaxima;
+    private final long esperaMaximaNanos;
+
+    private final LongAdder executadas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaObservadaNanos = new AtomicLong();
+    private final LongAdder latenciaTotalNanos = new LongAdder();
+    private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+
+    /**
+     * @param threads    hashes simultâneos; 0 ou negativo usa metade dos processadores (mínimo 1)
+     * @param filaMaxima pedidos aguardando além dos que estão em execução
+     * @param esperaMaxima tempo máximo que a requisição aguarda (fila + hash)
+     */
+    public ExecutorHashSenha(int threads, int filaMaxima, Duration esperaMaxima) {
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.filaMaxima = Math.max(1, filaMaxima);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.filaMaxima), criarThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Executa a tarefa de hash no pool e aguarda o resultado.
+     *
+     * @throws SobrecargaHashSenhaException se a fila estiver cheia ou a espera passar do limite
+     */
+    public <T> T executar(Supplier<T> tarefa) {
+        long enfileiradaEm = System.nanoTime();
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> medir(tarefa, enfileiradaEm));
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new SobrecargaHashSenhaException("Muitas autenticações simultâneas. Tente novamente em instantes.");
+        }
+
+        try {
+            return futuro.get(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            expiradas.increment();
+            throw new SobrecargaHashSenhaException("Autenticação demorou mais que o esperado. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando hash de senha", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private <T> T medir(Supplier<T> tarefa, long enfileiradaEm) {
+        long inicio = System.nanoTime();
+        long espera = inicio - enfileiradaEm;
+        esperaTotalNanos.add(espera);
+        esperaMaximaObservadaNanos.accumulateAndGet(espera, Math::max);
+        try {
+            return tarefa.get();
+        } finally {
+            long latencia = System.nanoTime() - inicio;
+            executadas.increment();
+            latenciaTotalNanos.add(latencia);
+            latenciaMaximaNanos.accumulateAndGet(latencia, Math::max);
+        }
+    }
+
+    private static ThreadFactory criarThreadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public Estatisticas estatisticas() {
+        long total = executadas.sum();
+        return new Estatisticas(
+                threads,
+                filaMaxima,
+                executor.getQueue().size(),
+                executor.getActiveCount(),
+                total,
+                rejeitadas.sum(),
+                expiradas.sum(),
+                total == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(esperaTotalNanos.sum() / total),
+                TimeUnit.NANOSECONDS.toMillis(esperaMaximaObservadaNanos.get()),
+                total == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latenciaTotalNanos.sum() / total),
+                TimeUnit.NANOSECONDS.toMillis(latenciaMaximaNanos.get()));
+    }
+
+    /**
+     * @param rejeitadas recusadas por fila cheia
+     * @param expiradas  recusadas por passar do tempo máximo de espera
+     */
+    public record Estatisticas(
+            int threads,
+            int filaMaxima,
+            int emFila,
+            int emExecucao,
+            long executadas,
+            long rejeitadas,
+            long expiradas,
+            long esperaMediaFilaMs,
+            long esperaMaximaFilaMs,
+            long latenciaMediaHashMs,
+            long latenciaMaximaHashMs) {
+    }
+}
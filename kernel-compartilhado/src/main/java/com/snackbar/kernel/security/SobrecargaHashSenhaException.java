@@ -0,0 +1,12 @@
+package com.snackbar.kernel.security;
+
+/**
+ * O executor de hash de senha está saturado (fila cheia ou espera esgotada).
+ * A requisição pode ser repetida em instantes.
+ */
+public class SobrecargaHashSenhaException extends RuntimeException {
+
+    public SobrecargaHashSenhaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+#!/bin/bash
+# Prepara o jar do build de início rápido (mvn ... -Pinicio-rapido) para cold starts curtos:
+#   1. extrai o jar em DESTINO (app.jar + lib/): o CDS só arquiva classes lidas de jars comuns,
+#      não dos jars aninhados do fat jar;
+#   2. roda um treino que sobe o contexto Spring e sai logo depois do refresh
+#      (spring.context.exit=onRefresh), gravando as classes carregadas em DESTINO/app.jsa (AppCDS).
+#
+# O treino não acessa o banco: Liquibase e validação do schema ficam desligados e o Hibernate
+# não lê metadados JDBC. Os perfis do Spring (SPRING_PROFILES_ACTIVE) devem ser os mesmos usados
+# no build AOT. Depois, com o mesmo JDK e o mesmo caminho:
+#   java -XX:SharedArchiveFile=DESTINO/app.jsa -Dspring.aot.enabled=true -jar DESTINO/app.jar
+#
+# Uso: bash preparar-inicio-rapido.sh JAR DESTINO
+# Usado pelo Dockerfile.cloud-run e pelo teste-carga/medir-inicio.sh
+
+set -euo pipefail
+
+if [ $# -ne 2 ]; then
+    echo "Uso: $0 JAR DESTINO" >&2
+    exit 2
+fi
+
+JAR=$1
+DESTINO=$2
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+mkdir -p "$DESTINO"
+DESTINO=$(cd "$DESTINO" && pwd)
+rm -rf "$DESTINO/app.jar" "$DESTINO/lib" "$DESTINO/app.jsa"
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$DESTINO" --application-filename app.jar --force
+
+echo "Treino do CDS em $DESTINO/app.jsa (perfis: ${SPRING_PROFILES_ACTIVE:-nenhum})..."
+LOG_TREINO=$(mktemp)
+# Valores só para o contexto subir; nenhuma conexão é aberta. A URL serve também ao perfil cloud
+if ! JWT_SECRET=${JWT_SECRET:-treino-cds-sem-uso-fora-do-build-0000000000} \
+    DB_URL=${DB_URL:-"jdbc:mysql://localhost/treino?cloudSqlInstance=treino:cds:local"} \
+    DB_USERNAME=${DB_USERNAME:-treino} \
+    DB_PASSWORD=${DB_PASSWORD:-treino} \
+    "$JAVA" -XX:ArchiveClassesAtExit="$DESTINO/app.jsa" \
+        -Dspring.aot.enabled=true \
+        -Dspring.context.exit=onRefresh \
+        -Dliquibase.shouldRun=false \
+        -Dspring.jpa.hibernate.ddl-auto=none \
+        -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+        -Dspring.jpa.database-platform=org.hibernate.dialect.MySQLDialect \
+        -jar "$DESTINO/app.jar" > "$LOG_TREINO" 2>&1; then
+    cat "$LOG_TREINO" >&2
+    rm -f "$LOG_TREINO"
+    echo "❌ Treino do CDS falhou" >&2
+    exit 1
+fi
+rm -f "$LOG_TREINO"
+
+if [ ! -s "$DESTINO/app.jsa" ]; then
+    echo "❌ Arquivo CDS não foi gerado" >&2
+    exit 1
+fi
+echo "✅ $(du -h "$DESTINO/app.jsa" | cut -f1) de classes em $DESTINO/app.jsa"
@@ -1,13 +1,13 @@
 package com.snackbar.orquestrador.config;
 
+import com.snackbar.cardapio.application.dto.CategoriaDTO;
+import com.snackbar.cardapio.application.dto.ProdutoDTO;
+import com.snackbar.cardapio.application.services.CatalogoCardapio;
+import com.snackbar.cardapio.application.services.CatalogoCardapioCache;
 import com.snackbar.chatia.application.dto.CardapioContextDTO;
 import com.snackbar.chatia.application.dto.CardapioContextDTO.CategoriaContextDTO;
 import com.snackbar.chatia.application.dto.CardapioContextDTO.ProdutoContextDTO;
 import com.snackbar.chatia.application.port.out.CardapioContextPort;
-import com.snackbar.pedidos.application.dto.CardapioPublicoDTO;
-import com.snackbar.pedidos.application.dto.CardapioPublicoDTO.CategoriaPublicaDTO;
-import com.snackbar.pedidos.application.dto.CardapioPublicoDTO.ProdutoPublicoDTO;
-import com.snackbar.pedidos.application.usecases.BuscarCardapioPublicoUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -15,69 +15,78 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Adapter que fornece contexto do cardápio para o Chat IA.
- * Conecta o módulo chat-ia com gestao-pedidos/gestao-cardapio.
+ * Conecta o módulo chat-ia com gestao-cardapio através do catálogo em memória.
+ * O contexto convertido é memorizado por versão do catálogo e só é refeito quando o cardápio muda.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CardapioContextAdapter implements CardapioContextPort {
 
-    private final BuscarCardapioPublicoUseCase buscarCardapioUseCase;
+    private final CatalogoCardapioCache catalogoCardapio;
+
+    private final AtomicReference<CardapioContextDTO> contextoAtual = new AtomicReference<>();
 
     @Override
     public CardapioContextDTO buscarCardapioParaIA() {
-        log.debug("Buscando cardápio completo para contexto do Chat IA");
-
         try {
-            CardapioPublicoDTO cardapio = buscarCardapioUseCase.executar();
+            CatalogoCardapio catalogo = catalogoCardapio.obter();
+
+            CardapioContextDTO contexto = contextoAtual.get();
+            if (contexto != null && contexto.versao() == catalogo.versao()) {
+                return contexto;
+            }
+
+            log.debug("Convertendo cardápio versão {} para contexto do Chat IA", catalogo.versao());
 
             // Converte categorias
             AtomicInteger ordem = new AtomicInteger(0);
-            List<CategoriaContextDTO> categorias = cardapio.categorias().stream()
-                    .filter(CategoriaPublicaDTO::ativa)
+            List<CategoriaContextDTO> categorias = catalogo.categoriasAtivas().stream()
                     .map(cat -> toCategoriaContext(cat, ordem.getAndIncrement()))
                     .toList();
 
             // Converte produtos
-            List<ProdutoContextDTO> produtos = cardapio.produtos().stream()
-                    .filter(ProdutoPublicoDTO::disponivel)
+            List<ProdutoContextDTO> produtos = catalogo.produtosDisponiveis().stream()
                     .map(this::toProdutoContext)
                     .toList();
 
             // Gera resumo do cardápio
             String resumo = gerarResumoCardapio(categorias, produtos);
 
-            log.info("Contexto do cardápio carregado: {} categorias, {} produtos",
-                    categorias.size(), produtos.size());
+            log.info("Contexto do cardápio carregado: {} categorias, {} produtos (versão {})",
+                    categorias.size(), produtos.size(), catalogo.versao());
 
-            return new CardapioContextDTO(categorias, produtos, resumo);
+            contexto = new CardapioContextDTO(categorias, produtos, resumo, catalogo.versao());
+            contextoAtual.set(contexto);
+            return contexto;
 
         } catch (Exception e) {
             log.error("Erro ao buscar cardápio para contexto da IA", e);
-            return new CardapioContextDTO(List.of(), List.of(), "Cardápio indisponível no momento.");
+            return new CardapioContextDTO(List.of(), List.of(), "Cardápio indisponível no momento.", 0);
         }
     }
 
-    private CategoriaContextDTO toCategoriaContext(CategoriaPublicaDTO dto, int ordem) {
+    private CategoriaContextDTO toCategoriaContext(CategoriaDTO dto, int ordem) {
         return new CategoriaContextDTO(
-                dto.id(),
-                dto.nome(),
-                dto.descricao(),
+                dto.getId(),
+                dto.getNome(),
+                dto.getDescricao(),
                 ordem);
     }
 
-    private ProdutoContextDTO toProdutoContext(ProdutoPublicoDTO dto) {
+    private ProdutoContextDTO toProdutoContext(ProdutoDTO dto) {
         return new ProdutoContextDTO(
-                dto.id(),
-                dto.nome(),
-                dto.descricao(),
-                dto.categoria(),
-                BigDecimal.valueOf(dto.preco()),
-                dto.foto(),
-                dto.disponivel(),
+                dto.getId(),
+                dto.getNome(),
+                dto.getDescricao(),
+                dto.getCategoria(),
+                BigDecimal.valueOf(dto.getPreco().doubleValue()),
+                dto.getFoto(),
+                dto.isDisponivel(),
                 List.of(), // ingredientes - expandir depois se necessário
                 List.of(), // alergenos
                 false, // vegetariano - expandir depois
@@ -106,7 +106,11 @@ public class CloudSqlDataSourceConfig {
         config.addDataSourceProperty("cloudSqlInstance", cloudSqlInstance);
         config.addDataSourceProperty("socketFactory", "com.google.cloud.sql.mysql.SocketFactory");
 
-        return new HikariDataSource(config);
+        // Pool criado na primeira conexão (o Liquibase), não aqui: o treino do CDS no build da
+        // imagem sobe o contexto sem acesso ao Cloud SQL
+        HikariDataSource dataSource = new HikariDataSource();
+        config.copyStateTo(dataSource);
+        return dataSource;
     }
 
     /**
@@ -0,0 +1,229 @@
+package com.snackbar.orquestrador.config;
+
+import com.snackbar.autenticacao.infrastructure.services.JwtServiceImpl;
+import com.snackbar.cardapio.application.services.CatalogoCardapioCache;
+import com.snackbar.chatia.application.service.RespostaChatCache;
+import com.snackbar.chatia.application.service.prompt.CompiladorPromptChat;
+import com.snackbar.chatia.infrastructure.ai.IAClientComLimiteAdapter;
+import com.snackbar.chatia.infrastructure.ai.LimitadorConcorrenciaAdaptativo;
+import com.snackbar.chatia.infrastructure.ai.OpenAIAdapter;
+import com.snackbar.chatia.infrastructure.persistence.HistoricoChatMemoriaRepository;
+import com.snackbar.clientes.application.services.IndiceBuscaClientes;
+import com.snackbar.clientes.infrastructure.imagem.CacheAvatares;
+import com.snackbar.clientes.infrastructure.security.ChavesPublicasGoogle;
+import com.snackbar.clientes.infrastructure.security.ClienteJwtServiceAdapter;
+import com.snackbar.clientes.infrastructure.security.GoogleAuthServiceAdapter;
+import com.snackbar.impressao.infrastructure.gateway.ElectronGatewayAdapter;
+import com.snackbar.impressao.infrastructure.gateway.SondaDisponibilidadeElectron;
+import com.snackbar.impressao.infrastructure.impressora.ImagemEscPosUtil;
+import com.snackbar.impressao.infrastructure.spooler.SpoolerImpressao;
+import com.snackbar.kernel.infrastructure.cache.CacheLru;
+import com.snackbar.kernel.security.CacheTokensVerificados;
+import com.snackbar.kernel.security.ExecutorHashSenha;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica no Micrometer as estatísticas que caches, filas e pools já mantêm nos seus records
+ * {@code Estatisticas}. Nada é medido no caminho das requisições: os valores são lidos só
+ * quando o Prometheus faz o scrape.
+ *
+ * Os caches {@link CacheLru} usam os nomes padrão do Micrometer ({@code cache.gets},
+ * {@code cache.size}, {@code cache.evictions}) com a tag {@code cache}, como os caches do Spring.
+ *
+ * Chat IA e impressão têm inicialização tardia ({@link InicializacaoTardiaConfig}): os beans
+ * deles chegam por {@link ObjectProvider} e só são criados no primeiro scrape ou uso.
+ */
+@Component
+@RequiredArgsConstructor
+public class EstatisticasInternasMeterBinder implements MeterBinder {
+
+    private final CatalogoCardapioCache catalogoCardapio;
+    private final PedidosClienteContextAdapter contextoPedidosCliente;
+    private final JwtServiceImpl jwtService;
+    private final ClienteJwtServiceAdapter clienteJwtService;
+    private final ExecutorHashSenha executorHashSenha;
+    private final GoogleAuthServiceAdapter googleAuthService;
+    private final IndiceBuscaClientes indiceBuscaClientes;
+    private final CacheAvatares cacheAvatares;
+    private final ObjectProvider<ElectronGatewayAdapter> electronGateway;
+    private final ObjectProvider<SpoolerImpressao> spooler;
+    private final ObjectProvider<RespostaChatCache> respostaChatCache;
+    private final ObjectProvider<CompiladorPromptChat> compiladorPrompt;
+    private final ObjectProvider<HistoricoChatMemoriaRepository> historicoChat;
+    private final ObjectProvider<IAClientComLimiteAdapter> clienteIA;
+
+    // Os meters guardam só referência fraca para o objeto lido; as fontes ficam vivas aqui
+    private final List<Fonte<?>> fontes = new ArrayList<>();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrarCatalogo(registry);
+        registrarCacheLru(registry, "contexto-pedidos-cliente", contextoPedidosCliente::estatisticas);
+        registrarCacheLru(registry, "logo-escpos", ImagemEscPosUtil::estatisticasCache);
+        registrarTokens(registry, "equipe", jwtService::estatisticasCacheTokens);
+        registrarTokens(registry, "clientes", clienteJwtService::estatisticasCacheTokens);
+        registrarHashSenha(registry);
+        registrarClientes(registry);
+        registrarImpressao(registry);
+        registrarChat(registry);
+    }
+
+    private void registrarCatalogo(MeterRegistry registry) {
+        Fonte<CatalogoCardapioCache.Estatisticas> fonte = fonte(catalogoCardapio::estatisticas);
+        Tags tags = Tags.of("cache", "catalogo-cardapio");
+        contador(registry, "cache.gets", tags.and("result", "hit"), fonte, e -> e.acertos());
+        contador(registry, "cache.gets", tags.and("result", "miss"), fonte, e -> e.falhas());
+        gauge(registry, "cardapio.catalogo.produtos", Tags.empty(), fonte, e -> e.totalProdutos());
+        gauge(registry, "cardapio.catalogo.adicionais", Tags.empty(), fonte, e -> e.totalAdicionais());
+        contador(registry, "cardapio.catalogo.reconstrucoes", Tags.empty(), fonte, e -> e.reconstrucoes());
+        gauge(registry, "cardapio.catalogo.ultima.reconstrucao.ms", Tags.empty(), fonte, e -> e.ultimaReconstrucaoMs());
+    }
+
+    private void registrarTokens(MeterRegistry registry, String origem, Supplier<CacheTokensVerificados.Estatisticas> estatisticas) {
+        Fonte<CacheTokensVerificados.Estatisticas> fonte = fonte(estatisticas);
+        Tags tags = Tags.of("origem", origem);
+        contador(registry, "seguranca.tokens.verificacoes", tags, fonte, e -> e.verificacoes());
+        contador(registry, "seguranca.tokens.rejeitados", tags, fonte, e -> e.rejeitados());
+        registrarCacheLru(registry, "tokens-" + origem, () -> estatisticas.get().cache());
+    }
+
+    private void registrarHashSenha(MeterRegistry registry) {
+        Fonte<ExecutorHashSenha.Estatisticas> fonte = fonte(executorHashSenha::estatisticas);
+        Tags tags = Tags.empty();
+        gauge(registry, "seguranca.hash.senha.threads", tags, fonte, e -> e.threads());
+        gauge(registry, "seguranca.hash.senha.fila", tags, fonte, e -> e.emFila());
+        gauge(registry, "seguranca.hash.senha.fila.maxima", tags, fonte, e -> e.filaMaxima());
+        gauge(registry, "seguranca.hash.senha.em.execucao", tags, fonte, e -> e.emExecucao());
+        contador(registry, "seguranca.hash.senha.executadas", tags, fonte, e -> e.executadas());
+        contador(registry, "seguranca.hash.senha.rejeitadas", tags, fonte, e -> e.rejeitadas());
+        contador(registry, "seguranca.hash.senha.expiradas", tags, fonte, e -> e.expiradas());
+        gauge(registry, "seguranca.hash.senha.espera.media.ms", tags, fonte, e -> e.esperaMediaFilaMs());
+        gauge(registry, "seguranca.hash.senha.latencia.media.ms", tags, fonte, e -> e.latenciaMediaHashMs());
+    }
+
+    private void registrarClientes(MeterRegistry registry) {
+        Fonte<ChavesPublicasGoogle.Estatisticas> jwks = fonte(googleAuthService::estatisticasChavesPublicas);
+        gauge(registry, "clientes.google.jwks.chaves", Tags.empty(), jwks, e -> e.chaves());
+        contador(registry, "clientes.google.jwks.atualizacoes", Tags.empty(), jwks, e -> e.atualizacoes());
+        contador(registry, "clientes.google.jwks.falhas", Tags.empty(), jwks, e -> e.falhasAtualizacao());
+        contador(registry, "clientes.google.jwks.kids.desconhecidos", Tags.empty(), jwks, e -> e.kidsDesconhecidos());
+
+        Fonte<IndiceBuscaClientes.Estatisticas> indice = fonte(indiceBuscaClientes::estatisticas);
+        gauge(registry, "clientes.indice.carregado", Tags.empty(), indice, e -> e.carregado() ? 1 : 0);
+        gauge(registry, "clientes.indice.clientes", Tags.empty(), indice, e -> e.clientes());
+        gauge(registry, "clientes.indice.palavras", Tags.empty(), indice, e -> e.palavras());
+        contador(registry, "clientes.indice.buscas", Tags.empty(), indice, e -> e.buscas());
+        contador(registry, "clientes.indice.recargas", Tags.empty(), indice, e -> e.recargas());
+        contador(registry, "clientes.indice.falhas.recarga", Tags.empty(), indice, e -> e.falhasRecarga());
+        gauge(registry, "clientes.indice.duracao.recarga.ms", Tags.empty(), indice, e -> e.duracaoUltimaRecargaMs());
+
+        Fonte<CacheAvatares.Estatisticas> avatares = fonte(cacheAvatares::estatisticas);
+        registrarCacheLru(registry, "avatares", () -> avatares.ler().memoria());
+        gauge(registry, "clientes.avatares.disco.arquivos", Tags.empty(), avatares, e -> e.arquivos());
+        gauge(registry, "clientes.avatares.disco.bytes", Tags.empty(), avatares, e -> e.bytesDisco());
+        gauge(registry, "clientes.avatares.disco.bytes.maximo", Tags.empty(), avatares, e -> e.bytesMaximoDisco());
+        contador(registry, "clientes.avatares.disco.acertos", Tags.empty(), avatares, e -> e.acertosDisco());
+        contador(registry, "clientes.avatares.disco.remocoes", Tags.empty(), avatares, e -> e.remocoesDisco());
+        contador(registry, "clientes.avatares.origem.buscas", Tags.empty(), avatares, e -> e.buscasOrigem());
+        contador(registry, "clientes.avatares.origem.revalidacoes", Tags.empty(), avatares, e -> e.revalidacoes());
+        contador(registry, "clientes.avatares.origem.nao.modificados", Tags.empty(), avatares, e -> e.naoModificados());
+        contador(registry, "clientes.avatares.origem.falhas", Tags.empty(), avatares, e -> e.falhasOrigem());
+        contador(registry, "clientes.avatares.servidos.vencidos", Tags.empty(), avatares, e -> e.servidosVencidos());
+    }
+
+    private void registrarImpressao(MeterRegistry registry) {
+        Fonte<SpoolerImpressao.Estatisticas> fila = fonte(() -> spooler.getObject().estatisticas());
+        gauge(registry, "impressao.spooler.filas", Tags.empty(), fila, e -> e.filas());
+        gauge(registry, "impressao.spooler.pendentes", Tags.empty(), fila, e -> e.pendentes());
+        contador(registry, "impressao.spooler.impressos", Tags.empty(), fila, e -> e.impressos());
+        contador(registry, "impressao.spooler.falhas.envio", Tags.empty(), fila, e -> e.falhasEnvio());
+        contador(registry, "impressao.spooler.descartados", Tags.empty(), fila, e -> e.descartados());
+
+        Fonte<SondaDisponibilidadeElectron.Estatisticas> electron = fonte(() -> electronGateway.getObject().estatisticas());
+        gauge(registry, "impressao.electron.disponivel", Tags.empty(), electron, e -> "DISPONIVEL".equals(e.estado()) ? 1 : 0);
+        contador(registry, "impressao.electron.sondagens", Tags.empty(), electron, e -> e.sondagens());
+        contador(registry, "impressao.electron.falhas.sondagem", Tags.empty(), electron, e -> e.falhasSondagem());
+        contador(registry, "impressao.electron.falhas.envio", Tags.empty(), electron, e -> e.falhasEnvio());
+        gauge(registry, "impressao.electron.sondagem.latencia.media.ms", Tags.empty(), electron, e -> e.latenciaMediaSondagemMs());
+    }
+
+    private void registrarChat(MeterRegistry registry) {
+        Fonte<RespostaChatCache.Estatisticas> respostas = fonte(() -> respostaChatCache.getObject().estatisticas());
+        Tags tags = Tags.of("cache", "resposta-chat");
+        gauge(registry, "cache.size", tags, respostas, e -> e.entradas());
+        contador(registry, "cache.gets", tags.and("result", "hit"), respostas, e -> e.acertos());
+        contador(registry, "cache.gets", tags.and("result", "miss"), respostas, e -> e.falhas());
+        contador(registry, "cache.evictions", tags, respostas, e -> e.remocoesPorTamanho());
+        contador(registry, "cache.expirations", tags, respostas, e -> e.expiracoes());
+        contador(registry, "chat.ia.latencia.economizada.ms", Tags.empty(), respostas, e -> e.latenciaEconomizadaMs());
+
+        Fonte<CompiladorPromptChat.Estatisticas> prompts = fonte(() -> compiladorPrompt.getObject().estatisticas());
+        contador(registry, "chat.prompt.compilados", Tags.empty(), prompts, e -> e.promptsCompilados());
+        gauge(registry, "chat.prompt.tokens.media", Tags.empty(), prompts, e -> e.mediaTokens());
+        gauge(registry, "chat.prompt.compilacao.media.us", Tags.empty(), prompts, e -> e.tempoMedioCompilacaoMicros());
+        contador(registry, "chat.prompt.cardapio.reduzido", Tags.empty(), prompts, e -> e.cardapioReduzido());
+
+        Fonte<HistoricoChatMemoriaRepository.Estatisticas> sessoes = fonte(() -> historicoChat.getObject().estatisticas());
+        gauge(registry, "chat.sessoes.ativas", Tags.empty(), sessoes, e -> e.sessoesAtivas());
+        contador(registry, "chat.sessoes.expiradas", Tags.empty(), sessoes, e -> e.sessoesExpiradas());
+        contador(registry, "chat.sessoes.descartadas", Tags.empty(), sessoes, e -> e.sessoesDescartadasPorLimite());
+
+        Fonte<LimitadorConcorrenciaAdaptativo.Estatisticas> concorrencia = fonte(() -> clienteIA.getObject().estatisticasConcorrencia());
+        gauge(registry, "chat.ia.concorrencia.limite", Tags.empty(), concorrencia, e -> e.limite());
+        gauge(registry, "chat.ia.concorrencia.em.andamento", Tags.empty(), concorrencia, e -> e.emAndamento());
+        gauge(registry, "chat.ia.concorrencia.aguardando", Tags.empty(), concorrencia, e -> e.aguardando());
+        contador(registry, "chat.ia.concorrencia.rejeitadas", Tags.empty(), concorrencia, e -> e.rejeitadas());
+
+        Fonte<OpenAIAdapter.Estatisticas> chamadas = fonte(() -> clienteIA.getObject().estatisticasChamadas());
+        contador(registry, "chat.ia.hedges", Tags.empty(), chamadas, e -> e.hedgesDisparados());
+        contador(registry, "chat.ia.hedges.sem.vaga", Tags.empty(), chamadas, e -> e.hedgesSemVaga());
+        contador(registry, "chat.ia.hedges.vencedores", Tags.empty(), chamadas, e -> e.respostasDoHedge());
+        contador(registry, "chat.ia.deadlines.esgotados", Tags.empty(), chamadas, e -> e.deadlinesEsgotados());
+        gauge(registry, "chat.ia.limiar.hedge.ms", Tags.empty(), chamadas, e -> e.limiarHedgeMs());
+    }
+
+    private void registrarCacheLru(MeterRegistry registry, String nome, Supplier<CacheLru.Estatisticas> estatisticas) {
+        Fonte<CacheLru.Estatisticas> fonte = fonte(estatisticas);
+        Tags tags = Tags.of("cache", nome);
+        gauge(registry, "cache.size", tags, fonte, e -> e.tamanho());
+        gauge(registry, "cache.max.size", tags, fonte, e -> e.tamanhoMaximo());
+        contador(registry, "cache.gets", tags.and("result", "hit"), fonte, e -> e.acertos());
+        contador(registry, "cache.gets", tags.and("result", "miss"), fonte, e -> e.falhas());
+        contador(registry, "cache.evictions", tags, fonte, e -> e.remocoesPorTamanho());
+        contador(registry, "cache.expirations", tags, fonte, e -> e.expiracoes());
+    }
+
+    private <T> Fonte<T> fonte(Supplier<T> estatisticas) {
+        Fonte<T> fonte = new Fonte<>(estatisticas);
+        fontes.add(fonte);
+        return fonte;
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String nome, Tags tags, Fonte<T> fonte,
+            ToDoubleFunction<T> valor) {
+        Gauge.builder(nome, fonte, f -> valor.applyAsDouble(f.ler())).tags(tags).register(registry);
+    }
+
+    private static <T> void contador(MeterRegistry registry, String nome, Tags tags, Fonte<T> fonte,
+            ToDoubleFunction<T> valor) {
+        FunctionCounter.builder(nome, fonte, f -> valor.applyAsDouble(f.ler())).tags(tags).register(registry);
+    }
+
+    private record Fonte<T>(Supplier<T> estatisticas) {
+        T ler() {
+            return estatisticas.get();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.snackbar.orquestrador.config;
+
+import com.snackbar.kernel.security.ExecutorHashSenha;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pool único de hash de senha, compartilhado pelo login da equipe (autenticacao)
+ * e dos clientes (gestao-clientes).
+ */
+@Configuration
+public class HashSenhaConfig {
+
+    @Bean(destroyMethod = "encerrar")
+    public ExecutorHashSenha executorHashSenha(
+            @Value("${hash-senha.threads:0}") int threads,
+            @Value("${hash-senha.fila-maxima:32}") int filaMaxima,
+            @Value("${hash-senha.espera-maxima-ms:3000}") long esperaMaximaMs) {
+        return new ExecutorHashSenha(threads, filaMaxima, Duration.ofMillis(esperaMaximaMs));
+    }
+}
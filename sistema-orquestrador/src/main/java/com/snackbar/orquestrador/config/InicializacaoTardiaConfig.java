@@ -0,0 +1,65 @@
+package com.snackbar.orquestrador.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Beans dos módulos que não atendem pedidos (chat IA e impressão) só são criados no primeiro
+ * uso, em vez de atrasar a subida da aplicação e o primeiro pedido depois de um cold start.
+ * Controllers continuam mapeados desde o início; o bean é criado na primeira requisição.
+ *
+ * Beans que trabalham em segundo plano desde a subida (sondagem do Electron, spooler de
+ * impressão) ficam fora via {@code inicializacao.tardia.excecoes}: criados só no primeiro uso,
+ * a primeira impressão encontraria a sondagem ainda sem resultado.
+ *
+ * Com Spring AOT (perfil Maven {@code inicio-rapido}) a marcação entra no código gerado, então
+ * vale o {@code inicializacao.tardia.pacotes} do momento do build.
+ */
+@Configuration
+public class InicializacaoTardiaConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor inicializacaoTardia(Environment environment) {
+        String[] pacotes = environment.getProperty("inicializacao.tardia.pacotes", String[].class, new String[0]);
+        Set<String> excecoes = Arrays.stream(
+                environment.getProperty("inicializacao.tardia.excecoes", String[].class, new String[0]))
+                .map(String::trim)
+                .collect(Collectors.toSet());
+        return beanFactory -> {
+            if (pacotes.length == 0) {
+                return;
+            }
+            for (String nome : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definicao = beanFactory.getBeanDefinition(nome);
+                if (definicao.isSingleton()
+                        && !excecoes.contains(definicao.getBeanClassName())
+                        && pertenceA(classeDeclarante(beanFactory, definicao), pacotes)) {
+                    definicao.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Classe do bean ou, para métodos {@code @Bean}, da configuração que o declara.
+     */
+    private static String classeDeclarante(ConfigurableListableBeanFactory beanFactory, BeanDefinition definicao) {
+        String fabrica = definicao.getFactoryBeanName();
+        if (definicao.getBeanClassName() == null && fabrica != null && beanFactory.containsBeanDefinition(fabrica)) {
+            return beanFactory.getBeanDefinition(fabrica).getBeanClassName();
+        }
+        return definicao.getBeanClassName();
+    }
+
+    private static boolean pertenceA(String classe, String[] pacotes) {
+        return classe != null && Arrays.stream(pacotes).anyMatch(pacote -> classe.startsWith(pacote.trim() + "."));
+    }
+}
@@ -4,26 +4,34 @@ import com.snackbar.chatia.application.dto.HistoricoPedidosClienteContextDTO;
 import com.snackbar.chatia.application.dto.HistoricoPedidosClienteContextDTO.PedidoRecenteDTO;
 import com.snackbar.chatia.application.dto.HistoricoPedidosClienteContextDTO.ProdutoFavoritoDTO;
 import com.snackbar.chatia.application.port.out.PedidosClienteContextPort;
+import com.snackbar.kernel.infrastructure.cache.CacheLru;
 import com.snackbar.pedidos.application.dto.HistoricoPedidoClienteDTO;
 import com.snackbar.pedidos.application.dto.HistoricoPedidosResponseDTO;
 import com.snackbar.pedidos.application.dto.ProdutoPopularDTO;
+import com.snackbar.pedidos.application.events.PedidoCriadoEvent;
 import com.snackbar.pedidos.application.usecases.BuscarHistoricoPedidosClienteUseCase;
 import com.snackbar.pedidos.application.usecases.BuscarProdutosPopularesUseCase;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
  * Adapter que fornece contexto de pedidos do cliente para o Chat IA.
  * Conecta o módulo chat-ia com gestao-pedidos.
+ * 
+ * O contexto de cada cliente é calculado uma vez e reaproveitado pelas mensagens seguintes
+ * da conversa por um TTL curto, em vez de consultar o histórico de pedidos a cada mensagem.
+ * Quando o cliente faz um novo pedido, o contexto dele é descartado e recalculado na
+ * próxima mensagem.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class PedidosClienteContextAdapter implements PedidosClienteContextPort {
 
     private static final int LIMITE_PEDIDOS_RECENTES = 5;
@@ -32,6 +40,17 @@ public class PedidosClienteContextAdapter implements PedidosClienteContextPort {
 
     private final BuscarHistoricoPedidosClienteUseCase buscarHistoricoUseCase;
     private final BuscarProdutosPopularesUseCase buscarProdutosPopularesUseCase;
+    private final CacheLru<String, HistoricoPedidosClienteContextDTO> contextoPorCliente;
+
+    public PedidosClienteContextAdapter(
+            BuscarHistoricoPedidosClienteUseCase buscarHistoricoUseCase,
+            BuscarProdutosPopularesUseCase buscarProdutosPopularesUseCase,
+            @Value("${chat.ia.contexto-cliente.ttl-segundos:120}") long ttlSegundos,
+            @Value("${chat.ia.contexto-cliente.max-clientes:1000}") int maxClientes) {
+        this.buscarHistoricoUseCase = buscarHistoricoUseCase;
+        this.buscarProdutosPopularesUseCase = buscarProdutosPopularesUseCase;
+        this.contextoPorCliente = new CacheLru<>(maxClientes, Duration.ofSeconds(ttlSegundos));
+    }
 
     @Override
     public HistoricoPedidosClienteContextDTO buscarHistoricoPedidosCliente(String clienteId) {
@@ -40,6 +59,33 @@ public class PedidosClienteContextAdapter implements PedidosClienteContextPort {
             return HistoricoPedidosClienteContextDTO.visitante();
         }
 
+        return contextoPorCliente.obter(clienteId).orElseGet(() -> {
+            HistoricoPedidosClienteContextDTO contexto = carregarHistoricoPedidosCliente(clienteId);
+            // Falhas retornam o contexto de visitante; não ficam no cache para tentar de novo na próxima mensagem
+            if (contexto.isClienteIdentificado()) {
+                contextoPorCliente.armazenar(clienteId, contexto);
+            }
+            return contexto;
+        });
+    }
+
+    /**
+     * Novo pedido muda favoritos, últimos pedidos e totais: descarta o contexto do cliente
+     * depois que o pedido é confirmado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarPedido(PedidoCriadoEvent evento) {
+        if (evento.clienteId() != null && !evento.clienteId().isBlank()) {
+            contextoPorCliente.remover(evento.clienteId());
+            log.debug("Contexto de chat do cliente {} descartado após o pedido {}", evento.clienteId(), evento.pedidoId());
+        }
+    }
+
+    public CacheLru.Estatisticas estatisticas() {
+        return contextoPorCliente.estatisticas();
+    }
+
+    private HistoricoPedidosClienteContextDTO carregarHistoricoPedidosCliente(String clienteId) {
         log.debug("Buscando histórico de pedidos para cliente: {}", clienteId);
 
         try {
@@ -3,8 +3,10 @@ package com.snackbar.orquestrador.exception;
 import com.snackbar.kernel.domain.exceptions.BusinessRuleException;
 import com.snackbar.kernel.domain.exceptions.DomainException;
 import com.snackbar.kernel.domain.exceptions.ValidationException;
+import com.snackbar.kernel.security.SobrecargaHashSenhaException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.beans.TypeMismatchException;
@@ -53,6 +55,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
     
+    @ExceptionHandler(SobrecargaHashSenhaException.class)
+    public ResponseEntity<Map<String, Object>> handleSobrecargaHashSenhaException(SobrecargaHashSenhaException ex) {
+        logger.warn("Login recusado por sobrecarga no hash de senha: {}", ex.getMessage());
+        Map<String, Object> body = criarRespostaErro(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Serviço Sobrecarregado",
+            "Muitos logins ao mesmo tempo. Tente novamente em instantes."
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(body);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException ex) {
@@ -0,0 +1,45 @@
+--liquibase formatted sql
+--changeset snackbar:043-create-mensagens-conversa-chat-table
+--comment: Mensagens das conversas salvas do Chat IA em tabela própria (append-only), uma linha por mensagem
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'mensagens_conversa_chat'
+
+CREATE TABLE mensagens_conversa_chat (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    conversa_id VARCHAR(36) NOT NULL,
+    sequencia INT NOT NULL,
+    mensagem_id VARCHAR(64) NOT NULL,
+    origem VARCHAR(20) NOT NULL,
+    texto TEXT NOT NULL,
+    enviada_em TIMESTAMP NOT NULL,
+    CONSTRAINT fk_mensagens_conversa_chat_conversa FOREIGN KEY (conversa_id)
+        REFERENCES historico_conversas_chat(id) ON DELETE CASCADE,
+    CONSTRAINT uk_mensagens_conversa_chat_sequencia UNIQUE (conversa_id, sequencia)
+);
+
+--rollback DROP TABLE IF EXISTS mensagens_conversa_chat;
+
+--changeset snackbar:043-add-total-mensagens-historico-conversas-chat
+--comment: Guarda o total de mensagens na conversa para gravar só as novas e listar sem ler as mensagens
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'historico_conversas_chat' AND column_name = 'total_mensagens'
+
+ALTER TABLE historico_conversas_chat ADD COLUMN total_mensagens INT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE historico_conversas_chat DROP COLUMN total_mensagens;
+
+--changeset snackbar:043-make-mensagens-json-nullable-historico-conversas-chat
+--comment: A coluna JSON passa a existir só para conversas antigas, migradas para a nova tabela no próximo salvamento
+
+ALTER TABLE historico_conversas_chat MODIFY COLUMN mensagens TEXT NULL;
+
+--rollback ALTER TABLE historico_conversas_chat MODIFY COLUMN mensagens TEXT NOT NULL;
+
+--changeset snackbar:043-add-index-sessao-historico-conversas-chat
+--comment: Índice para localizar a conversa da sessão ao salvar novas mensagens
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'historico_conversas_chat' AND index_name = 'idx_historico_conversas_cliente_sessao'
+
+CREATE INDEX idx_historico_conversas_cliente_sessao ON historico_conversas_chat(cliente_id, session_id);
+
+--rollback DROP INDEX idx_historico_conversas_cliente_sessao ON historico_conversas_chat;
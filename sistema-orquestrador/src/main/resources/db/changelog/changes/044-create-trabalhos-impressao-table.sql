@@ -0,0 +1,22 @@
+--liquibase formatted sql
+
+--changeset snackbar:044-create-trabalhos-impressao-table
+--comment: Migration: Fila persistente de impressão (cupons formatados aguardando envio à impressora)
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'trabalhos_impressao'
+
+CREATE TABLE trabalhos_impressao (
+    id VARCHAR(36) PRIMARY KEY,
+    pedido_id VARCHAR(36),
+    tipo_impressora VARCHAR(50) NOT NULL,
+    destino VARCHAR(255) NOT NULL,
+    dados LONGBLOB NOT NULL COMMENT 'Cupom já formatado em ESC/POS',
+    status VARCHAR(20) NOT NULL,
+    tentativas INT NOT NULL DEFAULT 0,
+    ultimo_erro VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    INDEX idx_trabalhos_impressao_status_created (status, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+--rollback DROP TABLE IF EXISTS trabalhos_impressao;
@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset snackbar:045-create-versao-cardapio-table
+--comment: Migration: Contador de versão do cardápio, incrementado a cada alteração para as outras instâncias recarregarem o catálogo em memória
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'versao_cardapio'
+
+CREATE TABLE versao_cardapio (
+    id INT PRIMARY KEY,
+    versao BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO versao_cardapio (id, versao, updated_at) VALUES (1, 0, CURRENT_TIMESTAMP);
+
+--rollback DROP TABLE IF EXISTS versao_cardapio;
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset snackbar:046-add-reserva-trabalhos-impressao
+--comment: Migration: Reserva dos trabalhos de impressão por instância (dono + prazo), para só uma instância enviar cada cupom
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'trabalhos_impressao' AND column_name = 'dono'
+
+ALTER TABLE trabalhos_impressao
+ADD COLUMN dono VARCHAR(64) NULL COMMENT 'Instância que reservou o trabalho para envio'
+AFTER ultimo_erro,
+ADD COLUMN reservado_ate TIMESTAMP NULL COMMENT 'Fim da reserva; depois disso outra instância pode assumir o trabalho'
+AFTER dono;
+
+--rollback ALTER TABLE trabalhos_impressao DROP COLUMN reservado_ate, DROP COLUMN dono;
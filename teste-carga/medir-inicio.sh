@@ -0,0 +1,39 @@
+#!/bin/bash
+# Mede o cold start da aplicação até a primeira requisição, antes e depois do build de início
+# rápido. Compila as variantes e roda o TempoInicio (banco embutido, variantes alternadas):
+#   padrao   jar padrão, todos os beans criados na subida (como antes do inicio-rapido)
+#   aot      build -Pinicio-rapido extraído, com Spring AOT e inicialização tardia, sem CDS
+#   aot-cds  o mesmo com o arquivo CDS do treino (o que o Dockerfile.cloud-run roda)
+#
+# Uso (a partir de qualquer diretório): bash teste-carga/medir-inicio.sh [RODADAS] [--chave=valor ...]
+# As opções extras vão para o TempoInicio (ex.: --app.opcoes-jvm="-Xmx512m", --banco=externo).
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RODADAS=${1:-5}
+[ $# -gt 0 ] && shift
+
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+ALVO=teste-carga/target/inicio
+JAR=sistema-orquestrador/target/sistema-orquestrador-1.0.0-SNAPSHOT.jar
+OPCOES_JVM="-Xmx768m"
+
+echo "🏗️  Jar padrão e teste-carga..."
+mvn -B -q clean package -DskipTests -Dskip.frontend.build=true -pl sistema-orquestrador,teste-carga -am
+mkdir -p "$ALVO"
+cp "$JAR" "$ALVO/padrao.jar"
+
+# Sem perfis do Spring: a aplicação local usa o DataSource padrão, não o do Cloud SQL
+echo "🏗️  Build inicio-rapido (AOT sem perfis)..."
+mvn -B -q clean package -DskipTests -Dskip.frontend.build=true -pl sistema-orquestrador -Pinicio-rapido -Dinicio-rapido.perfis=
+SPRING_PROFILES_ACTIVE= bash preparar-inicio-rapido.sh "$JAR" "$ALVO/inicio-rapido"
+DESTINO=$(cd "$ALVO/inicio-rapido" && pwd)
+
+"$JAVA" -cp teste-carga/target/teste-carga.jar com.snackbar.testecarga.TempoInicio \
+    --rodadas="$RODADAS" \
+    --app.log=teste-carga/target/aplicacao-inicio.log \
+    --variante.padrao="$OPCOES_JVM -Dinicializacao.tardia.pacotes= -jar $ALVO/padrao.jar" \
+    --variante.aot="$OPCOES_JVM -Dspring.aot.enabled=true -jar $DESTINO/app.jar" \
+    --variante.aot-cds="$OPCOES_JVM -XX:SharedArchiveFile=$DESTINO/app.jsa -Dspring.aot.enabled=true -jar $DESTINO/app.jar" \
+    "$@"
@@ -0,0 +1,20 @@
+package com.snackbar.testecarga;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * O que os usuários virtuais precisam saber da aplicação preparada: credencial do
+ * administrador, sessão aberta, produtos disponíveis (com seus adicionais) e mesas ativas.
+ */
+record Ambiente(ClienteApi.Credencial credencial, String sessaoId, List<Produto> produtos, List<Mesa> mesas) {
+
+    record Produto(String id, String nome, BigDecimal preco, List<Adicional> adicionais) {
+    }
+
+    record Adicional(String id, BigDecimal preco) {
+    }
+
+    record Mesa(String token, int numero) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.snackbar.testecarga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sobe o jar da aplicação num processo separado, com banco e stubs passados por variáveis de
+ * ambiente (as mesmas do {@code application.yml}), e espera o {@code /api/health} responder.
+ * A saída da aplicação vai para {@code app.log}.
+ */
+final class AplicacaoLocal implements AutoCloseable {
+
+    private final Process processo;
+    private final Duration tempoInicio;
+
+    private AplicacaoLocal(Process processo, Duration tempoInicio) {
+        this.processo = processo;
+        this.tempoInicio = tempoInicio;
+    }
+
+    static AplicacaoLocal iniciar(ConfiguracaoCarga configuracao, String urlBanco, String usuarioBanco,
+                                  String senhaBanco, Map<String, String> ambienteExtra)
+            throws IOException, InterruptedException {
+        if (!Files.isRegularFile(configuracao.appJar())) {
+            throw new IllegalStateException("Jar da aplicação não encontrado: " + configuracao.appJar()
+                    + " (rode mvn -B package -DskipTests -Dskip.frontend.build=true antes)");
+        }
+        List<String> argumentos = new ArrayList<>(configuracao.appOpcoesJvm());
+        argumentos.add("-jar");
+        argumentos.add(configuracao.appJar().toString());
+        Map<String, String> ambiente = new HashMap<>();
+        ambiente.put("DB_URL", urlBanco);
+        ambiente.put("DB_USERNAME", usuarioBanco);
+        ambiente.put("DB_PASSWORD", senhaBanco);
+        ambiente.putAll(ambienteExtra);
+        return iniciar(argumentos, configuracao.appPorta(), configuracao.appLog(), configuracao.appEsperaInicio(),
+                ambiente);
+    }
+
+    /**
+     * Sobe {@code java <argumentosJava>} (opções da JVM e {@code -jar ...}) escutando na porta
+     * indicada. O tempo de início vai do lançamento do processo ao primeiro 200 do health.
+     */
+    static AplicacaoLocal iniciar(List<String> argumentosJava, int porta, Path log, Duration esperaInicio,
+                                  Map<String, String> ambienteExtra) throws IOException, InterruptedException {
+        if (log.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(log.toAbsolutePath().getParent());
+        }
+
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(argumentosJava);
+        ProcessBuilder builder = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        Map<String, String> ambiente = builder.environment();
+        ambiente.put("SERVER_PORT", String.valueOf(porta));
+        ambiente.putIfAbsent("JWT_SECRET", segredoAleatorio());
+        ambiente.putAll(ambienteExtra);
+
+        long inicio = System.nanoTime();
+        Process processo = builder.start();
+        AplicacaoLocal aplicacao = new AplicacaoLocal(processo, null);
+        try {
+            aguardarSaude("http://localhost:" + porta, processo, log, esperaInicio);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            aplicacao.close();
+            throw e;
+        }
+        return new AplicacaoLocal(processo, Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    private static void aguardarSaude(String url, Process processo, Path log, Duration esperaInicio)
+            throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest saude = HttpRequest.newBuilder(URI.create(url + "/api/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long limite = System.nanoTime() + esperaInicio.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou durante o início (código "
+                        + processo.exitValue() + "); veja " + log);
+            }
+            try {
+                if (http.send(saude, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // ainda não está escutando
+            }
+            // intervalo curto: o tempo de início também é medido pelo TempoInicio
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("A aplicação não respondeu em " + esperaInicio.toSeconds()
+                + "s; veja " + log);
+    }
+
+    private static String segredoAleatorio() {
+        byte[] segredo = new byte[64];
+        new SecureRandom().nextBytes(segredo);
+        return Base64.getEncoder().encodeToString(segredo);
+    }
+
+    Duration tempoInicio() {
+        return tempoInicio;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        processo.destroy();
+        if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+            processo.destroyForcibly().waitFor();
+        }
+    }
+}
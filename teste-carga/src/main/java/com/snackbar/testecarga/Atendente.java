@@ -0,0 +1,44 @@
+package com.snackbar.testecarga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Funcionário no painel: consulta as filas de mesa e de totem e aceita os pedidos. Cada
+ * pedido aceito vai para a cozinha e para a impressão do cupom.
+ *
+ * Com mais de um atendente, cada um só aceita a sua parte da fila (pelo hash do id), como
+ * dois funcionários que não clicam no mesmo pedido; aceitar duas vezes seria um erro do teste,
+ * não da aplicação.
+ */
+final class Atendente extends UsuarioVirtual {
+
+    private final int atendentes;
+
+    Atendente(int indice, int atendentes, ClienteApi api, Ambiente ambiente, Balcao balcao,
+              ConfiguracaoCarga configuracao, long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+        this.atendentes = atendentes;
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        aceitar("/api/pedidos/fila-mesa");
+        aceitar("/api/pedidos/fila-totem");
+        pausar(configuracao.pausas().atendente());
+    }
+
+    private void aceitar(String fila) {
+        for (JsonNode pendente : api.get(fila, fila, ambiente.credencial())) {
+            String pendenteId = pendente.get("id").asText();
+            if (Math.floorMod(pendenteId.hashCode(), atendentes) != indice) {
+                continue;
+            }
+            JsonNode pedido = api.enviar("POST", fila + "/{id}/aceitar", fila + "/" + pendenteId + "/aceitar", null,
+                    ambiente.credencial(), "aceitar-" + pendenteId).corpo();
+            String pedidoId = pedido.get("id").asText();
+            balcao.contar("pedidosAceitos");
+            balcao.agendarCozinha(pedidoId, "PREPARANDO", sortearEspera(configuracao.pausas().atendente()));
+            balcao.enviarParaImpressao(pedidoId);
+        }
+    }
+}
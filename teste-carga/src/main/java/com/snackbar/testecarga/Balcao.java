@@ -0,0 +1,81 @@
+package com.snackbar.testecarga;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estado compartilhado entre os papéis que dependem uns dos outros: o atendente aceita um
+ * pedido e o entrega à cozinha (com o tempo de preparo já agendado) e à impressão. Também
+ * conta o fluxo de pedidos durante a medição, para o relatório.
+ */
+final class Balcao {
+
+    /** Cupons aguardando impressão; acima disso a impressão não acompanha e o excesso é descartado. */
+    private static final int FILA_IMPRESSAO = 1_000;
+
+    private final Metricas metricas;
+    private final DelayQueue<Etapa> cozinha = new DelayQueue<>();
+    private final BlockingQueue<String> impressao = new ArrayBlockingQueue<>(FILA_IMPRESSAO);
+    private final Map<String, LongAdder> contadores = new LinkedHashMap<>();
+
+    Balcao(Metricas metricas) {
+        this.metricas = metricas;
+        for (String contador : new String[] {
+                "pedidosMesa", "pedidosTotem", "pedidosAceitos", "pedidosFinalizados", "cuponsEnfileirados",
+                "cuponsDescartados", "mensagensChat"}) {
+            contadores.put(contador, new LongAdder());
+        }
+    }
+
+    /**
+     * Próxima mudança de status de um pedido, liberada quando o tempo de preparo passar.
+     */
+    record Etapa(String pedidoId, String status, long liberarEmNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unidade) {
+            return unidade.convert(liberarEmNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outra) {
+            return Long.compare(liberarEmNanos, ((Etapa) outra).liberarEmNanos);
+        }
+    }
+
+    void agendarCozinha(String pedidoId, String status, long esperaMs) {
+        cozinha.add(new Etapa(pedidoId, status, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs)));
+    }
+
+    Etapa proximaEtapa() throws InterruptedException {
+        return cozinha.take();
+    }
+
+    void enviarParaImpressao(String pedidoId) {
+        if (!impressao.offer(pedidoId)) {
+            contar("cuponsDescartados");
+        }
+    }
+
+    String proximoCupom() throws InterruptedException {
+        return impressao.take();
+    }
+
+    void contar(String contador) {
+        if (metricas.medindo()) {
+            contadores.get(contador).increment();
+        }
+    }
+
+    Map<String, Long> contadores() {
+        Map<String, Long> copia = new LinkedHashMap<>();
+        contadores.forEach((nome, valor) -> copia.put(nome, valor.sum()));
+        return copia;
+    }
+}
@@ -0,0 +1,94 @@
+package com.snackbar.testecarga;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * MariaDB embutido (MariaDB4j) para rodar o teste sem Docker. O diretório de dados é
+ * temporário e some no {@link #close()}, então cada execução começa com o banco vazio e o
+ * Liquibase da aplicação cria o schema.
+ *
+ * O MariaDB4j sobe o servidor com {@code --skip-grant-tables}, que também desliga o
+ * agendador de eventos usado pelo schema. Por isso as permissões são recarregadas, o teste
+ * cria um usuário próprio e liga o {@code event_scheduler} antes de entregar a conexão.
+ */
+final class BancoEmbutido implements AutoCloseable {
+
+    static final String BANCO = "snackbar";
+    static final String USUARIO = "carga";
+    static final String SENHA = "carga";
+
+    private final DB db;
+    private final Path dados;
+    private final int porta;
+
+    private BancoEmbutido(DB db, Path dados, int porta) {
+        this.db = db;
+        this.dados = dados;
+        this.porta = porta;
+    }
+
+    static BancoEmbutido iniciar(int porta) throws IOException, ManagedProcessException, SQLException {
+        Path dados = Files.createTempDirectory("teste-carga-mariadb");
+        DBConfigurationBuilder configuracao = DBConfigurationBuilder.newBuilder();
+        configuracao.setPort(porta);
+        configuracao.setDataDir(dados.toString());
+        if ("root".equals(System.getProperty("user.name"))) {
+            configuracao.addArg("--user=root");
+        }
+        DB db = DB.newEmbeddedDB(configuracao.build());
+        db.start();
+        BancoEmbutido banco = new BancoEmbutido(db, dados, porta);
+        try {
+            banco.preparar();
+        } catch (SQLException e) {
+            banco.close();
+            throw e;
+        }
+        return banco;
+    }
+
+    private void preparar() throws SQLException {
+        try (Connection conexao = DriverManager.getConnection("jdbc:mysql://localhost:" + porta + "/mysql", "root", "");
+             Statement statement = conexao.createStatement()) {
+            statement.execute("FLUSH PRIVILEGES");
+            // 'localhost' além de '%': senão o usuário anônimo de localhost tem precedência
+            for (String host : new String[] {"%", "localhost"}) {
+                statement.execute("CREATE USER IF NOT EXISTS '" + USUARIO + "'@'" + host + "' IDENTIFIED BY '" + SENHA + "'");
+                statement.execute("GRANT ALL PRIVILEGES ON *.* TO '" + USUARIO + "'@'" + host + "'");
+            }
+            statement.execute("SET GLOBAL event_scheduler = ON");
+            statement.execute("CREATE DATABASE IF NOT EXISTS " + BANCO
+                    + " CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci");
+        }
+    }
+
+    String url() {
+        return "jdbc:mysql://localhost:" + porta + "/" + BANCO;
+    }
+
+    @Override
+    public void close() {
+        try {
+            db.stop();
+        } catch (ManagedProcessException e) {
+            System.err.println("Falha ao parar o banco embutido: " + e.getMessage());
+        }
+        try (Stream<Path> arquivos = Files.walk(dados)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> arquivo.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Não foi possível apagar " + dados + ": " + e.getMessage());
+        }
+    }
+}
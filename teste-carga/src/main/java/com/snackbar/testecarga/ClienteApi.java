@@ -0,0 +1,171 @@
+package com.snackbar.testecarga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Cliente HTTP da aplicação que mede cada chamada. As métricas são agrupadas pelo rótulo
+ * (método + caminho com variáveis, ex.: {@code POST /api/pedidos/fila-mesa/{id}/aceitar}),
+ * não pela URL real, para que pedidos diferentes caiam no mesmo endpoint.
+ *
+ * Respostas fora de 2xx contam como erro e viram {@link FalhaRequisicao}, a não ser que o
+ * status tenha sido declarado como esperado pela chamada (ex.: 404 de "sessão ativa").
+ */
+final class ClienteApi {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /** Token JWT e id do funcionário (o painel manda os dois). */
+    record Credencial(String token, String usuarioId) {
+    }
+
+    record Resposta(int status, JsonNode corpo) {
+    }
+
+    static final class FalhaRequisicao extends RuntimeException {
+
+        FalhaRequisicao(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    private final String base;
+    private final Metricas metricas;
+    private final ObjectMapper json;
+    private final HttpClient http;
+
+    ClienteApi(String base, Metricas metricas, ObjectMapper json) {
+        this.base = base;
+        this.metricas = metricas;
+        this.json = json;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    JsonNode get(String rotulo, String caminho, Credencial credencial) {
+        return enviar("GET", rotulo, caminho, null, credencial, null).corpo();
+    }
+
+    JsonNode post(String rotulo, String caminho, Object corpo, Credencial credencial) {
+        return enviar("POST", rotulo, caminho, corpo, credencial, null).corpo();
+    }
+
+    /**
+     * POST de endpoints que respondem 200 mesmo quando a operação falha (ex.: impressão, com
+     * {@code "sucesso": false}): resposta que não passa em {@code valida} conta como erro.
+     */
+    JsonNode post(String rotulo, String caminho, Object corpo, Credencial credencial, Predicate<JsonNode> valida) {
+        return enviar("POST", rotulo, caminho, corpo, credencial, null, valida).corpo();
+    }
+
+    JsonNode put(String rotulo, String caminho, Object corpo, Credencial credencial) {
+        return enviar("PUT", rotulo, caminho, corpo, credencial, null).corpo();
+    }
+
+    /**
+     * Chamada completa: {@code idempotencia} vai em {@code X-Idempotency-Key} quando não é nulo
+     * e {@code statusEsperados} não contam como erro.
+     */
+    Resposta enviar(String metodo, String rotulo, String caminho, Object corpo, Credencial credencial,
+                    String idempotencia, int... statusEsperados) {
+        return enviar(metodo, rotulo, caminho, corpo, credencial, idempotencia, corpoResposta -> true,
+                statusEsperados);
+    }
+
+    private Resposta enviar(String metodo, String rotulo, String caminho, Object corpo, Credencial credencial,
+                            String idempotencia, Predicate<JsonNode> valida, int... statusEsperados) {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(base + caminho))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .method(metodo, corpo == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(serializar(corpo)));
+        if (corpo != null) {
+            requisicao.header("Content-Type", "application/json");
+        }
+        if (credencial != null) {
+            requisicao.header("Authorization", "Bearer " + credencial.token());
+            requisicao.header("X-Usuario-Id", credencial.usuarioId());
+        }
+        if (idempotencia != null) {
+            requisicao.header("X-Idempotency-Key", idempotencia);
+        }
+
+        String endpoint = metodo + " " + rotulo;
+        long inicio = System.nanoTime();
+        HttpResponse<byte[]> resposta;
+        try {
+            resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            String erro = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+            metricas.registrar(endpoint, System.nanoTime() - inicio, erro);
+            throw new FalhaRequisicao(endpoint + " -> " + erro);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FalhaRequisicao(endpoint + " interrompida");
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        int status = resposta.statusCode();
+        if (status >= 300 && !esperado(status, statusEsperados)) {
+            String erro = "HTTP " + status + " " + resumir(resposta.body());
+            metricas.registrar(endpoint, duracao, erro);
+            throw new FalhaRequisicao(endpoint + " -> " + erro);
+        }
+        JsonNode lido = ler(resposta.body());
+        if (!valida.test(lido)) {
+            String erro = "HTTP " + status + " sem sucesso: " + resumir(resposta.body());
+            metricas.registrar(endpoint, duracao, erro);
+            throw new FalhaRequisicao(endpoint + " -> " + erro);
+        }
+        metricas.registrar(endpoint, duracao, null);
+        return new Resposta(status, lido);
+    }
+
+    private static boolean esperado(int status, int[] esperados) {
+        for (int esperado : esperados) {
+            if (esperado == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] serializar(Object corpo) {
+        try {
+            return json.writeValueAsBytes(corpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Corpo não serializável: " + corpo, e);
+        }
+    }
+
+    private JsonNode ler(byte[] corpo) {
+        if (corpo.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return json.readTree(corpo);
+        } catch (IOException e) {
+            throw new FalhaRequisicao("Resposta não é JSON: " + resumir(corpo));
+        }
+    }
+
+    private static String resumir(byte[] corpo) {
+        String texto = new String(corpo, StandardCharsets.UTF_8).replaceAll("\\s+", " ");
+        return texto.length() > 160 ? texto.substring(0, 160) + "..." : texto;
+    }
+}
@@ -0,0 +1,31 @@
+package com.snackbar.testecarga;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cliente conversando com o assistente. A OpenAI é o stub local, então o que se mede é o
+ * caminho da aplicação (prompt, limite de concorrência, histórico) mais a latência configurada.
+ */
+final class ClienteChat extends UsuarioVirtual {
+
+    private static final List<String> PERGUNTAS = List.of(
+            "Quais lanches vocês têm?", "Tem alguma opção vegetariana?", "Qual é a porção mais pedida?",
+            "Quanto custa o refrigerante?", "Me sugere uma sobremesa");
+
+    private final String sessao;
+
+    ClienteChat(int indice, ClienteApi api, Ambiente ambiente, Balcao balcao, ConfiguracaoCarga configuracao,
+                long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+        this.sessao = "teste-carga-" + indice;
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        api.post("/api/chat-ia", "/api/chat-ia",
+                Map.of("message", PERGUNTAS.get(aleatorio.nextInt(PERGUNTAS.size())), "sessionId", sessao), null);
+        balcao.contar("mensagensChat");
+        pausar(configuracao.pausas().chat());
+    }
+}
@@ -0,0 +1,65 @@
+package com.snackbar.testecarga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cliente que lê o QR code da mesa: valida a mesa, abre o cardápio, se identifica pelo
+ * telefone (cadastrando-se na primeira vez), envia o pedido e acompanha o status enquanto espera.
+ */
+final class ClienteMesa extends UsuarioVirtual {
+
+    private static final String BASE = "/api/public/mesa";
+
+    private final String telefone;
+    private String clienteId;
+
+    ClienteMesa(int indice, ClienteApi api, Ambiente ambiente, Balcao balcao, ConfiguracaoCarga configuracao,
+                long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+        // 11 dígitos, único por usuário virtual: em execuções seguintes o cliente já existe
+        this.telefone = String.format("2198%07d", indice);
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        Ambiente.Mesa mesa = ambiente.mesas().get(aleatorio.nextInt(ambiente.mesas().size()));
+        String token = mesa.token();
+        api.get(BASE + "/{token}", BASE + "/" + token, null);
+        api.get(BASE + "/{token}/cardapio", BASE + "/" + token + "/cardapio", null);
+        pausar(configuracao.pausas().mesaEscolha());
+
+        identificar(token);
+        Pedido pedido = montarPedido();
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("mesaToken", token);
+        corpo.put("clienteId", clienteId);
+        corpo.put("nomeCliente", "Cliente " + indice);
+        corpo.put("itens", pedido.itens());
+        corpo.put("meiosPagamento", pagamento("PIX", pedido.total()));
+        JsonNode criado = api.enviar("POST", BASE + "/pedido", BASE + "/pedido", corpo, null,
+                UUID.randomUUID().toString()).corpo();
+        balcao.contar("pedidosMesa");
+
+        String status = BASE + "/pedido/" + criado.get("id").asText() + "/status";
+        for (int i = 0; i < configuracao.acompanhamentosMesa(); i++) {
+            pausar(configuracao.pausas().mesaAcompanhamento());
+            api.get(BASE + "/pedido/{id}/status", status, null);
+        }
+    }
+
+    private void identificar(String token) {
+        ClienteApi.Resposta encontrado = api.enviar("GET", BASE + "/{token}/cliente/{telefone}",
+                BASE + "/" + token + "/cliente/" + telefone, null, null, null, 404);
+        if (encontrado.status() != 404) {
+            clienteId = encontrado.corpo().get("id").asText();
+            return;
+        }
+        JsonNode cadastrado = api.post(BASE + "/{token}/cliente", BASE + "/" + token + "/cliente",
+                Map.of("nome", "Cliente " + indice, "telefone", telefone), null);
+        clienteId = cadastrado.get("id").asText();
+    }
+}
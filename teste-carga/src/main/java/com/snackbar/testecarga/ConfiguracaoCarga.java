@@ -0,0 +1,208 @@
+package com.snackbar.testecarga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parâmetros do teste: {@code teste-carga.properties} do classpath, depois o arquivo de
+ * {@code --config} e por fim as opções {@code --chave=valor} da linha de comando.
+ * Valores no formato {@code ${VARIAVEL:padrao}} são lidos do ambiente.
+ */
+record ConfiguracaoCarga(
+        Path appJar,
+        String appUrl,
+        int appPorta,
+        Path appLog,
+        List<String> appOpcoesJvm,
+        Duration appEsperaInicio,
+        String appUsuario,
+        String appSenha,
+        Banco banco,
+        int bancoEmbutidoPorta,
+        String mysqlUrl,
+        String mysqlUsuario,
+        String mysqlSenha,
+        int stubOpenAiPorta,
+        Duration stubOpenAiLatencia,
+        int stubImpressoraPorta,
+        Duration aquecimento,
+        Duration duracao,
+        Map<Papel, Integer> usuarios,
+        Pausas pausas,
+        int acompanhamentosMesa,
+        int itensMaximo,
+        double probabilidadeAdicionais,
+        int produtosPreparacao,
+        int mesasPreparacao,
+        Path resultado,
+        Path baseline,
+        boolean comparar,
+        double toleranciaPercentual,
+        double toleranciaMinimaMs,
+        double toleranciaErrosPontos,
+        long semente) {
+
+    enum Banco { EMBUTIDO, EXTERNO }
+
+    /**
+     * Médias das pausas de "tempo de pensar", já multiplicadas por {@code pausa.escala}.
+     */
+    record Pausas(
+            Duration mesaEscolha,
+            Duration mesaAcompanhamento,
+            Duration totemEscolha,
+            Duration atendente,
+            Duration cozinhaPreparo,
+            Duration lobby,
+            Duration cardapio,
+            Duration chat) {
+    }
+
+    private static final Pattern VARIAVEL = Pattern.compile("\\$\\{([A-Z0-9_]+):([^}]*)}");
+
+    static ConfiguracaoCarga carregar(String[] args) throws IOException {
+        Properties propriedades = new Properties();
+        try (InputStream padrao = ConfiguracaoCarga.class.getResourceAsStream("/teste-carga.properties")) {
+            if (padrao == null) {
+                throw new IllegalStateException("teste-carga.properties não encontrado no classpath");
+            }
+            propriedades.load(new InputStreamReader(padrao, StandardCharsets.UTF_8));
+        }
+
+        for (String arg : args) {
+            if (arg.startsWith("--config=")) {
+                try (Reader arquivo = Files.newBufferedReader(Path.of(arg.substring("--config=".length())))) {
+                    propriedades.load(arquivo);
+                }
+            }
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg + " (use --chave=valor)");
+            }
+            int igual = arg.indexOf('=');
+            String chave = arg.substring(2, igual);
+            if (!chave.equals("config")) {
+                propriedades.setProperty(chave, arg.substring(igual + 1));
+            }
+        }
+
+        Leitor leitor = new Leitor(propriedades);
+        Map<Papel, Integer> usuarios = new EnumMap<>(Papel.class);
+        for (Papel papel : Papel.values()) {
+            usuarios.put(papel, leitor.naoNegativo("usuarios." + papel.chave()));
+        }
+        double escala = leitor.decimal("pausa.escala");
+        Pausas pausas = new Pausas(
+                leitor.pausa("pausa.mesa.escolha-ms", escala),
+                leitor.pausa("pausa.mesa.acompanhamento-ms", escala),
+                leitor.pausa("pausa.totem.escolha-ms", escala),
+                leitor.pausa("pausa.atendente-ms", escala),
+                leitor.pausa("pausa.cozinha.preparo-ms", escala),
+                leitor.pausa("pausa.lobby-ms", escala),
+                leitor.pausa("pausa.cardapio-ms", escala),
+                leitor.pausa("pausa.chat-ms", escala));
+
+        String jar = leitor.texto("app.jar");
+        String opcoesJvm = leitor.texto("app.opcoes-jvm");
+        return new ConfiguracaoCarga(
+                jar.isBlank() ? null : Path.of(jar),
+                leitor.texto("app.url"),
+                leitor.naoNegativo("app.porta"),
+                Path.of(leitor.texto("app.log")),
+                opcoesJvm.isBlank() ? List.of() : List.of(opcoesJvm.trim().split("\\s+")),
+                Duration.ofSeconds(leitor.naoNegativo("app.espera-inicio-segundos")),
+                leitor.texto("app.usuario"),
+                leitor.texto("app.senha"),
+                Banco.valueOf(leitor.texto("banco").toUpperCase()),
+                leitor.naoNegativo("banco.embutido.porta"),
+                leitor.texto("mysql.url"),
+                leitor.texto("mysql.usuario"),
+                leitor.texto("mysql.senha"),
+                leitor.naoNegativo("stub.openai.porta"),
+                Duration.ofMillis(leitor.naoNegativo("stub.openai.latencia-ms")),
+                leitor.naoNegativo("stub.impressora.porta"),
+                Duration.ofSeconds(leitor.naoNegativo("aquecimento.segundos")),
+                Duration.ofSeconds(leitor.naoNegativo("duracao.segundos")),
+                usuarios,
+                pausas,
+                leitor.naoNegativo("mesa.acompanhamentos"),
+                Math.max(1, leitor.naoNegativo("itens.maximo")),
+                leitor.decimal("adicionais.probabilidade"),
+                leitor.naoNegativo("preparacao.produtos"),
+                leitor.naoNegativo("preparacao.mesas"),
+                Path.of(leitor.texto("resultado")),
+                Path.of(leitor.texto("baseline")),
+                Boolean.parseBoolean(leitor.texto("comparar")),
+                leitor.decimal("tolerancia.percentual"),
+                leitor.decimal("tolerancia.minima-ms"),
+                leitor.decimal("tolerancia.erros-pontos"),
+                Long.parseLong(leitor.texto("semente")));
+    }
+
+    /**
+     * Endereço em que a aplicação atende durante o teste.
+     */
+    String urlAplicacao() {
+        return appJar != null ? "http://localhost:" + appPorta : appUrl;
+    }
+
+    @Override
+    public String toString() {
+        return (appJar != null ? "aplicação " + appJar + " na porta " + appPorta + ", banco " + banco
+                : "aplicação externa em " + appUrl)
+                + ", aquecimento " + aquecimento.toSeconds() + "s, medição " + duracao.toSeconds() + "s, usuários "
+                + usuarios + ", semente " + semente;
+    }
+
+    private record Leitor(Properties propriedades) {
+
+        String texto(String chave) {
+            String valor = propriedades.getProperty(chave);
+            if (valor == null) {
+                throw new IllegalArgumentException("Configuração ausente: " + chave);
+            }
+            Matcher matcher = VARIAVEL.matcher(valor.trim());
+            StringBuilder resolvido = new StringBuilder();
+            while (matcher.find()) {
+                String ambiente = System.getenv(matcher.group(1));
+                String substituto = ambiente != null && !ambiente.isBlank() ? ambiente : matcher.group(2);
+                matcher.appendReplacement(resolvido, Matcher.quoteReplacement(substituto));
+            }
+            matcher.appendTail(resolvido);
+            return resolvido.toString();
+        }
+
+        int naoNegativo(String chave) {
+            int valor = Integer.parseInt(texto(chave));
+            if (valor < 0) {
+                throw new IllegalArgumentException(chave + " não pode ser negativo");
+            }
+            return valor;
+        }
+
+        double decimal(String chave) {
+            double valor = Double.parseDouble(texto(chave));
+            if (valor < 0) {
+                throw new IllegalArgumentException(chave + " não pode ser negativo");
+            }
+            return valor;
+        }
+
+        Duration pausa(String chave, double escala) {
+            return Duration.ofMillis(Math.round(naoNegativo(chave) * escala));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.snackbar.testecarga;
+
+import java.util.Map;
+
+/**
+ * Tela da cozinha: leva cada pedido aceito por PREPARANDO, PRONTO e FINALIZADO, respeitando
+ * o tempo de preparo sorteado para cada etapa.
+ */
+final class Cozinha extends UsuarioVirtual {
+
+    Cozinha(int indice, ClienteApi api, Ambiente ambiente, Balcao balcao, ConfiguracaoCarga configuracao,
+            long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        Balcao.Etapa etapa = balcao.proximaEtapa();
+        api.put("/api/pedidos/{id}/status", "/api/pedidos/" + etapa.pedidoId() + "/status",
+                Map.of("status", etapa.status()), ambiente.credencial());
+        switch (etapa.status()) {
+            case "PREPARANDO" -> balcao.agendarCozinha(etapa.pedidoId(), "PRONTO",
+                    sortearEspera(configuracao.pausas().cozinhaPreparo()));
+            // retirada no balcão: bem mais rápida que o preparo
+            case "PRONTO" -> balcao.agendarCozinha(etapa.pedidoId(), "FINALIZADO",
+                    sortearEspera(configuracao.pausas().cozinhaPreparo().dividedBy(3)));
+            default -> balcao.contar("pedidosFinalizados");
+        }
+    }
+}
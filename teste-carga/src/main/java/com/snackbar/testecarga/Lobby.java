@@ -0,0 +1,20 @@
+package com.snackbar.testecarga;
+
+/**
+ * Telão do lobby, que faz polling da sessão ativa e de todos os pedidos dela. É a consulta
+ * que mais cresce durante o almoço, porque a sessão acumula pedidos.
+ */
+final class Lobby extends UsuarioVirtual {
+
+    Lobby(int indice, ClienteApi api, Ambiente ambiente, Balcao balcao, ConfiguracaoCarga configuracao, long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        String sessaoId = api.get("/api/sessoes-trabalho/ativa", "/api/sessoes-trabalho/ativa", ambiente.credencial())
+                .get("id").asText();
+        api.get("/api/pedidos?sessaoId={id}", "/api/pedidos?sessaoId=" + sessaoId, ambiente.credencial());
+        pausar(configuracao.pausas().lobby());
+    }
+}
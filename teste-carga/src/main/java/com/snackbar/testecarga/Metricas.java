@@ -0,0 +1,111 @@
+package com.snackbar.testecarga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência (em microssegundos) e contagem de erros por endpoint. Só registra depois de
+ * {@link #iniciarMedicao()}: durante o aquecimento as requisições acontecem, mas não contam.
+ */
+final class Metricas {
+
+    /** Uma hora em µs; acima disso o valor é truncado (não deveria acontecer com os timeouts do cliente). */
+    private static final long MAIOR_LATENCIA_US = TimeUnit.HOURS.toMicros(1);
+    private static final int AMOSTRAS_ERRO = 5;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean medindo;
+    private volatile long inicioNanos;
+    private volatile long fimNanos;
+
+    void iniciarMedicao() {
+        inicioNanos = System.nanoTime();
+        medindo = true;
+    }
+
+    void encerrarMedicao() {
+        medindo = false;
+        fimNanos = System.nanoTime();
+    }
+
+    boolean medindo() {
+        return medindo;
+    }
+
+    void registrar(String rotulo, long nanos, String erro) {
+        if (!medindo) {
+            return;
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(rotulo, chave -> new Endpoint());
+        endpoint.latencias.recordValue(Math.min(MAIOR_LATENCIA_US, Math.max(1, nanos / 1_000)));
+        if (erro != null) {
+            endpoint.erros.increment();
+            if (endpoint.amostrasErro.size() < AMOSTRAS_ERRO) {
+                endpoint.amostrasErro.add(erro);
+            }
+        }
+    }
+
+    double segundosMedidos() {
+        long fim = medindo ? System.nanoTime() : fimNanos;
+        return Math.max(1e-3, (fim - inicioNanos) / 1e9);
+    }
+
+    /**
+     * Cópia ordenada por rótulo, para o relatório.
+     */
+    Map<String, Resumo> resumir() {
+        Map<String, Resumo> resumo = new TreeMap<>();
+        endpoints.forEach((rotulo, endpoint) -> resumo.put(rotulo, endpoint.resumir()));
+        return resumo;
+    }
+
+    /**
+     * Todas as requisições juntas (o histograma total é a soma dos histogramas por endpoint).
+     */
+    Resumo resumirTotal() {
+        Endpoint total = new Endpoint();
+        endpoints.values().forEach(endpoint -> {
+            total.latencias.add(endpoint.latencias);
+            total.erros.add(endpoint.erros.sum());
+        });
+        return total.resumir();
+    }
+
+    record Resumo(Histogram latencias, long erros, Set<String> amostrasErro) {
+
+        long requisicoes() {
+            return latencias.getTotalCount();
+        }
+
+        double percentilMs(double percentil) {
+            return latencias.getValueAtPercentile(percentil) / 1_000.0;
+        }
+
+        double maximoMs() {
+            return latencias.getMaxValue() / 1_000.0;
+        }
+
+        double taxaErros() {
+            return requisicoes() == 0 ? 0 : (double) erros / requisicoes();
+        }
+    }
+
+    private static final class Endpoint {
+
+        private final Histogram latencias = new ConcurrentHistogram(MAIOR_LATENCIA_US, 3);
+        private final LongAdder erros = new LongAdder();
+        private final Set<String> amostrasErro = ConcurrentHashMap.newKeySet();
+
+        Resumo resumir() {
+            return new Resumo(latencias.copy(), erros.sum(), Set.copyOf(amostrasErro));
+        }
+    }
+}
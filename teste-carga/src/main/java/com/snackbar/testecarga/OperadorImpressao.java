@@ -0,0 +1,27 @@
+package com.snackbar.testecarga;
+
+import java.util.Map;
+
+/**
+ * Balcão imprimindo o cupom de cada pedido aceito na impressora de rede simulada. A API
+ * responde 200 mesmo quando não consegue imprimir, então o {@code sucesso} da resposta é conferido.
+ */
+final class OperadorImpressao extends UsuarioVirtual {
+
+    private final String impressora;
+
+    OperadorImpressao(int indice, String impressora, ClienteApi api, Ambiente ambiente, Balcao balcao,
+                      ConfiguracaoCarga configuracao, long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+        this.impressora = impressora;
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        String pedidoId = balcao.proximoCupom();
+        api.post("/api/impressao/cupom-fiscal", "/api/impressao/cupom-fiscal", Map.of(
+                "pedidoId", pedidoId, "tipoImpressora", "EPSON_TM_T20", "devicePath", impressora),
+                ambiente.credencial(), resposta -> resposta.path("sucesso").asBoolean());
+        balcao.contar("cuponsEnfileirados");
+    }
+}
@@ -0,0 +1,28 @@
+package com.snackbar.testecarga;
+
+/**
+ * Papéis simulados no horário de almoço. Cada usuário virtual tem um papel e repete o seu roteiro.
+ */
+enum Papel {
+
+    /** Cliente na mesa: lê o QR code, abre o cardápio, faz o pedido e acompanha o status. */
+    MESA,
+    /** Totem de autoatendimento: monta o pedido e envia para a fila. */
+    TOTEM,
+    /** Atendente no painel: aceita os pedidos das filas de mesa e totem. */
+    ATENDENTE,
+    /** Cozinha: leva cada pedido aceito por PREPARANDO, PRONTO e FINALIZADO. */
+    COZINHA,
+    /** Telão do lobby: consulta a sessão ativa e os pedidos dela a cada poucos segundos. */
+    LOBBY,
+    /** Visitante que só navega no cardápio público. */
+    CARDAPIO,
+    /** Balcão imprimindo o cupom dos pedidos aceitos. */
+    IMPRESSAO,
+    /** Cliente conversando com o assistente (OpenAI substituída pelo stub). */
+    CHAT;
+
+    String chave() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,161 @@
+package com.snackbar.testecarga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deixa a aplicação pronta para o almoço: faz login como administrador, abre uma sessão de
+ * trabalho se não houver uma ativa e completa o cardápio e as mesas até os mínimos da
+ * configuração. Num banco que já tem cadastros, só lê o que existe.
+ *
+ * Roda antes do aquecimento, então as chamadas daqui não entram nas métricas.
+ */
+final class Preparacao {
+
+    private static final List<String> CATEGORIAS = List.of("Lanches", "Porções", "Bebidas", "Sobremesas");
+    private static final List<String> ADICIONAIS = List.of(
+            "Bacon", "Queijo extra", "Ovo", "Cebola caramelizada", "Cheddar", "Catupiry", "Picles", "Molho especial");
+    /** Adicionais lidos por produto; o resto do cardápio entra sem adicionais. */
+    private static final int PRODUTOS_COM_ADICIONAIS = 60;
+
+    private final ClienteApi api;
+    private final ConfiguracaoCarga configuracao;
+    private final Random aleatorio;
+
+    Preparacao(ClienteApi api, ConfiguracaoCarga configuracao) {
+        this.api = api;
+        this.configuracao = configuracao;
+        this.aleatorio = new Random(configuracao.semente());
+    }
+
+    Ambiente preparar() {
+        JsonNode login = api.post("/api/auth/login", "/api/auth/login",
+                Map.of("emailOuUsuario", configuracao.appUsuario(), "senha", configuracao.appSenha()), null);
+        ClienteApi.Credencial credencial = new ClienteApi.Credencial(
+                login.get("token").asText(), login.get("usuario").get("id").asText());
+
+        String sessaoId = garantirSessao(credencial);
+        List<Ambiente.Produto> produtos = garantirCardapio(credencial);
+        List<Ambiente.Mesa> mesas = garantirMesas(credencial);
+        if (produtos.isEmpty() || mesas.isEmpty()) {
+            throw new IllegalStateException("Sem produtos disponíveis ou mesas ativas para o teste");
+        }
+        System.out.printf("Preparado: sessão %s, %d produtos, %d mesas%n", sessaoId, produtos.size(), mesas.size());
+        return new Ambiente(credencial, sessaoId, List.copyOf(produtos), List.copyOf(mesas));
+    }
+
+    private String garantirSessao(ClienteApi.Credencial credencial) {
+        ClienteApi.Resposta ativa = api.enviar("GET", "/api/sessoes-trabalho/ativa", "/api/sessoes-trabalho/ativa",
+                null, credencial, null, 404);
+        if (ativa.status() != 404) {
+            return ativa.corpo().get("id").asText();
+        }
+        JsonNode sessao = api.post("/api/sessoes-trabalho", "/api/sessoes-trabalho",
+                Map.of("usuarioId", credencial.usuarioId(), "valorAbertura", new BigDecimal("200.00")), credencial);
+        return sessao.get("id").asText();
+    }
+
+    private List<Ambiente.Produto> garantirCardapio(ClienteApi.Credencial credencial) {
+        JsonNode existentes = api.get("/api/produtos", "/api/produtos", credencial);
+        int faltando = configuracao.produtosPreparacao() - existentes.size();
+        if (faltando > 0) {
+            criarCardapio(credencial, existentes, faltando);
+            existentes = api.get("/api/produtos", "/api/produtos", credencial);
+        }
+
+        List<Ambiente.Produto> produtos = new ArrayList<>();
+        for (JsonNode produto : existentes) {
+            if (!produto.path("disponivel").asBoolean(true)) {
+                continue;
+            }
+            String id = produto.get("id").asText();
+            List<Ambiente.Adicional> adicionais = new ArrayList<>();
+            if (produtos.size() < PRODUTOS_COM_ADICIONAIS) {
+                String caminho = "/api/produtos/" + id + "/adicionais";
+                for (JsonNode adicional : api.get("/api/produtos/{id}/adicionais", caminho, credencial)) {
+                    if (adicional.path("disponivel").asBoolean(true)) {
+                        adicionais.add(new Ambiente.Adicional(adicional.get("id").asText(),
+                                adicional.get("preco").decimalValue()));
+                    }
+                }
+            }
+            produtos.add(new Ambiente.Produto(id, produto.get("nome").asText(),
+                    produto.get("preco").decimalValue(), List.copyOf(adicionais)));
+        }
+        return produtos;
+    }
+
+    private void criarCardapio(ClienteApi.Credencial credencial, JsonNode existentes, int quantidade) {
+        Set<String> categorias = new HashSet<>();
+        api.get("/api/categorias", "/api/categorias", credencial).forEach(c -> categorias.add(c.get("nome").asText()));
+        for (String categoria : CATEGORIAS) {
+            if (!categorias.contains(categoria)) {
+                api.post("/api/categorias", "/api/categorias",
+                        Map.of("nome", categoria, "descricao", categoria + " (teste de carga)"), credencial);
+            }
+        }
+
+        List<String> adicionais = new ArrayList<>();
+        for (JsonNode adicional : api.get("/api/adicionais", "/api/adicionais", credencial)) {
+            adicionais.add(adicional.get("id").asText());
+        }
+        for (int i = adicionais.size(); i < ADICIONAIS.size(); i++) {
+            JsonNode criado = api.post("/api/adicionais", "/api/adicionais", Map.of(
+                    "nome", ADICIONAIS.get(i), "descricao", "Adicional", "preco", preco(2, 8), "categoria", "Lanches"),
+                    credencial);
+            adicionais.add(criado.get("id").asText());
+        }
+
+        for (int i = 0; i < quantidade; i++) {
+            String categoria = CATEGORIAS.get(i % CATEGORIAS.size());
+            int numero = existentes.size() + i + 1;
+            JsonNode produto = api.post("/api/produtos", "/api/produtos", Map.of(
+                    "nome", categoria + " " + numero, "descricao", "Produto " + numero + " do teste de carga",
+                    "preco", preco(6, 45), "categoria", categoria), credencial);
+            if (categoria.equals("Lanches") || categoria.equals("Porções")) {
+                List<String> vinculados = new ArrayList<>(adicionais);
+                Collections.shuffle(vinculados, aleatorio);
+                String caminho = "/api/produtos/" + produto.get("id").asText() + "/adicionais";
+                api.put("/api/produtos/{id}/adicionais", caminho,
+                        vinculados.subList(0, Math.min(vinculados.size(), 2 + aleatorio.nextInt(3))), credencial);
+            }
+        }
+    }
+
+    private List<Ambiente.Mesa> garantirMesas(ClienteApi.Credencial credencial) {
+        JsonNode existentes = api.get("/api/mesas", "/api/mesas", credencial);
+        int maiorNumero = 0;
+        for (JsonNode mesa : existentes) {
+            maiorNumero = Math.max(maiorNumero, mesa.get("numero").asInt());
+        }
+        for (int i = existentes.size(); i < configuracao.mesasPreparacao(); i++) {
+            maiorNumero++;
+            api.post("/api/mesas", "/api/mesas", Map.of("numero", maiorNumero, "nome", "Mesa " + maiorNumero), credencial);
+        }
+        if (existentes.size() < configuracao.mesasPreparacao()) {
+            existentes = api.get("/api/mesas", "/api/mesas", credencial);
+        }
+
+        List<Ambiente.Mesa> mesas = new ArrayList<>();
+        for (JsonNode mesa : existentes) {
+            if (mesa.path("ativa").asBoolean(true)) {
+                mesas.add(new Ambiente.Mesa(mesa.get("qrCodeToken").asText(), mesa.get("numero").asInt()));
+            }
+        }
+        return mesas;
+    }
+
+    private BigDecimal preco(int minimo, int maximo) {
+        return BigDecimal.valueOf(minimo * 100L + aleatorio.nextInt((maximo - minimo) * 100), 2)
+                .setScale(1, RoundingMode.DOWN).setScale(2);
+    }
+}
@@ -0,0 +1,195 @@
+package com.snackbar.testecarga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório de uma execução (tabela no console e JSON em disco) e comparação com a baseline.
+ *
+ * O JSON guarda a configuração do mix junto com os números: comparar execuções com mix,
+ * duração ou máquina diferentes gera um aviso, porque as latências deixam de ser comparáveis.
+ */
+final class Resultado {
+
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+    /** Abaixo disso o p99 de um endpoint é ruído demais para reprovar a execução. */
+    private static final int AMOSTRAS_MINIMAS = 50;
+
+    private final ObjectNode json;
+
+    private Resultado(ObjectNode json) {
+        this.json = json;
+    }
+
+    static Resultado montar(ObjectMapper mapper, ConfiguracaoCarga configuracao, Metricas metricas,
+                            Duration inicioAplicacao, Map<String, Long> contadores) {
+        ObjectNode raiz = mapper.createObjectNode();
+        raiz.put("geradoEm", OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString());
+
+        ObjectNode ambiente = raiz.putObject("ambiente");
+        ambiente.put("processadores", Runtime.getRuntime().availableProcessors());
+        ambiente.put("java", System.getProperty("java.version"));
+        ambiente.put("sistema", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        ambiente.put("banco", configuracao.appJar() != null ? configuracao.banco().name().toLowerCase() : "externo");
+
+        ObjectNode mix = raiz.putObject("configuracao");
+        mix.put("aquecimentoSegundos", configuracao.aquecimento().toSeconds());
+        mix.put("duracaoSegundos", configuracao.duracao().toSeconds());
+        ObjectNode usuarios = mix.putObject("usuarios");
+        configuracao.usuarios().forEach((papel, quantidade) -> usuarios.put(papel.chave(), quantidade));
+        ConfiguracaoCarga.Pausas pausas = configuracao.pausas();
+        ObjectNode pausasMs = mix.putObject("pausasMs");
+        pausasMs.put("mesaEscolha", pausas.mesaEscolha().toMillis());
+        pausasMs.put("mesaAcompanhamento", pausas.mesaAcompanhamento().toMillis());
+        pausasMs.put("totemEscolha", pausas.totemEscolha().toMillis());
+        pausasMs.put("atendente", pausas.atendente().toMillis());
+        pausasMs.put("cozinhaPreparo", pausas.cozinhaPreparo().toMillis());
+        pausasMs.put("lobby", pausas.lobby().toMillis());
+        pausasMs.put("cardapio", pausas.cardapio().toMillis());
+        pausasMs.put("chat", pausas.chat().toMillis());
+        mix.put("mesaAcompanhamentos", configuracao.acompanhamentosMesa());
+        mix.put("itensMaximo", configuracao.itensMaximo());
+        mix.put("adicionaisProbabilidade", configuracao.probabilidadeAdicionais());
+        mix.put("stubOpenAiLatenciaMs", configuracao.stubOpenAiLatencia().toMillis());
+        mix.put("semente", configuracao.semente());
+
+        if (inicioAplicacao != null) {
+            raiz.put("inicioAplicacaoMs", inicioAplicacao.toMillis());
+        }
+        ObjectNode fluxo = raiz.putObject("fluxo");
+        contadores.forEach(fluxo::put);
+
+        double segundos = metricas.segundosMedidos();
+        escrever(raiz.putObject("total"), metricas.resumirTotal(), segundos);
+        ObjectNode endpoints = raiz.putObject("endpoints");
+        metricas.resumir().forEach((rotulo, resumo) -> escrever(endpoints.putObject(rotulo), resumo, segundos));
+        return new Resultado(raiz);
+    }
+
+    private static void escrever(ObjectNode no, Metricas.Resumo resumo, double segundos) {
+        no.put("requisicoes", resumo.requisicoes());
+        no.put("erros", resumo.erros());
+        no.put("taxaErrosPercentual", arredondar(resumo.taxaErros() * 100));
+        no.put("vazaoPorSegundo", arredondar(resumo.requisicoes() / segundos));
+        for (double percentil : PERCENTIS) {
+            no.put(nomePercentil(percentil), arredondar(resumo.percentilMs(percentil)));
+        }
+        no.put("maximoMs", arredondar(resumo.maximoMs()));
+        if (!resumo.amostrasErro().isEmpty()) {
+            resumo.amostrasErro().forEach(no.putArray("exemplosErro")::add);
+        }
+    }
+
+    private static String nomePercentil(double percentil) {
+        return "p" + (percentil == Math.rint(percentil) ? String.valueOf((int) percentil)
+                : String.valueOf(percentil).replace(".", "")) + "Ms";
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    void gravar(ObjectMapper mapper, Path arquivo) throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(arquivo.toFile(), json);
+    }
+
+    void imprimir() {
+        System.out.printf("%n%-52s %9s %7s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Reqs", "Erros%", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+        json.get("endpoints").fields().forEachRemaining(entrada -> imprimirLinha(entrada.getKey(), entrada.getValue()));
+        imprimirLinha("TOTAL", json.get("total"));
+        if (json.has("inicioAplicacaoMs")) {
+            System.out.printf("Início da aplicação: %,d ms%n", json.get("inicioAplicacaoMs").asLong());
+        }
+        System.out.println("Fluxo: " + json.get("fluxo"));
+        json.get("endpoints").fields().forEachRemaining(entrada -> {
+            if (entrada.getValue().has("exemplosErro")) {
+                System.out.println("Erros em " + entrada.getKey() + ": " + entrada.getValue().get("exemplosErro"));
+            }
+        });
+    }
+
+    private static void imprimirLinha(String rotulo, JsonNode no) {
+        System.out.printf("%-52s %,9d %7.2f %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                rotulo.length() > 52 ? rotulo.substring(0, 49) + "..." : rotulo,
+                no.get("requisicoes").asLong(), no.get("taxaErrosPercentual").asDouble(),
+                no.get("vazaoPorSegundo").asDouble(), no.get("p50Ms").asDouble(), no.get("p90Ms").asDouble(),
+                no.get("p99Ms").asDouble(), no.get("p999Ms").asDouble(), no.get("maximoMs").asDouble());
+    }
+
+    /**
+     * Regressões em relação à baseline. Só são {@code comparaveis} quando a baseline foi gerada
+     * com o mesmo mix e o mesmo número de processadores; fora disso as diferenças são só indicativas.
+     * Endpoints que só existem de um dos lados são avisados, mas não contam como regressão.
+     */
+    Comparacao compararCom(JsonNode baseline, ConfiguracaoCarga configuracao) {
+        boolean comparavel = baseline.path("configuracao").equals(json.get("configuracao"))
+                && baseline.path("ambiente").path("processadores").equals(json.get("ambiente").get("processadores"));
+        if (!comparavel) {
+            System.out.println("Aviso: a baseline foi gerada com outro mix, duração ou máquina ("
+                    + baseline.path("ambiente").path("processadores") + " processadores, "
+                    + baseline.path("configuracao") + "); a comparação é só indicativa.");
+        }
+
+        List<String> regressoes = new ArrayList<>();
+        comparar("TOTAL", baseline.path("total"), json.get("total"), configuracao, regressoes);
+        JsonNode endpointsBaseline = baseline.path("endpoints");
+        json.get("endpoints").fields().forEachRemaining(entrada -> {
+            JsonNode anterior = endpointsBaseline.get(entrada.getKey());
+            if (anterior == null) {
+                System.out.println("Aviso: " + entrada.getKey() + " não existe na baseline");
+            } else {
+                comparar(entrada.getKey(), anterior, entrada.getValue(), configuracao, regressoes);
+            }
+        });
+        endpointsBaseline.fieldNames().forEachRemaining(rotulo -> {
+            if (!json.get("endpoints").has(rotulo)) {
+                System.out.println("Aviso: " + rotulo + " estava na baseline e não foi chamado nesta execução");
+            }
+        });
+        return new Comparacao(comparavel, regressoes);
+    }
+
+    record Comparacao(boolean comparavel, List<String> regressoes) {
+    }
+
+    private static void comparar(String rotulo, JsonNode anterior, JsonNode atual, ConfiguracaoCarga configuracao,
+                                 List<String> regressoes) {
+        double tolerancia = configuracao.toleranciaPercentual() / 100;
+        boolean amostrasSuficientes = anterior.path("requisicoes").asLong() >= AMOSTRAS_MINIMAS
+                && atual.get("requisicoes").asLong() >= AMOSTRAS_MINIMAS;
+        for (String percentil : new String[] {"p50Ms", "p99Ms"}) {
+            double antes = anterior.path(percentil).asDouble();
+            double agora = atual.get(percentil).asDouble();
+            if (amostrasSuficientes && agora > antes * (1 + tolerancia)
+                    && agora - antes > configuracao.toleranciaMinimaMs()) {
+                regressoes.add(String.format("%s: %s %.1f ms -> %.1f ms", rotulo, percentil, antes, agora));
+            }
+        }
+        double vazaoAntes = anterior.path("vazaoPorSegundo").asDouble();
+        double vazaoAgora = atual.get("vazaoPorSegundo").asDouble();
+        if (vazaoAgora < vazaoAntes * (1 - tolerancia)) {
+            regressoes.add(String.format("%s: vazão %.2f/s -> %.2f/s", rotulo, vazaoAntes, vazaoAgora));
+        }
+        double errosAntes = anterior.path("taxaErrosPercentual").asDouble();
+        double errosAgora = atual.get("taxaErrosPercentual").asDouble();
+        if (errosAgora - errosAntes > configuracao.toleranciaErrosPontos()) {
+            regressoes.add(String.format("%s: erros %.2f%% -> %.2f%%", rotulo, errosAntes, errosAgora));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.snackbar.testecarga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Impressora térmica de rede (RAW, como a porta 9100) que só descarta o que recebe. O cupom
+ * é pedido com {@code devicePath = 127.0.0.1:<porta>}, então o spooler e a conexão persistente
+ * da aplicação são exercitados sem hardware.
+ */
+final class StubImpressora implements AutoCloseable {
+
+    private final ServerSocket servidor;
+    private final ExecutorService conexoes = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder aceitas = new LongAdder();
+
+    StubImpressora(int porta) throws IOException {
+        this.servidor = new ServerSocket(porta, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("stub-impressora").start(this::aceitar);
+    }
+
+    String enderecoRede() {
+        return "127.0.0.1:" + servidor.getLocalPort();
+    }
+
+    long bytesRecebidos() {
+        return bytes.sum();
+    }
+
+    long conexoesAceitas() {
+        return aceitas.sum();
+    }
+
+    private void aceitar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                aceitas.increment();
+                conexoes.submit(() -> descartar(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void descartar(Socket socket) {
+        byte[] buffer = new byte[8192];
+        try (socket; InputStream entrada = socket.getInputStream()) {
+            for (int lidos = entrada.read(buffer); lidos >= 0; lidos = entrada.read(buffer)) {
+                bytes.add(lidos);
+            }
+        } catch (IOException e) {
+            // conexão encerrada pela aplicação ou no close()
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        servidor.close();
+        conexoes.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.snackbar.testecarga;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Imita {@code /v1/chat/completions} da OpenAI: espera a latência configurada e devolve uma
+ * resposta fixa, em JSON ou em SSE quando o corpo pede {@code "stream": true}. A aplicação
+ * aponta para cá por {@code OPENAI_API_URL}, então nenhuma chamada sai da máquina.
+ */
+final class StubOpenAI implements AutoCloseable {
+
+    private static final String CAMINHO = "/v1/chat/completions";
+    private static final String RESPOSTA = "Temos hambúrgueres, porções e bebidas. Posso ajudar com mais alguma coisa?";
+
+    private final HttpServer servidor;
+    private final Duration latencia;
+    private final LongAdder chamadas = new LongAdder();
+
+    StubOpenAI(int porta, Duration latencia) throws IOException {
+        this.latencia = latencia;
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), 0);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext(CAMINHO, this::responder);
+        servidor.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort() + CAMINHO;
+    }
+
+    long chamadas() {
+        return chamadas.sum();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            chamadas.increment();
+            String corpo = new String(troca.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Thread.sleep(latencia);
+            if (corpo.replace(" ", "").contains("\"stream\":true")) {
+                troca.getResponseHeaders().set("Content-Type", "text/event-stream");
+                troca.sendResponseHeaders(200, 0);
+                try (OutputStream saida = troca.getResponseBody()) {
+                    for (String palavra : RESPOSTA.split(" ")) {
+                        escrever(saida, "data: {\"choices\":[{\"delta\":{\"content\":\"" + palavra + " \"}}]}\n\n");
+                    }
+                    escrever(saida, "data: [DONE]\n\n");
+                }
+            } else {
+                byte[] resposta = ("{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\""
+                        + RESPOSTA + "\"}}]}").getBytes(StandardCharsets.UTF_8);
+                troca.getResponseHeaders().set("Content-Type", "application/json");
+                troca.sendResponseHeaders(200, resposta.length);
+                troca.getResponseBody().write(resposta);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void escrever(OutputStream saida, String linha) throws IOException {
+        saida.write(linha.getBytes(StandardCharsets.UTF_8));
+        saida.flush();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+    }
+}
@@ -0,0 +1,184 @@
+package com.snackbar.testecarga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mede o tempo de um cold start até a primeira requisição atendida, comparando variantes de
+ * execução da aplicação (ex.: jar padrão contra o build {@code inicio-rapido} com AOT e CDS).
+ *
+ * Cada variante é a linha de comando da JVM ({@code --variante.<nome>="opções -jar caminho"}).
+ * Uma subida inicial, fora da medição, cria o schema e o cardápio; depois as variantes são
+ * alternadas a cada rodada, para que ruído da máquina não favoreça uma delas. Por rodada:
+ * tempo do lançamento do processo até o {@code /api/health} responder, e a duração da primeira
+ * requisição de um cliente (cardápio público da mesa), que ainda paga classes e caches frios.
+ *
+ * Uso (a partir da raiz; o {@code medir-inicio.sh} monta as variantes):
+ * {@code java -cp teste-carga/target/teste-carga.jar com.snackbar.testecarga.TempoInicio
+ * [--rodadas=5] [--resultado=arquivo.json] --variante.<nome>=... [--chave=valor do teste de carga ...]}.
+ * Banco, porta, usuário e preparação vêm do {@code teste-carga.properties}.
+ */
+public final class TempoInicio {
+
+    private record Medicao(long inicioMs, long primeiraRequisicaoMs) {
+    }
+
+    private TempoInicio() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int codigo;
+        try {
+            codigo = executar(args);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Erro: " + e.getMessage());
+            codigo = 2;
+        }
+        System.exit(codigo);
+    }
+
+    private static int executar(String[] args) throws Exception {
+        int rodadas = 5;
+        Path resultado = Path.of("teste-carga/target/tempo-inicio.json");
+        Map<String, List<String>> variantes = new LinkedHashMap<>();
+        List<String> opcoesCarga = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--rodadas=")) {
+                rodadas = Integer.parseInt(arg.substring("--rodadas=".length()));
+            } else if (arg.startsWith("--resultado=")) {
+                resultado = Path.of(arg.substring("--resultado=".length()));
+            } else if (arg.startsWith("--variante.") && arg.contains("=")) {
+                int igual = arg.indexOf('=');
+                variantes.put(arg.substring("--variante.".length(), igual),
+                        List.of(arg.substring(igual + 1).trim().split("\\s+")));
+            } else {
+                opcoesCarga.add(arg);
+            }
+        }
+        if (variantes.isEmpty() || rodadas < 1) {
+            throw new IllegalArgumentException("Informe ao menos uma --variante.<nome>=... e --rodadas >= 1");
+        }
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.carregar(opcoesCarga.toArray(String[]::new));
+        boolean embutido = configuracao.banco() == ConfiguracaoCarga.Banco.EMBUTIDO;
+
+        Map<String, List<Medicao>> medicoes = new LinkedHashMap<>();
+        try (BancoEmbutido banco = embutido ? BancoEmbutido.iniciar(configuracao.bancoEmbutidoPorta()) : null) {
+            Map<String, String> ambiente = banco != null
+                    ? Map.of("DB_URL", banco.url(), "DB_USERNAME", BancoEmbutido.USUARIO, "DB_PASSWORD", BancoEmbutido.SENHA)
+                    : Map.of("DB_URL", configuracao.mysqlUrl(), "DB_USERNAME", configuracao.mysqlUsuario(),
+                            "DB_PASSWORD", configuracao.mysqlSenha());
+
+            String primeira = variantes.keySet().iterator().next();
+            System.out.println("Preparando banco e cardápio com a variante " + primeira + "...");
+            Ambiente preparado;
+            try (AplicacaoLocal aplicacao = iniciar(configuracao, variantes.get(primeira), ambiente)) {
+                preparado = new Preparacao(novoCliente(configuracao), configuracao).preparar();
+            }
+            String caminhoCardapio = "/api/public/mesa/" + preparado.mesas().get(0).token() + "/cardapio";
+
+            for (int rodada = 1; rodada <= rodadas; rodada++) {
+                for (Map.Entry<String, List<String>> variante : variantes.entrySet()) {
+                    Medicao medicao = medir(configuracao, variante.getValue(), ambiente, caminhoCardapio);
+                    medicoes.computeIfAbsent(variante.getKey(), nome -> new ArrayList<>()).add(medicao);
+                    System.out.printf("  rodada %d, %-16s início %,6d ms, primeira requisição %,5d ms%n",
+                            rodada, variante.getKey(), medicao.inicioMs(), medicao.primeiraRequisicaoMs());
+                }
+            }
+        }
+
+        ObjectMapper json = new ObjectMapper();
+        ObjectNode raiz = montar(json, configuracao, rodadas, variantes, medicoes);
+        imprimir(raiz);
+        Path diretorio = resultado.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        json.writerWithDefaultPrettyPrinter().writeValue(resultado.toFile(), raiz);
+        System.out.println("Resultado gravado em " + resultado);
+        return 0;
+    }
+
+    private static Medicao medir(ConfiguracaoCarga configuracao, List<String> argumentos,
+                                 Map<String, String> ambiente, String caminhoCardapio) throws Exception {
+        try (AplicacaoLocal aplicacao = iniciar(configuracao, argumentos, ambiente)) {
+            ClienteApi api = novoCliente(configuracao);
+            long inicio = System.nanoTime();
+            api.get("GET /api/public/mesa/{token}/cardapio", caminhoCardapio, null);
+            return new Medicao(aplicacao.tempoInicio().toMillis(), Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        }
+    }
+
+    private static AplicacaoLocal iniciar(ConfiguracaoCarga configuracao, List<String> argumentos,
+                                          Map<String, String> ambiente) throws Exception {
+        return AplicacaoLocal.iniciar(argumentos, configuracao.appPorta(), configuracao.appLog(),
+                configuracao.appEsperaInicio(), ambiente);
+    }
+
+    private static ClienteApi novoCliente(ConfiguracaoCarga configuracao) {
+        return new ClienteApi("http://localhost:" + configuracao.appPorta(), new Metricas(), new ObjectMapper());
+    }
+
+    private static ObjectNode montar(ObjectMapper json, ConfiguracaoCarga configuracao, int rodadas,
+                                     Map<String, List<String>> variantes, Map<String, List<Medicao>> medicoes) {
+        ObjectNode raiz = json.createObjectNode();
+        raiz.put("geradoEm", OffsetDateTime.now().toString());
+        ObjectNode ambiente = raiz.putObject("ambiente");
+        ambiente.put("processadores", Runtime.getRuntime().availableProcessors());
+        ambiente.put("java", System.getProperty("java.version"));
+        ambiente.put("sistema", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        ambiente.put("banco", configuracao.banco().name().toLowerCase());
+        raiz.put("rodadas", rodadas);
+
+        ObjectNode porVariante = raiz.putObject("variantes");
+        variantes.forEach((nome, argumentos) -> {
+            List<Medicao> lista = medicoes.get(nome);
+            ObjectNode variante = porVariante.putObject(nome);
+            variante.put("comando", String.join(" ", argumentos));
+            resumir(variante.putObject("inicioMs"), lista.stream().mapToLong(Medicao::inicioMs).toArray());
+            resumir(variante.putObject("primeiraRequisicaoMs"),
+                    lista.stream().mapToLong(Medicao::primeiraRequisicaoMs).toArray());
+            resumir(variante.putObject("totalMs"),
+                    lista.stream().mapToLong(m -> m.inicioMs() + m.primeiraRequisicaoMs()).toArray());
+        });
+        return raiz;
+    }
+
+    private static void resumir(ObjectNode no, long[] valores) {
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        no.put("mediana", ordenados[(ordenados.length - 1) / 2]);
+        no.put("minimo", ordenados[0]);
+        no.put("maximo", ordenados[ordenados.length - 1]);
+        ArrayNode todas = no.putArray("rodadas");
+        for (long valor : valores) {
+            todas.add(valor);
+        }
+    }
+
+    private static void imprimir(ObjectNode raiz) {
+        System.out.printf("%n%-16s %26s %26s %26s%n", "Variante",
+                "início ms (mín-máx)", "1ª requisição ms (mín-máx)", "total ms (mín-máx)");
+        raiz.get("variantes").fields().forEachRemaining(entrada -> System.out.printf("%-16s %26s %26s %26s%n",
+                entrada.getKey(),
+                faixa(entrada.getValue().get("inicioMs")),
+                faixa(entrada.getValue().get("primeiraRequisicaoMs")),
+                faixa(entrada.getValue().get("totalMs"))));
+    }
+
+    private static String faixa(JsonNode resumo) {
+        return String.format("%,d (%,d-%,d)", resumo.get("mediana").asLong(),
+                resumo.get("minimo").asLong(), resumo.get("maximo").asLong());
+    }
+}
@@ -0,0 +1,159 @@
+package com.snackbar.testecarga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga em malha fechada simulando um horário de almoço de ponta a ponta: clientes
+ * pedindo pelo QR code da mesa, totens, atendentes aceitando das filas, cozinha mudando
+ * status, telão do lobby, visitantes do cardápio e impressão de cupons.
+ *
+ * Sobe a aplicação (com MariaDB embutido ou um MySQL local), a OpenAI e a impressora
+ * simuladas, aquece, mede latência por endpoint (HdrHistogram), erros e vazão, grava o
+ * resultado em JSON e compara com a baseline; termina com código 1 se houver regressão.
+ *
+ * Uso: {@code java -jar teste-carga/target/teste-carga.jar [--config=arquivo] [--chave=valor ...]}
+ * a partir da raiz do repositório. As chaves e seus padrões estão em {@code teste-carga.properties}.
+ */
+public final class TesteCarga {
+
+    private static final Duration INTERVALO_PROGRESSO = Duration.ofSeconds(10);
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int codigo;
+        try {
+            codigo = executar(ConfiguracaoCarga.carregar(args));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Erro: " + e.getMessage());
+            codigo = 2;
+        }
+        System.exit(codigo);
+    }
+
+    private static int executar(ConfiguracaoCarga configuracao) throws Exception {
+        System.out.println("Configuração: " + configuracao);
+        boolean iniciarAplicacao = configuracao.appJar() != null;
+        boolean embutido = iniciarAplicacao && configuracao.banco() == ConfiguracaoCarga.Banco.EMBUTIDO;
+
+        try (StubOpenAI openAi = new StubOpenAI(configuracao.stubOpenAiPorta(), configuracao.stubOpenAiLatencia());
+             StubImpressora impressora = new StubImpressora(configuracao.stubImpressoraPorta());
+             BancoEmbutido banco = embutido ? BancoEmbutido.iniciar(configuracao.bancoEmbutidoPorta()) : null;
+             AplicacaoLocal aplicacao = iniciarAplicacao
+                     ? iniciarAplicacao(configuracao, banco, openAi) : null) {
+
+            Duration inicioAplicacao = aplicacao != null ? aplicacao.tempoInicio() : null;
+            if (inicioAplicacao != null) {
+                System.out.printf("Aplicação respondendo em %,d ms%n", inicioAplicacao.toMillis());
+            }
+            Resultado resultado = medir(configuracao, impressora, inicioAplicacao);
+            // cupons enfileirados pela API só chegam aqui se o spooler da aplicação acompanhar
+            System.out.printf("Stubs: %,d chamadas à OpenAI, %,d conexões e %,d bytes na impressora%n",
+                    openAi.chamadas(), impressora.conexoesAceitas(), impressora.bytesRecebidos());
+            return avaliar(configuracao, resultado);
+        }
+    }
+
+    private static AplicacaoLocal iniciarAplicacao(ConfiguracaoCarga configuracao, BancoEmbutido banco,
+                                                   StubOpenAI openAi) throws Exception {
+        System.out.println("Iniciando " + configuracao.appJar() + " (log em " + configuracao.appLog() + ")");
+        Map<String, String> stubs = Map.of(
+                "OPENAI_API_KEY", "stub-teste-carga",
+                "OPENAI_API_URL", openAi.url(),
+                // URL não local desliga o gateway do Electron; os cupons vão pelo spooler de rede
+                "IMPRESSAO_ELECTRON_GATEWAY_URL", "http://electron.invalid");
+        if (banco != null) {
+            return AplicacaoLocal.iniciar(configuracao, banco.url(), BancoEmbutido.USUARIO, BancoEmbutido.SENHA, stubs);
+        }
+        return AplicacaoLocal.iniciar(configuracao, configuracao.mysqlUrl(), configuracao.mysqlUsuario(),
+                configuracao.mysqlSenha(), stubs);
+    }
+
+    private static Resultado medir(ConfiguracaoCarga configuracao, StubImpressora impressora,
+                                   Duration inicioAplicacao) throws InterruptedException {
+        ObjectMapper json = new ObjectMapper();
+        Metricas metricas = new Metricas();
+        ClienteApi api = new ClienteApi(configuracao.urlAplicacao(), metricas, json);
+        Ambiente ambiente = new Preparacao(api, configuracao).preparar();
+        Balcao balcao = new Balcao(metricas);
+
+        ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (Papel papel : Papel.values()) {
+                int quantidade = configuracao.usuarios().get(papel);
+                for (int i = 0; i < quantidade; i++) {
+                    long semente = configuracao.semente() * 1_000_003L + papel.ordinal() * 10_007L + i;
+                    usuarios.submit(criar(papel, i, quantidade, api, ambiente, balcao, configuracao, impressora, semente));
+                }
+            }
+
+            System.out.printf("Aquecendo por %ds...%n", configuracao.aquecimento().toSeconds());
+            Thread.sleep(configuracao.aquecimento());
+            metricas.iniciarMedicao();
+            System.out.printf("Medindo por %ds...%n", configuracao.duracao().toSeconds());
+            long fim = System.nanoTime() + configuracao.duracao().toNanos();
+            for (long agora = System.nanoTime(); agora < fim; agora = System.nanoTime()) {
+                Thread.sleep(Math.min(INTERVALO_PROGRESSO.toNanos(), fim - agora) / 1_000_000);
+                Metricas.Resumo parcial = metricas.resumirTotal();
+                System.out.printf("  %3.0fs: %,d requisições (%.1f/s), %,d erros, p99 %.1f ms%n",
+                        metricas.segundosMedidos(), parcial.requisicoes(),
+                        parcial.requisicoes() / metricas.segundosMedidos(), parcial.erros(), parcial.percentilMs(99));
+            }
+            metricas.encerrarMedicao();
+        } finally {
+            usuarios.shutdownNow();
+            usuarios.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        return Resultado.montar(json, configuracao, metricas, inicioAplicacao, balcao.contadores());
+    }
+
+    private static UsuarioVirtual criar(Papel papel, int indice, int quantidade, ClienteApi api, Ambiente ambiente,
+                                        Balcao balcao, ConfiguracaoCarga configuracao, StubImpressora impressora,
+                                        long semente) {
+        return switch (papel) {
+            case MESA -> new ClienteMesa(indice, api, ambiente, balcao, configuracao, semente);
+            case TOTEM -> new Totem(indice, api, ambiente, balcao, configuracao, semente);
+            case ATENDENTE -> new Atendente(indice, quantidade, api, ambiente, balcao, configuracao, semente);
+            case COZINHA -> new Cozinha(indice, api, ambiente, balcao, configuracao, semente);
+            case LOBBY -> new Lobby(indice, api, ambiente, balcao, configuracao, semente);
+            case CARDAPIO -> new VisitanteCardapio(indice, api, ambiente, balcao, configuracao, semente);
+            case IMPRESSAO -> new OperadorImpressao(indice, impressora.enderecoRede(), api, ambiente, balcao,
+                    configuracao, semente);
+            case CHAT -> new ClienteChat(indice, api, ambiente, balcao, configuracao, semente);
+        };
+    }
+
+    private static int avaliar(ConfiguracaoCarga configuracao, Resultado resultado) throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        resultado.imprimir();
+        resultado.gravar(json, configuracao.resultado());
+        System.out.println("Resultado gravado em " + configuracao.resultado());
+
+        if (!configuracao.comparar()) {
+            return 0;
+        }
+        if (!Files.isRegularFile(configuracao.baseline())) {
+            System.out.println("Sem baseline em " + configuracao.baseline()
+                    + "; para criar uma, copie o resultado para lá.");
+            return 0;
+        }
+        Resultado.Comparacao comparacao = resultado.compararCom(
+                json.readTree(configuracao.baseline().toFile()), configuracao);
+        if (comparacao.regressoes().isEmpty()) {
+            System.out.println("Dentro da tolerância da baseline " + configuracao.baseline());
+            return 0;
+        }
+        System.out.println((comparacao.comparavel() ? "REGRESSÃO" : "Diferenças (não reprovam)")
+                + " em relação a " + configuracao.baseline() + ":");
+        comparacao.regressoes().forEach(regressao -> System.out.println("  " + regressao));
+        return comparacao.comparavel() ? 1 : 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.snackbar.testecarga;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Totem de autoatendimento (logado como funcionário): carrega categorias e produtos, o
+ * cliente escolhe e o pedido vai para a fila do totem.
+ */
+final class Totem extends UsuarioVirtual {
+
+    Totem(int indice, ClienteApi api, Ambiente ambiente, Balcao balcao, ConfiguracaoCarga configuracao, long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        api.get("/api/categorias", "/api/categorias", ambiente.credencial());
+        api.get("/api/produtos", "/api/produtos", ambiente.credencial());
+        pausar(configuracao.pausas().totemEscolha());
+
+        Pedido pedido = montarPedido();
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("nomeCliente", "Totem " + indice);
+        corpo.put("itens", pedido.itens());
+        corpo.put("meiosPagamento", pagamento("CARTAO_DEBITO", pedido.total()));
+        api.enviar("POST", "/api/autoatendimento/pedido", "/api/autoatendimento/pedido", corpo,
+                ambiente.credencial(), UUID.randomUUID().toString());
+        balcao.contar("pedidosTotem");
+    }
+}
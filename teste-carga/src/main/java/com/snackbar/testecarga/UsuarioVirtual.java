@@ -0,0 +1,120 @@
+package com.snackbar.testecarga;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Um usuário em malha fechada: repete o roteiro do seu papel até ser interrompido, e só
+ * começa a próxima iteração depois que a anterior terminou. Uma requisição com erro já foi
+ * registrada pelo {@link ClienteApi}; o usuário espera um pouco e recomeça o roteiro.
+ *
+ * Consequência da malha fechada: se a aplicação fica lenta, os usuários também desaceleram
+ * (menos vazão, latência menor do que um cliente real sentiria). Por isso a vazão também é
+ * comparada com a baseline.
+ */
+abstract class UsuarioVirtual implements Runnable {
+
+    private static final Duration ESPERA_APOS_ERRO = Duration.ofSeconds(1);
+
+    protected final int indice;
+    protected final ClienteApi api;
+    protected final Ambiente ambiente;
+    protected final Balcao balcao;
+    protected final ConfiguracaoCarga configuracao;
+    protected final Random aleatorio;
+
+    UsuarioVirtual(int indice, ClienteApi api, Ambiente ambiente, Balcao balcao, ConfiguracaoCarga configuracao,
+                   long semente) {
+        this.indice = indice;
+        this.api = api;
+        this.ambiente = ambiente;
+        this.balcao = balcao;
+        this.configuracao = configuracao;
+        this.aleatorio = new Random(semente);
+    }
+
+    /**
+     * Uma passagem completa pelo roteiro do papel, pausas incluídas.
+     */
+    protected abstract void iteracao() throws InterruptedException;
+
+    @Override
+    public final void run() {
+        try {
+            // usuários de um mesmo papel não começam todos no mesmo instante
+            Thread.sleep(aleatorio.nextInt(2_000));
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    iteracao();
+                } catch (ClienteApi.FalhaRequisicao e) {
+                    Thread.sleep(ESPERA_APOS_ERRO);
+                } catch (RuntimeException e) {
+                    // resposta fora do formato esperado: problema do roteiro, não contado como erro HTTP
+                    System.err.println(getClass().getSimpleName() + " " + indice + ": " + e);
+                    Thread.sleep(ESPERA_APOS_ERRO);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tempo de pensar com distribuição exponencial (limitado a 5x a média), como chegadas
+     * independentes de pessoas.
+     */
+    protected void pausar(Duration media) throws InterruptedException {
+        long espera = sortearEspera(media);
+        if (espera > 0) {
+            Thread.sleep(espera);
+        } else if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    protected long sortearEspera(Duration media) {
+        long mediaMs = media.toMillis();
+        return mediaMs <= 0 ? 0 : Math.min(5 * mediaMs, Math.round(-mediaMs * Math.log(1 - aleatorio.nextDouble())));
+    }
+
+    /**
+     * Itens e total de um pedido: de 1 a {@code itens.maximo} itens (mais peso nos pedidos pequenos),
+     * produtos do começo do cardápio mais pedidos que os do fim, e um adicional de vez em quando.
+     */
+    protected Pedido montarPedido() {
+        List<Ambiente.Produto> produtos = ambiente.produtos();
+        int quantidadeItens = 1 + (int) (configuracao.itensMaximo() * Math.pow(aleatorio.nextDouble(), 2));
+        List<Map<String, Object>> itens = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < quantidadeItens; i++) {
+            Ambiente.Produto produto = produtos.get((int) (produtos.size() * Math.pow(aleatorio.nextDouble(), 2)));
+            int quantidade = aleatorio.nextDouble() < 0.8 ? 1 : 2;
+            BigDecimal unitario = produto.preco();
+            List<Map<String, Object>> adicionais = new ArrayList<>();
+            if (!produto.adicionais().isEmpty() && aleatorio.nextDouble() < configuracao.probabilidadeAdicionais()) {
+                Ambiente.Adicional adicional = produto.adicionais().get(aleatorio.nextInt(produto.adicionais().size()));
+                adicionais.add(Map.of("adicionalId", adicional.id(), "quantidade", 1));
+                unitario = unitario.add(adicional.preco());
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("produtoId", produto.id());
+            item.put("quantidade", quantidade);
+            item.put("adicionais", adicionais);
+            itens.add(item);
+            total = total.add(unitario.multiply(BigDecimal.valueOf(quantidade)));
+        }
+        return new Pedido(itens, total);
+    }
+
+    protected static List<Map<String, Object>> pagamento(String meio, BigDecimal valor) {
+        return List.of(Map.of("meioPagamento", meio, "valor", valor));
+    }
+
+    protected record Pedido(List<Map<String, Object>> itens, BigDecimal total) {
+    }
+}
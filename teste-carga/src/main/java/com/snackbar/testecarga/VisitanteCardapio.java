@@ -0,0 +1,22 @@
+package com.snackbar.testecarga;
+
+/**
+ * Cliente que só olha: abre o cardápio público da mesa e os mais pedidos, sem fazer pedido.
+ */
+final class VisitanteCardapio extends UsuarioVirtual {
+
+    private static final String BASE = "/api/public/mesa";
+
+    VisitanteCardapio(int indice, ClienteApi api, Ambiente ambiente, Balcao balcao, ConfiguracaoCarga configuracao,
+                      long semente) {
+        super(indice, api, ambiente, balcao, configuracao, semente);
+    }
+
+    @Override
+    protected void iteracao() throws InterruptedException {
+        String token = ambiente.mesas().get(aleatorio.nextInt(ambiente.mesas().size())).token();
+        api.get(BASE + "/{token}/cardapio", BASE + "/" + token + "/cardapio", null);
+        api.get(BASE + "/{token}/produtos/mais-pedidos", BASE + "/" + token + "/produtos/mais-pedidos", null);
+        pausar(configuracao.pausas().cardapio());
+    }
+}